@@ -0,0 +1,14 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Como o filtro de auditoria captura o corpo da resposta.
+ * <p>
+ * TEE: a resposta vai direto ao cliente; só os primeiros
+ * {@code audit.max-body-length} bytes são copiados para a auditoria.
+ * BUFFERED: a resposta inteira é bufferizada em memória e devolvida ao cliente
+ * no fim da requisição (comportamento anterior).
+ */
+public enum AuditResponseCapture {
+    TEE,
+    BUFFERED
+}
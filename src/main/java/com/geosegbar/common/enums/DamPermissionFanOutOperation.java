@@ -0,0 +1,22 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Operações em massa sobre as permissões de barragem dos usuários de um
+ * cliente.
+ */
+public enum DamPermissionFanOutOperation {
+    /**
+     * Cria (sem acesso) a permissão de uma barragem para os usuários que ainda
+     * não a têm
+     */
+    CREATE_FOR_DAM,
+    /**
+     * Remove a permissão de uma barragem dos usuários
+     */
+    REMOVE_FOR_DAM,
+    /**
+     * Apaga e recria (sem acesso) as permissões de todas as barragens do
+     * cliente para os usuários
+     */
+    RECREATE_FOR_CLIENT
+}
@@ -0,0 +1,25 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Status de uma operação em massa de permissões de barragem executada em
+ * segundo plano.
+ */
+public enum DamPermissionFanOutStatus {
+    /**
+     * Aguardando um worker ou uma operação anterior do mesmo cliente
+     */
+    QUEUED,
+    /**
+     * Aplicando a operação em lotes de usuários; volta a ser reivindicada se o
+     * lease vencer
+     */
+    RUNNING,
+    /**
+     * Todos os lotes foram aplicados
+     */
+    COMPLETED,
+    /**
+     * Interrompida por erro; os lotes já gravados permanecem
+     */
+    FAILED
+}
@@ -0,0 +1,37 @@
+package com.geosegbar.common.enums;
+
+import java.util.List;
+
+/**
+ * Seções do dashboard e os caches que cada uma alimenta. Escritas que afetam
+ * uma seção invalidam apenas os caches dela (ver
+ * {@code DashboardDataChangedEvent}).
+ */
+public enum DashboardSectionEnum {
+
+    ANOMALIES(List.of(
+            "dashboard-danger-level-summary",
+            "dashboard-anomaly-status-summary",
+            "dashboard-recent-anomalies")),
+    INSTRUMENTS(List.of("dashboard-instrument-summary")),
+    CHECKLISTS(List.of("dashboard-checklist-summary"));
+
+    private final List<String> cacheNames;
+
+    DashboardSectionEnum(List<String> cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+
+    public List<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    public static DashboardSectionEnum fromCacheName(String cacheName) {
+        for (DashboardSectionEnum section : values()) {
+            if (section.cacheNames.contains(cacheName)) {
+                return section;
+            }
+        }
+        throw new IllegalArgumentException("Cache de dashboard desconhecido: " + cacheName);
+    }
+}
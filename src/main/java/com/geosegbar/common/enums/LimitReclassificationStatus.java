@@ -0,0 +1,23 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Status da reclassificação das leituras de um output após mudança de limites.
+ */
+public enum LimitReclassificationStatus {
+    /**
+     * Aguardando uma thread livre
+     */
+    QUEUED,
+    /**
+     * Reclassificando as leituras em lotes
+     */
+    RUNNING,
+    /**
+     * Todas as leituras do output foram reclassificadas
+     */
+    COMPLETED,
+    /**
+     * Interrompida por erro; os lotes já gravados permanecem
+     */
+    FAILED
+}
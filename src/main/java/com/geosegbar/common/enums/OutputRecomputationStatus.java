@@ -0,0 +1,27 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Status do job de recálculo dos outputs de um instrumento.
+ */
+public enum OutputRecomputationStatus {
+    /**
+     * Aguardando um worker (também o estado de um job retomado)
+     */
+    QUEUED,
+    /**
+     * Sendo processado por um worker, a partir do checkpoint
+     */
+    PROCESSING,
+    /**
+     * Todo o histórico do instrumento foi percorrido
+     */
+    COMPLETED,
+    /**
+     * Interrompido por erro; pode ser retomado do checkpoint
+     */
+    FAILED,
+    /**
+     * Cancelado pelo usuário; os lotes já gravados permanecem
+     */
+    CANCELLED
+}
@@ -0,0 +1,26 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Flags das permissões de documentação, atribuições, instrumentação e
+ * inspeção de rotina de um usuário, usadas no índice de acesso em memória.
+ */
+public enum PermissionFlag {
+    VIEW_PSB,
+    EDIT_PSB,
+    SHARE_PSB,
+    EDIT_USER,
+    EDIT_DAM,
+    EDIT_GERAL_DATA,
+    EDIT_PAE,
+    VIEW_GRAPHS,
+    EDIT_GRAPHS_LOCAL,
+    EDIT_GRAPHS_DEFAULT,
+    VIEW_READ,
+    EDIT_READ,
+    VIEW_SECTIONS,
+    EDIT_SECTIONS,
+    VIEW_INSTRUMENTS,
+    EDIT_INSTRUMENTS,
+    FILL_WEB,
+    FILL_MOBILE
+}
@@ -0,0 +1,16 @@
+package com.geosegbar.common.enums;
+
+/**
+ * Tabela exportada pela exportação em massa de leituras. Os dois conjuntos se
+ * relacionam por {@code reading_id}.
+ */
+public enum ReadingExportDatasetEnum {
+    /**
+     * Uma linha por leitura (instrumento, output, data/hora, valor e status)
+     */
+    READINGS,
+    /**
+     * Uma linha por valor de input de cada leitura
+     */
+    INPUT_VALUES
+}
@@ -0,0 +1,8 @@
+package com.geosegbar.common.enums;
+
+public enum TabulateColumnTypeEnum {
+    DATE,
+    HOUR,
+    USER,
+    OUTPUT
+}
@@ -1,19 +1,40 @@
 package com.geosegbar.common.utils;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.ast.Assign;
+import org.springframework.expression.spel.ast.OpDec;
+import org.springframework.expression.spel.ast.OpInc;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+
+import com.geosegbar.exceptions.InvalidInputException;
 
 /**
  * Avalia equações de outputs usando SpEL.
@@ -27,11 +48,20 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  *       com {@code #} (ex.: {@code BASE} → {@code #BASE}).</li>
  * </ol>
  * É essencial que validação e avaliação usem o MESMO pipeline — caso contrário a
- * equação passa na validação mas falha na hora de calcular (ou vice-versa).
+ * equação passa na validação mas falha na hora de calcular (ou vice-versa). Por
+ * isso todas as entradas passam por {@link #compile} e avaliam no mesmo tipo de
+ * contexto ({@link VariablesContext}), que não resolve tipos, construtores nem
+ * métodos de objetos.
  */
 public class ExpressionEvaluator {
 
-    private static final ExpressionParser parser = new SpelExpressionParser();
+    /**
+     * Parser usado por {@link #compile}: em modo MIXED o SpEL passa a gerar
+     * bytecode para a árvore após as primeiras avaliações interpretadas e volta
+     * ao modo interpretado se a compilação não for possível.
+     */
+    private static final ExpressionParser compilingParser = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, ExpressionEvaluator.class.getClassLoader()));
     private static final Pattern MATH_PREFIX_PATTERN = Pattern.compile("\\bMath\\s*\\.\\s*", Pattern.CASE_INSENSITIVE);
 
     /**
@@ -75,6 +105,31 @@ public class ExpressionEvaluator {
         MATH_FUNCTIONS.put("max", new Class<?>[]{double.class, double.class});
     }
 
+    /**
+     * Métodos de {@link Math} já resolvidos por reflexão, indexados pelo nome em
+     * minúsculas. Resolvidos uma única vez para não repetir o lookup a cada
+     * contexto criado.
+     */
+    private static final Map<String, Method> MATH_METHODS = new HashMap<>();
+
+    static {
+        for (Map.Entry<String, Class<?>[]> entry : MATH_FUNCTIONS.entrySet()) {
+            try {
+                MATH_METHODS.put(entry.getKey(), resolveMathMethod(entry.getKey(), entry.getValue()));
+            } catch (NoSuchMethodException ignored) {
+                // método padrão de Math sempre existe; ignora se algo der errado
+            }
+        }
+    }
+
+    /**
+     * Contexto com as funções de {@link #MATH_METHODS} já registradas, montado
+     * uma única vez e usado como base por todas as {@link CompiledExpression}.
+     * Não recebe variáveis depois de construído, então pode ser lido por várias
+     * threads; os valores de cada avaliação ficam em um {@link VariablesContext}.
+     */
+    private static final SimpleEvaluationContext FUNCTIONS_CONTEXT = buildFunctionsContext();
+
     /**
      * Padrão que casa qualquer nome de função suportada seguido de "(",
      * insensível a maiúsculas/minúsculas e que não faça parte de um identificador
@@ -88,31 +143,15 @@ public class ExpressionEvaluator {
             + ")\\s*\\(",
             Pattern.CASE_INSENSITIVE);
 
-    private static StandardEvaluationContext buildContext(Map<String, Double> variables) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        for (Map.Entry<String, Double> entry : variables.entrySet()) {
+    private static SimpleEvaluationContext buildFunctionsContext() {
+        SimpleEvaluationContext context = SimpleEvaluationContext.forReadOnlyDataBinding().build();
+        // No SpEL uma função é uma variável cujo valor é um Method.
+        for (Map.Entry<String, Method> entry : MATH_METHODS.entrySet()) {
             context.setVariable(entry.getKey(), entry.getValue());
         }
-        registerMathFunctions(context);
         return context;
     }
 
-    private static void registerMathFunctions(StandardEvaluationContext context) {
-        for (Map.Entry<String, Class<?>[]> entry : MATH_FUNCTIONS.entrySet()) {
-            try {
-                // O nome do método em Math respeita o case real (ex.: log10, atan2,
-                // toRadians). Resolve-se a partir do mapa case-insensitive.
-                Method method = resolveMathMethod(entry.getKey(), entry.getValue());
-                if (method != null) {
-                    // Registra com o nome em minúsculas (forma usada após a normalização).
-                    context.registerFunction(entry.getKey(), method);
-                }
-            } catch (Exception ignored) {
-                // método padrão de Math sempre existe; ignora se algo der errado
-            }
-        }
-    }
-
     /**
      * Resolve o método de {@link Math} a partir do nome em minúsculas, mapeando
      * para o nome real (camelCase) quando necessário.
@@ -167,14 +206,189 @@ public class ExpressionEvaluator {
     }
 
     /**
-     * Avalia a equação com os valores fornecidos.
+     * Avalia a equação com os valores fornecidos. Variável sem valor vale
+     * {@code NaN}.
      */
     public static Double evaluate(String expression, Map<String, Double> variables) {
-        StandardEvaluationContext context = buildContext(variables);
+        List<String> names = new ArrayList<>(variables.keySet());
+        double[] values = new double[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double value = variables.get(names.get(i));
+            values[i] = value != null ? value : Double.NaN;
+        }
+        return compile(expression, names).evaluate(values);
+    }
+
+    /**
+     * Pré-processa e faz o parse da equação uma única vez, devolvendo um
+     * avaliador reutilizável. As variáveis passam a ser posicionais: o array de
+     * valores informado em {@link CompiledExpression#evaluate(double[])} segue a
+     * ordem de {@code variableNames}.
+     *
+     * @throws InvalidInputException se a equação atribui valor a uma variável
+     */
+    public static CompiledExpression compile(String expression, List<String> variableNames) {
         String processed = normalizeMathFunctions(expression);
-        processed = substituteVariables(processed, variables.keySet());
-        Expression exp = parser.parseExpression(processed);
-        return exp.getValue(context, Double.class);
+        processed = substituteVariables(processed, new LinkedHashSet<>(variableNames));
+        Expression parsed = compilingParser.parseExpression(processed);
+        rejectAssignments(((SpelExpression) parsed).getAST());
+        return new CompiledExpression(parsed, variableNames);
+    }
+
+    /**
+     * Recusa {@code =}, {@code ++} e {@code --} na árvore da equação: uma
+     * equação só calcula um valor a partir dos inputs e constantes.
+     */
+    private static void rejectAssignments(SpelNode node) {
+        if (node instanceof Assign || node instanceof OpInc || node instanceof OpDec) {
+            throw new InvalidInputException("Equação inválida: atribuições (=, ++, --) não são permitidas. "
+                    + "Para comparar valores use ==.");
+        }
+        for (int i = 0; i < node.getChildCount(); i++) {
+            rejectAssignments(node.getChild(i));
+        }
+    }
+
+    /**
+     * Equação já normalizada e parseada. É imutável e pode ser compartilhada
+     * entre threads: as funções vêm de {@link #FUNCTIONS_CONTEXT} e cada
+     * avaliação só aloca o {@link VariablesContext} com os seus valores.
+     */
+    public static final class CompiledExpression {
+
+        private final Expression expression;
+        private final String[] variableNames;
+        private final Map<String, Integer> positions;
+
+        private CompiledExpression(Expression expression, List<String> variableNames) {
+            this.expression = expression;
+            this.variableNames = variableNames.toArray(String[]::new);
+            this.positions = new HashMap<>();
+            for (int i = 0; i < this.variableNames.length; i++) {
+                positions.put(this.variableNames[i], i);
+            }
+        }
+
+        public List<String> getVariableNames() {
+            return List.of(variableNames);
+        }
+
+        public Double evaluate(double[] values) {
+            if (values.length != variableNames.length) {
+                throw new IllegalArgumentException("Esperados " + variableNames.length
+                        + " valores de variáveis, recebidos " + values.length);
+            }
+            return expression.getValue(new VariablesContext(positions, values), Double.class);
+        }
+
+        /**
+         * Avalia a equação para {@code rows} linhas de uma vez, reaproveitando
+         * um único contexto (só os valores mudam de uma linha para outra).
+         * {@code columns[i][row]} é o valor da variável {@code i} (na ordem de
+         * {@link #getVariableNames()}) na linha {@code row}. Linhas cuja
+         * avaliação falha resultam em {@code NaN}.
+         */
+        public double[] evaluateBatch(double[][] columns, int rows) {
+            if (columns.length != variableNames.length) {
+                throw new IllegalArgumentException("Esperadas " + variableNames.length
+                        + " colunas de variáveis, recebidas " + columns.length);
+            }
+            double[] values = new double[variableNames.length];
+            VariablesContext context = new VariablesContext(positions, values);
+            double[] results = new double[rows];
+            for (int row = 0; row < rows; row++) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns[i][row];
+                }
+                try {
+                    Double result = expression.getValue(context, Double.class);
+                    results[row] = result != null ? result : Double.NaN;
+                } catch (RuntimeException e) {
+                    results[row] = Double.NaN;
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Contexto de uma avaliação de {@link CompiledExpression}: delega tudo a
+     * {@link #FUNCTIONS_CONTEXT} e resolve as variáveis pela posição em
+     * {@code values}. Uma função tem precedência sobre uma variável de mesmo
+     * nome.
+     */
+    private static final class VariablesContext implements EvaluationContext {
+
+        private final Map<String, Integer> positions;
+        private final double[] values;
+
+        private VariablesContext(Map<String, Integer> positions, double[] values) {
+            this.positions = positions;
+            this.values = values;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            Object function = FUNCTIONS_CONTEXT.lookupVariable(name);
+            if (function != null) {
+                return function;
+            }
+            Integer position = positions.get(name);
+            return position != null ? values[position] : null;
+        }
+
+        /**
+         * Inalcançável: {@link #compile} já recusa atribuições.
+         */
+        @Override
+        public void setVariable(String name, Object value) {
+            throw new IllegalStateException("Equações não podem atribuir variáveis");
+        }
+
+        @Override
+        public TypedValue getRootObject() {
+            return FUNCTIONS_CONTEXT.getRootObject();
+        }
+
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors() {
+            return FUNCTIONS_CONTEXT.getPropertyAccessors();
+        }
+
+        @Override
+        public List<ConstructorResolver> getConstructorResolvers() {
+            return FUNCTIONS_CONTEXT.getConstructorResolvers();
+        }
+
+        @Override
+        public List<MethodResolver> getMethodResolvers() {
+            return FUNCTIONS_CONTEXT.getMethodResolvers();
+        }
+
+        @Override
+        public BeanResolver getBeanResolver() {
+            return FUNCTIONS_CONTEXT.getBeanResolver();
+        }
+
+        @Override
+        public TypeLocator getTypeLocator() {
+            return FUNCTIONS_CONTEXT.getTypeLocator();
+        }
+
+        @Override
+        public TypeConverter getTypeConverter() {
+            return FUNCTIONS_CONTEXT.getTypeConverter();
+        }
+
+        @Override
+        public TypeComparator getTypeComparator() {
+            return FUNCTIONS_CONTEXT.getTypeComparator();
+        }
+
+        @Override
+        public OperatorOverloader getOperatorOverloader() {
+            return FUNCTIONS_CONTEXT.getOperatorOverloader();
+        }
     }
 
     /**
@@ -182,6 +396,7 @@ public class ExpressionEvaluator {
      * o valor 1.0 a cada variável conhecida e tenta avaliar — se a equação tiver
      * função não suportada ou sintaxe inválida, lança exceção.
      *
+     * @throws InvalidInputException se a equação atribui valor a uma variável
      * @param expression equação (pode conter espaços; serão tratados pelo SpEL)
      * @param variableNames acrônimos de inputs/constantes presentes na equação
      */
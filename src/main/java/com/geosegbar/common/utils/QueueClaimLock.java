@@ -0,0 +1,33 @@
+package com.geosegbar.common.utils;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Serializa os claims de uma fila sobre tabela entre todas as réplicas.
+ * <p>
+ * O {@code FOR UPDATE SKIP LOCKED} impede que dois workers peguem o mesmo job,
+ * mas não que peguem dois jobs diferentes do mesmo instrumento: o
+ * {@code NOT EXISTS (... status = 'PROCESSING')} do claim é avaliado sobre o
+ * snapshot do comando, e sob READ COMMITTED um claim concorrente ainda não
+ * confirmado não aparece nele. Com o advisory lock da transação, obtido em um
+ * comando separado ANTES do claim, o segundo worker espera o commit do
+ * primeiro e o claim seguinte (novo comando, novo snapshot) já enxerga o job
+ * em PROCESSING.
+ * <p>
+ * O lock é liberado no fim da transação; deve ser chamado dentro de uma
+ * transação já aberta, imediatamente antes do claim.
+ */
+public final class QueueClaimLock {
+
+    private static final String LOCK_SQL = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(?))) l";
+
+    private QueueClaimLock() {
+    }
+
+    /**
+     * Bloqueia até obter o lock de claim da fila {@code queueName}.
+     */
+    public static void acquire(JdbcTemplate jdbcTemplate, String queueName) {
+        jdbcTemplate.queryForObject(LOCK_SQL, Integer.class, "queue-claim:" + queueName);
+    }
+}
@@ -0,0 +1,334 @@
+package com.geosegbar.common.utils;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Leitor de planilhas linha a linha para as importações em massa.
+ * <p>
+ * Para {@code .xlsx} usa a API de eventos do POI ({@link XSSFReader} +
+ * {@link XSSFSheetXMLHandler}): o XML da aba é lido via SAX e cada linha é
+ * entregue ao {@link RowHandler} assim que termina, sem montar o DOM da pasta de
+ * trabalho. O upload é copiado para um arquivo temporário para que o pacote
+ * seja aberto por acesso aleatório ao ZIP em vez de descompactado em memória.
+ * Arquivos {@code .xls} (limitados a 65 mil linhas) continuam usando o
+ * {@link WorkbookFactory}, mas passam pela mesma normalização de valores.
+ * <p>
+ * Os valores chegam como texto normalizado, independente do formato da célula:
+ * <ul>
+ *   <li>números: {@code toPlainString()} sem zeros à direita (ex.: {@code 12.5});</li>
+ *   <li>datas: ISO {@code yyyy-MM-dd}, {@code yyyy-MM-ddTHH:mm:ss} ou, para
+ *       células só de hora, {@code HH:mm:ss};</li>
+ *   <li>booleanos: {@code TRUE}/{@code FALSE}.</li>
+ * </ul>
+ * Não é thread-safe; cada importação abre a sua instância.
+ */
+public class StreamingExcelReader implements Closeable {
+
+    @FunctionalInterface
+    public interface RowHandler {
+
+        void handle(SheetRow row);
+    }
+
+    /**
+     * Linha da planilha com os valores normalizados por índice de coluna.
+     * {@link #getRowNum()} é base 0, como no POI.
+     */
+    public static final class SheetRow {
+
+        private final int rowNum;
+        private final String[] values;
+
+        SheetRow(int rowNum, String[] values) {
+            this.rowNum = rowNum;
+            this.values = values;
+        }
+
+        public int getRowNum() {
+            return rowNum;
+        }
+
+        public int getLastColumn() {
+            return values.length - 1;
+        }
+
+        public String get(Integer column) {
+            if (column == null || column < 0 || column >= values.length) {
+                return null;
+            }
+            return values[column];
+        }
+
+        public boolean isBlank(Integer column) {
+            String value = get(column);
+            return value == null || value.isBlank();
+        }
+    }
+
+    private final Path tempFile;
+    private final OPCPackage pkg;
+    private final Workbook legacyWorkbook;
+    private final DataFormatter formatter = new RawValueFormatter();
+
+    private StreamingExcelReader(Path tempFile, OPCPackage pkg, Workbook legacyWorkbook) {
+        this.tempFile = tempFile;
+        this.pkg = pkg;
+        this.legacyWorkbook = legacyWorkbook;
+    }
+
+    public static StreamingExcelReader open(InputStream input) throws IOException {
+        Path tempFile = Files.createTempFile("geosegbar-import-", ".tmp");
+        try {
+            Files.copy(input, tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+            FileMagic magic;
+            try (InputStream is = new BufferedInputStream(Files.newInputStream(tempFile))) {
+                magic = FileMagic.valueOf(is);
+            }
+
+            if (magic == FileMagic.OOXML) {
+                return new StreamingExcelReader(tempFile, OPCPackage.open(tempFile.toFile(), PackageAccess.READ), null);
+            }
+            if (magic == FileMagic.OLE2) {
+                return new StreamingExcelReader(tempFile, null, WorkbookFactory.create(tempFile.toFile(), null, true));
+            }
+            throw new IOException("Invalid header signature: arquivo não é uma planilha Excel");
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        } catch (Exception e) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    public Set<String> getSheetNames() throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        if (legacyWorkbook != null) {
+            for (Sheet sheet : legacyWorkbook) {
+                names.add(sheet.getSheetName());
+            }
+            return names;
+        }
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        while (sheets.hasNext()) {
+            try (InputStream ignored = sheets.next()) {
+                names.add(sheets.getSheetName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Percorre a aba informada entregando cada linha não vazia ao handler, na
+     * ordem do arquivo. Exceções de runtime lançadas pelo handler são
+     * propagadas sem embrulho.
+     *
+     * @return {@code false} se a aba não existir
+     */
+    public boolean readSheet(String sheetName, RowHandler handler) throws IOException {
+        if (legacyWorkbook != null) {
+            Sheet sheet = legacyWorkbook.getSheet(sheetName);
+            if (sheet == null) {
+                return false;
+            }
+            readLegacySheet(sheet, handler);
+            return true;
+        }
+
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        while (sheets.hasNext()) {
+            try (InputStream sheetStream = sheets.next()) {
+                if (!sheetName.equals(sheets.getSheetName())) {
+                    continue;
+                }
+                parseSheet(sheetStream, handler);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (pkg != null) {
+                pkg.revert();
+            }
+            if (legacyWorkbook != null) {
+                legacyWorkbook.close();
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private XSSFReader.SheetIterator sheetIterator() throws IOException {
+        try {
+            return (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void parseSheet(InputStream sheetStream, RowHandler handler) throws IOException {
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            StylesTable styles = reader.getStylesTable();
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new XSSFSheetXMLHandler(styles, strings,
+                    new RowCollector(handler), formatter, false));
+            xmlReader.parse(new InputSource(sheetStream));
+        } catch (SAXException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void readLegacySheet(Sheet sheet, RowHandler handler) {
+        for (Row row : sheet) {
+            int lastCell = row.getLastCellNum();
+            if (lastCell <= 0) {
+                continue;
+            }
+            String[] values = new String[lastCell];
+            boolean hasValue = false;
+            for (Cell cell : row) {
+                String value = legacyCellValue(cell, cell.getCellType());
+                values[cell.getColumnIndex()] = value;
+                hasValue |= value != null;
+            }
+            if (hasValue) {
+                handler.handle(new SheetRow(row.getRowNum(), values));
+            }
+        }
+    }
+
+    private String legacyCellValue(Cell cell, CellType type) {
+        return switch (type) {
+            case STRING ->
+                cell.getStringCellValue();
+            case NUMERIC ->
+                formatter.formatRawCellContents(cell.getNumericCellValue(),
+                        cell.getCellStyle().getDataFormat(), cell.getCellStyle().getDataFormatString());
+            case BOOLEAN ->
+                cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            case FORMULA ->
+                legacyCellValue(cell, cell.getCachedFormulaResultType());
+            default ->
+                null;
+        };
+    }
+
+    /**
+     * Acumula as células de uma linha e entrega ao handler no fim da linha.
+     */
+    private static final class RowCollector implements SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final List<String> current = new ArrayList<>();
+        private int nextColumn;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            current.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!current.isEmpty()) {
+                handler.handle(new SheetRow(rowNum, current.toArray(String[]::new)));
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (current.size() < column) {
+                current.add(null);
+            }
+            if (current.size() == column) {
+                current.add(formattedValue);
+            } else {
+                current.set(column, formattedValue);
+            }
+            nextColumn = column + 1;
+        }
+    }
+
+    /**
+     * Ignora a máscara de exibição da célula: números saem sem separador de
+     * milhar nem arredondamento, datas em ISO. Assim o resultado não depende do
+     * locale nem do formato que o usuário aplicou na planilha.
+     */
+    private static final class RawValueFormatter extends DataFormatter {
+
+        private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+        private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                LocalDateTime dateTime = DateUtil.getLocalDateTime(value, use1904Windowing, true);
+                if (value < 1) {
+                    return dateTime.format(TIME_FORMAT);
+                }
+                if (dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                    return dateTime.toLocalDate().toString();
+                }
+                return dateTime.format(DATE_TIME_FORMAT);
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+}
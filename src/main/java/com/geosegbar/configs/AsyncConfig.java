@@ -2,6 +2,7 @@ package com.geosegbar.configs;
 
 import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -28,6 +29,48 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * Thread pool da coleta diária da ANA ({@code HydrotelemetricBatchCollectionService}).
+     * O tamanho define quantas estações são consultadas ao mesmo tempo; a
+     * vazão real é limitada pelo rate limiter do {@code AnaApiService}. A fila
+     * comporta a coleta inteira de uma vez.
+     */
+    @Bean(name = "anaCollectionExecutor")
+    public Executor anaCollectionExecutor(@Value("${ana.api.collection.parallelism:8}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("ana-collection-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool das janelas buscadas antecipadamente pelos jobs históricos
+     * ({@code HistoricalDataJobProcessor}), separado do
+     * {@code anaCollectionExecutor}: uma coleta diária longa não atrasa as
+     * janelas, e elas nunca rodam na thread do job. Cada job mantém no máximo
+     * {@code ana.api.historical.prefetch-windows} buscas em andamento; a fila
+     * só absorve as de janelas descartadas após uma falha.
+     */
+    @Bean(name = "anaHistoricalPrefetchExecutor")
+    public Executor anaHistoricalPrefetchExecutor(
+            @Value("${ana.api.historical.prefetch-windows:3}") int prefetchWindows,
+            @Value("${historical-data-job.queue.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        int threads = Math.max(prefetchWindows, 1) * Math.max(maxConcurrentJobs, 1);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("ana-historical-prefetch-");
+        executor.initialize();
+        return executor;
+    }
+
     @Bean(name = "historicalDataExecutor")
     public Executor historicalDataExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -82,21 +125,91 @@ public class AsyncConfig {
     }
 
     /**
-     * Thread pool dedicado à persistência de registros de auditoria. Mantido
-     * separado dos pools de negócio para que a auditoria nunca compita por
-     * recursos com operações críticas. CallerRunsPolicy garante que, sob carga,
-     * o registro seja gravado no próprio thread em vez de descartado.
+     * Thread pool das exportações de leituras em streaming (Excel e CSV). Só
+     * os endpoints de exportação o usam, via {@code WebAsyncTask}; as demais
+     * respostas assíncronas do MVC seguem com a configuração padrão. Fila curta
+     * e AbortPolicy: exportações pesadas excedentes são recusadas em vez de
+     * acumular arquivos temporários. Declarado como {@code Executor}, como os
+     * demais, para não virar o executor padrão dos {@code @Async} sem
+     * qualifier.
      */
-    @Bean(name = "auditExecutor")
-    public Executor auditExecutor() {
+    @Bean(name = "mvcStreamingExecutor")
+    public Executor mvcStreamingExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(1000);
-        executor.setThreadNamePrefix("audit-");
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("mvc-streaming-");
         executor.setWaitForTasksToCompleteOnShutdown(true);
-        executor.setAwaitTerminationSeconds(30);
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool que renova em segundo plano os lotes de tokens do rate
+     * limiting local ({@code LocalTokenBucketTier}). Tarefas curtas (uma ida ao
+     * Redis); com a fila cheia a renovação é recusada e a própria requisição
+     * reserva quando o lote local acabar.
+     */
+    @Bean(name = "rateLimitSyncExecutor")
+    public Executor rateLimitSyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("rate-limit-sync-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool da reclassificação de leituras após mudança de limites
+     * ({@code LimitReclassificationService}). Uma thread: cada tarefa percorre
+     * todas as leituras de um output em lotes, e rodar vários outputs em
+     * paralelo só disputaria o banco com as requisições.
+     */
+    @Bean(name = "limitReclassificationExecutor")
+    public Executor limitReclassificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10000);
+        executor.setThreadNamePrefix("limit-reclassification-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool das operações em massa de permissões de barragem grandes
+     * demais para a transação de quem as pediu
+     * ({@code DamPermissionFanOutScheduler}). Uma thread: o scheduler despacha
+     * um job por vez; os pendentes ficam na tabela, não nesta fila.
+     */
+    @Bean(name = "damPermissionFanOutExecutor")
+    public Executor damPermissionFanOutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("dam-permission-fan-out-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool dos jobs de recálculo de outputs
+     * ({@code OutputRecomputationScheduler}). O scheduler nunca despacha mais
+     * que {@code output-recomputation.max-concurrent-jobs}; a fila só absorve
+     * disparos simultâneos.
+     */
+    @Bean(name = "outputRecomputationExecutor")
+    public Executor outputRecomputationExecutor(@Value("${output-recomputation.max-concurrent-jobs:1}") int maxConcurrentJobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(maxConcurrentJobs, 1));
+        executor.setMaxPoolSize(Math.max(maxConcurrentJobs, 1));
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("output-recomputation-");
         executor.initialize();
         return executor;
     }
@@ -1,32 +1,109 @@
 package com.geosegbar.configs;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.geosegbar.common.enums.DashboardSectionEnum;
+import com.geosegbar.configs.security.AuthenticatedPrincipalCache;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessIndex;
+import com.geosegbar.infra.reading.services.OutputCalculationService;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * Os caches de dashboard são invalidados por barragem a cada escrita (ver
+     * {@code DashboardDataChangedEvent}), mas só na instância que fez a
+     * escrita: as versões de {@code DashboardCacheTags} são locais. Com várias
+     * réplicas, o TTL é o que limita a defasagem das demais, por isso o padrão
+     * continua curto; um TTL longo só é seguro com uma única instância.
+     */
+    @Value("${application.cache.dashboard-ttl:PT60S}")
+    private Duration dashboardTtl;
+
+    /**
+     * O índice de acesso é descartado por usuário a cada mudança de permissão
+     * (ver {@code UserAccessIndex}); o TTL limita a defasagem entre instâncias.
+     */
+    @Value("${application.cache.user-access-ttl:PT1M}")
+    private Duration userAccessTtl;
+
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "dashboard-danger-level-summary",
-                "dashboard-anomaly-status-summary",
-                "dashboard-instrument-summary",
-                "dashboard-recent-anomalies",
-                "dashboard-checklist-summary"
-        );
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(500)
-                .expireAfterWrite(Duration.ofSeconds(60))
-                .recordStats());
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+
+        for (DashboardSectionEnum section : DashboardSectionEnum.values()) {
+            for (String cacheName : section.getCacheNames()) {
+                cacheManager.registerCustomCache(cacheName, Caffeine.newBuilder()
+                        .maximumSize(500)
+                        .expireAfterWrite(dashboardTtl)
+                        .recordStats()
+                        .build());
+            }
+        }
+
+        // Usuário autenticado do SecurityFilter: TTL curto porque o principal
+        // carrega status e permissões; o descarte explícito acontece via
+        // UserAccessChangedEvent (ver AuthenticatedPrincipalCache).
+        cacheManager.registerCustomCache(AuthenticatedPrincipalCache.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(5_000)
+                .expireAfterWrite(Duration.ofSeconds(30))
+                .recordStats()
+                .build());
+
+        cacheManager.registerCustomCache(UserAccessIndex.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(userAccessTtl)
+                .recordStats()
+                .build());
+
+        // Equações de outputs já compiladas: a chave inclui o texto da
+        // equação, então não há invalidação; só o limite de tamanho.
+        cacheManager.registerCustomCache(OutputCalculationService.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(5_000)
+                .recordStats()
+                .build());
         return cacheManager;
     }
+
+    /**
+     * Tamanho, gets (hit/miss), puts e evictions de cada cache já são
+     * publicados pelo actuator ({@code cache.*}). Aqui entram a taxa de acerto
+     * acumulada e o TTL configurado, com a mesma tag {@code cache}.
+     */
+    @Bean
+    public MeterBinder cacheHitRatioAndTtlMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                if (!(cacheManager.getCache(cacheName).getNativeCache() instanceof Cache<?, ?> nativeCache)) {
+                    continue;
+                }
+                Gauge.builder("cache.hit.ratio", nativeCache, c -> c.stats().hitRate())
+                        .tag("cache", cacheName)
+                        .description("Taxa de acerto acumulada do cache")
+                        .register(registry);
+                nativeCache.policy().expireAfterWrite().ifPresent(expiration
+                        -> Gauge.builder("cache.ttl", expiration, e -> e.getExpiresAfter(TimeUnit.SECONDS))
+                                .tag("cache", cacheName)
+                                .baseUnit("seconds")
+                                .description("TTL (expireAfterWrite) configurado para o cache")
+                                .register(registry));
+            }
+        };
+    }
 }
@@ -1,7 +1,13 @@
 package com.geosegbar.configs.filters;
 
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.zip.GZIPInputStream;
 
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,8 +20,35 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 
+/**
+ * Descompacta corpos de requisição enviados com {@code Content-Encoding: gzip}
+ * (o app mobile compacta os checklists). A descompressão é feita sob demanda,
+ * à medida que o corpo é lido: a memória usada fica no tamanho do buffer, não
+ * do payload.
+ * <p>
+ * O corpo descompactado é limitado a {@code maxInflatedBytes} e, a partir de
+ * {@link #RATIO_CHECK_THRESHOLD} bytes, a {@code maxRatio} vezes o tamanho
+ * compactado lido até o momento. Ao passar de um dos limites a leitura falha
+ * com {@link InflatedBodyTooLargeException}.
+ */
 public class GzipRequestDecompressingFilter extends OncePerRequestFilter {
 
+    /**
+     * Abaixo deste tamanho descompactado a razão de compressão não é
+     * verificada: JSON pequeno e repetitivo compacta muito sem ser ataque.
+     */
+    static final long RATIO_CHECK_THRESHOLD = 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final long maxInflatedBytes;
+    private final long maxRatio;
+
+    public GzipRequestDecompressingFilter(long maxInflatedBytes, long maxRatio) {
+        this.maxInflatedBytes = maxInflatedBytes;
+        this.maxRatio = maxRatio;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
@@ -24,51 +57,227 @@ public class GzipRequestDecompressingFilter extends OncePerRequestFilter {
         String contentEncoding = request.getHeader("Content-Encoding");
 
         if (contentEncoding != null && contentEncoding.toLowerCase().contains("gzip")) {
-            filterChain.doFilter(new GzipRequestWrapper(request), response);
+            filterChain.doFilter(new GzipRequestWrapper(request, maxInflatedBytes, maxRatio), response);
         } else {
             filterChain.doFilter(request, response);
         }
     }
 
+    /**
+     * Corpo descompactado maior que o permitido (tamanho absoluto ou razão de
+     * compressão).
+     */
+    public static class InflatedBodyTooLargeException extends IOException {
+
+        private final long limit;
+
+        InflatedBodyTooLargeException(String message, long limit) {
+            super(message);
+            this.limit = limit;
+        }
+
+        /**
+         * Limite violado: bytes descompactados ou, para a razão de compressão,
+         * o {@code N} de {@code N:1}.
+         */
+        public long getLimit() {
+            return limit;
+        }
+    }
+
     private static class GzipRequestWrapper extends HttpServletRequestWrapper {
 
-        private final byte[] decompressedBody;
+        private final long maxInflatedBytes;
+        private final long maxRatio;
+
+        private InflatingInputStream inputStream;
+        private BufferedReader reader;
 
-        GzipRequestWrapper(HttpServletRequest request) throws IOException {
+        GzipRequestWrapper(HttpServletRequest request, long maxInflatedBytes, long maxRatio) {
             super(request);
-            try (InputStream gzipStream = new GZIPInputStream(request.getInputStream())) {
-                this.decompressedBody = gzipStream.readAllBytes();
-            }
+            this.maxInflatedBytes = maxInflatedBytes;
+            this.maxRatio = maxRatio;
         }
 
         @Override
-        public ServletInputStream getInputStream() {
-            java.io.ByteArrayInputStream byteStream = new java.io.ByteArrayInputStream(decompressedBody);
-            return new ServletInputStream() {
-                @Override public int read() throws IOException { return byteStream.read(); }
-                @Override public int read(byte[] b, int off, int len) throws IOException { return byteStream.read(b, off, len); }
-                @Override public boolean isFinished() { return byteStream.available() == 0; }
-                @Override public boolean isReady() { return true; }
-                @Override public void setReadListener(ReadListener readListener) {}
-            };
+        public ServletInputStream getInputStream() throws IOException {
+            if (reader != null) {
+                throw new IllegalStateException("getReader() já foi chamado nesta requisição");
+            }
+            return inflatingStream();
         }
 
         @Override
-        public java.io.BufferedReader getReader() throws IOException {
-            return new java.io.BufferedReader(new java.io.InputStreamReader(getInputStream(), getCharacterEncoding()));
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                if (inputStream != null) {
+                    throw new IllegalStateException("getInputStream() já foi chamado nesta requisição");
+                }
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(inflatingStream(),
+                        encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+            }
+            return reader;
         }
 
         @Override
-        public int getContentLength() { return decompressedBody.length; }
+        public int getContentLength() {
+            return -1;
+        }
 
         @Override
-        public long getContentLengthLong() { return decompressedBody.length; }
+        public long getContentLengthLong() {
+            return -1;
+        }
 
         @Override
         public String getHeader(String name) {
-            if ("Content-Encoding".equalsIgnoreCase(name)) return null;
-            if ("Content-Length".equalsIgnoreCase(name)) return String.valueOf(decompressedBody.length);
+            if (isRemovedHeader(name)) {
+                return null;
+            }
             return super.getHeader(name);
         }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isRemovedHeader(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        private static boolean isRemovedHeader(String name) {
+            return "Content-Encoding".equalsIgnoreCase(name) || "Content-Length".equalsIgnoreCase(name);
+        }
+
+        private InflatingInputStream inflatingStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new InflatingInputStream(super.getInputStream(), maxInflatedBytes, maxRatio);
+            }
+            return inputStream;
+        }
+    }
+
+    /**
+     * Stream que descompacta o corpo original aos poucos e conta os bytes
+     * lidos de cada lado para aplicar os limites.
+     */
+    private static class InflatingInputStream extends ServletInputStream {
+
+        private final CountingInputStream compressed;
+        private final long maxInflatedBytes;
+        private final long maxRatio;
+
+        private final byte[] single = new byte[1];
+
+        private GZIPInputStream gzipStream;
+        private long inflatedBytes;
+        private boolean finished;
+
+        InflatingInputStream(InputStream source, long maxInflatedBytes, long maxRatio) {
+            this.compressed = new CountingInputStream(source);
+            this.maxInflatedBytes = maxInflatedBytes;
+            this.maxRatio = maxRatio;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int n = read(single, 0, 1);
+            return n == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                return -1;
+            }
+            if (gzipStream == null) {
+                // O cabeçalho gzip só é lido na primeira leitura do corpo.
+                gzipStream = new GZIPInputStream(compressed, BUFFER_SIZE);
+            }
+            int n = gzipStream.read(b, off, len);
+            if (n == -1) {
+                finished = true;
+                return -1;
+            }
+            inflatedBytes += n;
+            checkLimits();
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Sem leitura assíncrona: {@link #isReady()} é sempre {@code true} e o
+         * corpo é lido de forma bloqueante, como no wrapper anterior.
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (gzipStream != null) {
+                gzipStream.close();
+            } else {
+                compressed.close();
+            }
+        }
+
+        private void checkLimits() throws InflatedBodyTooLargeException {
+            if (maxInflatedBytes > 0 && inflatedBytes > maxInflatedBytes) {
+                finished = true;
+                throw new InflatedBodyTooLargeException(
+                        "Corpo gzip descompactado excede o limite de " + maxInflatedBytes + " bytes", maxInflatedBytes);
+            }
+            if (maxRatio > 0 && inflatedBytes > RATIO_CHECK_THRESHOLD
+                    && inflatedBytes > compressed.count * maxRatio) {
+                finished = true;
+                throw new InflatedBodyTooLargeException(
+                        "Razão de compressão do corpo gzip excede " + maxRatio + ":1", maxRatio);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
     }
 }
@@ -15,9 +15,19 @@ import jakarta.servlet.http.HttpServletResponse;
  * so that the request body can be re-read after it has been consumed by the
  * controller layer. This is required by the global exception handler to include
  * the raw request body in error-report emails.
+ * <p>
+ * Only the first {@code contentCacheLimit} bytes are kept: the body still
+ * streams to the controller in full, but large uploads no longer get a second
+ * full copy on the heap.
  */
 public class RequestBodyCachingFilter extends OncePerRequestFilter {
 
+    private final int contentCacheLimit;
+
+    public RequestBodyCachingFilter(int contentCacheLimit) {
+        this.contentCacheLimit = contentCacheLimit;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
@@ -25,7 +35,7 @@ public class RequestBodyCachingFilter extends OncePerRequestFilter {
 
         ContentCachingRequestWrapper wrapper = request instanceof ContentCachingRequestWrapper
                 ? (ContentCachingRequestWrapper) request
-                : new ContentCachingRequestWrapper(request);
+                : new ContentCachingRequestWrapper(request, contentCacheLimit);
 
         try {
             filterChain.doFilter(wrapper, response);
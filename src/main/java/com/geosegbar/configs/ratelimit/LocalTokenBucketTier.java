@@ -0,0 +1,184 @@
+package com.geosegbar.configs.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Camada local do rate limiting: cada nó guarda, por bucket, um lote de tokens
+ * já reservados no bucket global (Redis). A requisição comum só decrementa um
+ * contador em memória; o Redis é consultado quando o lote local acaba ou,
+ * em segundo plano, quando ele chega à metade.
+ * <p>
+ * Como todo token usado localmente foi antes consumido do bucket global, o
+ * limite global continua valendo entre os nós — a reserva só antecipa o
+ * consumo. Um bucket global esgotado bloqueia o identificador localmente até o
+ * próximo refill, também sem ir ao Redis.
+ */
+public class LocalTokenBucketTier {
+
+    /**
+     * Reserva de tokens no bucket global.
+     */
+    @FunctionalInterface
+    public interface Reserver {
+
+        /**
+         * Tenta consumir até {@code tokens} do bucket global.
+         */
+        Reservation reserve(String bucketKey, RateLimitType type, long tokens);
+    }
+
+    /**
+     * Resultado de uma reserva: tokens obtidos (0 se o bucket global está
+     * vazio), tokens que sobraram no bucket global e tempo até o próximo
+     * refill.
+     */
+    public record Reservation(long granted, long globalRemaining, long nanosToRefill) {
+
+    }
+
+    private final Cache<String, LocalBucket> buckets;
+    private final Reserver reserver;
+    private final Executor syncExecutor;
+    private final Consumer<Exception> syncFailureHandler;
+
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong reservations = new AtomicLong();
+
+    public LocalTokenBucketTier(Reserver reserver, Executor syncExecutor, Consumer<Exception> syncFailureHandler,
+            long maxEntries, Duration idleExpiration) {
+        this.reserver = reserver;
+        this.syncExecutor = syncExecutor;
+        this.syncFailureHandler = syncFailureHandler;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleExpiration)
+                .build();
+    }
+
+    /**
+     * Consome um token do bucket {@code bucketKey}. Só chama o Redis na
+     * thread da requisição quando o lote local acabou; exceções do
+     * {@link Reserver} nesse caminho propagam para o chamador.
+     *
+     * @param batchSize tokens reservados por ida ao Redis
+     */
+    public RateLimitInfo tryConsume(String bucketKey, RateLimitType type, long capacity, long batchSize) {
+        LocalBucket bucket = buckets.get(bucketKey, key -> new LocalBucket());
+        long now = System.nanoTime();
+
+        if (bucket.blocked && now - bucket.blockedUntilNanos < 0) {
+            return blocked(bucket, now, capacity);
+        }
+        if (bucket.tryTake()) {
+            localHits.incrementAndGet();
+            if (bucket.tokens.get() <= batchSize / 2) {
+                syncInBackground(bucketKey, type, batchSize, bucket);
+            }
+            return allowed(bucket, now, capacity);
+        }
+
+        synchronized (bucket) {
+            if (!bucket.tryTake()) {
+                reserve(bucketKey, type, batchSize, bucket);
+                if (!bucket.tryTake()) {
+                    return blocked(bucket, System.nanoTime(), capacity);
+                }
+            }
+        }
+        return allowed(bucket, System.nanoTime(), capacity);
+    }
+
+    public long getLocalHits() {
+        return localHits.get();
+    }
+
+    public long getReservations() {
+        return reservations.get();
+    }
+
+    public long getBucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    private void syncInBackground(String bucketKey, RateLimitType type, long batchSize, LocalBucket bucket) {
+        if (!bucket.syncing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            syncExecutor.execute(() -> {
+                try {
+                    synchronized (bucket) {
+                        if (bucket.tokens.get() <= batchSize / 2) {
+                            reserve(bucketKey, type, batchSize, bucket);
+                        }
+                    }
+                } catch (Exception e) {
+                    syncFailureHandler.accept(e);
+                } finally {
+                    bucket.syncing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Fila cheia: a próxima requisição sem token local reserva de forma síncrona.
+            bucket.syncing.set(false);
+        }
+    }
+
+    private void reserve(String bucketKey, RateLimitType type, long batchSize, LocalBucket bucket) {
+        Reservation reservation = reserver.reserve(bucketKey, type, batchSize);
+        reservations.incrementAndGet();
+
+        long now = System.nanoTime();
+        bucket.globalRemaining = reservation.globalRemaining();
+        bucket.refillAtNanos = now + reservation.nanosToRefill();
+        if (reservation.granted() > 0) {
+            bucket.tokens.addAndGet(reservation.granted());
+            bucket.blocked = false;
+        } else if (bucket.tokens.get() <= 0) {
+            bucket.blockedUntilNanos = now + reservation.nanosToRefill();
+            bucket.blocked = true;
+        }
+    }
+
+    private RateLimitInfo allowed(LocalBucket bucket, long now, long capacity) {
+        long remaining = Math.max(bucket.tokens.get(), 0) + bucket.globalRemaining;
+        return new RateLimitInfo(true, remaining, secondsUntil(bucket.refillAtNanos, now), capacity);
+    }
+
+    private RateLimitInfo blocked(LocalBucket bucket, long now, long capacity) {
+        return new RateLimitInfo(false, 0, secondsUntil(bucket.blockedUntilNanos, now), capacity);
+    }
+
+    private static long secondsUntil(long deadlineNanos, long now) {
+        return Duration.ofNanos(Math.max(deadlineNanos - now, 0)).getSeconds();
+    }
+
+    private static final class LocalBucket {
+
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicBoolean syncing = new AtomicBoolean();
+        private volatile long globalRemaining;
+        private volatile long refillAtNanos;
+        private volatile long blockedUntilNanos;
+        private volatile boolean blocked;
+
+        private boolean tryTake() {
+            long current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+}
@@ -30,6 +30,18 @@ public class RateLimitProperties {
      */
     private LimitConfig authenticated = new LimitConfig();
 
+    /**
+     * Tokens reservados no Redis por vez para o bucket local de cada
+     * identificador. Limitado à capacidade do tipo.
+     */
+    private long localBatchSize = 10;
+
+    /**
+     * Quantidade máxima de buckets locais (identificadores) mantidos em
+     * memória por nó.
+     */
+    private long localMaxEntries = 100_000;
+
     @Getter
     @Setter
     public static class LimitConfig {
@@ -1,16 +1,20 @@
 package com.geosegbar.configs.ratelimit;
 
 import java.time.Duration;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
 import io.github.bucket4j.distributed.proxy.ProxyManager;
 import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
@@ -22,15 +26,21 @@ import io.lettuce.core.codec.RedisCodec;
 import io.lettuce.core.codec.StringCodec;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Rate limiting em duas camadas: o limite global de cada identificador fica no
+ * Redis (Bucket4j) e cada nó consome de um lote de tokens reservado
+ * localmente ({@link LocalTokenBucketTier}), de modo que a maioria das
+ * requisições não faz ida ao Redis. Configuração e prefixo de chave do bucket
+ * são montados uma vez por {@link RateLimitType}.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RateLimitService {
 
     private final RateLimitProperties properties;
+    private final Executor syncExecutor;
 
     @Value("${spring.data.redis.host}")
     private String redisHost;
@@ -57,6 +67,23 @@ public class RateLimitService {
     private RedisClient redisClient;
     private StatefulRedisConnection<String, byte[]> redisConnection;
 
+    private final Map<RateLimitType, TypeSettings> typeSettings = new EnumMap<>(RateLimitType.class);
+    private LocalTokenBucketTier localTier;
+
+    /**
+     * Configuração pronta de um tipo de limite: prefixo da chave no Redis,
+     * {@link BucketConfiguration} e tamanho do lote local.
+     */
+    private record TypeSettings(String keyPrefix, BucketConfiguration configuration, long capacity, long batchSize) {
+
+    }
+
+    public RateLimitService(RateLimitProperties properties,
+            @Qualifier("rateLimitSyncExecutor") Executor syncExecutor) {
+        this.properties = properties;
+        this.syncExecutor = syncExecutor;
+    }
+
     @PostConstruct
     public void init() {
         if (properties.isEnabled()) {
@@ -78,6 +105,7 @@ public class RateLimitService {
 
             // Inicializa a conexão Redis dedicada ao Bucket4j
             initRedisConnection();
+            initLocalTier();
         } else {
             log.warn("⚠️  RATE LIMITING DESABILITADO - Todas as requisições serão permitidas");
         }
@@ -103,6 +131,23 @@ public class RateLimitService {
         }
     }
 
+    private void initLocalTier() {
+        long longestRefillMinutes = 1;
+        for (RateLimitType type : RateLimitType.values()) {
+            RateLimitProperties.LimitConfig config = properties.getConfigForType(type);
+            typeSettings.put(type, new TypeSettings(
+                    "rate-limit:" + type.name().toLowerCase() + ":",
+                    buildBucketConfiguration(config),
+                    config.getCapacity(),
+                    Math.max(1, Math.min(properties.getLocalBatchSize(), config.getCapacity()))));
+            longestRefillMinutes = Math.max(longestRefillMinutes, config.getRefillDurationMinutes());
+        }
+        // Um bucket local ocioso por mais de um ciclo de refill não tem mais o que
+        // antecipar; os tokens que sobraram nele são descartados.
+        localTier = new LocalTokenBucketTier(this::reserveFromRedis, syncExecutor, this::onRedisFailure,
+                properties.getLocalMaxEntries(), Duration.ofMinutes(longestRefillMinutes));
+    }
+
     @PreDestroy
     public void shutdown() {
         if (redisConnection != null) {
@@ -114,7 +159,7 @@ public class RateLimitService {
     }
 
     public RateLimitInfo tryConsume(String identifier, RateLimitType type) {
-        if (!properties.isEnabled() || redisConnection == null || !redisConnection.isOpen()) {
+        if (!properties.isEnabled() || localTier == null || redisConnection == null || !redisConnection.isOpen()) {
             return new RateLimitInfo(true, Long.MAX_VALUE, 0, Long.MAX_VALUE);
         }
 
@@ -124,34 +169,55 @@ public class RateLimitService {
         }
 
         try {
-            Bucket bucket = resolveBucket(identifier, type);
-            var probe = bucket.tryConsumeAndReturnRemaining(1);
+            TypeSettings settings = typeSettings.get(type);
+            RateLimitInfo info = localTier.tryConsume(
+                    settings.keyPrefix() + identifier, type, settings.capacity(), settings.batchSize());
 
-            if (probe.isConsumed()) {
+            if (info.isAllowed()) {
                 allowedRequests.incrementAndGet();
-                long remaining = probe.getRemainingTokens();
-                long nanosUntilRefill = probe.getNanosToWaitForRefill();
-                long secondsUntilRefill = Duration.ofNanos(nanosUntilRefill).getSeconds();
-                RateLimitProperties.LimitConfig config = properties.getConfigForType(type);
-
-                return new RateLimitInfo(true, remaining, secondsUntilRefill, config.getCapacity());
             } else {
                 blockedRequests.incrementAndGet();
-                long nanosUntilRefill = probe.getNanosToWaitForReset();
-                long secondsUntilRefill = Duration.ofNanos(nanosUntilRefill).getSeconds();
-                RateLimitProperties.LimitConfig config = properties.getConfigForType(type);
+                log.warn("🚫 Rate limit BLOCKED - Type: {}, ID: {}, Retry in: {}s", type, identifier, info.getSecondsUntilRefill());
+            }
+            return info;
+        } catch (Exception e) {
+            onRedisFailure(e);
+            return new RateLimitInfo(true, Long.MAX_VALUE, 0, Long.MAX_VALUE);
+        }
+    }
 
-                log.warn("🚫 Rate limit BLOCKED - Type: {}, ID: {}, Retry in: {}s", identifier, type, secondsUntilRefill);
-                return new RateLimitInfo(false, 0, secondsUntilRefill, config.getCapacity());
+    /**
+     * Reserva até {@code tokens} do bucket global. Se o bucket não tem o lote
+     * inteiro, reserva o que sobrou; vazio, devolve o tempo até haver ao menos
+     * um token.
+     */
+    private LocalTokenBucketTier.Reservation reserveFromRedis(String bucketKey, RateLimitType type, long tokens) {
+        Bucket bucket = getProxyManager().builder().build(bucketKey, typeSettings.get(type).configuration());
+
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
+        if (probe.isConsumed()) {
+            return new LocalTokenBucketTier.Reservation(tokens, probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+        }
+
+        long available = probe.getRemainingTokens();
+        if (available > 0) {
+            ConsumptionProbe partial = bucket.tryConsumeAndReturnRemaining(available);
+            if (partial.isConsumed()) {
+                return new LocalTokenBucketTier.Reservation(available, partial.getRemainingTokens(), partial.getNanosToWaitForRefill());
             }
-        } catch (RedisReadOnlyException e) {
+        }
+
+        long nanosToFirstToken = bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill();
+        return new LocalTokenBucketTier.Reservation(0, 0, nanosToFirstToken);
+    }
+
+    private void onRedisFailure(Exception e) {
+        if (e instanceof RedisReadOnlyException) {
             // Redis em modo READONLY (bgsave falhou) — abre circuit breaker
             openCircuitBreaker("Redis READONLY - bgsave provavelmente falhou. Rate limiting desabilitado temporariamente por {}s");
-            return new RateLimitInfo(true, Long.MAX_VALUE, 0, Long.MAX_VALUE);
-        } catch (Exception e) {
+        } else {
             // Qualquer outro erro Redis — abre circuit breaker
             openCircuitBreaker("Erro Redis no rate limiting: " + e.getClass().getSimpleName() + " - desabilitado temporariamente por {}s");
-            return new RateLimitInfo(true, Long.MAX_VALUE, 0, Long.MAX_VALUE);
         }
     }
 
@@ -177,19 +243,7 @@ public class RateLimitService {
         circuitOpenUntil = now + CIRCUIT_BREAKER_COOLDOWN_MS;
     }
 
-    private Bucket resolveBucket(String identifier, RateLimitType type) {
-        String bucketKey = buildBucketKey(identifier, type);
-        ProxyManager<String> proxyManager = getProxyManager();
-        BucketConfiguration configuration = buildBucketConfiguration(type);
-        return proxyManager.builder().build(bucketKey, configuration);
-    }
-
-    private String buildBucketKey(String identifier, RateLimitType type) {
-        return String.format("rate-limit:%s:%s", type.name().toLowerCase(), identifier);
-    }
-
-    private BucketConfiguration buildBucketConfiguration(RateLimitType type) {
-        RateLimitProperties.LimitConfig config = properties.getConfigForType(type);
+    private BucketConfiguration buildBucketConfiguration(RateLimitProperties.LimitConfig config) {
         Refill refill = Refill.intervally(config.getRefillTokens(), Duration.ofMinutes(config.getRefillDurationMinutes()));
         Bandwidth bandwidth = Bandwidth.classic(config.getCapacity(), refill);
         return BucketConfiguration.builder().addLimit(bandwidth).build();
@@ -218,6 +272,7 @@ public class RateLimitService {
                 : "0.00%",
                 "publicLimit", properties.getPublicConfig().getCapacity() + " req/" + properties.getPublicConfig().getRefillDurationMinutes() + "min",
                 "authenticatedLimit", properties.getAuthenticated().getCapacity() + " req/" + properties.getAuthenticated().getRefillDurationMinutes() + "min",
+                "redisReservations", localTier != null ? localTier.getReservations() : 0L,
                 "circuitBreakerOpen", isCircuitOpen(),
                 "circuitBreakerTrips", circuitBreakerTrips.get()
         );
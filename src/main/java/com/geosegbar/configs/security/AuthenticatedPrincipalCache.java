@@ -0,0 +1,90 @@
+package com.geosegbar.configs.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache curto do usuário autenticado usado pelo {@link SecurityFilter}, para
+ * não repetir o fetch do usuário com todas as permissões a cada requisição.
+ * <p>
+ * A chave é o ID do usuário mais o hash do token: um novo login sempre começa
+ * com o usuário recarregado do banco. Mudanças de cadastro, status, senha ou
+ * permissões publicam {@link UserAccessChangedEvent} e descartam as entradas do
+ * usuário após o commit; o TTL do cache ({@code CacheConfig}) limita a
+ * defasagem de qualquer caminho que não publique o evento.
+ * <p>
+ * A mesma instância de {@link UserEntity} é compartilhada pelas requisições
+ * concorrentes do usuário e deve ser tratada como somente leitura — como já
+ * acontecia, ela está desanexada do contexto de persistência.
+ */
+@Component
+@Slf4j
+public class AuthenticatedPrincipalCache {
+
+    public static final String CACHE_NAME = "security-principal";
+
+    private final Cache<PrincipalKey, UserEntity> cache;
+
+    @SuppressWarnings("unchecked")
+    public AuthenticatedPrincipalCache(CacheManager cacheManager) {
+        this.cache = (Cache<PrincipalKey, UserEntity>) cacheManager.getCache(CACHE_NAME).getNativeCache();
+    }
+
+    /**
+     * Retorna o usuário em cache para o par usuário/token ou carrega com
+     * {@code loader}. Exceções do loader são propagadas sem encapsulamento.
+     */
+    public UserEntity get(Long userId, String token, Supplier<UserEntity> loader) {
+        return cache.get(new PrincipalKey(userId, hash(token)), key -> loader.get());
+    }
+
+    public void evictUser(Long userId) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Roda após o commit (ou imediatamente, fora de transação) para que a
+     * próxima requisição já carregue o estado gravado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        if (event.affectsAllUsers()) {
+            evictAll();
+            log.debug("Cache de usuários autenticados descartado por completo");
+            return;
+        }
+        event.getUserIds().forEach(this::evictUser);
+        log.debug("Cache de usuários autenticados descartado para os usuários {}", event.getUserIds());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record PrincipalKey(Long userId, String tokenHash) {
+
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,6 +19,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -76,18 +78,20 @@ public class SecurityConfig {
     }
 
     @Bean
-    public FilterRegistrationBean<GzipRequestDecompressingFilter> gzipRequestDecompressingFilter() {
+    public FilterRegistrationBean<GzipRequestDecompressingFilter> gzipRequestDecompressingFilter(
+            @Value("${request.gzip.max-inflated-size:100MB}") DataSize maxInflatedSize,
+            @Value("${request.gzip.max-ratio:200}") long maxRatio) {
         FilterRegistrationBean<GzipRequestDecompressingFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new GzipRequestDecompressingFilter());
+        registration.setFilter(new GzipRequestDecompressingFilter(maxInflatedSize.toBytes(), maxRatio));
         registration.addUrlPatterns("/*");
         registration.setOrder(Ordered.HIGHEST_PRECEDENCE - 1);
         return registration;
     }
 
     @Bean
-    public FilterRegistrationBean<RequestBodyCachingFilter> requestBodyCachingFilter() {
+    public FilterRegistrationBean<RequestBodyCachingFilter> requestBodyCachingFilter(AuditProperties auditProperties) {
         FilterRegistrationBean<RequestBodyCachingFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new RequestBodyCachingFilter());
+        registration.setFilter(new RequestBodyCachingFilter(auditProperties.getMaxBodyLength()));
         registration.addUrlPatterns("/*");
         registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
         return registration;
@@ -29,6 +29,9 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -37,8 +40,9 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         if (userId != null) {
 
-            UserEntity user = userRepository.findByIdWithAllPermissions(userId)
-                    .orElseThrow(() -> new NotFoundException("Usuário não encontrado!"));
+            UserEntity user = principalCache.get(userId, token,
+                    () -> userRepository.findByIdWithAllPermissions(userId)
+                            .orElseThrow(() -> new NotFoundException("Usuário não encontrado!")));
             var authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
             var authentication = new UsernamePasswordAuthenticationToken(user, null, authorities);
             SecurityContextHolder.getContext().setAuthentication(authentication);
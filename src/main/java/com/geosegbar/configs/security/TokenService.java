@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
@@ -24,6 +25,12 @@ public class TokenService {
 
     private Algorithm algorithm;
 
+    /**
+     * Verificador imutável e thread-safe, montado uma vez: evita reconstruir o
+     * {@link JWTVerifier} a cada requisição autenticada.
+     */
+    private JWTVerifier verifier;
+
     private static final String ISSUER = "GeoSegBar";
     private static final ZoneOffset ZONE_OFFSET = ZoneOffset.of("-3");
 
@@ -31,6 +38,9 @@ public class TokenService {
     public void init() {
 
         this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .build();
     }
 
     public String generateToken(UserEntity user) {
@@ -56,10 +66,7 @@ public class TokenService {
      */
     public Long getUserIdFromToken(String token) {
         try {
-            return JWT.require(algorithm)
-                    .withIssuer(ISSUER)
-                    .build()
-                    .verify(token)
+            return verifier.verify(token)
                     .getClaim("id")
                     .asLong();
         } catch (JWTVerificationException exception) {
@@ -72,10 +79,7 @@ public class TokenService {
             return false;
         }
         try {
-            JWT.require(algorithm)
-                    .withIssuer(ISSUER)
-                    .build()
-                    .verify(token);
+            verifier.verify(token);
             return true;
         } catch (JWTVerificationException exception) {
             return false;
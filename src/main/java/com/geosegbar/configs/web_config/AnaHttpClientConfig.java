@@ -0,0 +1,53 @@
+package com.geosegbar.configs.web_config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cliente HTTP compartilhado para a API da ANA.
+ * <p>
+ * Todas as requisições de telemetria (coleta diária, coleta pontual e carga
+ * histórica) passam pelo mesmo pool, com keep-alive: as conexões TLS com o
+ * host da ANA são reaproveitadas em vez de abertas a cada estação. O limite por
+ * rota acompanha o paralelismo da coleta diária.
+ */
+@Configuration
+public class AnaHttpClientConfig {
+
+    @Value("${ana.api.collection.parallelism:8}")
+    private int parallelism;
+
+    @Value("${ana.api.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${ana.api.socket-timeout-ms:30000}")
+    private int socketTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient anaHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(5, TimeUnit.MINUTES);
+        connectionManager.setDefaultMaxPerRoute(parallelism + 2);
+        connectionManager.setMaxTotal(parallelism * 2 + 4);
+        connectionManager.setValidateAfterInactivity(10_000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setSocketTimeout(socketTimeoutMs)
+                .setConnectionRequestTimeout(socketTimeoutMs)
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(60, TimeUnit.SECONDS)
+                .build();
+    }
+}
@@ -19,6 +19,12 @@ public class JacksonConfig {
      * do checklist trafegam como base64 dentro do corpo JSON — e o base64 infla
      * o binário em ~33% — uma imagem de ~50MB vira ~68 milhões de caracteres e
      * estoura o teto. Elevamos para 100M (~73MB de imagem) com folga.
+     * <p>
+     * As fotos do fluxo base64 são decodificadas em streaming por
+     * {@code Base64StagedFileDeserializer} direto para disco e não passam por
+     * este limite (o teto delas fica no próprio deserializer). Ele continua
+     * valendo para os demais campos e para valores que o Jackson já tenha
+     * bufferizado inteiros.
      */
     private static final int MAX_JSON_STRING_LENGTH = 100_000_000;
 
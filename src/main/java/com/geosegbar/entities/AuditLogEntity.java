@@ -30,10 +30,14 @@ import lombok.Setter;
  * <p>
  * Campos de request/response/stacktrace são preenchidos apenas em caso de erro,
  * para facilitar a depuração. Em sucesso, somente metadados + mensagem.
+ * <p>
+ * A tabela é particionada por mês de {@code occurred_at} (ver
+ * {@code AuditLogPartitionService}); a PK física é {@code (id, occurred_at)}.
+ * O índice {@code idx_audit_log_occurred_at_id} da listagem por cursor também
+ * é criado por esse serviço, com {@code CONCURRENTLY}, e não pelo ddl-auto.
  */
 @Entity
 @Table(name = "audit_logs", indexes = {
-    @Index(name = "idx_audit_log_occurred_at", columnList = "occurred_at"),
     @Index(name = "idx_audit_log_actor_user_id", columnList = "actor_user_id"),
     @Index(name = "idx_audit_log_action_occurred", columnList = "action, occurred_at"),
     @Index(name = "idx_audit_log_status", columnList = "status"),
@@ -78,7 +82,7 @@ public class AuditLogEntity {
     private String actorLabel;
 
     // ---- Quando / resultado ----
-    @Column(name = "occurred_at", updatable = false)
+    @Column(name = "occurred_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime occurredAt;
 
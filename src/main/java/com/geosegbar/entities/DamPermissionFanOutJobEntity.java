@@ -0,0 +1,108 @@
+package com.geosegbar.entities;
+
+import java.time.LocalDateTime;
+
+import com.geosegbar.common.enums.DamPermissionFanOutOperation;
+import com.geosegbar.common.enums.DamPermissionFanOutStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Operação em massa de permissões de barragem grande demais para a transação
+ * de quem a pediu.
+ * <p>
+ * Gravada na mesma transação da alteração que a originou: com rollback, não
+ * existe; com commit, sobrevive a um restart. Os usuários são aplicados em
+ * lotes na ordem de {@code userIds}; {@code processedUsers} é o checkpoint,
+ * gravado na transação de cada lote — um job interrompido recomeça dali (as
+ * operações são idempotentes, então refazer o lote corrente é seguro).
+ */
+@Entity
+@Table(name = "dam_permission_fan_out_job", indexes = {
+    @Index(name = "idx_dam_permission_fan_out_job_status", columnList = "status"),
+    @Index(name = "idx_dam_permission_fan_out_job_client_status", columnList = "client_id, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DamPermissionFanOutJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 30)
+    private DamPermissionFanOutOperation operation;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    /**
+     * Nulo em {@code RECREATE_FOR_CLIENT}
+     */
+    @Column(name = "dam_id")
+    private Long damId;
+
+    @Column(name = "user_ids", nullable = false, columnDefinition = "bigint[]")
+    private Long[] userIds;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private DamPermissionFanOutStatus status;
+
+    @Column(name = "total_users", nullable = false)
+    private Integer totalUsers;
+
+    @Column(name = "processed_users", nullable = false)
+    private Integer processedUsers;
+
+    /**
+     * Permissões criadas ou removidas
+     */
+    @Column(name = "affected_rows", nullable = false)
+    private Long affectedRows;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "queued_at", nullable = false, updatable = false)
+    private LocalDateTime queuedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        queuedAt = LocalDateTime.now();
+        if (status == null) {
+            status = DamPermissionFanOutStatus.QUEUED;
+        }
+        totalUsers = userIds != null ? userIds.length : 0;
+        processedUsers = 0;
+        affectedRows = 0L;
+    }
+}
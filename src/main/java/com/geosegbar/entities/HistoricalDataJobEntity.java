@@ -15,7 +15,8 @@ import com.geosegbar.common.enums.JobStatus;
 @Table(name = "historical_data_job", indexes = {
     @Index(name = "idx_job_instrument_status", columnList = "instrument_id, status"),
     @Index(name = "idx_job_status", columnList = "status"),
-    @Index(name = "idx_job_created_at", columnList = "created_at")
+    @Index(name = "idx_job_created_at", columnList = "created_at"),
+    @Index(name = "idx_job_status_available_at", columnList = "status, available_at")
 })
 @Getter
 @Setter
@@ -76,9 +77,29 @@ public class HistoricalDataJobEntity {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    /**
+     * Instante a partir do qual o job pode ser reivindicado por um worker
+     * (QUEUED/PAUSED). Usado como espera entre tentativas de jobs pausados.
+     */
+    @Column(name = "available_at")
+    private LocalDateTime availableAt;
+
+    /**
+     * Worker que detém o job em PROCESSING e até quando; renovado a cada
+     * janela processada. Lease vencido devolve o job para a fila.
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
         if (status == null) {
             status = JobStatus.QUEUED;
         }
@@ -0,0 +1,62 @@
+package com.geosegbar.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Snapshot da leitura ativa mais recente de cada output.
+ * <p>
+ * Mantido pelo {@code LatestReadingService} na mesma transação das escritas
+ * em {@code reading}, para que as telas de "último status" consultem uma linha
+ * por output em vez de varrer a tabela de leituras com {@code DISTINCT ON} /
+ * {@code ROW_NUMBER}. Sem chaves estrangeiras de propósito: a linha é
+ * recalculada a partir de {@code reading} e removida junto com o output.
+ */
+@Entity
+@Table(name = "latest_reading", indexes = {
+    @Index(name = "idx_latest_reading_instrument_date_hour", columnList = "instrument_id, date DESC, hour DESC")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LatestReadingEntity {
+
+    @Id
+    @Column(name = "output_id")
+    private Long outputId;
+
+    @Column(name = "instrument_id", nullable = false)
+    private Long instrumentId;
+
+    @Column(name = "reading_id", nullable = false)
+    private Long readingId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private LocalTime hour;
+
+    @Column(name = "calculated_value", nullable = false)
+    private BigDecimal calculatedValue;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "limit_status", nullable = false)
+    private LimitStatusEnum limitStatus;
+}
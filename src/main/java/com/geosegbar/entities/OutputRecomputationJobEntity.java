@@ -0,0 +1,137 @@
+package com.geosegbar.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Recálculo de {@code calculated_value}/{@code limit_status} de todo o
+ * histórico de um instrumento com as equações e constantes atuais.
+ * <p>
+ * O histórico é percorrido por grupo de leitura ({@code date}, {@code hour});
+ * o checkpoint é o último grupo gravado, atualizado na mesma transação de cada
+ * lote — um job interrompido recomeça dali. Em dry-run nada é gravado em
+ * {@code reading} e os contadores mostram o que mudaria.
+ */
+@Entity
+@Table(name = "output_recomputation_job", indexes = {
+    @Index(name = "idx_output_recomputation_job_instrument_status", columnList = "instrument_id, status"),
+    @Index(name = "idx_output_recomputation_job_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutputRecomputationJobEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instrument_id", nullable = false)
+    private Long instrumentId;
+
+    @Column(name = "instrument_name", length = 255)
+    private String instrumentName;
+
+    @Column(name = "dry_run", nullable = false)
+    private Boolean dryRun;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutputRecomputationStatus status;
+
+    @Column(name = "checkpoint_date")
+    private LocalDate checkpointDate;
+
+    @Column(name = "checkpoint_hour")
+    private LocalTime checkpointHour;
+
+    @Column(name = "processed_groups", nullable = false)
+    private Long processedGroups;
+
+    @Column(name = "scanned_readings", nullable = false)
+    private Long scannedReadings;
+
+    /**
+     * Leituras cujo valor calculado ou status de limite mudou (ou mudaria, em
+     * dry-run).
+     */
+    @Column(name = "changed_readings", nullable = false)
+    private Long changedReadings;
+
+    /**
+     * Dentre as alteradas, as que mudaram de status de limite.
+     */
+    @Column(name = "status_changed_readings", nullable = false)
+    private Long statusChangedReadings;
+
+    /**
+     * Leituras sem resultado numérico com a equação atual (input ausente no
+     * grupo, divisão por zero...). Mantêm o valor antigo.
+     */
+    @Column(name = "failed_readings", nullable = false)
+    private Long failedReadings;
+
+    @Column(name = "max_absolute_delta", precision = 30, scale = 10)
+    private BigDecimal maxAbsoluteDelta;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = OutputRecomputationStatus.QUEUED;
+        }
+        if (dryRun == null) {
+            dryRun = false;
+        }
+        processedGroups = 0L;
+        scannedReadings = 0L;
+        changedReadings = 0L;
+        statusChangedReadings = 0L;
+        failedReadings = 0L;
+    }
+
+    public boolean isActive() {
+        return status == OutputRecomputationStatus.QUEUED || status == OutputRecomputationStatus.PROCESSING;
+    }
+}
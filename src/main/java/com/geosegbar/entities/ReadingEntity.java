@@ -37,7 +37,11 @@ import lombok.Setter;
 
     @Index(name = "idx_reading_output_active_date_hour", columnList = "output_id, active, date DESC, hour DESC"),
 
-    @Index(name = "idx_reading_active_date_hour", columnList = "active, date DESC, hour DESC"),})
+    @Index(name = "idx_reading_active_date_hour", columnList = "active, date DESC, hour DESC"),
+
+    @Index(name = "idx_reading_output_id", columnList = "output_id, id"),
+
+    @Index(name = "idx_reading_instrument_date_hour", columnList = "instrument_id, date, hour"),})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +25,7 @@ import org.springframework.web.servlet.resource.NoResourceFoundException;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 
 import com.geosegbar.common.email.EmailService;
+import com.geosegbar.configs.filters.GzipRequestDecompressingFilter.InflatedBodyTooLargeException;
 import com.geosegbar.common.response.WebResponseEntity;
 import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.BusinessRuleException;
@@ -201,6 +202,19 @@ public class RestExceptionHandler {
         return false;
     }
 
+    private InflatedBodyTooLargeException findInflatedBodyTooLarge(Throwable ex) {
+        Throwable current = ex;
+        int depth = 0;
+        while (current != null && depth < 10) {
+            if (current instanceof InflatedBodyTooLargeException inflated) {
+                return inflated;
+            }
+            current = current.getCause();
+            depth++;
+        }
+        return null;
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<WebResponseEntity<String>> handleNoResourceFoundException(NoResourceFoundException ex, HttpServletRequest request) {
         logger.warn("Endpoint não encontrado: {} {}", request.getMethod(), request.getRequestURI());
@@ -269,6 +283,15 @@ public class RestExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<WebResponseEntity<String>> handleGeneralException(Exception ex, HttpServletRequest request) {
+        // Corpo gzip acima do limite chega embrulhado (ex.: HttpMessageNotReadableException)
+        InflatedBodyTooLargeException inflatedTooLarge = findInflatedBodyTooLarge(ex);
+        if (inflatedTooLarge != null) {
+            logger.warn("Requisição gzip rejeitada: {} | Endpoint: {} {}",
+                    inflatedTooLarge.getMessage(), request.getMethod(), request.getRequestURI());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(WebResponseEntity.error("O corpo da requisição excede o tamanho máximo permitido após descompressão."));
+        }
+
         logger.error("Erro não tratado na aplicação: {}", ex.getMessage(), ex);
 
         StringWriter sw = new StringWriter();
@@ -1,11 +1,12 @@
 package com.geosegbar.infra.anomaly.services;
 
-import java.util.Base64;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.geosegbar.common.enums.DashboardSectionEnum;
 import com.geosegbar.entities.AnomalyEntity;
 import com.geosegbar.entities.AnomalyPhotoEntity;
 import com.geosegbar.entities.AnomalyStatusEntity;
@@ -22,6 +23,7 @@ import com.geosegbar.infra.anomaly_photo.persistence.jpa.AnomalyPhotoRepository;
 import com.geosegbar.infra.anomaly_status.persistence.jpa.AnomalyStatusRepository;
 import com.geosegbar.infra.checklist_submission.dtos.PhotoSubmissionDTO;
 import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
 import com.geosegbar.infra.danger_level.persistence.jpa.DangerLevelRepository;
 import com.geosegbar.infra.file_storage.FileStorageService;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
@@ -40,6 +42,7 @@ public class AnomalyService {
     private final AnomalyStatusRepository statusRepository;
     private final FileStorageService fileStorageService;
     private final AnomalyPhotoRepository anomalyPhotoRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostConstruct
     public void init() {
@@ -116,6 +119,8 @@ public class AnomalyService {
             }
         }
 
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, dam.getId()));
+
         return findById(savedAnomaly.getId());
     }
 
@@ -153,6 +158,7 @@ public class AnomalyService {
         }
 
         AnomalyEntity saved = anomalyRepository.save(anomaly);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, saved.getDam().getId()));
         return findById(saved.getId());
     }
 
@@ -169,19 +175,13 @@ public class AnomalyService {
         }
 
         anomalyRepository.delete(anomaly);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, anomaly.getDam().getId()));
     }
 
     private AnomalyPhotoEntity saveAnomalyPhoto(PhotoSubmissionDTO photoDto, AnomalyEntity anomaly, Long damId) {
         try {
-            String base64Image = photoDto.getBase64Image();
-            if (base64Image.contains(",")) {
-                base64Image = base64Image.split(",")[1];
-            }
-
-            byte[] imageBytes = Base64.getDecoder().decode(base64Image);
-
-            String photoUrl = fileStorageService.storeFileFromBytes(
-                    imageBytes,
+            String photoUrl = fileStorageService.storeStagedFile(
+                    photoDto.getPhoto(),
                     photoDto.getFileName(),
                     photoDto.getContentType(),
                     "anomalies"
@@ -194,6 +194,10 @@ public class AnomalyService {
             return anomalyPhotoRepository.save(photoEntity);
         } catch (Exception e) {
             throw new FileStorageException("Erro ao processar imagem da anomalia: " + e.getMessage());
+        } finally {
+            if (photoDto.getPhoto() != null) {
+                photoDto.getPhoto().delete();
+            }
         }
     }
 }
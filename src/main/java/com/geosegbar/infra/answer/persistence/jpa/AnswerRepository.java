@@ -1,6 +1,7 @@
 package com.geosegbar.infra.answer.persistence.jpa;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.geosegbar.entities.AnswerEntity;
+import com.geosegbar.infra.answer.projections.LatestNonNIAnswerProjection;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<AnswerEntity, Long> {
@@ -122,4 +124,36 @@ public interface AnswerRepository extends JpaRepository<AnswerEntity, Long> {
             @Param("damId") Long damId,
             @Param("questionId") Long questionId,
             @Param("templateId") Long templateId);
+
+    /**
+     * Versão em lote de {@link #findLatestNonNIAnswer}: para cada combinação
+     * (barragem, template, questão) devolve a resposta mais recente com alguma
+     * opção diferente de "NI", junto com essa opção. As listas filtram cada
+     * dimensão isoladamente; combinações fora do checklist são descartadas por
+     * quem consome.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (qr.dam_id, qr.template_questionnaire_id, a.question_id)
+                   qr.dam_id as damId,
+                   qr.template_questionnaire_id as templateId,
+                   a.question_id as questionId,
+                   a.id as answerId,
+                   o.id as optionId,
+                   o.label as optionLabel,
+                   o.value as optionValue
+            FROM answers a
+            JOIN questionnaire_responses qr ON qr.id = a.questionnaire_response_id
+            JOIN answer_options ao ON ao.answer_id = a.id
+            JOIN options o ON o.id = ao.option_id
+            WHERE qr.dam_id IN :damIds
+              AND qr.template_questionnaire_id IN :templateIds
+              AND a.question_id IN :questionIds
+              AND LOWER(o.label) <> 'ni'
+            ORDER BY qr.dam_id, qr.template_questionnaire_id, a.question_id,
+                     qr.created_at DESC, a.id DESC, o.id
+            """, nativeQuery = true)
+    List<LatestNonNIAnswerProjection> findLatestNonNIAnswers(
+            @Param("damIds") Collection<Long> damIds,
+            @Param("templateIds") Collection<Long> templateIds,
+            @Param("questionIds") Collection<Long> questionIds);
 }
@@ -0,0 +1,18 @@
+package com.geosegbar.infra.answer.projections;
+
+public interface LatestNonNIAnswerProjection {
+
+    Long getDamId();
+
+    Long getTemplateId();
+
+    Long getQuestionId();
+
+    Long getAnswerId();
+
+    Long getOptionId();
+
+    String getOptionLabel();
+
+    String getOptionValue();
+}
@@ -6,6 +6,8 @@ import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import com.geosegbar.common.enums.AuditResponseCapture;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -32,15 +34,66 @@ public class AuditProperties {
 
     /**
      * Tamanho máximo (em caracteres) de request/response body gravados. Acima
-     * disso o conteúdo é truncado.
+     * disso o conteúdo é truncado. Também limita, em bytes, o que é copiado dos
+     * corpos de request e response durante a requisição.
      */
     private int maxBodyLength = 16384;
 
+    /**
+     * Captura do corpo da resposta: {@code TEE} (padrão) envia a resposta
+     * direto ao cliente copiando só o início; {@code BUFFERED} bufferiza a
+     * resposta inteira.
+     */
+    private AuditResponseCapture responseCapture = AuditResponseCapture.TEE;
+
     /**
      * Tamanho máximo (em caracteres) do stack trace gravado.
      */
     private int maxStackTraceLength = 8000;
 
+    /**
+     * Capacidade do buffer de registros aguardando gravação. Com o buffer
+     * cheio, novos registros são descartados (métrica
+     * {@code audit.sink.dropped}).
+     */
+    private int bufferCapacity = 10000;
+
+    /**
+     * Quantidade máxima de registros por INSERT em lote.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Tempo máximo (ms) que um registro espera no buffer antes de o lote ser
+     * gravado, mesmo incompleto.
+     */
+    private long flushIntervalMs = 500;
+
+    /**
+     * Liga a manutenção do particionamento mensal de {@code audit_logs}
+     * (conversão, criação e expurgo de partições). Desligada por padrão: a
+     * conversão de uma tabela existente é um passo a ser habilitado por
+     * ambiente.
+     */
+    private boolean partitioningEnabled = false;
+
+    /**
+     * Meses completos, anteriores ao corrente, mantidos em {@code audit_logs}.
+     * Partições mais antigas são removidas. 0 (padrão) mantém tudo: apagar
+     * auditoria é decisão explícita de cada ambiente.
+     */
+    private int retentionMonths = 0;
+
+    /**
+     * Quantidade de partições mensais futuras criadas antecipadamente.
+     */
+    private int partitionsAhead = 3;
+
+    /**
+     * Maior página aceita na listagem por cursor.
+     */
+    private int maxPageSize = 200;
+
     /**
      * Rotas ignoradas pela auditoria (prefixos). OPTIONS e estáticos não geram
      * registro.
@@ -0,0 +1,26 @@
+package com.geosegbar.infra.audit.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página da listagem de auditoria por cursor. Para a próxima página, repita a
+ * chamada com {@code cursorOccurredAt=nextCursorOccurredAt} e
+ * {@code cursorId=nextCursorId}. {@code estimatedTotal} é a estimativa do banco
+ * para os filtros informados e vem apenas na primeira página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogKeysetPageDTO<T> {
+
+    private List<T> items;
+    private Boolean hasMore;
+    private LocalDateTime nextCursorOccurredAt;
+    private Long nextCursorId;
+    private Long estimatedTotal;
+}
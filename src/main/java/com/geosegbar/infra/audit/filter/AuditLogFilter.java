@@ -3,12 +3,16 @@ package com.geosegbar.infra.audit.filter;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.regex.Pattern;
 
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geosegbar.common.enums.AuditResponseCapture;
 import com.geosegbar.common.enums.AuditSource;
 import com.geosegbar.common.enums.AuditStatus;
 import com.geosegbar.common.utils.ClientIpUtil;
@@ -28,8 +32,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 /**
  * Captura automaticamente uma auditoria por requisição HTTP, sem depender de
- * nada vindo do front. Envolve a resposta em {@link ContentCachingResponseWrapper}
- * para ler status e body (incl. a {@code message} do {@code WebResponseEntity}).
+ * nada vindo do front. Lê status e body da resposta (incl. a {@code message} do
+ * {@code WebResponseEntity}) conforme {@code audit.response-capture}: por
+ * padrão ({@code TEE}) a resposta segue direto ao cliente e só o início do corpo
+ * é copiado; {@code BUFFERED} usa {@link ContentCachingResponseWrapper}.
  * <p>
  * Regras (configuráveis via {@link AuditProperties}):
  * <ul>
@@ -52,6 +58,7 @@ public class AuditLogFilter extends OncePerRequestFilter {
 
     private static final String LOGIN_INITIATE_PATH = "/user/login/initiate";
     private static final String LOGIN_VERIFY_PATH = "/user/login/verify";
+    private static final String TRUNCATION_SUFFIX = "... [truncado]";
 
     private final AuditService auditService;
     private final AuditProperties auditProperties;
@@ -71,6 +78,38 @@ public class AuditLogFilter extends OncePerRequestFilter {
 
         log.debug("[AUDIT] filtro VAI AUDITAR {} {}", request.getMethod(), request.getRequestURI());
 
+        if (auditProperties.getResponseCapture() == AuditResponseCapture.BUFFERED) {
+            doFilterBuffered(request, response, filterChain);
+        } else {
+            doFilterTee(request, response, filterChain);
+        }
+    }
+
+    /**
+     * A resposta segue direto ao cliente; só os primeiros
+     * {@code audit.max-body-length} bytes ficam para a auditoria.
+     */
+    private void doFilterTee(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        AuditTeeResponseWrapper responseWrapper = new AuditTeeResponseWrapper(response, auditProperties.getMaxBodyLength());
+        long startNanos = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            responseWrapper.flushWriter();
+            record(request, responseWrapper.getStatus(), responseWrapper.getCapturedBody(),
+                    responseWrapper.isTruncated(), startNanos);
+        }
+    }
+
+    /**
+     * Bufferiza a resposta inteira e a devolve ao cliente no fim.
+     */
+    private void doFilterBuffered(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
         long startNanos = System.nanoTime();
 
@@ -78,11 +117,7 @@ public class AuditLogFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, responseWrapper);
         } finally {
             try {
-                long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
-                buildAndRecord(request, responseWrapper, durationMs);
-            } catch (Exception e) {
-                log.error("[AUDIT] Falha ao auditar requisição {} {}: {}",
-                        request.getMethod(), request.getRequestURI(), e.getMessage(), e);
+                record(request, responseWrapper.getStatus(), responseWrapper.getContentAsByteArray(), false, startNanos);
             } finally {
                 // Sempre devolve o corpo bufferizado ao cliente.
                 responseWrapper.copyBodyToResponse();
@@ -90,6 +125,17 @@ public class AuditLogFilter extends OncePerRequestFilter {
         }
     }
 
+    private void record(HttpServletRequest request, int httpStatus, byte[] responseBody,
+            boolean truncated, long startNanos) {
+        try {
+            long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+            buildAndRecord(request, httpStatus, responseBody, truncated, durationMs);
+        } catch (Exception e) {
+            log.error("[AUDIT] Falha ao auditar requisição {} {}: {}",
+                    request.getMethod(), request.getRequestURI(), e.getMessage(), e);
+        }
+    }
+
     private boolean shouldAudit(HttpServletRequest request) {
         String method = request.getMethod();
         if ("OPTIONS".equalsIgnoreCase(method)) {
@@ -118,26 +164,15 @@ public class AuditLogFilter extends OncePerRequestFilter {
         return auditProperties.isIncludeGet();
     }
 
-    private void buildAndRecord(HttpServletRequest request,
-            ContentCachingResponseWrapper responseWrapper, long durationMs) {
+    private void buildAndRecord(HttpServletRequest request, int httpStatus, byte[] responseBytes,
+            boolean truncated, long durationMs) {
 
-        int httpStatus = responseWrapper.getStatus();
-        String responseBody = readResponseBody(responseWrapper);
+        // Mensagem e sucesso vêm do WebResponseEntity (campos message/success),
+        // serializados antes de "data": o início do corpo basta.
+        ResponseSummary summary = readResponseSummary(responseBytes);
+        String message = summary.message();
 
-        // Mensagem e sucesso vêm do WebResponseEntity (campos message/success).
-        String message = null;
-        Boolean successFlag = null;
-        JsonNode responseJson = parseJson(responseBody);
-        if (responseJson != null) {
-            if (responseJson.hasNonNull("message")) {
-                message = responseJson.get("message").asText();
-            }
-            if (responseJson.has("success") && responseJson.get("success").isBoolean()) {
-                successFlag = responseJson.get("success").asBoolean();
-            }
-        }
-
-        AuditStatus status = resolveStatus(httpStatus, successFlag);
+        AuditStatus status = resolveStatus(httpStatus, summary.success());
         boolean isError = status == AuditStatus.ERROR;
 
         String path = request.getRequestURI();
@@ -163,7 +198,7 @@ public class AuditLogFilter extends OncePerRequestFilter {
         // Bodies apenas em erro (para depuração), com mascaramento.
         if (isError) {
             ctx.requestBody(maskJson(readRequestBody(request)));
-            ctx.responseBody(maskJson(responseBody));
+            ctx.responseBody(maskJson(readResponseBody(responseBytes, truncated)));
             ctx.requestHeaders(buildMaskedHeaders(request));
         }
 
@@ -282,12 +317,48 @@ public class AuditLogFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private String readResponseBody(ContentCachingResponseWrapper responseWrapper) {
-        byte[] bytes = responseWrapper.getContentAsByteArray();
+    private String readResponseBody(byte[] bytes, boolean truncated) {
         if (bytes == null || bytes.length == 0) {
             return null;
         }
-        return new String(bytes, StandardCharsets.UTF_8);
+        String body = new String(bytes, StandardCharsets.UTF_8);
+        return truncated ? body + TRUNCATION_SUFFIX : body;
+    }
+
+    /**
+     * Lê {@code message} e {@code success} do topo do JSON da resposta, em modo
+     * streaming: tolera o corpo cortado no limite do tee e pula o conteúdo de
+     * {@code data} sem montar a árvore.
+     */
+    private ResponseSummary readResponseSummary(byte[] bytes) {
+        String message = null;
+        Boolean success = null;
+        if (bytes == null || bytes.length == 0) {
+            return new ResponseSummary(null, null);
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new ResponseSummary(null, null);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (message == null || success == null)) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("message".equals(field) && value == JsonToken.VALUE_STRING) {
+                    message = parser.getText();
+                } else if ("success".equals(field) && value != null && value.isBoolean()) {
+                    success = parser.getBooleanValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (Exception e) {
+            // corpo não-JSON ou cortado no limite: fica com o que foi lido
+        }
+        return new ResponseSummary(message, success);
+    }
+
+    private record ResponseSummary(String message, Boolean success) {
+
     }
 
     private JsonNode parseJson(String body) {
@@ -316,8 +387,23 @@ public class AuditLogFilter extends OncePerRequestFilter {
             maskNode(root);
             return objectMapper.writeValueAsString(root);
         } catch (Exception e) {
-            return body;
+            return maskJsonText(body);
+        }
+    }
+
+    /**
+     * Mascaramento textual para JSON inválido (p.ex. cortado no limite do tee):
+     * substitui o valor string dos campos sensíveis.
+     */
+    private String maskJsonText(String body) {
+        String masked = body;
+        for (String field : auditProperties.getMaskedFields()) {
+            masked = Pattern.compile("(\"" + Pattern.quote(field) + "\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*\"?",
+                    Pattern.CASE_INSENSITIVE)
+                    .matcher(masked)
+                    .replaceAll("$1\"***\"");
         }
+        return masked;
     }
 
     private void maskNode(JsonNode node) {
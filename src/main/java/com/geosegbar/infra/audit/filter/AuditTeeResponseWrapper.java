@@ -0,0 +1,151 @@
+package com.geosegbar.infra.audit.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Resposta que segue direto para o cliente e copia para a auditoria apenas os
+ * primeiros {@code limit} bytes do corpo. Ao contrário do
+ * {@code ContentCachingResponseWrapper}, não segura a resposta inteira em
+ * memória nem atrasa o envio: downloads e exportações grandes passam sem
+ * buffer extra.
+ */
+class AuditTeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final ByteArrayOutputStream captured;
+
+    private TeeOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean truncated;
+
+    AuditTeeResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = Math.max(limit, 0);
+        this.captured = new ByteArrayOutputStream(Math.min(this.limit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() já foi chamado nesta resposta");
+        }
+        return teeStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() já foi chamado nesta resposta");
+            }
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            writer = new PrintWriter(new OutputStreamWriter(teeStream(), charset));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Esvazia o writer (se usado) para o cliente. O encoder do writer guarda
+     * bytes que o container não conhece; sem isso eles se perderiam.
+     */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Primeiros bytes do corpo (até o limite), ou vazio se nada foi escrito.
+     */
+    byte[] getCapturedBody() {
+        return captured.toByteArray();
+    }
+
+    /**
+     * {@code true} se o corpo passou do limite e a cópia está incompleta.
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    private TeeOutputStream teeStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int room = limit - captured.size();
+        if (length > room) {
+            truncated = true;
+        }
+        if (room > 0) {
+            captured.write(bytes, offset, Math.min(room, length));
+        }
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (captured.size() < limit) {
+                captured.write(b);
+            } else {
+                truncated = true;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
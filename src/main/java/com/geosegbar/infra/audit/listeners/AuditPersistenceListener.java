@@ -1,41 +1,34 @@
 package com.geosegbar.infra.audit.listeners;
 
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import com.geosegbar.infra.audit.events.AuditEvent;
-import com.geosegbar.infra.audit.persistence.jpa.AuditLogRepository;
+import com.geosegbar.infra.audit.services.AuditLogBatchWriter;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Persiste registros de auditoria de forma assíncrona, em um pool de threads
- * dedicado ({@code auditExecutor}). A auditoria é best-effort: qualquer falha ao
- * gravar é apenas logada e NUNCA propagada — não pode afetar a requisição/job de
- * origem.
+ * Entrega os registros de auditoria ao {@link AuditLogBatchWriter}, que os
+ * grava em lote em uma thread própria. O enfileiramento não bloqueia nem acessa
+ * o banco, então roda na própria thread de quem auditou. A auditoria é
+ * best-effort: qualquer falha é apenas logada e NUNCA propagada — não pode
+ * afetar a requisição/job de origem.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AuditPersistenceListener {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogBatchWriter auditLogBatchWriter;
 
-    @Async("auditExecutor")
     @EventListener
     public void onAuditEvent(AuditEvent event) {
-        String action = event.getAuditLog() != null ? event.getAuditLog().getAction() : "null";
-        try {
-            log.debug("[AUDIT] ... gravando no banco (action={}) na thread {}",
-                    action, Thread.currentThread().getName());
-            var saved = auditLogRepository.save(event.getAuditLog());
-            log.debug("[AUDIT] OK gravado: id={} action={} status={}",
-                    saved.getId(), saved.getAction(), saved.getStatus());
-        } catch (Exception e) {
-            log.error("[AUDIT] FALHA ao persistir registro de auditoria (action={}): {}",
-                    action, e.getMessage(), e);
+        if (event.getAuditLog() == null) {
+            return;
         }
+        log.debug("[AUDIT] ... enfileirando para gravação (action={})", event.getAuditLog().getAction());
+        auditLogBatchWriter.offer(event.getAuditLog());
     }
 }
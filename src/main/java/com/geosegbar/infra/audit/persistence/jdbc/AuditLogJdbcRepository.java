@@ -0,0 +1,91 @@
+package com.geosegbar.infra.audit.persistence.jdbc;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.entities.AuditLogEntity;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Gravação em lote de {@code audit_logs}: um único INSERT multi-linha por lote,
+ * sem passar pelo Hibernate ({@code id} é IDENTITY, o que impede o batch do
+ * JPA). {@code occurred_at} é a chave de partição e nunca vai nulo.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogJdbcRepository {
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO audit_logs (action, action_label, source, actor_user_id, actor_label, occurred_at,
+                                    status, message, duration_ms, http_method, endpoint, query_string,
+                                    http_status, client_ip, user_agent, origin, request_body, response_body,
+                                    request_headers, error_summary, stack_trace, trace_id, entity_type, entity_id)
+            VALUES
+            """;
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] COLUMN_TYPES = {
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP,
+        Types.VARCHAR, Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+        Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT
+    };
+
+    /**
+     * Limite de parâmetros por instrução do driver do PostgreSQL (32767);
+     * lotes maiores são divididos. Até esse tamanho o lote é um único INSERT:
+     * ou grava tudo, ou nada.
+     */
+    public static final int MAX_ROWS_PER_STATEMENT = 32767 / COLUMN_TYPES.length;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertBatch(List<AuditLogEntity> auditLogs) {
+        int inserted = 0;
+        for (int start = 0; start < auditLogs.size(); start += MAX_ROWS_PER_STATEMENT) {
+            inserted += insertChunk(auditLogs.subList(start, Math.min(start + MAX_ROWS_PER_STATEMENT, auditLogs.size())));
+        }
+        return inserted;
+    }
+
+    private int insertChunk(List<AuditLogEntity> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + chunk.size() * (ROW_PLACEHOLDERS.length() + 2))
+                .append(INSERT_PREFIX);
+        Object[] args = new Object[chunk.size() * COLUMN_TYPES.length];
+        int[] types = new int[args.length];
+
+        int p = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            AuditLogEntity a = chunk.get(i);
+            sql.append(i == 0 ? "" : ",\n").append(ROW_PLACEHOLDERS);
+            LocalDateTime occurredAt = a.getOccurredAt() != null ? a.getOccurredAt() : LocalDateTime.now();
+
+            Object[] row = {
+                a.getAction(), a.getActionLabel(), enumName(a.getSource()), a.getActorUserId(), a.getActorLabel(),
+                occurredAt, enumName(a.getStatus()), a.getMessage(), a.getDurationMs(), a.getHttpMethod(),
+                a.getEndpoint(), a.getQueryString(), a.getHttpStatus(), a.getClientIp(), a.getUserAgent(),
+                a.getOrigin(), a.getRequestBody(), a.getResponseBody(), a.getRequestHeaders(), a.getErrorSummary(),
+                a.getStackTrace(), a.getTraceId(), a.getEntityType(), a.getEntityId()
+            };
+            System.arraycopy(row, 0, args, p, row.length);
+            System.arraycopy(COLUMN_TYPES, 0, types, p, COLUMN_TYPES.length);
+            p += row.length;
+        }
+
+        return jdbcTemplate.update(sql.toString(), args, types);
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+}
@@ -0,0 +1,265 @@
+package com.geosegbar.infra.audit.persistence.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geosegbar.common.enums.AuditSource;
+import com.geosegbar.common.enums.AuditStatus;
+import com.geosegbar.common.enums.RoleEnum;
+import com.geosegbar.infra.audit.persistence.projections.AuditLogDetailProjection;
+import com.geosegbar.infra.audit.persistence.projections.AuditLogSummaryProjection;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listagem de auditoria por cursor sobre {@code (occurred_at, id)}.
+ * <p>
+ * O SQL é montado só com os filtros informados — sem os
+ * {@code CAST(? AS ...) IS NULL OR ...} das consultas JPQL — para que o
+ * planejador descarte as partições fora do período e use o índice
+ * {@code idx_audit_log_occurred_at_id}. Cada página é um
+ * {@code LIMIT size + 1}: a linha extra só indica se há próxima página. O total
+ * é a estimativa do planejador ({@code EXPLAIN}), não um {@code COUNT(*)}.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogKeysetJdbcRepository {
+
+    private static final String SUMMARY_COLUMNS = """
+            SELECT a.id, a.occurred_at, a.actor_user_id, a.actor_label,
+                   u.name AS user_name, u.email AS user_email, r.name AS user_role,
+                   a.action, a.action_label, a.source, a.status, a.message
+            """;
+
+    private static final String DETAIL_COLUMNS = """
+            SELECT a.id, a.occurred_at, a.actor_user_id, a.actor_label,
+                   u.name AS user_name, u.email AS user_email, r.name AS user_role,
+                   a.action, a.action_label, a.source, a.status, a.message,
+                   a.duration_ms, a.http_method, a.endpoint, a.query_string, a.http_status,
+                   a.client_ip, a.user_agent, a.origin, a.request_body, a.response_body,
+                   a.request_headers, a.error_summary, a.stack_trace, a.trace_id,
+                   a.entity_type, a.entity_id
+            """;
+
+    private static final String FROM_WITH_ACTOR = """
+            FROM audit_logs a
+            LEFT JOIN users u ON u.id = a.actor_user_id
+            LEFT JOIN roles r ON r.id = u.role_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Filtros já normalizados pela camada de serviço (padrões LIKE em
+     * minúsculas, enums por nome, método HTTP em maiúsculas). Nulos são
+     * ignorados.
+     */
+    public record Criteria(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Long actorUserId,
+            String actorEmailPattern,
+            String actionPattern,
+            String status,
+            String source,
+            String httpMethod,
+            String entityType,
+            Long entityId) {
+
+    }
+
+    /**
+     * Posição da última linha da página anterior; {@code null} na primeira
+     * página.
+     */
+    public record Cursor(LocalDateTime occurredAt, Long id) {
+
+    }
+
+    public List<AuditLogSummaryProjection> findSummaries(Criteria criteria, Cursor cursor, boolean ascending, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = SUMMARY_COLUMNS + FROM_WITH_ACTOR + where(criteria, cursor, ascending, args)
+                + orderBy(ascending) + "LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapSummary(rs, new SummaryRow()), args.toArray());
+    }
+
+    public List<AuditLogDetailProjection> findDetails(Criteria criteria, Cursor cursor, boolean ascending, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = DETAIL_COLUMNS + FROM_WITH_ACTOR + where(criteria, cursor, ascending, args)
+                + orderBy(ascending) + "LIMIT ?";
+        args.add(limit);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> mapDetail(rs), args.toArray());
+    }
+
+    /**
+     * Quantidade estimada de registros que atendem aos filtros, lida do plano
+     * ({@code Plan Rows}) sem executar a consulta. Usa as estatísticas das
+     * partições envolvidas.
+     *
+     * @return a estimativa, ou {@code null} se o plano não pôde ser lido
+     */
+    public Long estimateCount(Criteria criteria) {
+        List<Object> args = new ArrayList<>();
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM audit_logs a " + where(criteria, null, false, args);
+        try {
+            String plan = jdbcTemplate.queryForObject(sql, String.class, args.toArray());
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (Exception e) {
+            log.warn("[AUDIT] Não foi possível estimar o total da listagem: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String where(Criteria c, Cursor cursor, boolean ascending, List<Object> args) {
+        List<String> predicates = new ArrayList<>();
+        if (c.startDate() != null) {
+            predicates.add("a.occurred_at >= ?");
+            args.add(c.startDate());
+        }
+        if (c.endDate() != null) {
+            predicates.add("a.occurred_at <= ?");
+            args.add(c.endDate());
+        }
+        if (c.actorUserId() != null) {
+            predicates.add("a.actor_user_id = ?");
+            args.add(c.actorUserId());
+        }
+        if (c.actorEmailPattern() != null) {
+            predicates.add("a.actor_user_id IN (SELECT ue.id FROM users ue WHERE LOWER(ue.email) LIKE ?)");
+            args.add(c.actorEmailPattern());
+        }
+        if (c.actionPattern() != null) {
+            predicates.add("LOWER(a.action) LIKE ?");
+            args.add(c.actionPattern());
+        }
+        if (c.status() != null) {
+            predicates.add("a.status = ?");
+            args.add(c.status());
+        }
+        if (c.source() != null) {
+            predicates.add("a.source = ?");
+            args.add(c.source());
+        }
+        if (c.httpMethod() != null) {
+            predicates.add("a.http_method = ?");
+            args.add(c.httpMethod());
+        }
+        if (c.entityType() != null) {
+            predicates.add("a.entity_type = ?");
+            args.add(c.entityType());
+        }
+        if (c.entityId() != null) {
+            predicates.add("a.entity_id = ?");
+            args.add(c.entityId());
+        }
+        if (cursor != null) {
+            predicates.add(ascending ? "(a.occurred_at, a.id) > (?, ?)" : "(a.occurred_at, a.id) < (?, ?)");
+            args.add(cursor.occurredAt());
+            args.add(cursor.id());
+        }
+        return predicates.isEmpty() ? "" : "WHERE " + String.join("\n  AND ", predicates) + "\n";
+    }
+
+    private static String orderBy(boolean ascending) {
+        return ascending
+                ? "ORDER BY a.occurred_at ASC, a.id ASC\n"
+                : "ORDER BY a.occurred_at DESC, a.id DESC\n";
+    }
+
+    private static SummaryRow mapSummary(ResultSet rs, SummaryRow row) throws SQLException {
+        row.setId(rs.getLong("id"));
+        row.setOccurredAt(rs.getObject("occurred_at", LocalDateTime.class));
+        row.setActorUserId(rs.getObject("actor_user_id", Long.class));
+        row.setActorLabel(rs.getString("actor_label"));
+        row.setUserName(rs.getString("user_name"));
+        row.setUserEmail(rs.getString("user_email"));
+        row.setUserRole(enumValue(RoleEnum.class, rs.getString("user_role")));
+        row.setAction(rs.getString("action"));
+        row.setActionLabel(rs.getString("action_label"));
+        row.setSource(enumValue(AuditSource.class, rs.getString("source")));
+        row.setStatus(enumValue(AuditStatus.class, rs.getString("status")));
+        row.setMessage(rs.getString("message"));
+        return row;
+    }
+
+    private static DetailRow mapDetail(ResultSet rs) throws SQLException {
+        DetailRow row = new DetailRow();
+        mapSummary(rs, row);
+        row.setDurationMs(rs.getObject("duration_ms", Long.class));
+        row.setHttpMethod(rs.getString("http_method"));
+        row.setEndpoint(rs.getString("endpoint"));
+        row.setQueryString(rs.getString("query_string"));
+        row.setHttpStatus(rs.getObject("http_status", Integer.class));
+        row.setClientIp(rs.getString("client_ip"));
+        row.setUserAgent(rs.getString("user_agent"));
+        row.setOrigin(rs.getString("origin"));
+        row.setRequestBody(rs.getString("request_body"));
+        row.setResponseBody(rs.getString("response_body"));
+        row.setRequestHeaders(rs.getString("request_headers"));
+        row.setErrorSummary(rs.getString("error_summary"));
+        row.setStackTrace(rs.getString("stack_trace"));
+        row.setTraceId(rs.getString("trace_id"));
+        row.setEntityType(rs.getString("entity_type"));
+        row.setEntityId(rs.getObject("entity_id", Long.class));
+        return row;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    @Getter
+    @Setter
+    private static class SummaryRow implements AuditLogSummaryProjection {
+
+        private Long id;
+        private LocalDateTime occurredAt;
+        private Long actorUserId;
+        private String actorLabel;
+        private String userName;
+        private String userEmail;
+        private RoleEnum userRole;
+        private String action;
+        private String actionLabel;
+        private AuditSource source;
+        private AuditStatus status;
+        private String message;
+    }
+
+    @Getter
+    @Setter
+    private static class DetailRow extends SummaryRow implements AuditLogDetailProjection {
+
+        private Long durationMs;
+        private String httpMethod;
+        private String endpoint;
+        private String queryString;
+        private Integer httpStatus;
+        private String clientIp;
+        private String userAgent;
+        private String origin;
+        private String requestBody;
+        private String responseBody;
+        private String requestHeaders;
+        private String errorSummary;
+        private String stackTrace;
+        private String traceId;
+        private String entityType;
+        private Long entityId;
+    }
+}
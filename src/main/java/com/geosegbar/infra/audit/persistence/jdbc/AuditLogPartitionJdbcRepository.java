@@ -0,0 +1,345 @@
+package com.geosegbar.infra.audit.persistence.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * DDL do particionamento mensal de {@code audit_logs} (RANGE por
+ * {@code occurred_at}). Todos os métodos, exceto
+ * {@link #createKeysetIndexConcurrently}, devem rodar dentro de uma transação:
+ * o lock consultivo e a conversão dependem dela.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditLogPartitionJdbcRepository {
+
+    public static final String TABLE = "audit_logs";
+    public static final String LEGACY_PARTITION = "audit_logs_legacy";
+    public static final String DEFAULT_PARTITION = "audit_logs_default";
+
+    /**
+     * Constraint que antecipa, na tabela comum, o limite da futura partição
+     * legada. Validada antes da conversão, permite que o {@code SET NOT NULL} e
+     * o {@code ATTACH PARTITION} dispensem a varredura da tabela.
+     */
+    public static final String LEGACY_BOUND_CHECK = "audit_logs_legacy_bound";
+
+    /**
+     * Chave do lock consultivo que serializa a manutenção entre réplicas.
+     */
+    private static final long MAINTENANCE_LOCK_KEY = 0x4155_4449_5450_4152L;
+
+    /**
+     * Índice da listagem por cursor. Fica fora do {@code @Table(indexes)} de
+     * {@code AuditLogEntity}: na tabela comum é criado por
+     * {@link #createKeysetIndexConcurrently}, não pelo {@code ddl-auto}.
+     */
+    public static final String KEYSET_INDEX = "idx_audit_log_occurred_at_id";
+
+    /**
+     * Índices da tabela particionada. Os demais nomes são os mesmos do
+     * {@code @Table(indexes)} de {@code AuditLogEntity}, para o
+     * {@code ddl-auto=update} não tentar recriá-los.
+     */
+    private static final String[] INDEX_COMMANDS = {
+        "CREATE INDEX IF NOT EXISTS " + KEYSET_INDEX + " ON audit_logs(occurred_at, id)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_actor_user_id ON audit_logs(actor_user_id)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_action_occurred ON audit_logs(action, occurred_at)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_status ON audit_logs(status)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_source ON audit_logs(source)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_http_method ON audit_logs(http_method)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_entity ON audit_logs(entity_type, entity_id)",
+        "CREATE INDEX IF NOT EXISTS idx_audit_log_trace_id ON audit_logs(trace_id)"
+    };
+
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+    private static final Pattern CHECK_BOUND = Pattern.compile(
+            "occurred_at < '(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}(?::\\d{2})?)'");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Intervalo {@code [from, to)} de uma partição; {@code null} representa
+     * MINVALUE/MAXVALUE. A partição DEFAULT não tem intervalo.
+     */
+    public record Partition(String name, LocalDateTime from, LocalDateTime to, boolean isDefault) {
+
+        public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            if (isDefault) {
+                return false;
+            }
+            return (from == null || from.isBefore(end)) && (to == null || to.isAfter(start));
+        }
+    }
+
+    /**
+     * Limite da constraint {@value #LEGACY_BOUND_CHECK} e se ela já foi
+     * validada.
+     */
+    public record LegacyBoundCheck(LocalDateTime bound, boolean validated) {
+
+    }
+
+    /**
+     * Tenta o lock consultivo da manutenção, liberado no fim da transação.
+     *
+     * @return {@code false} se outra réplica já está mantendo as partições
+     */
+    public boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, MAINTENANCE_LOCK_KEY));
+    }
+
+    /**
+     * Cria {@value #KEYSET_INDEX} na tabela comum com
+     * {@code CREATE INDEX CONCURRENTLY}, sem bloquear as gravações durante a
+     * construção. Um índice deixado inválido por uma tentativa interrompida é
+     * removido e refeito. Não pode rodar dentro de transação: usa uma conexão
+     * em autocommit e o lock consultivo da manutenção em nível de sessão.
+     *
+     * @return {@code true} se o índice foi criado nesta chamada; {@code false}
+     * se já existia ou se outra réplica está fazendo a manutenção
+     */
+    public boolean createKeysetIndexConcurrently() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!connection.getAutoCommit()) {
+                throw new IllegalStateException("CREATE INDEX CONCURRENTLY não pode rodar dentro de transação");
+            }
+            try (Statement statement = connection.createStatement()) {
+                if (!Boolean.TRUE.equals(queryBoolean(statement, "SELECT pg_try_advisory_lock(" + MAINTENANCE_LOCK_KEY + ")"))) {
+                    return false;
+                }
+                try {
+                    Boolean valid = queryBoolean(statement,
+                            "SELECT i.indisvalid FROM pg_index i WHERE i.indexrelid = to_regclass('" + KEYSET_INDEX + "')");
+                    if (Boolean.TRUE.equals(valid)) {
+                        return false;
+                    }
+                    if (valid != null) {
+                        statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + KEYSET_INDEX);
+                    }
+                    statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + KEYSET_INDEX + " ON audit_logs(occurred_at, id)");
+                    return true;
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + MAINTENANCE_LOCK_KEY + ")");
+                }
+            }
+        }));
+    }
+
+    /**
+     * {@code relkind} da tabela: {@code "p"} (particionada), {@code "r"}
+     * (comum) ou {@code null} se ainda não existe.
+     */
+    public String findTableKind() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT c.relkind::text FROM pg_class c WHERE c.oid = to_regclass(?)", String.class, TABLE);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    /**
+     * Constraint {@value #LEGACY_BOUND_CHECK} da tabela comum, ou {@code null}
+     * se ainda não foi criada.
+     */
+    public LegacyBoundCheck findLegacyBoundCheck() {
+        List<LegacyBoundCheck> checks = jdbcTemplate.query("""
+                SELECT pg_get_constraintdef(oid) AS definition, convalidated
+                FROM pg_constraint
+                WHERE conrelid = to_regclass(?) AND conname = ?
+                """, (rs, rowNum) -> new LegacyBoundCheck(
+                parseCheckBound(rs.getString("definition")), rs.getBoolean("convalidated")),
+                TABLE, LEGACY_BOUND_CHECK);
+        return checks.isEmpty() ? null : checks.get(0);
+    }
+
+    /**
+     * Primeira etapa da conversão: cria a constraint
+     * {@code CHECK (occurred_at IS NOT NULL AND occurred_at < limite) NOT VALID}
+     * na tabela comum. Não varre a tabela; o lock é breve. O limite é o início
+     * do segundo mês após o registro mais recente (ou o mês corrente): o mês de
+     * folga evita que a virada do mês, antes da conversão terminar, faça a
+     * constraint recusar novas gravações.
+     *
+     * @return limite superior (exclusivo) da futura partição legada
+     */
+    public LocalDateTime addLegacyBoundCheck(LocalDateTime currentMonthStart) {
+        LocalDateTime latest = jdbcTemplate.queryForObject("SELECT MAX(occurred_at) FROM audit_logs", LocalDateTime.class);
+        LocalDateTime legacyEnd = (latest != null && !latest.isBefore(currentMonthStart)
+                ? latest.toLocalDate().withDayOfMonth(1).atStartOfDay()
+                : currentMonthStart).plusMonths(2);
+        jdbcTemplate.execute("ALTER TABLE audit_logs ADD CONSTRAINT " + LEGACY_BOUND_CHECK
+                + " CHECK (occurred_at IS NOT NULL AND occurred_at < " + literal(legacyEnd) + ") NOT VALID");
+        return legacyEnd;
+    }
+
+    /**
+     * Segunda etapa: valida a constraint. Varre a tabela, mas com
+     * {@code SHARE UPDATE EXCLUSIVE}, sem bloquear leituras e gravações. Deve
+     * rodar em transação própria, antes de {@link #convertToPartitioned}.
+     */
+    public void validateLegacyBoundCheck() {
+        jdbcTemplate.execute("ALTER TABLE audit_logs VALIDATE CONSTRAINT " + LEGACY_BOUND_CHECK);
+    }
+
+    /**
+     * Converte a tabela comum criada pelo Hibernate em tabela particionada sem
+     * copiar dados: a tabela atual vira a partição {@value #LEGACY_PARTITION},
+     * cobrindo de MINVALUE até {@code legacyEnd}. A PK passa a ser
+     * {@code (id, occurred_at)} — exigência do particionamento — e a identidade
+     * continua a partir do maior id.
+     * <p>
+     * Exige a constraint {@value #LEGACY_BOUND_CHECK} já validada com o mesmo
+     * limite: com ela o {@code SET NOT NULL} e o {@code ATTACH PARTITION} não
+     * varrem a tabela, e o {@code ACCESS EXCLUSIVE} desta transação dura pouco.
+     */
+    public void convertToPartitioned(LocalDateTime legacyEnd) {
+        jdbcTemplate.execute("ALTER TABLE audit_logs RENAME TO audit_logs_legacy");
+
+        List<String> legacyIndexes = jdbcTemplate.queryForList("""
+                SELECT indexname
+                FROM pg_indexes
+                WHERE schemaname = current_schema()
+                  AND tablename = 'audit_logs_legacy'
+                  AND indexname LIKE 'idx\\_audit\\_log\\_%'
+                """, String.class);
+        for (String index : legacyIndexes) {
+            jdbcTemplate.execute("DROP INDEX " + quote(index));
+        }
+        List<String> primaryKeys = jdbcTemplate.queryForList(
+                "SELECT conname::text FROM pg_constraint WHERE conrelid = 'audit_logs_legacy'::regclass AND contype = 'p'",
+                String.class);
+        for (String constraint : primaryKeys) {
+            jdbcTemplate.execute("ALTER TABLE audit_logs_legacy DROP CONSTRAINT " + quote(constraint));
+        }
+
+        Long nextId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM audit_logs_legacy", Long.class);
+
+        jdbcTemplate.execute("ALTER TABLE audit_logs_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS");
+        jdbcTemplate.execute("ALTER TABLE audit_logs_legacy ALTER COLUMN occurred_at SET NOT NULL");
+
+        jdbcTemplate.execute("CREATE TABLE audit_logs (LIKE audit_logs_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (occurred_at)");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY (START WITH " + nextId + ")");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ADD PRIMARY KEY (id, occurred_at)");
+        jdbcTemplate.execute("ALTER TABLE audit_logs ATTACH PARTITION audit_logs_legacy FOR VALUES FROM (MINVALUE) TO ("
+                + literal(legacyEnd) + ")");
+        jdbcTemplate.execute("ALTER TABLE audit_logs_legacy DROP CONSTRAINT " + LEGACY_BOUND_CHECK);
+        for (String command : INDEX_COMMANDS) {
+            jdbcTemplate.execute(command);
+        }
+    }
+
+    public List<Partition> findPartitions() {
+        return jdbcTemplate.query("""
+                SELECT c.relname::text AS name, pg_get_expr(c.relpartbound, c.oid) AS bound
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                """, (rs, rowNum) -> parsePartition(rs.getString("name"), rs.getString("bound")), TABLE);
+    }
+
+    public void createPartition(String name, LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + quote(name) + " PARTITION OF audit_logs FOR VALUES FROM ("
+                + literal(from) + ") TO (" + literal(to) + ")");
+    }
+
+    /**
+     * {@code true} se a partição DEFAULT tem registros em {@code [from, to)}.
+     * Nesse caso o {@code CREATE TABLE ... PARTITION OF} falharia.
+     */
+    public boolean defaultPartitionHasRows(LocalDateTime from, LocalDateTime to) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE occurred_at >= ? AND occurred_at < ?)",
+                Boolean.class, from, to));
+    }
+
+    /**
+     * Cria a partição de {@code [from, to)} quando a DEFAULT já recebeu
+     * registros desse intervalo: desanexa a DEFAULT, cria a partição, move os
+     * registros para ela e anexa a DEFAULT de volta.
+     *
+     * @return quantidade de registros movidos
+     */
+    public int createPartitionMovingDefaultRows(String name, LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + DEFAULT_PARTITION);
+        createPartition(name, from, to);
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE occurred_at >= ? AND occurred_at < ? RETURNING *) INSERT INTO " + quote(name)
+                + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE audit_logs ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        return moved;
+    }
+
+    /**
+     * Partição DEFAULT: recebe registros fora dos meses já criados, para a
+     * gravação nunca falhar por falta de partição.
+     */
+    public void createDefaultPartition() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT_PARTITION + " PARTITION OF audit_logs DEFAULT");
+    }
+
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + quote(name));
+    }
+
+    /**
+     * Interpreta o texto de {@code pg_get_expr(relpartbound)}, p.ex.
+     * {@code FOR VALUES FROM ('2026-10-01 00:00:00') TO ('2026-11-01 00:00:00')},
+     * {@code FOR VALUES FROM (MINVALUE) TO (...)} ou {@code DEFAULT}.
+     */
+    public static Partition parsePartition(String name, String bound) {
+        if (bound == null || "DEFAULT".equalsIgnoreCase(bound.trim())) {
+            return new Partition(name, null, null, true);
+        }
+        Matcher matcher = RANGE_BOUND.matcher(bound);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Limite de partição não reconhecido para " + name + ": " + bound);
+        }
+        return new Partition(name, parseBoundValue(matcher.group(1)), parseBoundValue(matcher.group(2)), false);
+    }
+
+    /**
+     * Limite de {@code pg_get_constraintdef} da constraint
+     * {@value #LEGACY_BOUND_CHECK}, p.ex.
+     * {@code CHECK (((occurred_at IS NOT NULL) AND (occurred_at < '2026-12-01 00:00:00'::timestamp without time zone))) NOT VALID}.
+     */
+    public static LocalDateTime parseCheckBound(String definition) {
+        Matcher matcher = CHECK_BOUND.matcher(definition != null ? definition : "");
+        if (!matcher.find()) {
+            throw new IllegalStateException("Limite não reconhecido na constraint " + LEGACY_BOUND_CHECK + ": " + definition);
+        }
+        return parseBoundValue(matcher.group(1));
+    }
+
+    private static LocalDateTime parseBoundValue(String value) {
+        String trimmed = value.trim();
+        if ("MINVALUE".equalsIgnoreCase(trimmed) || "MAXVALUE".equalsIgnoreCase(trimmed)) {
+            return null;
+        }
+        return LocalDateTime.parse(trimmed.replace("'", "").replace(' ', 'T'));
+    }
+
+    private static Boolean queryBoolean(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? (Boolean) rs.getObject(1) : null;
+        }
+    }
+
+    private static String literal(LocalDateTime value) {
+        return "'" + value.toLocalDate() + " " + value.toLocalTime() + "'";
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,237 @@
+package com.geosegbar.infra.audit.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.geosegbar.entities.AuditLogEntity;
+import com.geosegbar.infra.audit.config.AuditProperties;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogJdbcRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava os registros de auditoria em lote.
+ * <p>
+ * Quem audita só enfileira ({@link #offer}) em um buffer limitado
+ * ({@code audit.buffer-capacity}) — nunca bloqueia nem toca no banco. Uma única
+ * thread ({@code audit-writer}) esvazia o buffer e grava um INSERT multi-linha a
+ * cada {@code audit.batch-size} registros ou {@code audit.flush-interval-ms}
+ * desde o primeiro registro pendente, o que vier antes. Com o buffer cheio o
+ * registro é descartado e contado; falha ao gravar um lote também só é
+ * contada e logada (auditoria é best-effort). Um registro recusado pelo banco
+ * não derruba o lote: o lote é dividido até isolá-lo.
+ * <p>
+ * Métricas: {@code audit.sink.written}, {@code audit.sink.dropped},
+ * {@code audit.sink.failed} e {@code audit.sink.buffer.size}.
+ * <p>
+ * Sobe antes e para depois do servidor web, gravando o que restou no buffer
+ * durante o desligamento.
+ */
+@Component
+@Slf4j
+public class AuditLogBatchWriter implements SmartLifecycle, MeterBinder {
+
+    private static final long STOP_TIMEOUT_MS = 10_000;
+
+    private final AuditLogJdbcRepository auditLogJdbcRepository;
+    private final BlockingQueue<AuditLogEntity> buffer;
+    private final int bufferCapacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogBatchWriter(AuditLogJdbcRepository auditLogJdbcRepository, AuditProperties auditProperties) {
+        this.auditLogJdbcRepository = auditLogJdbcRepository;
+        this.bufferCapacity = auditProperties.getBufferCapacity();
+        this.batchSize = auditProperties.getBatchSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(auditProperties.getFlushIntervalMs());
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    }
+
+    /**
+     * Enfileira o registro para gravação. Não bloqueia.
+     *
+     * @return {@code false} se o buffer estava cheio e o registro foi descartado
+     */
+    public boolean offer(AuditLogEntity auditLog) {
+        if (buffer.offer(auditLog)) {
+            return true;
+        }
+        long total = dropped.incrementAndGet();
+        // Loga em potências de 2 para não inundar o log durante um pico.
+        if (Long.bitCount(total) == 1) {
+            log.warn("[AUDIT] Buffer de auditoria cheio ({} registros): {} registro(s) descartado(s) até agora",
+                    bufferCapacity, total);
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = writerThread;
+        }
+        try {
+            thread.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive() || !buffer.isEmpty()) {
+            log.warn("[AUDIT] Desligamento com {} registro(s) de auditoria não gravado(s)", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Abaixo das fases do servidor web: inicia antes de receber requisições e
+     * para só depois que elas terminam.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("audit.sink.written", written, AtomicLong::get)
+                .description("Registros de auditoria gravados")
+                .register(registry);
+        FunctionCounter.builder("audit.sink.dropped", dropped, AtomicLong::get)
+                .description("Registros de auditoria descartados por buffer cheio")
+                .register(registry);
+        FunctionCounter.builder("audit.sink.failed", failed, AtomicLong::get)
+                .description("Registros de auditoria perdidos por falha ao gravar o lote")
+                .register(registry);
+        Gauge.builder("audit.sink.buffer.size", buffer, BlockingQueue::size)
+                .description("Registros de auditoria aguardando gravação")
+                .register(registry);
+    }
+
+    private void runWriter() {
+        List<AuditLogEntity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flush(batch);
+        }
+
+        flush(batch);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    /**
+     * Espera o primeiro registro por até um intervalo e, a partir dele, junta
+     * registros até completar o lote ou vencer o intervalo.
+     */
+    private void fillBatch(List<AuditLogEntity> batch) throws InterruptedException {
+        AuditLogEntity first = buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            if (buffer.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            AuditLogEntity next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<AuditLogEntity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            for (int start = 0; start < batch.size(); start += AuditLogJdbcRepository.MAX_ROWS_PER_STATEMENT) {
+                write(batch.subList(start, Math.min(start + AuditLogJdbcRepository.MAX_ROWS_PER_STATEMENT, batch.size())));
+            }
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Grava os registros em um único INSERT. Se o banco recusa algum deles
+     * (constraint, valor grande demais para a coluna, caractere inválido), o
+     * INSERT inteiro falha sem gravar nada: os registros são divididos ao meio
+     * e cada metade gravada de novo, até isolar os inválidos — só eles são
+     * contados como falha. Outras falhas (banco indisponível) perdem os
+     * registros sem novas tentativas.
+     */
+    private void write(List<AuditLogEntity> records) {
+        try {
+            auditLogJdbcRepository.insertBatch(records);
+            written.addAndGet(records.size());
+            log.debug("[AUDIT] Lote de {} registro(s) gravado", records.size());
+        } catch (DataIntegrityViolationException e) {
+            if (records.size() > 1) {
+                int middle = records.size() / 2;
+                write(records.subList(0, middle));
+                write(records.subList(middle, records.size()));
+                return;
+            }
+            failed.incrementAndGet();
+            AuditLogEntity record = records.get(0);
+            log.error("[AUDIT] Registro de auditoria recusado pelo banco (ação {}, trace {}): {}",
+                    record.getAction(), record.getTraceId(), e.getMessage());
+        } catch (Exception e) {
+            failed.addAndGet(records.size());
+            log.error("[AUDIT] FALHA ao persistir lote de {} registro(s) de auditoria: {}",
+                    records.size(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.geosegbar.infra.audit.services;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.infra.audit.config.AuditProperties;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogPartitionJdbcRepository;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogPartitionJdbcRepository.LegacyBoundCheck;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogPartitionJdbcRepository.Partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém {@code audit_logs} particionada por mês de {@code occurred_at}.
+ * <p>
+ * Na subida e diariamente ({@code audit.partition-maintenance-cron}):
+ * <ul>
+ *   <li>cria, enquanto a tabela é comum, o índice da listagem por cursor com
+ *       {@code CONCURRENTLY} — mesmo com o particionamento desligado;</li>
+ *   <li>converte a tabela comum criada pelo Hibernate em particionada (uma
+ *       única vez; os dados existentes viram a partição legada). A constraint
+ *       de limite é criada e validada em transações próprias antes da
+ *       conversão, que assim não varre a tabela sob {@code ACCESS EXCLUSIVE};</li>
+ *   <li>cria as partições do mês corrente e dos próximos
+ *       {@code audit.partitions-ahead} meses, além da partição DEFAULT. Se a
+ *       DEFAULT já recebeu registros de um desses meses, eles são movidos para
+ *       a nova partição;</li>
+ *   <li>remove as partições inteiramente anteriores a
+ *       {@code audit.retention-months} meses (0 = sem expurgo).</li>
+ * </ul>
+ * Expurgar uma partição é um {@code DROP TABLE}: não gera DELETE nem
+ * VACUUM na tabela. Um lock consultivo garante que só uma réplica faz a
+ * manutenção por vez.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogPartitionService {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final int MAINTENANCE_TIMEOUT_SECONDS = 900;
+
+    private final AuditLogPartitionJdbcRepository partitionRepository;
+    private final AuditProperties auditProperties;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        runMaintenance();
+    }
+
+    @Scheduled(cron = "${audit.partition-maintenance-cron:0 15 3 * * *}")
+    public void scheduledMaintenance() {
+        runMaintenance();
+    }
+
+    private void runMaintenance() {
+        ensureKeysetIndex();
+        if (!auditProperties.isPartitioningEnabled()) {
+            return;
+        }
+        try {
+            YearMonth currentMonth = YearMonth.now();
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setTimeout(MAINTENANCE_TIMEOUT_SECONDS);
+            if (Boolean.TRUE.equals(tx.execute(status -> prepareConversion(currentMonth)))) {
+                tx.executeWithoutResult(status -> validateConversion());
+            }
+            tx.executeWithoutResult(status -> maintainPartitions(currentMonth));
+        } catch (Exception e) {
+            log.error("[AUDIT] Erro na manutenção das partições de audit_logs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cria o índice da listagem por cursor enquanto a tabela é comum. Fica
+     * fora do {@code ddl-auto} para usar {@code CONCURRENTLY}: em uma tabela
+     * já grande, o {@code CREATE INDEX} comum bloquearia as gravações de
+     * auditoria durante toda a construção. Na tabela particionada o índice é
+     * criado pela conversão.
+     */
+    public void ensureKeysetIndex() {
+        try {
+            if (!"r".equals(partitionRepository.findTableKind())) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            if (partitionRepository.createKeysetIndexConcurrently()) {
+                log.info("[AUDIT] Índice {} criado ({}ms)", AuditLogPartitionJdbcRepository.KEYSET_INDEX,
+                        System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.error("[AUDIT] Erro ao criar o índice {}: {}", AuditLogPartitionJdbcRepository.KEYSET_INDEX,
+                    e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Primeira etapa da conversão da tabela comum: cria a constraint de limite
+     * {@code NOT VALID}, se ainda não existe. Deve rodar dentro de uma
+     * transação própria.
+     *
+     * @return {@code true} se a constraint ainda precisa ser validada
+     */
+    public boolean prepareConversion(YearMonth currentMonth) {
+        if (!partitionRepository.tryLock() || !"r".equals(partitionRepository.findTableKind())) {
+            return false;
+        }
+        LegacyBoundCheck check = partitionRepository.findLegacyBoundCheck();
+        if (check == null) {
+            LocalDateTime legacyEnd = partitionRepository.addLegacyBoundCheck(currentMonth.atDay(1).atStartOfDay());
+            log.info("[AUDIT] Constraint {} criada (registros até {}); validação pendente",
+                    AuditLogPartitionJdbcRepository.LEGACY_BOUND_CHECK, legacyEnd);
+            return true;
+        }
+        return !check.validated();
+    }
+
+    /**
+     * Segunda etapa: valida a constraint sem bloquear leituras e gravações.
+     * Deve rodar dentro de uma transação própria.
+     */
+    public void validateConversion() {
+        if (!partitionRepository.tryLock() || !"r".equals(partitionRepository.findTableKind())) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        partitionRepository.validateLegacyBoundCheck();
+        log.info("[AUDIT] Constraint {} validada ({}ms)", AuditLogPartitionJdbcRepository.LEGACY_BOUND_CHECK,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Executa a manutenção tomando {@code currentMonth} como mês corrente. Deve
+     * rodar dentro de uma transação. A conversão da tabela comum só acontece
+     * depois de {@link #prepareConversion} e {@link #validateConversion}.
+     */
+    public void maintainPartitions(YearMonth currentMonth) {
+        if (!partitionRepository.tryLock()) {
+            log.debug("[AUDIT] Manutenção de partições em andamento em outra instância");
+            return;
+        }
+
+        String kind = partitionRepository.findTableKind();
+        if (kind == null) {
+            log.warn("[AUDIT] Tabela audit_logs não encontrada; particionamento adiado");
+            return;
+        }
+        if ("r".equals(kind)) {
+            LegacyBoundCheck check = partitionRepository.findLegacyBoundCheck();
+            if (check == null || !check.validated()) {
+                log.warn("[AUDIT] Constraint {} ausente ou não validada; conversão de audit_logs adiada",
+                        AuditLogPartitionJdbcRepository.LEGACY_BOUND_CHECK);
+                return;
+            }
+            long start = System.currentTimeMillis();
+            LocalDateTime legacyEnd = check.bound();
+            partitionRepository.convertToPartitioned(legacyEnd);
+            log.info("[AUDIT] audit_logs convertida em tabela particionada ({}ms); registros existentes em {} até {}",
+                    System.currentTimeMillis() - start, AuditLogPartitionJdbcRepository.LEGACY_PARTITION, legacyEnd);
+        }
+
+        List<Partition> partitions = new ArrayList<>(partitionRepository.findPartitions());
+        createUpcomingPartitions(currentMonth, partitions);
+        dropExpiredPartitions(currentMonth, partitions);
+    }
+
+    private void createUpcomingPartitions(YearMonth currentMonth, List<Partition> partitions) {
+        boolean hasDefault = partitions.stream().anyMatch(Partition::isDefault);
+        for (int i = 0; i <= auditProperties.getPartitionsAhead(); i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            LocalDateTime from = month.atDay(1).atStartOfDay();
+            LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+            if (partitions.stream().anyMatch(p -> p.overlaps(from, to))) {
+                continue;
+            }
+            String name = AuditLogPartitionJdbcRepository.TABLE + "_p" + month.format(PARTITION_SUFFIX);
+            if (hasDefault && partitionRepository.defaultPartitionHasRows(from, to)) {
+                int moved = partitionRepository.createPartitionMovingDefaultRows(name, from, to);
+                log.info("[AUDIT] Partição {} criada com {} registros movidos da partição DEFAULT", name, moved);
+            } else {
+                partitionRepository.createPartition(name, from, to);
+                log.info("[AUDIT] Partição {} criada", name);
+            }
+            partitions.add(new Partition(name, from, to, false));
+        }
+
+        if (!hasDefault) {
+            partitionRepository.createDefaultPartition();
+        }
+    }
+
+    private void dropExpiredPartitions(YearMonth currentMonth, List<Partition> partitions) {
+        int retentionMonths = auditProperties.getRetentionMonths();
+        if (retentionMonths <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = currentMonth.minusMonths(retentionMonths).atDay(1).atStartOfDay();
+        for (Partition partition : partitions) {
+            if (partition.isDefault() || partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            partitionRepository.dropPartition(partition.name());
+            log.info("[AUDIT] Partição {} removida (registros anteriores a {})", partition.name(), cutoff);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.geosegbar.infra.audit.services;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
@@ -17,12 +20,15 @@ import com.geosegbar.common.enums.AuditSource;
 import com.geosegbar.common.enums.AuditStatus;
 import com.geosegbar.entities.AuditLogEntity;
 import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.audit.config.AuditProperties;
 import com.geosegbar.infra.audit.dtos.AuditLogDetailDTO;
 import com.geosegbar.infra.audit.dtos.AuditLogFilterDTO;
+import com.geosegbar.infra.audit.dtos.AuditLogKeysetPageDTO;
 import com.geosegbar.infra.audit.dtos.AuditLogSummaryDTO;
 import com.geosegbar.infra.audit.events.AuditEvent;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository;
 import com.geosegbar.infra.audit.persistence.jpa.AuditLogRepository;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
@@ -36,7 +42,8 @@ import lombok.extern.slf4j.Slf4j;
  * - Jobs/serviços async usam os atalhos {@code recordJob*} (sem requisição HTTP).
  * <p>
  * O serviço NÃO grava diretamente: monta o {@link AuditLogEntity}, aplica
- * truncamento e publica um {@link AuditEvent} consumido de forma assíncrona.
+ * truncamento e publica um {@link AuditEvent}, que é enfileirado e gravado em
+ * lote pelo {@code AuditLogBatchWriter}.
  * Toda a operação é best-effort — uma falha aqui jamais propaga para o chamador.
  */
 @Service
@@ -50,6 +57,7 @@ public class AuditService {
     private final ApplicationEventPublisher eventPublisher;
     private final AuditProperties auditProperties;
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogKeysetJdbcRepository auditLogKeysetJdbcRepository;
     private final UserRepository userRepository;
 
     @Value("${application.system-user-email}")
@@ -172,6 +180,42 @@ public class AuditService {
                 .map(AuditLogDetailDTO::fromProjection);
     }
 
+    /**
+     * Listagem por cursor para o usuário comum. Cada página é uma busca pelo
+     * índice {@code (occurred_at, id)} a partir do cursor, restrita às partições
+     * do período filtrado; o total é estimado (só na primeira página).
+     */
+    public AuditLogKeysetPageDTO<AuditLogSummaryDTO> findSummariesByCursor(AuditLogFilterDTO f,
+            LocalDateTime cursorOccurredAt, Long cursorId, int size, boolean ascending) {
+        AuditLogKeysetJdbcRepository.Criteria criteria = toCriteria(f);
+        AuditLogKeysetJdbcRepository.Cursor cursor = toCursor(cursorOccurredAt, cursorId);
+        int pageSize = validatePageSize(size);
+
+        List<AuditLogSummaryDTO> rows = auditLogKeysetJdbcRepository
+                .findSummaries(criteria, cursor, ascending, pageSize + 1).stream()
+                .map(AuditLogSummaryDTO::fromProjection)
+                .toList();
+        Long estimatedTotal = cursor == null ? auditLogKeysetJdbcRepository.estimateCount(criteria) : null;
+        return toKeysetPage(rows, pageSize, AuditLogSummaryDTO::getOccurredAt, AuditLogSummaryDTO::getId, estimatedTotal);
+    }
+
+    /**
+     * Listagem por cursor para admin/dev (todos os campos).
+     */
+    public AuditLogKeysetPageDTO<AuditLogDetailDTO> findDetailsByCursor(AuditLogFilterDTO f,
+            LocalDateTime cursorOccurredAt, Long cursorId, int size, boolean ascending) {
+        AuditLogKeysetJdbcRepository.Criteria criteria = toCriteria(f);
+        AuditLogKeysetJdbcRepository.Cursor cursor = toCursor(cursorOccurredAt, cursorId);
+        int pageSize = validatePageSize(size);
+
+        List<AuditLogDetailDTO> rows = auditLogKeysetJdbcRepository
+                .findDetails(criteria, cursor, ascending, pageSize + 1).stream()
+                .map(AuditLogDetailDTO::fromProjection)
+                .toList();
+        Long estimatedTotal = cursor == null ? auditLogKeysetJdbcRepository.estimateCount(criteria) : null;
+        return toKeysetPage(rows, pageSize, AuditLogDetailDTO::getOccurredAt, AuditLogDetailDTO::getId, estimatedTotal);
+    }
+
     /**
      * Detalhe completo de um único registro (admin/dev).
      */
@@ -181,6 +225,47 @@ public class AuditService {
                 .orElseThrow(() -> new NotFoundException("Registro de auditoria não encontrado para id: " + id));
     }
 
+    private AuditLogKeysetJdbcRepository.Criteria toCriteria(AuditLogFilterDTO f) {
+        return new AuditLogKeysetJdbcRepository.Criteria(
+                f.getStartDate(), f.getEndDate(), f.getActorUserId(),
+                likePattern(f.getActorEmail()), likePattern(f.getAction()),
+                enumName(f.getStatus()), enumName(f.getSource()), normalize(f.getHttpMethod()),
+                f.getEntityType(), f.getEntityId());
+    }
+
+    private AuditLogKeysetJdbcRepository.Cursor toCursor(LocalDateTime occurredAt, Long id) {
+        if (occurredAt == null && id == null) {
+            return null;
+        }
+        if (occurredAt == null || id == null) {
+            throw new InvalidInputException("Informe cursorOccurredAt e cursorId juntos para continuar a listagem.");
+        }
+        return new AuditLogKeysetJdbcRepository.Cursor(occurredAt, id);
+    }
+
+    private int validatePageSize(int size) {
+        if (size < 1 || size > auditProperties.getMaxPageSize()) {
+            throw new InvalidInputException("O tamanho da página deve estar entre 1 e "
+                    + auditProperties.getMaxPageSize() + ".");
+        }
+        return size;
+    }
+
+    /**
+     * Recorta a linha excedente ({@code size + 1}) e monta o cursor da próxima
+     * página a partir da última linha devolvida.
+     */
+    private <T> AuditLogKeysetPageDTO<T> toKeysetPage(List<T> rows, int size,
+            Function<T, LocalDateTime> occurredAt, Function<T, Long> id, Long estimatedTotal) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? rows.subList(0, size) : rows;
+        if (!hasMore || items.isEmpty()) {
+            return new AuditLogKeysetPageDTO<>(items, hasMore, null, null, estimatedTotal);
+        }
+        T last = items.get(items.size() - 1);
+        return new AuditLogKeysetPageDTO<>(items, true, occurredAt.apply(last), id.apply(last), estimatedTotal);
+    }
+
     /**
      * Monta o padrão LIKE em minúsculas ({@code %valor%}) para busca por
      * substring. Retorna null quando o filtro está vazio (filtro ignorado).
@@ -219,6 +304,7 @@ public class AuditService {
         // derivados de entrada externa (URL → action, X-Forwarded-For → clientIp)
         // podem ser forjados/gigantes; nunca devem estourar o INSERT.
         AuditLogEntity.AuditLogEntityBuilder builder = AuditLogEntity.builder()
+                .occurredAt(LocalDateTime.now())
                 .action(truncate(ctx.getAction(), 100))
                 .actionLabel(truncate(ctx.getActionLabel(), 150))
                 .source(ctx.getSource())
@@ -20,6 +20,7 @@ import com.geosegbar.common.response.WebResponseEntity;
 import com.geosegbar.common.utils.AuthenticatedUserUtil;
 import com.geosegbar.infra.audit.dtos.AuditLogDetailDTO;
 import com.geosegbar.infra.audit.dtos.AuditLogFilterDTO;
+import com.geosegbar.infra.audit.dtos.AuditLogKeysetPageDTO;
 import com.geosegbar.infra.audit.dtos.AuditLogSummaryDTO;
 import com.geosegbar.infra.audit.services.AuditService;
 
@@ -31,6 +32,9 @@ import lombok.RequiredArgsConstructor;
  *   <li>{@code GET /audit-logs}: visão do usuário comum (campos básicos).</li>
  *   <li>{@code GET /audit-logs/admin} e {@code /audit-logs/{id}/details}: visão
  *       admin/dev (todos os campos, incl. request/response/erro/stacktrace).</li>
+ *   <li>{@code GET /audit-logs/cursor} e {@code /audit-logs/admin/cursor}: as
+ *       mesmas visões paginadas por cursor {@code (occurredAt, id)}, com total
+ *       estimado — custo constante por página, independente do histórico.</li>
  * </ul>
  * Toda a rota exige autenticação (cai em {@code anyRequest().authenticated()}); a
  * visão admin é restrita por papel.
@@ -96,6 +100,60 @@ public class AuditLogController {
                 WebResponseEntity.success(result, "Auditoria detalhada obtida com sucesso!"));
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<WebResponseEntity<AuditLogKeysetPageDTO<AuditLogSummaryDTO>>> listByCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) String actorEmail,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) AuditStatus status,
+            @RequestParam(required = false) AuditSource source,
+            @RequestParam(required = false) String httpMethod,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorOccurredAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+
+        AuditLogFilterDTO filter = buildFilter(startDate, endDate, actorUserId, actorEmail,
+                action, status, source, httpMethod, entityType, entityId);
+
+        AuditLogKeysetPageDTO<AuditLogSummaryDTO> result = auditService.findSummariesByCursor(
+                filter, cursorOccurredAt, cursorId, size, sortDirection.equalsIgnoreCase("asc"));
+        return ResponseEntity.ok(
+                WebResponseEntity.success(result, "Auditoria obtida com sucesso!"));
+    }
+
+    @GetMapping("/admin/cursor")
+    public ResponseEntity<WebResponseEntity<AuditLogKeysetPageDTO<AuditLogDetailDTO>>> listAdminByCursor(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Long actorUserId,
+            @RequestParam(required = false) String actorEmail,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) AuditStatus status,
+            @RequestParam(required = false) AuditSource source,
+            @RequestParam(required = false) String httpMethod,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorOccurredAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String sortDirection) {
+
+        AuthenticatedUserUtil.checkAdminPermission();
+
+        AuditLogFilterDTO filter = buildFilter(startDate, endDate, actorUserId, actorEmail,
+                action, status, source, httpMethod, entityType, entityId);
+
+        AuditLogKeysetPageDTO<AuditLogDetailDTO> result = auditService.findDetailsByCursor(
+                filter, cursorOccurredAt, cursorId, size, sortDirection.equalsIgnoreCase("asc"));
+        return ResponseEntity.ok(
+                WebResponseEntity.success(result, "Auditoria detalhada obtida com sucesso!"));
+    }
+
     @GetMapping("/{id}/details")
     public ResponseEntity<WebResponseEntity<AuditLogDetailDTO>> details(@PathVariable Long id) {
         AuthenticatedUserUtil.checkAdminPermission();
@@ -2,21 +2,22 @@ package com.geosegbar.infra.checklist.services;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.geosegbar.common.enums.DashboardSectionEnum;
 import com.geosegbar.common.enums.TypeQuestionEnum;
 import com.geosegbar.common.utils.AuthenticatedUserUtil;
-import com.geosegbar.entities.AnswerEntity;
 import com.geosegbar.entities.ChecklistEntity;
 import com.geosegbar.entities.ChecklistTemplateEntity;
 import com.geosegbar.entities.ClientEntity;
@@ -31,6 +32,7 @@ import com.geosegbar.exceptions.DuplicateResourceException;
 import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.answer.persistence.jpa.AnswerRepository;
+import com.geosegbar.infra.answer.projections.LatestNonNIAnswerProjection;
 import com.geosegbar.infra.checklist.dtos.ChecklistCompleteCreationDTO;
 import com.geosegbar.infra.checklist.dtos.ChecklistCompleteDTO;
 import com.geosegbar.infra.checklist.dtos.ChecklistCompleteUpdateDTO;
@@ -50,6 +52,7 @@ import com.geosegbar.infra.checklist.dtos.TemplateReorderDTO;
 import com.geosegbar.infra.checklist.persistence.jpa.ChecklistRepository;
 import com.geosegbar.infra.checklist_template.persistence.jpa.ChecklistTemplateRepository;
 import com.geosegbar.infra.dam.services.DamService;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
 import com.geosegbar.infra.option.persistence.jpa.OptionRepository;
 import com.geosegbar.infra.question.persistence.jpa.QuestionRepository;
 import com.geosegbar.infra.question.services.QuestionService;
@@ -73,6 +76,7 @@ public class ChecklistService {
     private final QuestionRepository questionRepository;
     private final QuestionService questionService;
     private final OptionRepository optionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Page<ChecklistEntity> findAllPaged(Pageable pageable) {
         return checklistRepository.findAllWithDams(pageable);
@@ -131,6 +135,7 @@ public class ChecklistService {
             validateTemplatesBelongToDam(checklist.getTemplateQuestionnairesForJson(), damId, fullDam.getName());
 
             ChecklistEntity saved = checklistRepository.save(checklist);
+            eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS, damId));
             ChecklistEntity result = findById(saved.getId());
 
             logChecklistAudit(
@@ -167,7 +172,8 @@ public class ChecklistService {
             return result;
         }
 
-        result.add(buildChecklistWithAnswersDTO(checklist, damId));
+        Map<LastAnswerKey, LatestNonNIAnswerProjection> lastAnswers = findLatestNonNIAnswers(List.of(checklist));
+        result.add(buildChecklistWithAnswersDTO(checklist, damId, lastAnswers));
 
         return result;
     }
@@ -178,6 +184,7 @@ public class ChecklistService {
         List<ChecklistEntity> allChecklistsEntities = checklistRepository.findAllByClientIdWithDetails(clientId);
 
         List<ChecklistWithLastAnswersAndDamDTO> allChecklists = new ArrayList<>();
+        Map<LastAnswerKey, LatestNonNIAnswerProjection> lastAnswers = findLatestNonNIAnswers(allChecklistsEntities);
 
         for (ChecklistEntity checklist : allChecklistsEntities) {
 
@@ -197,7 +204,7 @@ public class ChecklistService {
             );
             checklistDTO.setDam(damInfo);
 
-            populateTemplatesWithAnswers(checklistDTO, checklist, dam.getId());
+            populateTemplatesWithAnswers(checklistDTO, checklist, dam.getId(), lastAnswers);
 
             allChecklists.add(checklistDTO);
         }
@@ -210,18 +217,51 @@ public class ChecklistService {
         return allChecklists;
     }
 
-    private ChecklistWithLastAnswersDTO buildChecklistWithAnswersDTO(ChecklistEntity checklist, Long damId) {
+    private ChecklistWithLastAnswersDTO buildChecklistWithAnswersDTO(ChecklistEntity checklist, Long damId,
+            Map<LastAnswerKey, LatestNonNIAnswerProjection> lastAnswers) {
         ChecklistWithLastAnswersDTO checklistDTO = new ChecklistWithLastAnswersDTO();
         checklistDTO.setId(checklist.getId());
         checklistDTO.setName(checklist.getName());
         checklistDTO.setCreatedAt(checklist.getCreatedAt());
 
-        populateTemplatesWithAnswers(checklistDTO, checklist, damId);
+        populateTemplatesWithAnswers(checklistDTO, checklist, damId, lastAnswers);
 
         return checklistDTO;
     }
 
-    private void populateTemplatesWithAnswers(Object checklistDTO, ChecklistEntity checklist, Long damId) {
+    /**
+     * Busca numa única consulta a última resposta não-NI de todas as questões
+     * dos checklists informados, indexada por (barragem, template, questão).
+     */
+    private Map<LastAnswerKey, LatestNonNIAnswerProjection> findLatestNonNIAnswers(List<ChecklistEntity> checklists) {
+        Set<Long> damIds = new HashSet<>();
+        Set<Long> templateIds = new HashSet<>();
+        Set<Long> questionIds = new HashSet<>();
+
+        for (ChecklistEntity checklist : checklists) {
+            damIds.add(checklist.getDam().getId());
+            for (ChecklistTemplateEntity ct : checklist.getChecklistTemplates()) {
+                TemplateQuestionnaireEntity template = ct.getTemplateQuestionnaire();
+                templateIds.add(template.getId());
+                for (TemplateQuestionnaireQuestionEntity tqQuestion : template.getTemplateQuestions()) {
+                    questionIds.add(tqQuestion.getQuestion().getId());
+                }
+            }
+        }
+
+        if (damIds.isEmpty() || templateIds.isEmpty() || questionIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<LastAnswerKey, LatestNonNIAnswerProjection> lastAnswers = new HashMap<>();
+        for (LatestNonNIAnswerProjection row : answerRepository.findLatestNonNIAnswers(damIds, templateIds, questionIds)) {
+            lastAnswers.put(new LastAnswerKey(row.getDamId(), row.getTemplateId(), row.getQuestionId()), row);
+        }
+        return lastAnswers;
+    }
+
+    private void populateTemplatesWithAnswers(Object checklistDTO, ChecklistEntity checklist, Long damId,
+            Map<LastAnswerKey, LatestNonNIAnswerProjection> lastAnswers) {
         List<TemplateQuestionnaireWithAnswersDTO> templateDTOs = new ArrayList<>();
 
         Set<Long> seenCtIds = new HashSet<>();
@@ -250,21 +290,14 @@ public class ChecklistService {
                         .collect(Collectors.toList());
                 questionDTO.setAllOptions(allOptionDTOs);
 
-                Optional<AnswerEntity> lastNonNIAnswer = answerRepository.findLatestNonNIAnswer(
-                        damId, question.getId(), template.getId());
+                LatestNonNIAnswerProjection lastNonNIAnswer = lastAnswers.get(
+                        new LastAnswerKey(damId, template.getId(), question.getId()));
 
-                lastNonNIAnswer.ifPresent(answer -> {
-                    Optional<OptionEntity> nonNIOption = answer.getSelectedOptions().stream()
-                            .filter(opt -> !"NI".equalsIgnoreCase(opt.getLabel()))
-                            .findFirst();
-
-                    nonNIOption.ifPresent(option -> {
-                        OptionDTO optionDTO = new OptionDTO(
-                                option.getId(), option.getLabel(), option.getValue());
-                        questionDTO.setLastSelectedOption(optionDTO);
-                        questionDTO.setAnswerResponseId(answer.getId());
-                    });
-                });
+                if (lastNonNIAnswer != null) {
+                    questionDTO.setLastSelectedOption(new OptionDTO(lastNonNIAnswer.getOptionId(),
+                            lastNonNIAnswer.getOptionLabel(), lastNonNIAnswer.getOptionValue()));
+                    questionDTO.setAnswerResponseId(lastNonNIAnswer.getAnswerId());
+                }
 
                 questionDTOs.add(questionDTO);
             }
@@ -405,6 +438,7 @@ public class ChecklistService {
                 throw new NotFoundException("Checklist não encontrada para exclusão!");
             }
             checklistRepository.deleteById(id);
+            eventPublisher.publishEvent(DashboardDataChangedEvent.allDams(DashboardSectionEnum.CHECKLISTS));
 
             logChecklistAudit(
                     "CHECKLIST_DELETE",
@@ -462,6 +496,7 @@ public class ChecklistService {
 
             checklist = checklistRepository.save(checklist);
             log.info("Checklist base criado com ID: {}", checklist.getId());
+            eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS, dam.getId()));
 
             int templateCount = 0;
             for (TemplateInChecklistDTO templateDto : dto.getTemplates()) {
@@ -1288,6 +1323,7 @@ public class ChecklistService {
             }
 
             ChecklistEntity saved = checklistRepository.save(newChecklist);
+            eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS, targetDamId));
 
             log.info("Replicação concluída: Checklist {} criado com {} template(s) para barragem {}",
                     saved.getId(), templateCount, targetDamId);
@@ -1386,4 +1422,8 @@ public class ChecklistService {
                 + " new:" + newCount
                 + " existingIds=" + existingIds;
     }
+
+    private record LastAnswerKey(Long damId, Long templateId, Long questionId) {
+
+    }
 }
@@ -5,17 +5,18 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import com.geosegbar.common.enums.DashboardSectionEnum;
 import com.geosegbar.common.utils.ChecklistOptionTransitionValidator;
 import com.geosegbar.entities.AnswerEntity;
 import com.geosegbar.entities.AnswerPhotoEntity;
@@ -46,6 +47,7 @@ import com.geosegbar.infra.checklist_response.persistence.jpa.ChecklistResponseR
 import com.geosegbar.infra.checklist_submission.dtos.PhotoSubmissionDTO;
 import com.geosegbar.infra.client.persistence.jpa.ClientRepository;
 import com.geosegbar.infra.dam.services.DamService;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
 import com.geosegbar.infra.file_storage.FileStorageService;
 import com.geosegbar.infra.option.persistence.jpa.OptionRepository;
 import com.geosegbar.infra.questionnaire_response.persistence.jpa.QuestionnaireResponseRepository;
@@ -65,6 +67,7 @@ public class ChecklistResponseService {
     private final FileStorageService fileStorageService;
     private final DamService damService;
     private final ClientRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<ChecklistResponseEntity> findAll() {
@@ -91,6 +94,7 @@ public class ChecklistResponseService {
         checklistResponse.setDam(dam);
 
         ChecklistResponseEntity saved = checklistResponseRepository.save(checklistResponse);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS, damId));
 
         return findById(saved.getId());
     }
@@ -112,16 +116,20 @@ public class ChecklistResponseService {
         }
 
         ChecklistResponseEntity saved = checklistResponseRepository.save(checklistResponse);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS,
+                List.of(existing.getDam().getId(), checklistResponse.getDam().getId())));
 
         return findById(saved.getId());
     }
 
     @Transactional
     public void deleteById(Long id) {
-        if (!checklistResponseRepository.existsById(id)) {
-            throw new NotFoundException("Resposta de Checklist não encontrada para exclusão!");
-        }
+        ChecklistResponseEntity checklistResponse = checklistResponseRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Resposta de Checklist não encontrada para exclusão!"));
+        Long damId = checklistResponse.getDam().getId();
+
         checklistResponseRepository.deleteById(id);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS, damId));
     }
 
     @Transactional
@@ -146,6 +154,8 @@ public class ChecklistResponseService {
                     formatToTwoDecimals(dto.getTurbinedFlow()),
                     formatToTwoDecimals(dto.getAccumulatedRainfall()),
                     dto.getWeatherCondition());
+            eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS,
+                    checklistResponse.getDam().getId()));
         }
 
         if (dto.getAnswers() != null && !dto.getAnswers().isEmpty()) {
@@ -248,14 +258,8 @@ public class ChecklistResponseService {
         // Salva novas fotos
         for (PhotoSubmissionDTO photoDto : newPhotos) {
             try {
-                String base64Image = photoDto.getBase64Image();
-                if (base64Image != null && base64Image.contains(",")) {
-                    base64Image = base64Image.split(",")[1];
-                }
-                byte[] imageBytes = Base64.getDecoder().decode(base64Image);
-
-                String photoUrl = fileStorageService.storeFileFromBytes(
-                        imageBytes,
+                String photoUrl = fileStorageService.storeStagedFile(
+                        photoDto.getPhoto(),
                         photoDto.getFileName(),
                         photoDto.getContentType(),
                         "answer-photos");
@@ -267,6 +271,10 @@ public class ChecklistResponseService {
                 answer.getPhotos().add(photo);
             } catch (Exception e) {
                 throw new FileStorageException("Erro ao processar imagem: " + e.getMessage());
+            } finally {
+                if (photoDto.getPhoto() != null) {
+                    photoDto.getPhoto().delete();
+                }
             }
         }
     }
@@ -1,5 +1,10 @@
 package com.geosegbar.infra.checklist_submission.dtos;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.geosegbar.infra.file_storage.Base64StagedFileDeserializer;
+import com.geosegbar.infra.file_storage.StagedFile;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,10 +15,14 @@ import lombok.NoArgsConstructor;
 public class PhotoSubmissionDTO {
 
     /**
-     * Fluxo LEGADO (base64): imagem embutida no JSON. Usado pelo endpoint
-     * {@code POST /checklist-responses/submit}.
+     * Fluxo LEGADO (base64): imagem embutida no JSON, no campo
+     * {@code base64Image}. Usado pelo endpoint
+     * {@code POST /checklist-responses/submit}. Decodificada durante a leitura
+     * do JSON para um arquivo temporário; o DTO guarda só a referência.
      */
-    private String base64Image;
+    @JsonProperty(value = "base64Image", access = JsonProperty.Access.WRITE_ONLY)
+    @JsonDeserialize(using = Base64StagedFileDeserializer.class)
+    private StagedFile photo;
 
     /**
      * Fluxo PRESIGNED (direto-pro-S3): chave S3 (objectKey) devolvida pelo
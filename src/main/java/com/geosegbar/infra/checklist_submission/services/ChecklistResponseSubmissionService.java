@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import com.geosegbar.entities.ChecklistResponseEntity;
 import com.geosegbar.infra.checklist_submission.dtos.ChecklistResponseSubmissionDTO;
 import com.geosegbar.infra.file_storage.FileStorageService;
+import com.geosegbar.infra.file_storage.StagedFile;
 
 @Service
 public class ChecklistResponseSubmissionService {
@@ -22,7 +23,7 @@ public class ChecklistResponseSubmissionService {
     public record PendingPhotoUpload(
         Long entityId,
         boolean isAnomaly,
-        byte[] imageBytes,
+        StagedFile photo,
         String fileName,
         String contentType,
         String subDirectory,
@@ -61,8 +62,8 @@ public class ChecklistResponseSubmissionService {
         List<CompletableFuture<Void>> futures = pendingUploads.stream()
                 .map(pending -> CompletableFuture.runAsync(() -> {
                     try {
-                        String url = fileStorageService.storeFileFromBytes(
-                                pending.imageBytes(),
+                        String url = fileStorageService.storeStagedFile(
+                                pending.photo(),
                                 pending.fileName(),
                                 pending.contentType(),
                                 pending.subDirectory()
@@ -75,6 +76,8 @@ public class ChecklistResponseSubmissionService {
                     } catch (Exception e) {
                         log.error("[CHECKLIST-PHOTO] Falha ao fazer upload da foto id={} isAnomaly={}: {}",
                                 pending.entityId(), pending.isAnomaly(), e.getMessage());
+                    } finally {
+                        pending.photo().delete();
                     }
                 }, checklistPhotoUploadExecutor))
                 .toList();
@@ -4,17 +4,18 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
 import com.geosegbar.common.enums.AnomalyOriginEnum;
+import com.geosegbar.common.enums.DashboardSectionEnum;
 import com.geosegbar.common.utils.AuthenticatedUserUtil;
 import com.geosegbar.common.utils.ChecklistOptionTransitionValidator;
 import com.geosegbar.entities.AnomalyEntity;
@@ -48,6 +49,7 @@ import com.geosegbar.infra.checklist_submission.dtos.PhotoSubmissionDTO;
 import com.geosegbar.infra.checklist_submission.dtos.QuestionnaireResponseSubmissionDTO;
 import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
 import com.geosegbar.infra.dam.services.DamService;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
 import com.geosegbar.infra.danger_level.persistence.jpa.DangerLevelRepository;
 import com.geosegbar.infra.documentation_dam.persistence.DocumentationDamRepository;
 import com.geosegbar.infra.option.persistence.jpa.OptionRepository;
@@ -79,6 +81,7 @@ public class ChecklistSubmissionPersistenceService {
     private final DamRepository damRepository;
     private final AnomalyPhotoRepository anomalyPhotoRepository;
     private final DocumentationDamRepository documentationDamRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(timeout = 60)
     public ChecklistResponseSubmissionService.SubmissionResult persistChecklistData(
@@ -181,6 +184,10 @@ public class ChecklistSubmissionPersistenceService {
     @Transactional
     public void updateAnomalyPhotoPath(Long entityId, String url) {
         anomalyPhotoRepository.updateImagePath(entityId, url);
+        anomalyPhotoRepository.findById(entityId)
+                .filter(photo -> photo.getDamId() != null)
+                .ifPresent(photo -> eventPublisher.publishEvent(
+                new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, photo.getDamId())));
     }
 
     // =========================================================================
@@ -602,11 +609,7 @@ public class ChecklistSubmissionPersistenceService {
 
     private void prepareAnomalyPhoto(PhotoSubmissionDTO photoDto, AnomalyEntity anomaly, Long damId,
             List<ChecklistResponseSubmissionService.PendingPhotoUpload> pendingUploads) {
-        String base64Image = photoDto.getBase64Image();
-        if (base64Image.contains(",")) {
-            base64Image = base64Image.split(",")[1];
-        }
-        byte[] imageBytes = Base64.getDecoder().decode(base64Image);
+        requireStagedPhoto(photoDto);
 
         AnomalyPhotoEntity photoEntity = new AnomalyPhotoEntity();
         photoEntity.setAnomaly(anomaly);
@@ -615,7 +618,7 @@ public class ChecklistSubmissionPersistenceService {
         AnomalyPhotoEntity saved = anomalyPhotoRepository.save(photoEntity);
 
         pendingUploads.add(new ChecklistResponseSubmissionService.PendingPhotoUpload(
-                saved.getId(), true, imageBytes,
+                saved.getId(), true, photoDto.getPhoto(),
                 photoDto.getFileName(), photoDto.getContentType(), "anomalies", damId));
     }
 
@@ -760,6 +763,10 @@ public class ChecklistSubmissionPersistenceService {
         checklistResponse.setStartedAt(submissionDto.getStartedAt());
         checklistResponse.setFinishedAt(submissionDto.getFinishedAt());
 
+        // A submissão também pode gerar anomalias na mesma transação.
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.CHECKLISTS, dam.getId()));
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, dam.getId()));
+
         return checklistResponseRepository.save(checklistResponse);
     }
 
@@ -823,11 +830,7 @@ public class ChecklistSubmissionPersistenceService {
 
     private void prepareAnswerPhoto(PhotoSubmissionDTO photoDto, AnswerEntity answer,
             List<ChecklistResponseSubmissionService.PendingPhotoUpload> pendingUploads) {
-        String base64Image = photoDto.getBase64Image();
-        if (base64Image.contains(",")) {
-            base64Image = base64Image.split(",")[1];
-        }
-        byte[] imageBytes = Base64.getDecoder().decode(base64Image);
+        requireStagedPhoto(photoDto);
 
         AnswerPhotoEntity photo = new AnswerPhotoEntity();
         photo.setAnswer(answer);
@@ -835,7 +838,15 @@ public class ChecklistSubmissionPersistenceService {
         AnswerPhotoEntity saved = answerPhotoRepository.save(photo);
 
         pendingUploads.add(new ChecklistResponseSubmissionService.PendingPhotoUpload(
-                saved.getId(), false, imageBytes,
+                saved.getId(), false, photoDto.getPhoto(),
                 photoDto.getFileName(), photoDto.getContentType(), "answer-photos", null));
     }
+
+    private void requireStagedPhoto(PhotoSubmissionDTO photoDto) {
+        if (photoDto.getPhoto() == null) {
+            throw new InvalidInputException("Foto sem conteúdo base64.");
+        }
+        // O upload só acontece depois do commit; com rollback o arquivo não tem dono.
+        photoDto.getPhoto().deleteOnRollback();
+    }
 }
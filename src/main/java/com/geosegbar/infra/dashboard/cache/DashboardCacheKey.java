@@ -0,0 +1,20 @@
+package com.geosegbar.infra.dashboard.cache;
+
+import java.util.List;
+
+/**
+ * Chave dos caches de dashboard: barragens ordenadas e sem repetição, as
+ * versões da seção para essas barragens (ver {@link DashboardCacheTags}) e os
+ * demais parâmetros da consulta.
+ */
+public record DashboardCacheKey(List<Long> damIds, List<Long> versions, List<Object> params) {
+
+    public boolean containsAnyDam(Iterable<Long> ids) {
+        for (Long id : ids) {
+            if (damIds.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
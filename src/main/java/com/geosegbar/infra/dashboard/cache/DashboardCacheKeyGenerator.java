@@ -0,0 +1,60 @@
+package com.geosegbar.infra.dashboard.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+import com.geosegbar.common.enums.DashboardSectionEnum;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Gera {@link DashboardCacheKey} para os métodos {@code @Cacheable} do
+ * {@code DashboardService}. O primeiro parâmetro deve ser a lista de barragens,
+ * que é normalizada (ordenada, sem repetição): o mesmo conjunto em outra ordem
+ * cai na mesma entrada.
+ */
+@Component(DashboardCacheKeyGenerator.BEAN_NAME)
+@RequiredArgsConstructor
+public class DashboardCacheKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "dashboardCacheKeyGenerator";
+
+    private final DashboardCacheTags cacheTags;
+    private final Map<Method, DashboardSectionEnum> sectionByMethod = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        if (params.length == 0 || !(params[0] instanceof Collection<?> rawDamIds)) {
+            throw new IllegalStateException("Método de dashboard sem lista de barragens: " + method.getName());
+        }
+
+        List<Long> damIds = rawDamIds.stream()
+                .map(Long.class::cast)
+                .distinct()
+                .sorted()
+                .toList();
+
+        DashboardSectionEnum section = sectionByMethod.computeIfAbsent(method, DashboardCacheKeyGenerator::sectionOf);
+
+        return new DashboardCacheKey(
+                damIds,
+                cacheTags.versionsOf(section, damIds),
+                Arrays.asList(Arrays.copyOfRange(params, 1, params.length)));
+    }
+
+    private static DashboardSectionEnum sectionOf(Method method) {
+        Cacheable cacheable = method.getAnnotation(Cacheable.class);
+        if (cacheable == null || cacheable.value().length == 0) {
+            throw new IllegalStateException("Método de dashboard sem @Cacheable: " + method.getName());
+        }
+        return DashboardSectionEnum.fromCacheName(cacheable.value()[0]);
+    }
+}
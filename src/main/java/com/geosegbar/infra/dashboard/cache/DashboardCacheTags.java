@@ -0,0 +1,65 @@
+package com.geosegbar.infra.dashboard.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.geosegbar.common.enums.DashboardSectionEnum;
+
+/**
+ * Versões ("tags") por seção do dashboard e por barragem. A versão atual entra
+ * na chave do cache, então invalidar é só incrementar a versão: entradas
+ * antigas deixam de ser encontradas — inclusive as gravadas por uma leitura
+ * que começou antes do commit da escrita e terminou depois da invalidação.
+ * <p>
+ * Há também uma versão global por seção, para invalidações sem barragem
+ * conhecida.
+ * <p>
+ * As versões vivem na memória desta instância e o evento de invalidação é
+ * local: outras réplicas só deixam de servir o dado antigo quando a entrada
+ * expira pelo TTL ({@code application.cache.dashboard-ttl}).
+ */
+@Component
+public class DashboardCacheTags {
+
+    private final Map<DashboardSectionEnum, AtomicLong> globalVersions = new EnumMap<>(DashboardSectionEnum.class);
+    private final Map<DashboardSectionEnum, Map<Long, Long>> damVersions = new EnumMap<>(DashboardSectionEnum.class);
+
+    public DashboardCacheTags() {
+        for (DashboardSectionEnum section : DashboardSectionEnum.values()) {
+            globalVersions.put(section, new AtomicLong());
+            damVersions.put(section, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Versões atuais da seção: a global seguida da de cada barragem, na ordem
+     * de {@code sortedDamIds}.
+     */
+    public List<Long> versionsOf(DashboardSectionEnum section, List<Long> sortedDamIds) {
+        Map<Long, Long> versions = damVersions.get(section);
+        List<Long> result = new ArrayList<>(sortedDamIds.size() + 1);
+        result.add(globalVersions.get(section).get());
+        for (Long damId : sortedDamIds) {
+            result.add(versions.getOrDefault(damId, 0L));
+        }
+        return result;
+    }
+
+    public void invalidate(DashboardSectionEnum section, Collection<Long> damIds) {
+        Map<Long, Long> versions = damVersions.get(section);
+        for (Long damId : damIds) {
+            versions.merge(damId, 1L, Long::sum);
+        }
+    }
+
+    public void invalidateAll(DashboardSectionEnum section) {
+        globalVersions.get(section).incrementAndGet();
+    }
+}
@@ -0,0 +1,46 @@
+package com.geosegbar.infra.dashboard.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.geosegbar.common.enums.DashboardSectionEnum;
+
+import lombok.Getter;
+
+/**
+ * Publicado por escritas que alteram dados agregados pelo dashboard (anomalias,
+ * leituras, instrumentos, respostas de checklist). Após o commit, os caches da
+ * seção deixam de valer para as barragens informadas.
+ * <p>
+ * {@code damIds == null} invalida a seção para todas as barragens — usado
+ * quando a barragem afetada não é conhecida sem uma consulta extra.
+ */
+@Getter
+public class DashboardDataChangedEvent {
+
+    private final DashboardSectionEnum section;
+    private final Set<Long> damIds;
+
+    public DashboardDataChangedEvent(DashboardSectionEnum section, Long damId) {
+        this.section = section;
+        this.damIds = Set.of(damId);
+    }
+
+    public DashboardDataChangedEvent(DashboardSectionEnum section, Collection<Long> damIds) {
+        this.section = section;
+        this.damIds = Set.copyOf(damIds);
+    }
+
+    private DashboardDataChangedEvent(DashboardSectionEnum section) {
+        this.section = section;
+        this.damIds = null;
+    }
+
+    public static DashboardDataChangedEvent allDams(DashboardSectionEnum section) {
+        return new DashboardDataChangedEvent(section);
+    }
+
+    public boolean affectsAllDams() {
+        return damIds == null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.geosegbar.infra.dashboard.listeners;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.geosegbar.infra.dashboard.cache.DashboardCacheKey;
+import com.geosegbar.infra.dashboard.cache.DashboardCacheTags;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCacheInvalidationListener {
+
+    private final DashboardCacheTags cacheTags;
+    private final CacheManager cacheManager;
+
+    /**
+     * Roda após o commit (ou imediatamente, fora de transação): incrementa a
+     * versão da seção para as barragens afetadas e remove as entradas que as
+     * contêm, liberando espaço antes do TTL.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleDashboardDataChanged(DashboardDataChangedEvent event) {
+        if (event.affectsAllDams()) {
+            cacheTags.invalidateAll(event.getSection());
+        } else {
+            cacheTags.invalidate(event.getSection(), event.getDamIds());
+        }
+
+        for (String cacheName : event.getSection().getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+            if (event.affectsAllDams()) {
+                cache.clear();
+            } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                nativeCache.asMap().keySet().removeIf(key
+                        -> key instanceof DashboardCacheKey dashboardKey && dashboardKey.containsAnyDam(event.getDamIds()));
+            }
+        }
+
+        log.debug("Cache do dashboard ({}) invalidado para as barragens {}", event.getSection(),
+                event.affectsAllDams() ? "todas" : event.getDamIds());
+    }
+}
@@ -21,6 +21,7 @@ import com.geosegbar.infra.anomaly.persistence.jpa.AnomalyRepository;
 import com.geosegbar.infra.anomaly_photo.persistence.jpa.AnomalyPhotoRepository;
 import com.geosegbar.infra.checklist.persistence.jpa.ChecklistRepository;
 import com.geosegbar.infra.checklist_response.persistence.jpa.ChecklistResponseRepository;
+import com.geosegbar.infra.dashboard.cache.DashboardCacheKeyGenerator;
 import com.geosegbar.infra.dashboard.dtos.CategoryCountDTO;
 import com.geosegbar.infra.dashboard.dtos.ChecklistDashboardSummaryDTO;
 import com.geosegbar.infra.dashboard.dtos.ChecklistResponseSummaryDTO;
@@ -35,7 +36,8 @@ import com.geosegbar.infra.dashboard.projections.InstrumentStatusDistributionPro
 import com.geosegbar.infra.dashboard.projections.InstrumentTypeCountProjection;
 import com.geosegbar.infra.dashboard.projections.RecentAnomalyProjection;
 import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
-import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionRepository;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessIndex;
+import com.geosegbar.infra.reading.persistence.jpa.LatestReadingRepository;
 import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -51,9 +53,10 @@ public class DashboardService {
     private final AnomalyPhotoRepository anomalyPhotoRepository;
     private final InstrumentRepository instrumentRepository;
     private final ReadingRepository readingRepository;
+    private final LatestReadingRepository latestReadingRepository;
     private final ChecklistRepository checklistRepository;
     private final ChecklistResponseRepository checklistResponseRepository;
-    private final DamPermissionRepository damPermissionRepository;
+    private final UserAccessIndex userAccessIndex;
 
     public void validateDamAccess(List<Long> damIds) {
         UserEntity user = AuthenticatedUserUtil.getCurrentUser();
@@ -62,10 +65,11 @@ public class DashboardService {
             return;
         }
 
-        List<Long> accessibleDamIds
-                = damPermissionRepository.findAccessibleDamIds(user.getId(), damIds);
+        boolean hasAccess = userAccessIndex.find(user.getId())
+                .map(access -> access.hasAccessToAllDams(damIds))
+                .orElse(false);
 
-        if (accessibleDamIds.size() != damIds.size()) {
+        if (!hasAccess) {
             throw new ForbiddenException(
                     "Acesso negado. Você não tem permissão para acessar uma ou mais barragens solicitadas.");
         }
@@ -74,7 +78,7 @@ public class DashboardService {
     // ======================== ANOMALY ENDPOINTS ========================
     @Transactional(readOnly = true)
     @Cacheable(value = "dashboard-danger-level-summary",
-            key = "#damIds.toString() + ':' + #startDate + ':' + #endDate")
+            keyGenerator = DashboardCacheKeyGenerator.BEAN_NAME)
     public DashboardCategorySummaryDTO getDangerLevelSummary(
             List<Long> damIds, LocalDate startDate, LocalDate endDate) {
 
@@ -89,7 +93,7 @@ public class DashboardService {
 
     @Transactional(readOnly = true)
     @Cacheable(value = "dashboard-anomaly-status-summary",
-            key = "#damIds.toString() + ':' + #startDate + ':' + #endDate")
+            keyGenerator = DashboardCacheKeyGenerator.BEAN_NAME)
     public DashboardCategorySummaryDTO getAnomalyStatusSummary(
             List<Long> damIds, LocalDate startDate, LocalDate endDate) {
 
@@ -105,16 +109,18 @@ public class DashboardService {
     // ======================== INSTRUMENT ENDPOINT ========================
     @Transactional(readOnly = true)
     @Cacheable(value = "dashboard-instrument-summary",
-            key = "#damIds.toString() + ':' + #startDate + ':' + #endDate")
+            keyGenerator = DashboardCacheKeyGenerator.BEAN_NAME)
     public InstrumentDashboardSummaryDTO getInstrumentSummary(
             List<Long> damIds, LocalDate startDate, LocalDate endDate) {
 
         List<InstrumentTypeCountProjection> typeCounts
                 = instrumentRepository.countActiveByTypeForDams(damIds);
 
-        List<InstrumentStatusDistributionProjection> statusDist
-                = readingRepository.findInstrumentStatusDistributionByType(
-                        damIds, startDate, endDate);
+        // Não há leituras futuras: se o período chega até hoje, a última leitura
+        // do período é a do snapshot latest_reading (O(instrumentos)).
+        List<InstrumentStatusDistributionProjection> statusDist = !endDate.isBefore(LocalDate.now())
+                ? latestReadingRepository.findInstrumentStatusDistributionSince(damIds, startDate)
+                : readingRepository.findInstrumentStatusDistributionByType(damIds, startDate, endDate);
 
         return buildInstrumentSummary(typeCounts, statusDist);
     }
@@ -122,7 +128,7 @@ public class DashboardService {
     // ======================== RECENT ANOMALIES ENDPOINT ========================
     @Transactional(readOnly = true)
     @Cacheable(value = "dashboard-recent-anomalies",
-            key = "#damIds.toString() + ':' + #limit")
+            keyGenerator = DashboardCacheKeyGenerator.BEAN_NAME)
     public List<RecentAnomalyDTO> getRecentAnomalies(List<Long> damIds, int limit) {
 
         List<RecentAnomalyProjection> anomalies
@@ -166,7 +172,7 @@ public class DashboardService {
     // ======================== CHECKLIST ENDPOINT ========================
     @Transactional(readOnly = true)
     @Cacheable(value = "dashboard-checklist-summary",
-            key = "#damIds.toString() + ':' + #startDate + ':' + #endDate")
+            keyGenerator = DashboardCacheKeyGenerator.BEAN_NAME)
     public ChecklistDashboardSummaryDTO getChecklistSummary(
             List<Long> damIds, LocalDate startDate, LocalDate endDate) {
 
@@ -3,6 +3,7 @@ package com.geosegbar.infra.deterministic_limit.services;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +13,7 @@ import com.geosegbar.entities.OutputEntity;
 import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.deterministic_limit.persistence.jpa.DeterministicLimitRepository;
+import com.geosegbar.infra.limit_reclassification.events.OutputLimitsChangedEvent;
 import com.geosegbar.infra.output.persistence.jpa.OutputRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ public class DeterministicLimitService {
 
     private final DeterministicLimitRepository deterministicLimitRepository;
     private final OutputRepository outputRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Optional<DeterministicLimitEntity> findByOutputId(Long outputId) {
@@ -77,6 +80,7 @@ public class DeterministicLimitService {
             output.setDeterministicLimit(savedLimit);
             outputRepository.save(output);
         }
+        eventPublisher.publishEvent(new OutputLimitsChangedEvent(outputId));
 
         return findById(savedLimit.getId());
     }
@@ -89,6 +93,7 @@ public class DeterministicLimitService {
         if (output != null) {
             output.setDeterministicLimit(null);
             outputRepository.save(output);
+            eventPublisher.publishEvent(new OutputLimitsChangedEvent(output.getId()));
         }
 
         deterministicLimitRepository.delete(limit);
@@ -0,0 +1,123 @@
+package com.geosegbar.infra.file_storage;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+/**
+ * Desserializa uma string base64 (com ou sem prefixo
+ * {@code data:image/...;base64,}) direto para um {@link StagedFile} em disco.
+ * <p>
+ * O valor é decodificado por {@link JsonParser#readBinaryValue} enquanto o
+ * parser lê o corpo da requisição: os bytes vão em blocos para o arquivo e o
+ * texto base64 nunca é montado em memória (nem como {@code String}, nem no
+ * buffer de caracteres do parser). Por isso a foto também não depende do
+ * limite de tamanho de String do {@code JacksonConfig}; o teto aqui é
+ * {@link #MAX_DECODED_BYTES}.
+ * <p>
+ * O prefixo data URI não é base64 válido: o decoder do Jackson para no
+ * primeiro caractere inválido ({@code :}, {@code ;} e {@code ,}) com o parser
+ * posicionado logo depois dele, e a leitura é retomada dali. Isso só é aceito
+ * enquanto nada foi gravado no arquivo e por no máximo
+ * {@link #MAX_PREFIX_SEPARATORS} vezes; os poucos bytes lixo do prefixo ficam
+ * no buffer interno do parser e são descartados.
+ */
+public class Base64StagedFileDeserializer extends JsonDeserializer<StagedFile> {
+
+    /**
+     * Mesmo teto que o limite de String do {@code JacksonConfig} dava às fotos
+     * (100M caracteres base64 ~ 73MB de imagem).
+     */
+    static final long MAX_DECODED_BYTES = 75_000_000L;
+
+    private static final int MAX_PREFIX_SEPARATORS = 3;
+
+    @Override
+    public StagedFile deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return (StagedFile) ctxt.handleUnexpectedToken(StagedFile.class, parser);
+        }
+
+        Path path = StagedFileSweeper.createStagingFile();
+        long size;
+        try (LimitedOutputStream out = new LimitedOutputStream(Files.newOutputStream(path))) {
+            size = decode(parser, out);
+        } catch (IOException | IllegalArgumentException e) {
+            Files.deleteIfExists(path);
+            return (StagedFile) ctxt.handleWeirdStringValue(StagedFile.class, "<base64>",
+                    "Imagem base64 inválida: %s", e.getMessage());
+        }
+        if (size == 0) {
+            Files.deleteIfExists(path);
+            return null;
+        }
+        return new StagedFile(path, size);
+    }
+
+    private static long decode(JsonParser parser, LimitedOutputStream out) throws IOException {
+        int separators = 0;
+        while (true) {
+            try {
+                parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, out);
+                return out.written;
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                if (out.written > 0 || !isPrefixSeparator(e) || ++separators > MAX_PREFIX_SEPARATORS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code true} se o decoder parou em um separador do prefixo data URI
+     * (mensagem "Illegal character ':' ..." do Jackson).
+     */
+    private static boolean isPrefixSeparator(Exception e) {
+        String message = e.getMessage();
+        return message != null
+                && (message.contains("character ':'") || message.contains("character ';'")
+                || message.contains("character ','"));
+    }
+
+    /**
+     * Conta os bytes gravados e interrompe a leitura acima de
+     * {@link #MAX_DECODED_BYTES}.
+     */
+    private static final class LimitedOutputStream extends FilterOutputStream {
+
+        private long written;
+
+        private LimitedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkLimit(1);
+            out.write(b);
+            written++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkLimit(len);
+            out.write(b, off, len);
+            written += len;
+        }
+
+        private void checkLimit(int len) throws IOException {
+            if (written + len > MAX_DECODED_BYTES) {
+                throw new IOException("imagem acima de " + MAX_DECODED_BYTES + " bytes");
+            }
+        }
+    }
+}
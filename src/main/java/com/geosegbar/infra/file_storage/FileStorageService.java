@@ -192,40 +192,68 @@ public class FileStorageService {
 
     public String storeFileFromBytes(byte[] fileBytes, String originalFileName, String contentType, String subDirectory) {
         try {
-            String fileExtension = "";
+            String s3Key = buildKey(originalFileName, contentType, subDirectory);
 
-            if (originalFileName != null && originalFileName.contains(".")) {
-                fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-            } else if (contentType != null) {
-                if (contentType.contains("jpeg")) {
-                    fileExtension = ".jpg";
-                } else if (contentType.contains("png")) {
-                    fileExtension = ".png";
-                }
+            PutObjectRequest putOb = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .contentType(contentType)
+                    .build();
 
-            }
+            s3Client.putObject(putOb, RequestBody.fromBytes(fileBytes));
 
-            String timestamp = String.valueOf(Instant.now().getEpochSecond());
-            String safeFileName = timestamp + "_" + (originalFileName != null
-                    ? originalFileName.replaceAll("[^a-zA-Z0-9.-]", "_") : "file" + fileExtension);
+            return getS3Url(s3Key);
 
-            String s3Key = subDirectory + "/" + safeFileName;
+        } catch (Exception ex) {
+            throw new FileStorageException("Erro ao enviar bytes para o S3.", ex);
+        }
+    }
+
+    /**
+     * Envia ao S3 um arquivo já decodificado em disco (ex.: foto base64 do
+     * checklist), lendo do disco durante o upload. Não remove o arquivo local.
+     */
+    public String storeStagedFile(StagedFile file, String originalFileName, String contentType, String subDirectory) {
+        try {
+            String s3Key = buildKey(originalFileName, contentType, subDirectory);
 
             PutObjectRequest putOb = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(s3Key)
                     .contentType(contentType)
+                    .contentLength(file.getSize())
                     .build();
 
-            s3Client.putObject(putOb, RequestBody.fromBytes(fileBytes));
+            s3Client.putObject(putOb, RequestBody.fromFile(file.getPath()));
 
             return getS3Url(s3Key);
 
         } catch (Exception ex) {
-            throw new FileStorageException("Erro ao enviar bytes para o S3.", ex);
+            throw new FileStorageException("Erro ao enviar arquivo para o S3.", ex);
         }
     }
 
+    private String buildKey(String originalFileName, String contentType, String subDirectory) {
+        String fileExtension = "";
+
+        if (originalFileName != null && originalFileName.contains(".")) {
+            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
+        } else if (contentType != null) {
+            if (contentType.contains("jpeg")) {
+                fileExtension = ".jpg";
+            } else if (contentType.contains("png")) {
+                fileExtension = ".png";
+            }
+
+        }
+
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        String safeFileName = timestamp + "_" + (originalFileName != null
+                ? originalFileName.replaceAll("[^a-zA-Z0-9.-]", "_") : "file" + fileExtension);
+
+        return subDirectory + "/" + safeFileName;
+    }
+
     public byte[] downloadFileBytes(String fileUrl) {
         String key = extractKeyFromUrl(fileUrl);
         if (key == null) {
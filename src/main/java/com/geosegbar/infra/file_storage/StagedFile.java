@@ -0,0 +1,68 @@
+package com.geosegbar.infra.file_storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Arquivo temporário em disco com o conteúdo já decodificado de um upload
+ * (ex.: foto base64 do checklist). O DTO guarda só esta referência; o
+ * conteúdo é enviado ao S3 direto do disco por
+ * {@link FileStorageService#storeStagedFile}.
+ * <p>
+ * Quem consome o arquivo deve chamar {@link #delete()}. Quando o upload
+ * depende do commit de uma transação, {@link #deleteOnRollback()} remove o
+ * arquivo se ela for desfeita. Arquivos esquecidos (ex.: requisição que
+ * falhou antes de chegar ao serviço) são removidos pelo
+ * {@link StagedFileSweeper}.
+ */
+@Slf4j
+public final class StagedFile {
+
+    private final Path path;
+    private final long size;
+
+    public StagedFile(Path path, long size) {
+        this.path = path;
+        this.size = size;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Falha ao remover arquivo temporário {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Agenda a remoção do arquivo para o caso de rollback da transação
+     * corrente. Sem transação ativa não faz nada.
+     */
+    public void deleteOnRollback() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    delete();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.geosegbar.infra.file_storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Diretório dos {@link StagedFile} e limpeza periódica dos arquivos que
+ * ficaram para trás (requisição que falhou entre a desserialização e o
+ * upload).
+ */
+@Component
+@Slf4j
+public class StagedFileSweeper {
+
+    private static final Path STAGING_DIR = Path.of(System.getProperty("java.io.tmpdir"), "geosegbar-uploads");
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    /**
+     * Cria um arquivo vazio no diretório de staging.
+     */
+    static Path createStagingFile() throws IOException {
+        Files.createDirectories(STAGING_DIR);
+        return Files.createTempFile(STAGING_DIR, "upload-", ".bin");
+    }
+
+    @Scheduled(fixedDelay = 15 * 60 * 1000, initialDelay = 15 * 60 * 1000)
+    public void sweep() {
+        if (!Files.isDirectory(STAGING_DIR)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(MAX_AGE));
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(STAGING_DIR)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao limpar arquivos temporários de upload: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Removidos {} arquivos temporários de upload abandonados", removed);
+        }
+    }
+}
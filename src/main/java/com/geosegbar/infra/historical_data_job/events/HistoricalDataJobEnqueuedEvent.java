@@ -0,0 +1,15 @@
+package com.geosegbar.infra.historical_data_job.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publicado ao enfileirar um job histórico. Após o commit, o scheduler local
+ * tenta reivindicá-lo na hora em vez de esperar o próximo ciclo de polling.
+ */
+@Getter
+@RequiredArgsConstructor
+public class HistoricalDataJobEnqueuedEvent {
+
+    private final Long jobId;
+}
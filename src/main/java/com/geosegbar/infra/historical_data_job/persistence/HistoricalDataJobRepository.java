@@ -23,17 +23,6 @@ public interface HistoricalDataJobRepository extends JpaRepository<HistoricalDat
             List<JobStatus> statuses
     );
 
-    List<HistoricalDataJobEntity> findByStatusOrderByCreatedAtAsc(JobStatus status);
-
-    Optional<HistoricalDataJobEntity> findTopByStatusOrderByCreatedAtAsc(JobStatus status);
-
-    @Query("SELECT j FROM HistoricalDataJobEntity j WHERE j.status = :status "
-            + "AND j.startedAt < :timeout")
-    List<HistoricalDataJobEntity> findStalledJobs(
-            @Param("status") JobStatus status,
-            @Param("timeout") LocalDateTime timeout
-    );
-
     Long countByStatus(JobStatus status);
 
     @Query("SELECT j.status, COUNT(j) FROM HistoricalDataJobEntity j GROUP BY j.status")
@@ -0,0 +1,193 @@
+package com.geosegbar.infra.historical_data_job.persistence.jdbc;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.common.utils.QueueClaimLock;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fila de jobs históricos sobre a própria tabela {@code historical_data_job}.
+ * <p>
+ * O claim usa {@code FOR UPDATE SKIP LOCKED}: várias réplicas podem drenar a
+ * fila ao mesmo tempo sem disputar nem processar o mesmo job duas vezes. Cada
+ * job reivindicado recebe um lease ({@code lease_owner}/{@code lease_expires_at})
+ * renovado pelo worker a cada janela processada; lease vencido devolve o job
+ * para a fila (ou o marca como FAILED ao esgotar as tentativas). O instrumento
+ * é a chave de concorrência: nunca há dois jobs do mesmo instrumento em
+ * PROCESSING — garantido pelo {@link QueueClaimLock}, que serializa os claims
+ * entre as réplicas.
+ * <p>
+ * Deve ser chamado dentro de uma transação já aberta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HistoricalDataJobQueueJdbcRepository {
+
+    private static final String CLAIM_SQL = """
+            WITH candidates AS (
+                SELECT j.id, j.instrument_id, j.created_at
+                FROM historical_data_job j
+                WHERE (j.status = 'QUEUED'
+                       OR (j.status = 'PAUSED' AND COALESCE(j.retry_count, 0) < ?))
+                  AND COALESCE(j.available_at, j.created_at) <= LOCALTIMESTAMP
+                  AND NOT EXISTS (
+                      SELECT 1 FROM historical_data_job p
+                      WHERE p.instrument_id = j.instrument_id
+                        AND p.status = 'PROCESSING'
+                  )
+                ORDER BY j.created_at, j.id
+                LIMIT ?
+                FOR UPDATE OF j SKIP LOCKED
+            ),
+            one_per_instrument AS (
+                SELECT DISTINCT ON (c.instrument_id) c.id, c.created_at
+                FROM candidates c
+                ORDER BY c.instrument_id, c.created_at, c.id
+            )
+            UPDATE historical_data_job j
+            SET status = 'PROCESSING',
+                lease_owner = ?,
+                lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second',
+                started_at = LOCALTIMESTAMP
+            FROM (SELECT id FROM one_per_instrument ORDER BY created_at, id LIMIT ?) picked
+            WHERE j.id = picked.id
+            RETURNING j.id
+            """;
+
+    private static final String RENEW_LEASE_SQL = """
+            UPDATE historical_data_job
+            SET lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second'
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'PROCESSING'
+            """;
+
+    /**
+     * Transições finais de um job. Como o heartbeat, só valem para o dono do
+     * lease: um worker que perdeu o lease não sobrescreve o status gravado pelo
+     * {@link #expireLeases} ou pelo worker que reivindicou o job depois.
+     */
+    private static final String COMPLETE_SQL = """
+            UPDATE historical_data_job
+            SET status = 'COMPLETED',
+                completed_at = LOCALTIMESTAMP,
+                processed_months = total_months,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'PROCESSING'
+            """;
+
+    private static final String FAIL_SQL = """
+            UPDATE historical_data_job
+            SET status = 'FAILED',
+                completed_at = LOCALTIMESTAMP,
+                error_message = ?,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'PROCESSING'
+            """;
+
+    private static final String PAUSE_SQL = """
+            UPDATE historical_data_job
+            SET status = 'PAUSED',
+                error_message = ?,
+                available_at = LOCALTIMESTAMP + ? * INTERVAL '1 second',
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'PROCESSING'
+            """;
+
+    /**
+     * Jobs em PROCESSING cujo lease venceu (worker caiu ou travou). Jobs
+     * anteriores ao lease (sem {@code lease_expires_at}) usam o timeout antigo
+     * a partir de {@code started_at}.
+     */
+    private static final String EXPIRE_LEASES_SQL = """
+            UPDATE historical_data_job
+            SET status = CASE WHEN COALESCE(retry_count, 0) + 1 >= ? THEN 'FAILED' ELSE 'PAUSED' END,
+                completed_at = CASE WHEN COALESCE(retry_count, 0) + 1 >= ? THEN LOCALTIMESTAMP ELSE completed_at END,
+                retry_count = COALESCE(retry_count, 0) + 1,
+                error_message = 'Lease expirado sem heartbeat do worker ' || COALESCE(lease_owner, 'desconhecido'),
+                available_at = LOCALTIMESTAMP,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE status = 'PROCESSING'
+              AND (lease_expires_at < LOCALTIMESTAMP
+                   OR (lease_expires_at IS NULL AND started_at < LOCALTIMESTAMP - ? * INTERVAL '1 second'))
+            """;
+
+    /**
+     * Fator de leitura de candidatos além do limite pedido, para que jobs do
+     * mesmo instrumento descartados pelo {@code DISTINCT ON} não esvaziem o
+     * claim.
+     */
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private static final String QUEUE_NAME = "historical_data_job";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reivindica até {@code limit} jobs disponíveis para {@code owner}.
+     *
+     * @return ids reivindicados, já em PROCESSING
+     */
+    public List<Long> claim(String owner, int limit, int maxRetries, Duration leaseTtl) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        QueueClaimLock.acquire(jdbcTemplate, QUEUE_NAME);
+        return jdbcTemplate.queryForList(CLAIM_SQL, Long.class,
+                maxRetries, limit * CANDIDATE_FACTOR, owner, leaseTtl.toSeconds(), limit);
+    }
+
+    /**
+     * Estende o lease do job.
+     *
+     * @return {@code false} se o job não pertence mais a {@code owner}
+     */
+    public boolean renewLease(Long jobId, String owner, Duration leaseTtl) {
+        return jdbcTemplate.update(RENEW_LEASE_SQL, leaseTtl.toSeconds(), jobId, owner) == 1;
+    }
+
+    /**
+     * @return {@code false} se o job não pertence mais a {@code owner}
+     */
+    public boolean complete(Long jobId, String owner) {
+        return jdbcTemplate.update(COMPLETE_SQL, jobId, owner) == 1;
+    }
+
+    /**
+     * @return {@code false} se o job não pertence mais a {@code owner}
+     */
+    public boolean fail(Long jobId, String owner, String errorMessage) {
+        return jdbcTemplate.update(FAIL_SQL, errorMessage, jobId, owner) == 1;
+    }
+
+    /**
+     * Devolve o job à fila como PAUSED, disponível após {@code retryDelay}.
+     *
+     * @return {@code false} se o job não pertence mais a {@code owner}
+     */
+    public boolean pause(Long jobId, String owner, String errorMessage, Duration retryDelay) {
+        return jdbcTemplate.update(PAUSE_SQL, errorMessage, retryDelay.toSeconds(), jobId, owner) == 1;
+    }
+
+    /**
+     * @return quantidade de jobs devolvidos para a fila ou marcados como FAILED
+     */
+    public int expireLeases(int maxRetries, Duration legacyTimeout) {
+        return jdbcTemplate.update(EXPIRE_LEASES_SQL, maxRetries, maxRetries, legacyTimeout.toSeconds());
+    }
+}
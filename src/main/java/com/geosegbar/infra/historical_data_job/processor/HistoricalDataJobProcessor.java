@@ -3,15 +3,22 @@ package com.geosegbar.infra.historical_data_job.processor;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.geosegbar.common.enums.AuditSource;
 import com.geosegbar.common.enums.AuditStatus;
@@ -24,26 +31,25 @@ import com.geosegbar.infra.audit.services.AuditService;
 import com.geosegbar.infra.historical_data_job.service.HistoricalDataJobService;
 import com.geosegbar.infra.hydrotelemetric.services.AnaApiService;
 import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO;
 import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
 import com.geosegbar.infra.reading.services.ReadingService;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Processa jobs de coleta de dados históricos de forma assíncrona
  *
- * Workflow: 1. Busca job e instrumento 2. Obtém token ANA 3. Itera sobre
- * período (startDate até endDate) 4. Coleta dados mensais da API (30 dias por
- * vez) 5. Calcula médias diárias 6. Faz batch insert (30-50 readings) 7.
- * Atualiza checkpoint a cada batch 8. Marca como COMPLETED ou FAILED
+ * Workflow: 1. Busca job e instrumento 2. Itera sobre período (checkpointDate
+ * até endDate) 3. Busca janelas de 30 dias na API, várias em paralelo, cada
+ * uma com o token ANA vigente 4. Calcula médias diárias 5. Grava a janela em
+ * um único batch insert 6. Atualiza checkpoint após o commit de cada janela 7.
+ * Marca como COMPLETED ou FAILED
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class HistoricalDataJobProcessor {
 
-    private static final int BATCH_SIZE = 40;
     private static final int DAYS_PER_REQUEST = 30;
     private static final String INPUT_ACRONYM = "LEI";
 
@@ -56,6 +62,25 @@ public class HistoricalDataJobProcessor {
     private final AnaApiService anaApiService;
     private final ReadingService readingService;
     private final AuditService auditService;
+    private final Executor prefetchExecutor;
+
+    @Value("${ana.api.historical.prefetch-windows:3}")
+    private int prefetchWindows;
+
+    public HistoricalDataJobProcessor(
+            HistoricalDataJobService jobService,
+            InstrumentRepository instrumentRepository,
+            AnaApiService anaApiService,
+            ReadingService readingService,
+            AuditService auditService,
+            @Qualifier("anaHistoricalPrefetchExecutor") Executor prefetchExecutor) {
+        this.jobService = jobService;
+        this.instrumentRepository = instrumentRepository;
+        this.anaApiService = anaApiService;
+        this.readingService = readingService;
+        this.auditService = auditService;
+        this.prefetchExecutor = prefetchExecutor;
+    }
 
     /**
      * Processa um job completo de coleta histórica
@@ -75,8 +100,6 @@ public class HistoricalDataJobProcessor {
             HistoricalDataJobEntity job = jobService.findById(jobId)
                     .orElseThrow(() -> new IllegalArgumentException("Job não encontrado: " + jobId));
 
-            jobService.markAsProcessing(jobId);
-
             InstrumentEntity instrument = instrumentRepository.findById(job.getInstrumentId())
                     .orElseThrow(() -> new IllegalArgumentException(
                     "Instrumento não encontrado: " + job.getInstrumentId()));
@@ -86,12 +109,15 @@ public class HistoricalDataJobProcessor {
                         "Instrumento não possui código de régua linimétrica: " + instrument.getName());
             }
 
-            String authToken = anaApiService.getAuthToken();
-            log.info("Token ANA obtido para job {}", jobId);
-
-            processHistoricalPeriod(job, instrument, authToken);
+            if (!processHistoricalPeriod(job, instrument)) {
+                log.warn("Job {} interrompido: lease perdido por este worker", jobId);
+                return CompletableFuture.completedFuture(null);
+            }
 
-            jobService.markAsCompleted(jobId);
+            if (!jobService.markAsCompleted(jobId)) {
+                log.warn("Job {} concluído, mas o lease já não pertence a este worker", jobId);
+                return CompletableFuture.completedFuture(null);
+            }
             log.info("✅ Job {} COMPLETADO com sucesso", jobId);
 
             auditService.record(AuditContext.builder()
@@ -115,141 +141,184 @@ public class HistoricalDataJobProcessor {
     /**
      * Processa todo o período histórico (10 anos)
      *
-     * Itera mês a mês, coletando dados em blocos de 30 dias. Faz checkpoint a
-     * cada batch para permitir resume.
+     * As janelas de 30 dias são buscadas na API antecipadamente (até
+     * {@code ana.api.historical.prefetch-windows} em andamento) no executor
+     * próprio {@code anaHistoricalPrefetchExecutor}, fora do pool da coleta
+     * diária; a vazão é limitada pelo rate limiter do {@link AnaApiService}. A
+     * gravação segue a ordem das janelas: uma consulta de dias já existentes e
+     * um único {@code createBatch} por janela, com checkpoint logo após o
+     * commit para permitir resume. Após cada janela o lease do job é renovado.
+     * <p>
+     * O token é obtido por janela, no momento da busca: um job de horas
+     * atravessa várias renovações do token, e o {@link AnaApiService} o mantém
+     * em cache. Se uma janela falha, o job é interrompido e o checkpoint fica
+     * no início dela; as janelas seguintes já buscadas são descartadas.
+     *
+     * @return {@code false} se o lease foi perdido e o job deve ser abandonado
      */
-    private void processHistoricalPeriod(HistoricalDataJobEntity job, InstrumentEntity instrument, String authToken) {
-        LocalDate currentDate = job.getCheckpointDate();
+    private boolean processHistoricalPeriod(HistoricalDataJobEntity job, InstrumentEntity instrument) {
         LocalDate endDate = job.getEndDate();
         String stationCode = String.valueOf(instrument.getLinimetricRulerCode());
+        int lookahead = Math.max(1, prefetchWindows);
 
-        List<ReadingRequestDTO> readingBatch = new ArrayList<>();
+        Deque<FetchWindow> pending = new ArrayDeque<>(lookahead);
+        LocalDate nextWindowStart = job.getCheckpointDate();
         int totalCreated = 0;
         int totalSkipped = 0;
-        String currentToken = authToken;
 
         log.info("Processando período: {} até {} para instrumento {}",
-                currentDate, endDate, instrument.getName());
+                nextWindowStart, endDate, instrument.getName());
 
-        while (!currentDate.isAfter(endDate)) {
-            try {
-
-                LocalDate periodEnd = currentDate.plusDays(DAYS_PER_REQUEST - 1);
-                if (periodEnd.isAfter(endDate)) {
-                    periodEnd = endDate;
+        try {
+            while (true) {
+                while (pending.size() < lookahead && !nextWindowStart.isAfter(endDate)) {
+                    LocalDate windowStart = nextWindowStart;
+                    LocalDate windowEnd = windowStart.plusDays(DAYS_PER_REQUEST - 1);
+                    if (windowEnd.isAfter(endDate)) {
+                        windowEnd = endDate;
+                    }
+                    pending.add(new FetchWindow(windowStart, windowEnd, CompletableFuture.supplyAsync(
+                            () -> anaApiService.getTelemetryDataForHistoricalPeriod(
+                                    stationCode, windowStart, anaApiService.getAuthToken()),
+                            prefetchExecutor)));
+                    nextWindowStart = windowEnd.plusDays(1);
                 }
 
-                log.debug("Coletando dados: {} a {} (job {})", currentDate, periodEnd, job.getId());
-
-                List<TelemetryItem> telemetryData = anaApiService.getTelemetryDataForHistoricalPeriod(
-                        stationCode,
-                        currentDate,
-                        currentToken
-                );
-
-                log.debug("API retornou {} itens para período {} a {} (job {})",
-                        telemetryData.size(), currentDate, periodEnd, job.getId());
-
-                if (telemetryData.isEmpty()) {
-                    log.warn("⚠️ Sem dados disponíveis para período {} a {} (estação: {})",
-                            currentDate, periodEnd, stationCode);
-                    totalSkipped += (int) ChronoUnit.DAYS.between(currentDate, periodEnd) + 1;
-                    currentDate = periodEnd.plusDays(1);
-                    continue;
+                FetchWindow window = pending.poll();
+                if (window == null) {
+                    break;
                 }
 
-                Map<LocalDate, List<TelemetryItem>> itemsByDate = new HashMap<>();
-                for (TelemetryItem item : telemetryData) {
-                    if (item.getDataHoraMedicao() != null) {
-                        String dateStr = item.getDataHoraMedicao().substring(0, 10);
-                        LocalDate itemDate = LocalDate.parse(dateStr);
-                        itemsByDate.computeIfAbsent(itemDate, k -> new ArrayList<>()).add(item);
-                    }
+                int[] counts = processWindow(job, instrument, stationCode, window);
+                totalCreated += counts[0];
+                totalSkipped += counts[1];
+
+                if (!jobService.heartbeat(job.getId())) {
+                    return false;
                 }
+            }
+        } finally {
+            pending.forEach(window -> window.telemetryData().cancel(true));
+        }
 
-                log.info("📅 Dados agrupados em {} dias distintos. Período: {} a {}",
-                        itemsByDate.size(), currentDate, periodEnd);
-                log.info("📅 Dias com dados na API: {}", itemsByDate.keySet().stream().sorted().toList());
+        log.info("Período processado: {} readings criados, {} dias pulados (job {})",
+                totalCreated, totalSkipped, job.getId());
+        return true;
+    }
 
-                for (Map.Entry<LocalDate, List<TelemetryItem>> entry : itemsByDate.entrySet()) {
-                    LocalDate date = entry.getKey();
-                    List<TelemetryItem> dayItems = entry.getValue();
+    /**
+     * Grava uma janela já buscada e avança o checkpoint. Qualquer falha é
+     * propagada sem avançar o checkpoint: erros da API pausam o job para
+     * retry, os demais o marcam como FAILED.
+     *
+     * @return {@code [criadas, dias pulados]}
+     */
+    private int[] processWindow(HistoricalDataJobEntity job, InstrumentEntity instrument, String stationCode,
+            FetchWindow window) {
+        LocalDate windowStart = window.start();
+        LocalDate windowEnd = window.end();
 
-                    boolean exists = readingService.existsByInstrumentAndDate(instrument.getId(), date);
-                    if (exists) {
-                        log.debug("Pulando {}: leitura já existe", date);
-                        totalSkipped++;
-                        continue;
-                    }
+        List<TelemetryItem> telemetryData;
+        try {
+            telemetryData = window.telemetryData().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ExternalApiException apiError) {
+                log.error("Erro de API no job {}: {}", job.getId(), apiError.getMessage());
+                throw apiError;
+            }
+            log.error("Erro ao buscar período {} no job {}: {}",
+                    windowStart, job.getId(), e.getMessage(), e);
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
 
-                    if (dayItems == null || dayItems.isEmpty()) {
-                        log.debug("Pulando {}: sem dados da API para este dia", date);
-                        totalSkipped++;
-                        continue;
-                    }
+        log.debug("API retornou {} itens para período {} a {} (job {})",
+                telemetryData.size(), windowStart, windowEnd, job.getId());
 
-                    log.debug("Processando {}: {} leituras encontradas", date, dayItems.size());
-
-                    Double averageMm = dayItems.stream()
-                            .filter(item -> item.getCotaAdotada() != null && !item.getCotaAdotada().isEmpty())
-                            .filter(item -> !item.getCotaAdotada().equals("0.00"))
-                            .mapToDouble(item -> {
-                                try {
-                                    return Double.parseDouble(item.getCotaAdotada());
-                                } catch (NumberFormatException e) {
-                                    log.warn("Valor de cota inválido: {}", item.getCotaAdotada());
-                                    return 0.0;
-                                }
-                            })
-                            .filter(value -> value > 0.0)
-                            .average()
-                            .orElse(0.0);
-
-                    if (averageMm == null || averageMm == 0.0) {
-                        log.warn("⚠️ Pulando {}: média calculada é 0 ou nula", date);
-                        totalSkipped++;
-                        continue;
-                    }
+        if (telemetryData.isEmpty()) {
+            log.warn("⚠️ Sem dados disponíveis para período {} a {} (estação: {})",
+                    windowStart, windowEnd, stationCode);
+            int skipped = (int) ChronoUnit.DAYS.between(windowStart, windowEnd) + 1;
+            jobService.updateProgress(job.getId(), windowEnd.plusDays(1), 0, skipped);
+            return new int[]{0, skipped};
+        }
 
-                    log.info("✅ Criando reading para {}: {} mm (job {})", date, averageMm, job.getId());
+        TreeMap<LocalDate, List<TelemetryItem>> itemsByDate = new TreeMap<>();
+        for (TelemetryItem item : telemetryData) {
+            if (item.getDataHoraMedicao() != null) {
+                String dateStr = item.getDataHoraMedicao().substring(0, 10);
+                LocalDate itemDate = LocalDate.parse(dateStr);
+                itemsByDate.computeIfAbsent(itemDate, k -> new ArrayList<>()).add(item);
+            }
+        }
 
-                    ReadingRequestDTO reading = createReading(date, averageMm);
-                    readingBatch.add(reading);
-                    totalCreated++;
+        log.info("📅 Dados agrupados em {} dias distintos. Período: {} a {}",
+                itemsByDate.size(), windowStart, windowEnd);
 
-                    if (readingBatch.size() >= BATCH_SIZE) {
-                        batchInsertReadings(instrument.getId(), readingBatch);
-                        readingBatch.clear();
+        Set<LocalDate> existingDates = itemsByDate.isEmpty()
+                ? Set.of()
+                : readingService.findDatesWithReadings(instrument.getId(),
+                        itemsByDate.firstKey(), itemsByDate.lastKey());
 
-                        jobService.updateProgress(job.getId(), date, BATCH_SIZE, totalSkipped);
-                        totalSkipped = 0;
-                    }
-                }
+        List<ReadingRequestDTO> readings = new ArrayList<>(itemsByDate.size());
+        int skipped = 0;
 
-                currentDate = periodEnd.plusDays(1);
+        for (Map.Entry<LocalDate, List<TelemetryItem>> entry : itemsByDate.entrySet()) {
+            LocalDate date = entry.getKey();
 
-                Thread.sleep(500);
+            if (existingDates.contains(date)) {
+                log.debug("Pulando {}: leitura já existe", date);
+                skipped++;
+                continue;
+            }
 
-            } catch (ExternalApiException e) {
-                log.error("Erro de API no job {}: {}", job.getId(), e.getMessage());
-                throw e;
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Job interrompido", e);
-            } catch (Exception e) {
-                log.error("Erro ao processar período {} no job {}: {}",
-                        currentDate, job.getId(), e.getMessage(), e);
-                currentDate = currentDate.plusDays(DAYS_PER_REQUEST);
+            double averageMm = averageLevel(entry.getValue());
+            if (averageMm == 0.0) {
+                log.warn("⚠️ Pulando {}: média calculada é 0 ou nula", date);
+                skipped++;
+                continue;
             }
+
+            readings.add(createReading(date, averageMm));
         }
 
-        if (!readingBatch.isEmpty()) {
-            batchInsertReadings(instrument.getId(), readingBatch);
-            jobService.updateProgress(job.getId(), endDate, readingBatch.size(), totalSkipped);
+        int created = 0;
+        if (!readings.isEmpty()) {
+            BatchReadingResultDTO result = readingService.createBatch(instrument.getId(), readings, true);
+            created = result.getSuccessCount();
+            skipped += result.getFailureCount();
+            if (result.getFailureCount() > 0) {
+                log.warn("{} leituras rejeitadas no período {} a {} (job {}): {}",
+                        result.getFailureCount(), windowStart, windowEnd, job.getId(),
+                        result.getErrors().get(0).getErrorMessage());
+            }
+            log.info("✅ {} readings criados para período {} a {} (job {})",
+                    created, windowStart, windowEnd, job.getId());
         }
 
-        log.info("Período processado: {} readings criados, {} dias pulados (job {})",
-                totalCreated, totalSkipped, job.getId());
+        jobService.updateProgress(job.getId(), windowEnd.plusDays(1), created, skipped);
+        return new int[]{created, skipped};
+
+    }
+
+    /**
+     * Média diária da cota adotada, ignorando valores vazios, "0.00",
+     * inválidos ou não positivos. Retorna 0 quando não sobra nenhum valor.
+     */
+    private double averageLevel(List<TelemetryItem> dayItems) {
+        return dayItems.stream()
+                .filter(item -> item.getCotaAdotada() != null && !item.getCotaAdotada().isEmpty())
+                .filter(item -> !item.getCotaAdotada().equals("0.00"))
+                .mapToDouble(item -> {
+                    try {
+                        return Double.parseDouble(item.getCotaAdotada());
+                    } catch (NumberFormatException e) {
+                        log.warn("Valor de cota inválido: {}", item.getCotaAdotada());
+                        return 0.0;
+                    }
+                })
+                .filter(value -> value > 0.0)
+                .average()
+                .orElse(0.0);
     }
 
     /**
@@ -268,25 +337,6 @@ public class HistoricalDataJobProcessor {
         return reading;
     }
 
-    /**
-     * Faz batch insert de readings
-     *
-     * Usa skipPermissionCheck=true para coleta automática. Transação isolada
-     * para não comprometer job inteiro em caso de erro.
-     */
-    @Transactional
-    private void batchInsertReadings(Long instrumentId, List<ReadingRequestDTO> readings) {
-        try {
-            for (ReadingRequestDTO reading : readings) {
-                readingService.create(instrumentId, reading, true);
-            }
-            log.debug("Batch de {} readings inserido", readings.size());
-        } catch (Exception e) {
-            log.error("Erro ao inserir batch de readings: {}", e.getMessage());
-            throw e;
-        }
-    }
-
     /**
      * Trata erros da API externa (ANA)
      *
@@ -302,8 +352,7 @@ public class HistoricalDataJobProcessor {
             if (canRetry) {
                 jobService.markAsPaused(jobId, "API Error: " + e.getMessage());
                 log.info("Job {} pausado para retry ({})", jobId, jobId);
-            } else {
-                jobService.markAsFailed(jobId, "Falhou após 3 tentativas: " + e.getMessage());
+            } else if (jobService.markAsFailed(jobId, "Falhou após 3 tentativas: " + e.getMessage())) {
                 log.error("Job {} FALHOU definitivamente após retries", jobId);
                 auditService.record(AuditContext.builder()
                         .action(ACTION).actionLabel(ACTION_LABEL).source(AuditSource.JOB)
@@ -331,7 +380,9 @@ public class HistoricalDataJobProcessor {
             if (errorMessage.length() > 2000) {
                 errorMessage = errorMessage.substring(0, 1997) + "...";
             }
-            jobService.markAsFailed(jobId, errorMessage);
+            if (!jobService.markAsFailed(jobId, errorMessage)) {
+                return;
+            }
             auditService.record(AuditContext.builder()
                     .action(ACTION).actionLabel(ACTION_LABEL).source(AuditSource.JOB)
                     .status(AuditStatus.ERROR)
@@ -343,4 +394,11 @@ public class HistoricalDataJobProcessor {
             log.error("Erro ao marcar job como falho: {}", ex.getMessage());
         }
     }
+
+    /**
+     * Janela de {@link #DAYS_PER_REQUEST} dias com a busca na API em andamento.
+     */
+    private record FetchWindow(LocalDate start, LocalDate end, CompletableFuture<List<TelemetryItem>> telemetryData) {
+
+    }
 }
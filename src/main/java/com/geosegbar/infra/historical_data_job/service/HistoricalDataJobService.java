@@ -1,35 +1,56 @@
 package com.geosegbar.infra.historical_data_job.service;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.geosegbar.common.enums.JobStatus;
 import com.geosegbar.entities.HistoricalDataJobEntity;
+import com.geosegbar.infra.historical_data_job.events.HistoricalDataJobEnqueuedEvent;
 import com.geosegbar.infra.historical_data_job.persistence.HistoricalDataJobRepository;
+import com.geosegbar.infra.historical_data_job.persistence.jdbc.HistoricalDataJobQueueJdbcRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Ciclo de vida dos jobs de coleta histórica. A fila é a própria tabela
+ * {@code historical_data_job} (ver {@link HistoricalDataJobQueueJdbcRepository}):
+ * cada instância da API se identifica por {@link #getWorkerId()} e só
+ * processa os jobs cujo lease detém.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HistoricalDataJobService {
 
-    private static final String REDIS_QUEUE_KEY = "historical:data:queue";
     private static final int MAX_RETRY_ATTEMPTS = 3;
-    private static final long STALLED_JOB_TIMEOUT_HOURS = 1;
+    private static final Duration LEGACY_STALLED_TIMEOUT = Duration.ofHours(1);
 
     private final HistoricalDataJobRepository jobRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final HistoricalDataJobQueueJdbcRepository queueRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName()
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Value("${historical-data-job.queue.lease-ttl:PT5M}")
+    private Duration leaseTtl;
+
+    @Value("${historical-data-job.queue.retry-delay:PT5M}")
+    private Duration retryDelay;
 
     @Transactional
     public HistoricalDataJobEntity enqueueJob(Long instrumentId, String instrumentName) {
@@ -61,41 +82,51 @@ public class HistoricalDataJobService {
         log.info("Job criado: id={}, instrumento={}, período={} a {}, totalMeses={}",
                 job.getId(), instrumentName, startDate, endDate, totalMonths);
 
-        pushToRedisQueue(job.getId());
+        eventPublisher.publishEvent(new HistoricalDataJobEnqueuedEvent(job.getId()));
 
         return job;
     }
 
-    public void pushToRedisQueue(Long jobId) {
-        redisTemplate.opsForList().rightPush(REDIS_QUEUE_KEY, jobId);
-        log.debug("Job {} adicionado à fila Redis", jobId);
-    }
-
-    public Optional<Long> popFromRedisQueue() {
-        Object jobId = redisTemplate.opsForList().leftPop(REDIS_QUEUE_KEY);
-        if (jobId instanceof Number) {
-            log.debug("Job {} removido da fila Redis", jobId);
-            return Optional.of(((Number) jobId).longValue());
+    /**
+     * Reivindica até {@code limit} jobs para este worker, já em PROCESSING e
+     * com lease. Transação própria: também é chamado por listeners AFTER_COMMIT,
+     * onde a transação original já foi confirmada.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<Long> claimJobs(int limit) {
+        List<Long> claimed = queueRepository.claim(workerId, limit, MAX_RETRY_ATTEMPTS, leaseTtl);
+        if (!claimed.isEmpty()) {
+            log.info("Worker {} reivindicou job(s) {}", workerId, claimed);
         }
-        return Optional.empty();
+        return claimed;
     }
 
-    // ✅ OTIMIZADO: Usa findTopBy para pegar apenas 1 registro do banco
-    @Transactional(readOnly = true)
-    public Optional<HistoricalDataJobEntity> getNextQueuedJob() {
-        return jobRepository.findTopByStatusOrderByCreatedAtAsc(JobStatus.QUEUED);
+    /**
+     * Renova o lease do job.
+     *
+     * @return {@code false} se o lease venceu e o job foi devolvido à fila ou
+     * reivindicado por outro worker — o processamento deve parar
+     */
+    @Transactional
+    public boolean heartbeat(Long jobId) {
+        return queueRepository.renewLease(jobId, workerId, leaseTtl);
     }
 
+    /**
+     * Devolve à fila (PAUSED) os jobs cujo lease venceu, ou marca como FAILED
+     * os que esgotaram as tentativas.
+     */
     @Transactional
-    public void markAsProcessing(Long jobId) {
-        HistoricalDataJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job não encontrado: " + jobId));
-
-        job.setStatus(JobStatus.PROCESSING);
-        job.setStartedAt(LocalDateTime.now());
-        jobRepository.save(job);
+    public int expireLeases() {
+        int expired = queueRepository.expireLeases(MAX_RETRY_ATTEMPTS, LEGACY_STALLED_TIMEOUT);
+        if (expired > 0) {
+            log.warn("⚠️ {} job(s) com lease expirado devolvido(s) à fila ou marcado(s) como FAILED", expired);
+        }
+        return expired;
+    }
 
-        log.info("Job {} marcado como PROCESSING", jobId);
+    public String getWorkerId() {
+        return workerId;
     }
 
     @Transactional
@@ -118,45 +149,53 @@ public class HistoricalDataJobService {
         }
     }
 
+    /**
+     * Marca o job como COMPLETED e libera o lease.
+     *
+     * @return {@code false} se o lease não pertence mais a este worker — o
+     * status gravado por quem o detém é mantido
+     */
     @Transactional
-    public void markAsCompleted(Long jobId) {
-        HistoricalDataJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job não encontrado: " + jobId));
-
-        job.setStatus(JobStatus.COMPLETED);
-        job.setCompletedAt(LocalDateTime.now());
-        job.setProcessedMonths(job.getTotalMonths());
-        jobRepository.save(job);
+    public boolean markAsCompleted(Long jobId) {
+        if (!queueRepository.complete(jobId, workerId)) {
+            log.warn("Job {} não marcado como COMPLETED: lease não pertence mais ao worker {}", jobId, workerId);
+            return false;
+        }
 
-        long durationMinutes = ChronoUnit.MINUTES.between(job.getStartedAt(), job.getCompletedAt());
-        log.info("Job {} COMPLETADO: {} readings criados, {} dias pulados, duração {} minutos",
-                jobId, job.getCreatedReadings(), job.getSkippedDays(), durationMinutes);
+        jobRepository.findById(jobId).ifPresent(job -> log.info(
+                "Job {} COMPLETADO: {} readings criados, {} dias pulados, duração {} minutos",
+                jobId, job.getCreatedReadings(), job.getSkippedDays(),
+                job.getStartedAt() != null ? ChronoUnit.MINUTES.between(job.getStartedAt(), job.getCompletedAt()) : null));
+        return true;
     }
 
+    /**
+     * @return {@code false} se o lease não pertence mais a este worker
+     */
     @Transactional
-    public void markAsFailed(Long jobId, String errorMessage) {
-        HistoricalDataJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job não encontrado: " + jobId));
-
-        job.setStatus(JobStatus.FAILED);
-        job.setCompletedAt(LocalDateTime.now());
-        job.setErrorMessage(errorMessage);
-        jobRepository.save(job);
-
-        log.error("Job {} FALHOU: {} - Progresso: {:.1f}%",
-                jobId, errorMessage, job.getProgressPercentage());
+    public boolean markAsFailed(Long jobId, String errorMessage) {
+        if (!queueRepository.fail(jobId, workerId, errorMessage)) {
+            log.warn("Job {} não marcado como FAILED: lease não pertence mais ao worker {}", jobId, workerId);
+            return false;
+        }
+        log.error("Job {} FALHOU: {}", jobId, errorMessage);
+        return true;
     }
 
+    /**
+     * Devolve o job à fila como PAUSED, disponível após o
+     * {@code historical-data-job.queue.retry-delay}.
+     *
+     * @return {@code false} se o lease não pertence mais a este worker
+     */
     @Transactional
-    public void markAsPaused(Long jobId, String errorMessage) {
-        HistoricalDataJobEntity job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new IllegalArgumentException("Job não encontrado: " + jobId));
-
-        job.setStatus(JobStatus.PAUSED);
-        job.setErrorMessage(errorMessage);
-        jobRepository.save(job);
-
-        log.warn("Job {} PAUSADO: {} - Retry count: {}", jobId, errorMessage, job.getRetryCount());
+    public boolean markAsPaused(Long jobId, String errorMessage) {
+        if (!queueRepository.pause(jobId, workerId, errorMessage, retryDelay)) {
+            log.warn("Job {} não marcado como PAUSED: lease não pertence mais ao worker {}", jobId, workerId);
+            return false;
+        }
+        log.warn("Job {} PAUSADO: {}", jobId, errorMessage);
+        return true;
     }
 
     @Transactional
@@ -175,12 +214,6 @@ public class HistoricalDataJobService {
         return canRetry;
     }
 
-    @Transactional(readOnly = true)
-    public List<HistoricalDataJobEntity> findStalledJobs() {
-        LocalDateTime timeout = LocalDateTime.now().minusHours(STALLED_JOB_TIMEOUT_HOURS);
-        return jobRepository.findStalledJobs(JobStatus.PROCESSING, timeout);
-    }
-
     // ✅ OTIMIZADO: Usa GROUP BY no banco para evitar múltiplas queries (N+1)
     @Transactional(readOnly = true)
     public Map<JobStatus, Long> getJobCountsByStatus() {
@@ -216,44 +249,4 @@ public class HistoricalDataJobService {
     public List<HistoricalDataJobEntity> findJobsByInstrument(Long instrumentId) {
         return jobRepository.findByInstrumentIdOrderByCreatedAtDesc(instrumentId);
     }
-
-    public Long getQueueSize() {
-        Long size = redisTemplate.opsForList().size(REDIS_QUEUE_KEY);
-        return size != null ? size : 0L;
-    }
-
-    /**
-     * Recupera jobs QUEUED/PAUSED do banco que perderam sua entrada na fila
-     * Redis. Chamado no startup e quando a fila Redis está vazia como proteção
-     * contra reinicializações do Redis (sem persistência).
-     *
-     * @return número de jobs re-enfileirados
-     */
-    @Transactional(readOnly = true)
-    public int recoverOrphanedJobs() {
-        List<HistoricalDataJobEntity> queuedJobs
-                = jobRepository.findByStatusOrderByCreatedAtAsc(JobStatus.QUEUED);
-        List<HistoricalDataJobEntity> pausedJobs
-                = jobRepository.findByStatusOrderByCreatedAtAsc(JobStatus.PAUSED);
-
-        int recovered = 0;
-
-        for (HistoricalDataJobEntity job : queuedJobs) {
-            pushToRedisQueue(job.getId());
-            recovered++;
-            log.info("🔄 Job {} (QUEUED) re-enfileirado na fila Redis (recovery)", job.getId());
-        }
-
-        // Paused jobs com retry disponível também voltam para fila
-        for (HistoricalDataJobEntity job : pausedJobs) {
-            if (job.getRetryCount() < MAX_RETRY_ATTEMPTS) {
-                pushToRedisQueue(job.getId());
-                recovered++;
-                log.info("🔄 Job {} (PAUSED, retry {}/{}) re-enfileirado na fila Redis (recovery)",
-                        job.getId(), job.getRetryCount(), MAX_RETRY_ATTEMPTS);
-            }
-        }
-
-        return recovered;
-    }
 }
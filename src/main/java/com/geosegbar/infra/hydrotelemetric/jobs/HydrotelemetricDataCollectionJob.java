@@ -10,8 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 import com.geosegbar.common.enums.AuditSource;
 import com.geosegbar.entities.InstrumentEntity;
 import com.geosegbar.infra.audit.services.AuditService;
-import com.geosegbar.infra.hydrotelemetric.services.AnaApiService;
-import com.geosegbar.infra.hydrotelemetric.services.HydrotelemetricCollectionService;
+import com.geosegbar.infra.hydrotelemetric.services.HydrotelemetricBatchCollectionService;
+import com.geosegbar.infra.hydrotelemetric.services.HydrotelemetricBatchCollectionService.CollectionSummary;
 import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -25,9 +25,8 @@ public class HydrotelemetricDataCollectionJob {
     private static final String ACTION = "JOB_HYDROTELEMETRIC_COLLECTION";
     private static final String ACTION_LABEL = "Coleta de dados hidrotelemétricos";
 
-    private final AnaApiService anaApiService;
     private final InstrumentRepository instrumentRepository;
-    private final HydrotelemetricCollectionService collectionService;
+    private final HydrotelemetricBatchCollectionService batchCollectionService;
     private final AuditService auditService;
 
     @Scheduled(cron = "0 30 0 * * ?")
@@ -37,31 +36,15 @@ public class HydrotelemetricDataCollectionJob {
         String traceId = auditService.newTraceId();
 
         try {
-            String authToken = anaApiService.getAuthToken();
-
             List<InstrumentEntity> linimetricInstruments = instrumentRepository.findAllActiveWithLinimetricRulerCode();
             log.info("Encontrados {} instrumentos ativos com código ANA", linimetricInstruments.size());
 
-            LocalDate today = LocalDate.now();
-
-            int success = 0;
-            int failures = 0;
-            for (InstrumentEntity instrument : linimetricInstruments) {
-                try {
-
-                    collectionService.collectInstrumentData(instrument, authToken, today, null);
-                    success++;
-                } catch (Exception e) {
-                    failures++;
-                    log.error("Erro ao coletar dados para o instrumento {}: {}",
-                            instrument.getName(), e.getMessage(), e);
-                }
-            }
+            CollectionSummary summary = batchCollectionService.collectAll(linimetricInstruments, LocalDate.now());
 
             log.info("Coleta de dados hidrotelemétricos finalizada com sucesso");
             auditService.recordJobSuccess(ACTION, ACTION_LABEL, AuditSource.SCHEDULED,
-                    "Coleta concluída: " + success + " instrumento(s) com sucesso, "
-                    + failures + " com falha (de " + linimetricInstruments.size() + ").",
+                    "Coleta concluída: " + summary.success() + " instrumento(s) com sucesso, "
+                    + summary.failures() + " com falha (de " + summary.total() + ").",
                     traceId, durationMs(start));
         } catch (Exception e) {
             log.error("Erro durante a coleta de dados hidrotelemétricos: {}", e.getMessage(), e);
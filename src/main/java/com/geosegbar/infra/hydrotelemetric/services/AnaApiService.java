@@ -1,14 +1,19 @@
 package com.geosegbar.infra.hydrotelemetric.services;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
@@ -21,10 +26,23 @@ import com.geosegbar.common.response.AnaTelemetryResponse;
 import com.geosegbar.common.response.AnaTelemetryResponse.TelemetryItem;
 import com.geosegbar.exceptions.ExternalApiException;
 
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
 
+/**
+ * Cliente da API de telemetria da ANA.
+ * <p>
+ * O token de autenticação é único para a aplicação: fica em memória até
+ * {@code ana.api.token-ttl} e é renovado de forma centralizada (uma única
+ * chamada de autenticação mesmo com várias threads coletando). As requisições
+ * usam o pool de conexões {@code anaHttpClient}, passam por um limitador de
+ * taxa por host ({@code ana.api.rate-limit.requests-per-second}) e a resposta é
+ * desserializada direto do stream.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -42,10 +60,59 @@ public class AnaApiService {
     @Value("${ana.api.telemetry-url}")
     private String telemetryUrl;
 
+    @Value("${ana.api.token-ttl:PT50M}")
+    private Duration tokenTtl;
+
+    @Value("${ana.api.rate-limit.requests-per-second:10}")
+    private int requestsPerSecond;
+
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final CloseableHttpClient anaHttpClient;
+
+    private final Object tokenLock = new Object();
+    private final Map<String, Bucket> hostBuckets = new ConcurrentHashMap<>();
+    private volatile CachedToken cachedToken;
 
+    /**
+     * Token vigente da API da ANA; autentica apenas quando não há token em
+     * cache ou ele passou do TTL configurado.
+     */
     public String getAuthToken() {
+        CachedToken current = cachedToken;
+        if (current != null && current.isValid()) {
+            return current.value();
+        }
+        synchronized (tokenLock) {
+            current = cachedToken;
+            if (current != null && current.isValid()) {
+                return current.value();
+            }
+            return refreshToken();
+        }
+    }
+
+    /**
+     * Renova o token após um 401. Se outra thread já trocou o token rejeitado,
+     * devolve o novo sem autenticar de novo.
+     */
+    public String renewAuthToken(String rejectedToken) {
+        synchronized (tokenLock) {
+            CachedToken current = cachedToken;
+            if (current != null && current.isValid() && !current.value().equals(rejectedToken)) {
+                return current.value();
+            }
+            return refreshToken();
+        }
+    }
+
+    private String refreshToken() {
+        String token = requestAuthToken();
+        cachedToken = new CachedToken(token, Instant.now().plus(tokenTtl));
+        return token;
+    }
+
+    private String requestAuthToken() {
         try {
 
             for (int attempt = 1; attempt <= 3; attempt++) {
@@ -88,40 +155,49 @@ public class AnaApiService {
     }
 
     public List<TelemetryItem> getTelemetryData(String stationCode, String authToken) {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            String url = telemetryUrl
-                    + "?C%C3%B3digo%20da%20Esta%C3%A7%C3%A3o=" + stationCode
-                    + "&Tipo%20Filtro%20Data=DATA_LEITURA"
-                    + "&Range%20Intervalo%20de%20busca=DIAS_2";
-
-            HttpGet request = new HttpGet(url);
-            request.setHeader("Authorization", "Bearer " + authToken);
-            request.setHeader("Accept", "*/*");
-            request.setHeader("User-Agent", "Mozilla/5.0");
-            request.setHeader("Content-Type", "application/json");
-            request.setHeader("Host", "www.ana.gov.br");
-
-            CloseableHttpResponse response = httpClient.execute(request);
-            HttpEntity entity = response.getEntity();
-
-            if (response.getStatusLine().getStatusCode() != 200) {
-                String errorBody = EntityUtils.toString(entity);
-                log.error("Erro na resposta da API: {} - {}", response.getStatusLine().getStatusCode(), errorBody);
-                throw new ExternalApiException("Erro ao obter dados de telemetria: " + errorBody);
-            }
+        String url = telemetryUrl
+                + "?C%C3%B3digo%20da%20Esta%C3%A7%C3%A3o=" + stationCode
+                + "&Tipo%20Filtro%20Data=DATA_LEITURA"
+                + "&Range%20Intervalo%20de%20busca=DIAS_2";
+        String currentToken = authToken;
+
+        try {
+            for (int attempt = 1; attempt <= 2; attempt++) {
+                acquirePermit(url);
+
+                try (CloseableHttpResponse response = anaHttpClient.execute(buildRequest(url, currentToken))) {
+                    int statusCode = response.getStatusLine().getStatusCode();
+                    HttpEntity entity = response.getEntity();
+
+                    if (statusCode == 401 && attempt == 1) {
+                        EntityUtils.consume(entity);
+                        log.warn("Token rejeitado (401) para estação {}. Renovando token...", stationCode);
+                        currentToken = renewAuthToken(currentToken);
+                        continue;
+                    }
 
-            String responseBody = EntityUtils.toString(entity);
+                    if (statusCode != 200) {
+                        String errorBody = EntityUtils.toString(entity);
+                        log.error("Erro na resposta da API: {} - {}", statusCode, errorBody);
+                        throw new ExternalApiException("Erro ao obter dados de telemetria: " + errorBody);
+                    }
 
-            AnaTelemetryResponse telemetryResponse = objectMapper.readValue(responseBody, AnaTelemetryResponse.class);
+                    AnaTelemetryResponse telemetryResponse = readTelemetryResponse(entity);
 
-            if (telemetryResponse == null || telemetryResponse.getItems() == null) {
-                throw new ExternalApiException("Resposta da API da ANA inválida ou sem itens");
-            }
+                    if (telemetryResponse == null || telemetryResponse.getItems() == null) {
+                        throw new ExternalApiException("Resposta da API da ANA inválida ou sem itens");
+                    }
 
-            return telemetryResponse.getItems();
+                    return telemetryResponse.getItems();
+                }
+            }
+            throw new ExternalApiException("Token da API da ANA rejeitado mesmo após renovação");
         } catch (IOException e) {
             log.error("Erro ao obter dados de telemetria para estação: {}", stationCode, e);
             throw new ExternalApiException("Falha ao obter dados de telemetria: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException("Interrompido aguardando limite de requisições da API da ANA", e);
         }
     }
 
@@ -130,33 +206,32 @@ public class AnaApiService {
         String currentToken = authToken;
 
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-                String dateStr = startDate.toString();
-                String url = telemetryUrl
-                        + "?C%C3%B3digo%20da%20Esta%C3%A7%C3%A3o=" + stationCode
-                        + "&Tipo%20Filtro%20Data=DATA_LEITURA"
-                        + "&Data%20de%20Busca%20%28yyyy-MM-dd%29=" + dateStr
-                        + "&Range%20Intervalo%20de%20busca=DIAS_30";
-
-                log.debug("Buscando dados históricos: estação={}, data={}, tentativa={}/{}",
-                        stationCode, dateStr, attempt, maxRetries);
-
-                HttpGet request = new HttpGet(url);
-                request.setHeader("Authorization", "Bearer " + currentToken);
-                request.setHeader("Accept", "*/*");
-                request.setHeader("User-Agent", "Mozilla/5.0");
-                request.setHeader("Content-Type", "application/json");
-                request.setHeader("Host", "www.ana.gov.br");
-
-                CloseableHttpResponse response = httpClient.execute(request);
+            String dateStr = startDate.toString();
+            String url = telemetryUrl
+                    + "?C%C3%B3digo%20da%20Esta%C3%A7%C3%A3o=" + stationCode
+                    + "&Tipo%20Filtro%20Data=DATA_LEITURA"
+                    + "&Data%20de%20Busca%20%28yyyy-MM-dd%29=" + dateStr
+                    + "&Range%20Intervalo%20de%20busca=DIAS_30";
+
+            log.debug("Buscando dados históricos: estação={}, data={}, tentativa={}/{}",
+                    stationCode, dateStr, attempt, maxRetries);
+
+            try {
+                acquirePermit(url);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExternalApiException("Interrompido aguardando limite de requisições da API da ANA", e);
+            }
+
+            try (CloseableHttpResponse response = anaHttpClient.execute(buildRequest(url, currentToken))) {
                 int statusCode = response.getStatusLine().getStatusCode();
                 HttpEntity entity = response.getEntity();
 
                 if (statusCode == 401) {
-                    String errorBody = EntityUtils.toString(entity);
+                    EntityUtils.consume(entity);
                     log.warn("Token expirado (401). Renovando token e tentando novamente... (tentativa {}/{})",
                             attempt, maxRetries);
-                    currentToken = getAuthToken();
+                    currentToken = renewAuthToken(currentToken);
                     Thread.sleep(1000);
                     continue;
                 }
@@ -177,8 +252,7 @@ public class AnaApiService {
                     throw new ExternalApiException("Erro ao obter dados históricos: " + errorBody);
                 }
 
-                String responseBody = EntityUtils.toString(entity);
-                AnaTelemetryResponse telemetryResponse = objectMapper.readValue(responseBody, AnaTelemetryResponse.class);
+                AnaTelemetryResponse telemetryResponse = readTelemetryResponse(entity);
 
                 if (telemetryResponse == null) {
                     throw new ExternalApiException("Resposta da API da ANA inválida");
@@ -216,6 +290,39 @@ public class AnaApiService {
         throw new ExternalApiException("Falha ao obter dados históricos após " + maxRetries + " tentativas");
     }
 
+    private HttpGet buildRequest(String url, String authToken) {
+        HttpGet request = new HttpGet(url);
+        request.setHeader("Authorization", "Bearer " + authToken);
+        request.setHeader("Accept", "*/*");
+        request.setHeader("User-Agent", "Mozilla/5.0");
+        request.setHeader("Content-Type", "application/json");
+        request.setHeader("Host", "www.ana.gov.br");
+        return request;
+    }
+
+    /**
+     * Desserializa direto do stream da resposta. Fechar o stream lê o que
+     * sobrou do corpo e devolve a conexão ao pool.
+     */
+    private AnaTelemetryResponse readTelemetryResponse(HttpEntity entity) throws IOException {
+        try (InputStream body = entity.getContent()) {
+            return objectMapper.readValue(body, AnaTelemetryResponse.class);
+        }
+    }
+
+    /**
+     * Aguarda uma permissão do limitador do host da URL. Cada host tem seu
+     * próprio balde, compartilhado por todas as threads da aplicação.
+     */
+    private void acquirePermit(String url) throws InterruptedException {
+        String host = URI.create(url).getHost();
+        Bucket bucket = hostBuckets.computeIfAbsent(host != null ? host : "", h -> Bucket.builder()
+                .addLimit(Bandwidth.classic(requestsPerSecond,
+                        Refill.greedy(requestsPerSecond, Duration.ofSeconds(1))))
+                .build());
+        bucket.asBlocking().consume(1);
+    }
+
     public Double calculateAverageLevel(List<TelemetryItem> items, LocalDate date) {
         if (items == null || items.isEmpty()) {
             return null;
@@ -237,4 +344,11 @@ public class AnaApiService {
                 .average()
                 .orElse(0.0);
     }
+
+    private record CachedToken(String value, Instant expiresAt) {
+
+        boolean isValid() {
+            return Instant.now().isBefore(expiresAt);
+        }
+    }
 }
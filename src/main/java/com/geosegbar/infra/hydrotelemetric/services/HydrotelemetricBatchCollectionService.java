@@ -0,0 +1,76 @@
+package com.geosegbar.infra.hydrotelemetric.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.geosegbar.entities.InstrumentEntity;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coleta diária da ANA para vários instrumentos em paralelo.
+ * <p>
+ * O paralelismo é limitado pelo executor {@code anaCollectionExecutor}
+ * ({@code ana.api.collection.parallelism}) e a taxa de requisições pelo
+ * limitador por host do {@link AnaApiService}. Todas as tarefas compartilham o
+ * token em cache e o pool de conexões HTTP; a falha de um instrumento não
+ * interrompe os demais.
+ */
+@Service
+@Slf4j
+public class HydrotelemetricBatchCollectionService {
+
+    public record CollectionSummary(int total, int success, int failures) {
+
+    }
+
+    private final AnaApiService anaApiService;
+    private final HydrotelemetricCollectionService collectionService;
+    private final Executor anaCollectionExecutor;
+
+    public HydrotelemetricBatchCollectionService(
+            AnaApiService anaApiService,
+            HydrotelemetricCollectionService collectionService,
+            @Qualifier("anaCollectionExecutor") Executor anaCollectionExecutor) {
+        this.anaApiService = anaApiService;
+        this.collectionService = collectionService;
+        this.anaCollectionExecutor = anaCollectionExecutor;
+    }
+
+    public CollectionSummary collectAll(List<InstrumentEntity> instruments, LocalDate date) {
+        if (instruments.isEmpty()) {
+            return new CollectionSummary(0, 0, 0);
+        }
+
+        // Autentica antes de distribuir as tarefas: sem token a coleta inteira
+        // falha de uma vez. As tarefas leem o token do cache a cada chamada,
+        // então pegam a versão renovada se houver um 401 no meio da coleta.
+        anaApiService.getAuthToken();
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        List<CompletableFuture<Void>> futures = instruments.stream()
+                .map(instrument -> CompletableFuture.runAsync(() -> {
+                    try {
+                        collectionService.collectInstrumentData(
+                                instrument, anaApiService.getAuthToken(), date, null);
+                        success.incrementAndGet();
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        log.error("Erro ao coletar dados para o instrumento {}: {}",
+                                instrument.getName(), e.getMessage(), e);
+                    }
+                }, anaCollectionExecutor))
+                .toList();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        return new CollectionSummary(instruments.size(), success.get(), failures.get());
+    }
+}
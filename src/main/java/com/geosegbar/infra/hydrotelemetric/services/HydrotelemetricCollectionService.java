@@ -7,7 +7,6 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.geosegbar.common.response.AnaTelemetryResponse.TelemetryItem;
 import com.geosegbar.entities.InstrumentEntity;
@@ -25,7 +24,11 @@ public class HydrotelemetricCollectionService {
     private final AnaApiService anaApiService;
     private final ReadingService readingService;
 
-    @Transactional(timeout = 60)
+    /**
+     * Sem transação própria: a chamada à ANA não deve segurar uma conexão do
+     * banco. A verificação de leitura existente e a gravação usam as
+     * transações do {@link ReadingService}.
+     */
     public void collectInstrumentData(InstrumentEntity instrument, String authToken, LocalDate date, String commentSuffix) {
         Long linimetricCode = instrument.getLinimetricRulerCode();
 
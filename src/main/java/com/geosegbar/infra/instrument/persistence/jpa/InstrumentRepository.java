@@ -24,6 +24,8 @@ public interface InstrumentRepository extends JpaRepository<InstrumentEntity, Lo
             + "GROUP BY it.id, it.name ORDER BY it.name")
     List<InstrumentTypeCountProjection> countActiveByTypeForDams(@Param("damIds") List<Long> damIds);
 
+    long countByIdIn(List<Long> ids);
+
     @Override
     @EntityGraph(attributePaths = {"dam", "dam.client", "section", "instrumentType"})
     Optional<InstrumentEntity> findById(Long id);
@@ -1,25 +1,22 @@
 package com.geosegbar.infra.instrument.services;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.geosegbar.common.utils.StreamingExcelReader;
+import com.geosegbar.common.utils.StreamingExcelReader.SheetRow;
 import com.geosegbar.entities.DamEntity;
 import com.geosegbar.entities.InstrumentTypeEntity;
 import com.geosegbar.entities.MeasurementUnitEntity;
@@ -105,28 +102,21 @@ public class BulkInstrumentImportService {
 
         DamEntity dam = damService.findById(meta.getDamId());
 
-        try (InputStream is = file.getInputStream()) {
-            Workbook wb = WorkbookFactory.create(is);
-
-            Sheet instrumentsSheet = wb.getSheet("Instruments");
-            if (instrumentsSheet == null) {
+        try (InputStream is = file.getInputStream(); StreamingExcelReader reader = StreamingExcelReader.open(is)) {
+            Set<String> sheetNames = reader.getSheetNames();
+            if (!sheetNames.contains("Instruments")) {
                 throw new InvalidInputException("Formato de planilha inválido: Aba 'Instruments' não encontrada. Por favor, use o modelo de planilha correto.");
             }
 
-            Sheet inputsSheet = wb.getSheet("Inputs");
-            Sheet constantsSheet = wb.getSheet("Constants");
-            Sheet outputsSheet = wb.getSheet("Outputs");
-            Sheet limitsSheet = wb.getSheet("Limits");
-
-            if (inputsSheet == null || constantsSheet == null || outputsSheet == null || limitsSheet == null) {
+            if (!sheetNames.containsAll(List.of("Inputs", "Constants", "Outputs", "Limits"))) {
                 throw new InvalidInputException("Formato de planilha inválido: Uma ou mais abas necessárias não foram encontradas. A planilha deve conter as abas: 'Instruments', 'Inputs', 'Constants', 'Outputs' e 'Limits'.");
             }
 
-            Map<String, InstrumentRow> instruments = parseInstrumentSheet(instrumentsSheet);
-            Map<String, List<InputDTO>> inputs = parseComponent(inputsSheet, unitMap, InputDTO.class);
-            Map<String, List<ConstantDTO>> constants = parseComponent(constantsSheet, unitMap, ConstantDTO.class);
-            Map<String, List<OutputDTO>> outputs = parseComponent(outputsSheet, unitMap, OutputDTO.class);
-            Map<Key, LimitData> limits = parseLimits(limitsSheet);
+            Map<String, InstrumentRow> instruments = parseInstrumentSheet(reader);
+            Map<String, List<InputDTO>> inputs = parseComponent(reader, "Inputs", unitMap, InputDTO.class);
+            Map<String, List<ConstantDTO>> constants = parseComponent(reader, "Constants", unitMap, ConstantDTO.class);
+            Map<String, List<OutputDTO>> outputs = parseComponent(reader, "Outputs", unitMap, OutputDTO.class);
+            Map<Key, LimitData> limits = parseLimits(reader);
 
             result.setTotal(instruments.size());
 
@@ -219,30 +209,26 @@ public class BulkInstrumentImportService {
         return result;
     }
 
-    private Map<String, InstrumentRow> parseInstrumentSheet(Sheet sheet) {
-        Iterator<Row> it = sheet.iterator();
-        if (!it.hasNext()) {
-            throw new InvalidInputException("A aba 'Instruments' está vazia. Por favor, adicione dados de instrumentos.");
-        }
-
-        Row headerRow = it.next();
-        Map<String, Integer> idx = headerIndex(headerRow);
+    private Map<String, InstrumentRow> parseInstrumentSheet(StreamingExcelReader reader) throws IOException {
+        Map<String, InstrumentRow> map = new LinkedHashMap<>();
+        Map<String, Integer> idx = new HashMap<>();
 
-        List<String> requiredHeaders = List.of("ID", "Nome", "Tipo de Instrumento");
-        for (String header : requiredHeaders) {
-            if (!idx.containsKey(header)) {
-                throw new InvalidInputException("Cabeçalho obrigatório '" + header + "' não encontrado na aba 'Instruments'. Verifique se está usando o modelo de planilha correto.");
+        reader.readSheet("Instruments", r -> {
+            if (idx.isEmpty()) {
+                idx.putAll(headerIndex(r));
+                List<String> requiredHeaders = List.of("ID", "Nome", "Tipo de Instrumento");
+                for (String header : requiredHeaders) {
+                    if (!idx.containsKey(header)) {
+                        throw new InvalidInputException("Cabeçalho obrigatório '" + header + "' não encontrado na aba 'Instruments'. Verifique se está usando o modelo de planilha correto.");
+                    }
+                }
+                return;
             }
-        }
 
-        Map<String, InstrumentRow> map = new LinkedHashMap<>();
-        int rowNum = 1;
-        while (it.hasNext()) {
-            rowNum++;
-            Row r = it.next();
+            int rowNum = r.getRowNum() + 1;
             String id = getString(r, idx, "ID");
             if (id == null || id.isBlank()) {
-                continue;
+                return;
             }
             InstrumentRow ir = new InstrumentRow();
             ir.id = id;
@@ -283,24 +269,27 @@ public class BulkInstrumentImportService {
             }
 
             map.put(id, ir);
+        });
+
+        if (idx.isEmpty()) {
+            throw new InvalidInputException("A aba 'Instruments' está vazia. Por favor, adicione dados de instrumentos.");
         }
         return map;
     }
 
     @SuppressWarnings("unchecked")
-    private <T> Map<String, List<T>> parseComponent(Sheet sheet,
-            Map<String, Long> unitMap, Class<T> clz) {
-        Iterator<Row> it = sheet.iterator();
-        if (!it.hasNext()) {
-            return Collections.emptyMap();
-        }
-        Map<String, Integer> idx = headerIndex(it.next());
+    private <T> Map<String, List<T>> parseComponent(StreamingExcelReader reader, String sheetName,
+            Map<String, Long> unitMap, Class<T> clz) throws IOException {
+        Map<String, Integer> idx = new HashMap<>();
         Map<String, List<T>> map = new HashMap<>();
-        while (it.hasNext()) {
-            Row row = it.next();
+        reader.readSheet(sheetName, row -> {
+            if (idx.isEmpty()) {
+                idx.putAll(headerIndex(row));
+                return;
+            }
             String id = getString(row, idx, "ID");
             if (id == null || id.isBlank()) {
-                continue;
+                return;
             }
 
             T dto;
@@ -331,24 +320,22 @@ public class BulkInstrumentImportService {
                 dto = (T) d;
             }
             map.computeIfAbsent(id, k -> new ArrayList<>()).add(dto);
-        }
+        });
         return map;
     }
 
-    private Map<Key, LimitData> parseLimits(Sheet sheet) {
-        Iterator<Row> it = sheet.iterator();
-        if (!it.hasNext()) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, Integer> idx = headerIndex(it.next());
+    private Map<Key, LimitData> parseLimits(StreamingExcelReader reader) throws IOException {
+        Map<String, Integer> idx = new HashMap<>();
         Map<Key, LimitData> map = new HashMap<>();
-        while (it.hasNext()) {
-            Row row = it.next();
+        reader.readSheet("Limits", row -> {
+            if (idx.isEmpty()) {
+                idx.putAll(headerIndex(row));
+                return;
+            }
             String id = getString(row, idx, "ID");
             String out = getString(row, idx, "Sigla do Output");
             if (id == null || out == null) {
-                continue;
+                return;
             }
 
             String type = getString(row, idx, "Tipo de Limite");
@@ -371,105 +358,63 @@ public class BulkInstrumentImportService {
                 );
             }
             map.put(new Key(id, out), ld);
-        }
+        });
         return map;
     }
 
-    private Map<String, Integer> headerIndex(Row header) {
+    private Map<String, Integer> headerIndex(SheetRow header) {
         Map<String, Integer> idx = new HashMap<>();
-        for (Cell c : header) {
-            idx.put(c.getStringCellValue(), c.getColumnIndex());
+        for (int col = 0; col <= header.getLastColumn(); col++) {
+            String name = header.get(col);
+            if (name != null) {
+                idx.put(name, col);
+            }
         }
         return idx;
     }
 
-    private BigDecimal getBigDecimal(Row r, Map<String, Integer> ix, String col) {
-        Integer i = ix.get(col);
-        if (i == null) {
+    private BigDecimal getBigDecimal(SheetRow r, Map<String, Integer> ix, String col) {
+        String val = r.get(ix.get(col));
+        if (val == null || val.isBlank()) {
             return null;
         }
-        Cell c = r.getCell(i);
-        if (c == null) {
+        try {
+
+            String cleanVal = val.trim().replace(",", ".");
+            return new BigDecimal(cleanVal);
+        } catch (NumberFormatException e) {
+            log.warn("Valor inválido na coluna {}: {}", col, val);
             return null;
         }
+    }
 
-        switch (c.getCellType()) {
-            case NUMERIC:
-
-                return BigDecimal.valueOf(c.getNumericCellValue());
-            case STRING:
-                String val = c.getStringCellValue();
-                if (val == null || val.isBlank()) {
-                    return null;
-                }
-                try {
-
-                    String cleanVal = val.trim().replace(",", ".");
-                    return new BigDecimal(cleanVal);
-                } catch (NumberFormatException e) {
-                    log.warn("Valor inválido na coluna {}: {}", col, val);
-                    return null;
-                }
-            case FORMULA:
-                try {
-
-                    return BigDecimal.valueOf(c.getNumericCellValue());
-                } catch (Exception e) {
-                    return null;
-                }
-            default:
-                return null;
-        }
+    private String getString(SheetRow r, Map<String, Integer> ix, String col) {
+        return r.get(ix.get(col));
     }
 
-    private String getString(Row r, Map<String, Integer> ix, String col) {
-        Integer i = ix.get(col);
-        if (i == null) {
+    private Double getDouble(SheetRow r, Map<String, Integer> ix, String col) {
+        String val = r.get(ix.get(col));
+        if (val == null || val.isBlank()) {
             return null;
         }
-        Cell c = r.getCell(i);
-        if (c == null) {
-            return null;
-        }
-        return switch (c.getCellType()) {
-            case STRING ->
-                c.getStringCellValue();
-            case NUMERIC ->
-                BigDecimal.valueOf(c.getNumericCellValue())
-                .stripTrailingZeros()
-                .toPlainString();
-            case BOOLEAN ->
-                Boolean.toString(c.getBooleanCellValue());
-            case FORMULA ->
-                c.getCachedFormulaResultType() == CellType.STRING
-                ? c.getStringCellValue()
-                : String.valueOf(c.getNumericCellValue());
-            default ->
-                null;
-        };
-    }
-
-    private Double getDouble(Row r, Map<String, Integer> ix, String col) {
-        Integer i = ix.get(col);
-        if (i == null) {
+        try {
+            return Double.valueOf(val.trim());
+        } catch (NumberFormatException e) {
             return null;
         }
-        Cell c = r.getCell(i);
-        return (c != null && c.getCellType() == CellType.NUMERIC)
-                ? c.getNumericCellValue() : null;
     }
 
-    private Long getLong(Row r, Map<String, Integer> ix, String col) {
+    private Long getLong(SheetRow r, Map<String, Integer> ix, String col) {
         Double d = getDouble(r, ix, col);
         return d == null ? null : d.longValue();
     }
 
-    private Integer getInt(Row r, Map<String, Integer> ix, String col) {
+    private Integer getInt(SheetRow r, Map<String, Integer> ix, String col) {
         Double d = getDouble(r, ix, col);
         return d == null ? null : d.intValue();
     }
 
-    private Boolean getBoolean(Row r, Map<String, Integer> ix, String col) {
+    private Boolean getBoolean(SheetRow r, Map<String, Integer> ix, String col) {
         String v = getString(r, ix, col);
         return v == null ? null : Boolean.valueOf(v);
     }
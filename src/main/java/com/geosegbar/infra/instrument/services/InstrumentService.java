@@ -22,6 +22,7 @@ import com.geosegbar.common.utils.ExpressionEvaluator;
 import com.geosegbar.entities.ConstantEntity;
 import com.geosegbar.entities.DamEntity;
 import com.geosegbar.common.enums.CustomizationTypeEnum;
+import com.geosegbar.common.enums.DashboardSectionEnum;
 import com.geosegbar.common.enums.LimitValueTypeEnum;
 import com.geosegbar.common.enums.LineTypeEnum;
 import com.geosegbar.entities.DeterministicLimitEntity;
@@ -41,6 +42,7 @@ import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.exceptions.UnauthorizedException;
 import com.geosegbar.infra.constant.persistence.jpa.ConstantRepository;
 import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
 import com.geosegbar.infra.deterministic_limit.persistence.jpa.DeterministicLimitRepository;
 import com.geosegbar.infra.input.persistence.jpa.InputRepository;
 import com.geosegbar.infra.instrument.dtos.ConstantDTO;
@@ -58,9 +60,12 @@ import com.geosegbar.infra.instrument_graph_customization_properties.persistence
 import com.geosegbar.infra.instrument_graph_pattern.persistence.jpa.InstrumentGraphPatternRepository;
 import com.geosegbar.infra.instrument_tabulate_pattern.persistence.jpa.InstrumentTabulatePatternRepository;
 import com.geosegbar.infra.instrument_type.persistence.jpa.InstrumentTypeRepository;
+import com.geosegbar.infra.limit_reclassification.events.OutputLimitsChangedEvent;
 import com.geosegbar.infra.measurement_unit.persistence.jpa.MeasurementUnitRepository;
 import com.geosegbar.infra.output.persistence.jpa.OutputRepository;
 import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+import com.geosegbar.infra.reading.services.LimitThresholds;
 import com.geosegbar.infra.section.persistence.jpa.SectionRepository;
 import com.geosegbar.infra.statistical_limit.persistence.jpa.StatisticalLimitRepository;
 
@@ -74,6 +79,7 @@ public class InstrumentService {
 
     private final InstrumentRepository instrumentRepository;
     private final ReadingRepository readingRepository;
+    private final LatestReadingService latestReadingService;
     private final DamRepository damRepository;
     private final SectionRepository sectionRepository;
     private final MeasurementUnitRepository measurementUnitRepository;
@@ -274,6 +280,9 @@ public class InstrumentService {
             log.info("Evento de coleta hidrotelemetrica disparado para instrumento: {}", savedInstrument.getName());
         }
 
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.INSTRUMENTS,
+                savedInstrument.getDam().getId()));
+
         return savedInstrument;
     }
 
@@ -503,6 +512,7 @@ public class InstrumentService {
 
         String oldName = oldInstrument.getName();
         Long oldLinimetricCode = oldInstrument.getLinimetricRulerCode();
+        Long oldDamId = oldInstrument.getDam().getId();
 
         if (instrumentRepository.existsByNameAndDamIdAndActiveTrueAndIdNot(request.getName(), request.getDamId(), id)) {
             throw new DuplicateResourceException("Já existe um instrumento ativo com esse nome nesta barragem");
@@ -536,6 +546,8 @@ public class InstrumentService {
         Map<String, OutputEntity> existingOutputsByAcronym = oldInstrument.getOutputs().stream()
                 .filter(OutputEntity::getActive)
                 .collect(Collectors.toMap(OutputEntity::getAcronym, o -> o, (e, r) -> e));
+        Map<Long, LimitThresholds> thresholdsBefore = existingOutputsByAcronym.values().stream()
+                .collect(Collectors.toMap(OutputEntity::getId, o -> LimitThresholds.of(oldInstrument, o)));
 
         updateInstrumentBasicFields(oldInstrument, request);
 
@@ -611,9 +623,29 @@ public class InstrumentService {
             }
         }
 
+        publishLimitChanges(updatedInstrument, thresholdsBefore);
+
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.INSTRUMENTS,
+                List.of(oldDamId, updatedInstrument.getDam().getId())));
+
         return updatedInstrument;
     }
 
+    /**
+     * Pede a reclassificação das leituras dos outputs cujos limites em vigor
+     * mudaram (valores, tipo de limite ou "Sem Limites" do instrumento).
+     */
+    private void publishLimitChanges(InstrumentEntity instrument, Map<Long, LimitThresholds> thresholdsBefore) {
+        List<Long> changedOutputIds = instrument.getOutputs().stream()
+                .filter(output -> thresholdsBefore.containsKey(output.getId()))
+                .filter(output -> !thresholdsBefore.get(output.getId()).equals(LimitThresholds.of(instrument, output)))
+                .map(OutputEntity::getId)
+                .toList();
+        if (!changedOutputIds.isEmpty()) {
+            eventPublisher.publishEvent(new OutputLimitsChangedEvent(changedOutputIds));
+        }
+    }
+
     private void processInputsForLinimetricRulerUpdate(InstrumentEntity instrument, List<InputDTO> inputDTOs,
             Map<String, InputEntity> existingInputsByAcronym) {
 
@@ -789,8 +821,11 @@ public class InstrumentService {
         inputRepository.deleteByInstrumentId(id);
         constantRepository.deleteByInstrumentId(id);
         outputRepository.deleteByInstrumentId(id);
+        latestReadingService.removeInstrument(id);
 
         instrumentRepository.delete(instrument);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.INSTRUMENTS,
+                instrument.getDam().getId()));
         log.info("Instrumento {} deletado.", id);
     }
 
@@ -843,6 +878,8 @@ public class InstrumentService {
         instrument.setActive(active);
         instrumentRepository.save(instrument);
         log.info("Status do instrumento {} alterado para {}.", id, active);
+        eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.INSTRUMENTS,
+                instrument.getDam().getId()));
 
         return instrumentRepository.findByIdWithAllDetails(id)
                 .orElseThrow(() -> new NotFoundException("Instrumento não encontrado após atualização"));
@@ -887,6 +924,8 @@ public class InstrumentService {
 
         try {
             ExpressionEvaluator.validateSyntax(cleanEquation, variablesInEquation);
+        } catch (InvalidInputException e) {
+            throw e;
         } catch (Exception e) {
             throw new InvalidInputException(ExpressionEvaluator.friendlySyntaxErrorMessage(cleanEquation));
         }
@@ -0,0 +1,54 @@
+package com.geosegbar.infra.instrument_graph_pattern.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.geosegbar.common.enums.CustomizationTypeEnum;
+import com.geosegbar.common.enums.LimitValueTypeEnum;
+import com.geosegbar.common.enums.LineTypeEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dados prontos para desenhar um padrão de gráfico.
+ * <p>
+ * Séries de leituras vêm como vetores paralelos {@code timestamps}/{@code values}
+ * já reduzidos para a largura pedida; {@code timestamps} são epoch millis da
+ * data/hora da leitura interpretada em UTC (as leituras não têm fuso). Séries
+ * constantes (constantes e limites) trazem só {@code constantValue}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GraphSeriesDataResponseDTO {
+
+    private Long patternId;
+    private String patternName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer width;
+    private List<SeriesDTO> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeriesDTO {
+
+        private Long propertyId;
+        private CustomizationTypeEnum customizationType;
+        private LimitValueTypeEnum limitValueType;
+        private String name;
+        private Long instrumentId;
+        private Long outputId;
+        private String outputAcronym;
+        private String fillColor;
+        private LineTypeEnum lineType;
+        private Boolean isPrimaryOrdinate;
+        private Integer totalPoints;
+        private long[] timestamps;
+        private double[] values;
+        private Double constantValue;
+    }
+}
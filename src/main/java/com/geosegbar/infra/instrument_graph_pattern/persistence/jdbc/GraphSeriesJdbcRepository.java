@@ -0,0 +1,64 @@
+package com.geosegbar.infra.instrument_graph_pattern.persistence.jdbc;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Leitura por cursor dos pontos das séries de um padrão de gráfico.
+ * <p>
+ * Uma única consulta traz as leituras ativas de todos os outputs do padrão
+ * (outputs avulsos e outputs dos instrumentos/réguas linimétricas
+ * relacionados), ordenadas por output e data/hora. Deve ser chamado dentro de
+ * uma transação para o fetch size virar cursor no driver do Postgres.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GraphSeriesJdbcRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String POINTS_SQL = """
+            SELECT r.output_id, r.instrument_id, o.acronym AS output_acronym,
+                   r.date, r.hour, r.calculated_value
+            FROM reading r
+            JOIN output o ON o.id = r.output_id
+            WHERE (r.output_id = ANY(?) OR r.instrument_id = ANY(?))
+              AND r.active = true
+              AND (CAST(? AS date) IS NULL OR r.date >= ?)
+              AND (CAST(? AS date) IS NULL OR r.date <= ?)
+            ORDER BY r.output_id, r.date, r.hour, r.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Colunas: output_id, instrument_id, output_acronym, date, hour,
+     * calculated_value.
+     */
+    public void streamPoints(Collection<Long> outputIds, Collection<Long> instrumentIds, LocalDate startDate,
+            LocalDate endDate, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(POINTS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            Array outputs = con.createArrayOf("bigint", outputIds.toArray());
+            Array instruments = con.createArrayOf("bigint", instrumentIds.toArray());
+            ps.setArray(1, outputs);
+            ps.setArray(2, instruments);
+            ps.setObject(3, startDate, Types.DATE);
+            ps.setObject(4, startDate, Types.DATE);
+            ps.setObject(5, endDate, Types.DATE);
+            ps.setObject(6, endDate, Types.DATE);
+            return ps;
+        }, handler);
+    }
+}
@@ -0,0 +1,74 @@
+package com.geosegbar.infra.instrument_graph_pattern.services;
+
+/**
+ * Redução de séries temporais para exibição com Largest-Triangle-Three-Buckets
+ * (LTTB).
+ * <p>
+ * Mantém o primeiro e o último ponto e escolhe, em cada balde intermediário, o
+ * ponto que forma o maior triângulo com o ponto escolhido no balde anterior e
+ * a média do balde seguinte. Picos e vales continuam visíveis, diferente de
+ * uma amostragem a cada N pontos.
+ */
+public final class GraphSeriesDownsampler {
+
+    private GraphSeriesDownsampler() {
+    }
+
+    /**
+     * Índices dos pontos mantidos, em ordem crescente. Com {@code threshold}
+     * maior ou igual a {@code size} (ou menor que 3) todos os pontos são
+     * mantidos. {@code x} deve estar ordenado.
+     */
+    public static int[] lttb(long[] x, double[] y, int size, int threshold) {
+        if (threshold >= size || threshold < 3) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int a = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int rangeStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int rangeEnd = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+
+            int nextStart = rangeEnd;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            int nextLength = nextEnd - nextStart;
+            avgX /= nextLength;
+            avgY /= nextLength;
+
+            double pointAX = x[a];
+            double pointAY = y[a];
+            double maxArea = -1;
+            int maxIndex = rangeStart;
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                double area = Math.abs((pointAX - avgX) * (y[i] - pointAY)
+                        - (pointAX - x[i]) * (avgY - pointAY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            selected[count++] = maxIndex;
+            a = maxIndex;
+        }
+
+        selected[count] = size - 1;
+        return selected;
+    }
+}
@@ -0,0 +1,255 @@
+package com.geosegbar.infra.instrument_graph_pattern.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.geosegbar.common.enums.CustomizationTypeEnum;
+import com.geosegbar.common.utils.AuthenticatedUserUtil;
+import com.geosegbar.entities.DeterministicLimitEntity;
+import com.geosegbar.entities.InstrumentGraphCustomizationPropertiesEntity;
+import com.geosegbar.entities.InstrumentGraphPatternEntity;
+import com.geosegbar.entities.StatisticalLimitEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.exceptions.UnauthorizedException;
+import com.geosegbar.infra.instrument_graph_pattern.dtos.GraphSeriesDataResponseDTO;
+import com.geosegbar.infra.instrument_graph_pattern.dtos.GraphSeriesDataResponseDTO.SeriesDTO;
+import com.geosegbar.infra.instrument_graph_pattern.persistence.jdbc.GraphSeriesJdbcRepository;
+import com.geosegbar.infra.instrument_graph_pattern.persistence.jpa.InstrumentGraphPatternRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Monta os dados de todas as séries de um padrão de gráfico.
+ * <p>
+ * As leituras de todos os outputs envolvidos vêm de uma única consulta por
+ * cursor ({@link GraphSeriesJdbcRepository}) direto para vetores primitivos; em
+ * seguida cada série é reduzida com {@link GraphSeriesDownsampler#lttb} para
+ * no máximo um ponto por pixel da largura pedida.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InstrumentGraphSeriesService {
+
+    public static final int DEFAULT_WIDTH = 1000;
+    private static final int MIN_WIDTH = 50;
+    private static final int MAX_WIDTH = 5000;
+
+    private final InstrumentGraphPatternRepository patternRepository;
+    private final GraphSeriesJdbcRepository graphSeriesJdbcRepository;
+
+    @Transactional(readOnly = true)
+    public GraphSeriesDataResponseDTO getSeriesData(Long patternId, LocalDate startDate, LocalDate endDate,
+            Integer width) {
+        validateViewPermission();
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidInputException("Data inicial não pode ser posterior à data final!");
+        }
+
+        int targetWidth = width != null ? width : DEFAULT_WIDTH;
+        if (targetWidth < MIN_WIDTH || targetWidth > MAX_WIDTH) {
+            throw new InvalidInputException("A largura deve estar entre " + MIN_WIDTH + " e " + MAX_WIDTH + " pixels!");
+        }
+
+        InstrumentGraphPatternEntity pattern = patternRepository.findByIdWithAllDetails(patternId)
+                .orElseThrow(() -> new NotFoundException("Padrão de Gráfico não encontrado com ID: " + patternId + "."));
+
+        List<InstrumentGraphCustomizationPropertiesEntity> properties = pattern.getProperties().stream()
+                .sorted(Comparator.comparing(InstrumentGraphCustomizationPropertiesEntity::getId))
+                .toList();
+
+        Map<Long, PointBuffer> buffers = loadPoints(properties, startDate, endDate);
+
+        List<SeriesDTO> series = new ArrayList<>();
+        for (InstrumentGraphCustomizationPropertiesEntity property : properties) {
+            switch (property.getCustomizationType()) {
+                case OUTPUT -> {
+                    if (property.getOutput() != null) {
+                        PointBuffer buffer = buffers.get(property.getOutput().getId());
+                        SeriesDTO dto = baseSeries(property);
+                        dto.setInstrumentId(buffer != null ? buffer.instrumentId : null);
+                        dto.setOutputId(property.getOutput().getId());
+                        dto.setOutputAcronym(property.getOutput().getAcronym());
+                        fillPoints(dto, buffer, targetWidth);
+                        series.add(dto);
+                    }
+                }
+                case INSTRUMENT, LINIMETRIC_RULER -> {
+                    if (property.getInstrument() != null) {
+                        Long instrumentId = property.getInstrument().getId();
+                        for (PointBuffer buffer : buffers.values()) {
+                            if (instrumentId.equals(buffer.instrumentId)) {
+                                SeriesDTO dto = baseSeries(property);
+                                dto.setInstrumentId(instrumentId);
+                                dto.setOutputId(buffer.outputId);
+                                dto.setOutputAcronym(buffer.outputAcronym);
+                                fillPoints(dto, buffer, targetWidth);
+                                series.add(dto);
+                            }
+                        }
+                    }
+                }
+                case CONSTANT -> {
+                    if (property.getConstant() != null) {
+                        SeriesDTO dto = baseSeries(property);
+                        dto.setConstantValue(property.getConstant().getValue());
+                        series.add(dto);
+                    }
+                }
+                case STATISTICAL_LIMIT, DETERMINISTIC_LIMIT -> {
+                    Double value = limitValue(property);
+                    if (value != null) {
+                        SeriesDTO dto = baseSeries(property);
+                        dto.setConstantValue(value);
+                        series.add(dto);
+                    }
+                }
+            }
+        }
+
+        return new GraphSeriesDataResponseDTO(pattern.getId(), pattern.getName(), startDate, endDate,
+                targetWidth, series);
+    }
+
+    private Map<Long, PointBuffer> loadPoints(List<InstrumentGraphCustomizationPropertiesEntity> properties,
+            LocalDate startDate, LocalDate endDate) {
+        Set<Long> outputIds = new HashSet<>();
+        Set<Long> instrumentIds = new HashSet<>();
+        for (InstrumentGraphCustomizationPropertiesEntity property : properties) {
+            CustomizationTypeEnum type = property.getCustomizationType();
+            if (type == CustomizationTypeEnum.OUTPUT && property.getOutput() != null) {
+                outputIds.add(property.getOutput().getId());
+            } else if ((type == CustomizationTypeEnum.INSTRUMENT || type == CustomizationTypeEnum.LINIMETRIC_RULER)
+                    && property.getInstrument() != null) {
+                instrumentIds.add(property.getInstrument().getId());
+            }
+        }
+
+        Map<Long, PointBuffer> buffers = new LinkedHashMap<>();
+        if (outputIds.isEmpty() && instrumentIds.isEmpty()) {
+            return buffers;
+        }
+
+        long start = System.currentTimeMillis();
+        graphSeriesJdbcRepository.streamPoints(outputIds, instrumentIds, startDate, endDate, rs -> {
+            long outputId = rs.getLong("output_id");
+            PointBuffer buffer = buffers.get(outputId);
+            if (buffer == null) {
+                buffer = new PointBuffer(outputId, rs.getLong("instrument_id"), rs.getString("output_acronym"));
+                buffers.put(outputId, buffer);
+            }
+            LocalDateTime dateTime = LocalDateTime.of(rs.getDate("date").toLocalDate(), rs.getTime("hour").toLocalTime());
+            buffer.add(dateTime.toInstant(ZoneOffset.UTC).toEpochMilli(), rs.getDouble("calculated_value"));
+        });
+
+        if (log.isDebugEnabled()) {
+            log.debug("Séries do gráfico carregadas: {} outputs, {} pontos em {}ms", buffers.size(),
+                    buffers.values().stream().mapToInt(b -> b.size).sum(), System.currentTimeMillis() - start);
+        }
+        return buffers;
+    }
+
+    private SeriesDTO baseSeries(InstrumentGraphCustomizationPropertiesEntity property) {
+        SeriesDTO dto = new SeriesDTO();
+        dto.setPropertyId(property.getId());
+        dto.setCustomizationType(property.getCustomizationType());
+        dto.setLimitValueType(property.getLimitValueType());
+        dto.setName(property.getName());
+        dto.setFillColor(property.getFillColor());
+        dto.setLineType(property.getLineType());
+        dto.setIsPrimaryOrdinate(property.getIsPrimaryOrdinate());
+        return dto;
+    }
+
+    private void fillPoints(SeriesDTO dto, PointBuffer buffer, int width) {
+        if (buffer == null) {
+            dto.setTotalPoints(0);
+            dto.setTimestamps(new long[0]);
+            dto.setValues(new double[0]);
+            return;
+        }
+
+        int[] indices = GraphSeriesDownsampler.lttb(buffer.timestamps, buffer.values, buffer.size, width);
+        long[] timestamps = new long[indices.length];
+        double[] values = new double[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            timestamps[i] = buffer.timestamps[indices[i]];
+            values[i] = buffer.values[indices[i]];
+        }
+
+        dto.setTotalPoints(buffer.size);
+        dto.setTimestamps(timestamps);
+        dto.setValues(values);
+    }
+
+    private Double limitValue(InstrumentGraphCustomizationPropertiesEntity property) {
+        if (property.getLimitValueType() == null) {
+            return null;
+        }
+        StatisticalLimitEntity statisticalLimit = property.getStatisticalLimit();
+        DeterministicLimitEntity deterministicLimit = property.getDeterministicLimit();
+        BigDecimal value = switch (property.getLimitValueType()) {
+            case STATISTICAL_LOWER -> statisticalLimit != null ? statisticalLimit.getLowerValue() : null;
+            case STATISTICAL_UPPER -> statisticalLimit != null ? statisticalLimit.getUpperValue() : null;
+            case DETERMINISTIC_ATTENTION -> deterministicLimit != null ? deterministicLimit.getAttentionValue() : null;
+            case DETERMINISTIC_ALERT -> deterministicLimit != null ? deterministicLimit.getAlertValue() : null;
+            case DETERMINISTIC_EMERGENCY -> deterministicLimit != null ? deterministicLimit.getEmergencyValue() : null;
+        };
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private void validateViewPermission() {
+        if (!AuthenticatedUserUtil.isAdmin()) {
+            UserEntity user = AuthenticatedUserUtil.getCurrentUser();
+            if (user == null || user.getInstrumentationPermission() == null || !user.getInstrumentationPermission().getViewRead()) {
+                throw new UnauthorizedException("Usuário não tem permissão para visualizar leituras!");
+            }
+        }
+    }
+
+    /**
+     * Pontos de um output em vetores primitivos que crescem sob demanda.
+     */
+    private static final class PointBuffer {
+
+        private final Long outputId;
+        private final Long instrumentId;
+        private final String outputAcronym;
+        private long[] timestamps = new long[256];
+        private double[] values = new double[256];
+        private int size;
+
+        PointBuffer(Long outputId, Long instrumentId, String outputAcronym) {
+            this.outputId = outputId;
+            this.instrumentId = instrumentId;
+            this.outputAcronym = outputAcronym;
+        }
+
+        void add(long timestamp, double value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.geosegbar.infra.instrument_graph_pattern.web;
 
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,14 +13,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.geosegbar.common.response.WebResponseEntity;
 import com.geosegbar.infra.instrument_graph_pattern.dtos.CreateGraphPatternRequest;
 import com.geosegbar.infra.instrument_graph_pattern.dtos.GraphPatternDetailResponseDTO;
 import com.geosegbar.infra.instrument_graph_pattern.dtos.GraphPatternResponseDTO;
+import com.geosegbar.infra.instrument_graph_pattern.dtos.GraphSeriesDataResponseDTO;
 import com.geosegbar.infra.instrument_graph_pattern.dtos.UpdateNameGraphPatternDTO;
 import com.geosegbar.infra.instrument_graph_pattern.services.InstrumentGraphPatternService;
+import com.geosegbar.infra.instrument_graph_pattern.services.InstrumentGraphSeriesService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +34,7 @@ import lombok.RequiredArgsConstructor;
 public class InstrumentGraphPatternController {
 
     private final InstrumentGraphPatternService patternService;
+    private final InstrumentGraphSeriesService seriesService;
 
     @PostMapping
     public ResponseEntity<WebResponseEntity<GraphPatternResponseDTO>> createPattern(
@@ -86,6 +92,17 @@ public class InstrumentGraphPatternController {
                 WebResponseEntity.success(dto, "Padrão de Gráfico completo obtido com sucesso!"));
     }
 
+    @GetMapping("/{id}/series")
+    public ResponseEntity<WebResponseEntity<GraphSeriesDataResponseDTO>> getSeriesData(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer width) {
+        GraphSeriesDataResponseDTO dto = seriesService.getSeriesData(id, startDate, endDate, width);
+        return ResponseEntity.ok(
+                WebResponseEntity.success(dto, "Séries do Padrão de Gráfico obtidas com sucesso!"));
+    }
+
     @GetMapping("/simple/{id}")
     public ResponseEntity<WebResponseEntity<GraphPatternResponseDTO>> getSimpleById(
             @PathVariable Long id) {
@@ -0,0 +1,58 @@
+package com.geosegbar.infra.instrument_tabulate_pattern.dtos;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.geosegbar.common.enums.TabulateColumnTypeEnum;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página renderizada de um padrão de tabela.
+ * <p>
+ * {@code columns} segue a ordem dos índices configurados no padrão e cada
+ * linha traz {@code cells} na mesma ordem (data, hora, usuário ou valor
+ * calculado do output; {@code null} quando o instrumento não tem leitura na
+ * data/hora da linha). Para a próxima página, repita a chamada com
+ * {@code nextCursorDate}/{@code nextCursorHour}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TabulateRenderResponseDTO {
+
+    private Long patternId;
+    private String patternName;
+    private List<ColumnDTO> columns;
+    private List<RowDTO> rows;
+    private Boolean hasMore;
+    private LocalDate nextCursorDate;
+    private LocalTime nextCursorHour;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ColumnDTO {
+
+        private Integer index;
+        private TabulateColumnTypeEnum type;
+        private Long instrumentId;
+        private String instrumentName;
+        private Long outputId;
+        private String outputAcronym;
+        private String measurementUnitAcronym;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowDTO {
+
+        private LocalDate date;
+        private LocalTime hour;
+        private List<Object> cells;
+    }
+}
@@ -0,0 +1,75 @@
+package com.geosegbar.infra.instrument_tabulate_pattern.persistence.jdbc;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Consulta de renderização de padrões de tabela.
+ * <p>
+ * Uma única instrução seleciona a página de chaves (data, hora) por keyset,
+ * em ordem decrescente, e devolve todas as leituras ativas dos instrumentos do
+ * padrão nessas chaves, já ordenadas por chave. O pivô para colunas é feito por
+ * quem consome, linha a linha.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TabulateRenderJdbcRepository {
+
+    private static final String PAGE_SQL = """
+            WITH page_keys AS (
+                SELECT DISTINCT r.date, r.hour
+                FROM reading r
+                WHERE r.instrument_id = ANY(?)
+                  AND r.active = true
+                  AND (CAST(? AS date) IS NULL OR r.date >= ?)
+                  AND (CAST(? AS date) IS NULL OR r.date <= ?)
+                  AND (CAST(? AS date) IS NULL OR (r.date, r.hour) < (CAST(? AS date), CAST(? AS time)))
+                ORDER BY r.date DESC, r.hour DESC
+                LIMIT ?
+            )
+            SELECT r.date, r.hour, r.instrument_id, r.output_id, r.calculated_value, u.name AS user_name
+            FROM page_keys k
+            JOIN reading r ON r.date = k.date AND r.hour = k.hour
+            LEFT JOIN users u ON u.id = r.user_id
+            WHERE r.instrument_id = ANY(?)
+              AND r.active = true
+            ORDER BY r.date DESC, r.hour DESC, r.instrument_id, r.output_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Colunas: date, hour, instrument_id, output_id, calculated_value,
+     * user_name. O cursor ({@code cursorDate}, {@code cursorHour}) é
+     * exclusivo; ambos nulos começam da leitura mais recente.
+     */
+    public void streamPage(Collection<Long> instrumentIds, LocalDate startDate, LocalDate endDate,
+            LocalDate cursorDate, LocalTime cursorHour, int keyLimit, RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(PAGE_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            Array ids = con.createArrayOf("bigint", instrumentIds.toArray());
+            ps.setArray(1, ids);
+            ps.setObject(2, startDate, Types.DATE);
+            ps.setObject(3, startDate, Types.DATE);
+            ps.setObject(4, endDate, Types.DATE);
+            ps.setObject(5, endDate, Types.DATE);
+            ps.setObject(6, cursorDate, Types.DATE);
+            ps.setObject(7, cursorDate, Types.DATE);
+            ps.setObject(8, cursorHour, Types.TIME);
+            ps.setInt(9, keyLimit);
+            ps.setArray(10, ids);
+            return ps;
+        }, handler);
+    }
+}
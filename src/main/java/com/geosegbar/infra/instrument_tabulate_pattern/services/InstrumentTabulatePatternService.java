@@ -1,5 +1,13 @@
 package com.geosegbar.infra.instrument_tabulate_pattern.services;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +18,8 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.geosegbar.common.enums.TabulateColumnTypeEnum;
+import com.geosegbar.common.utils.AuthenticatedUserUtil;
 import com.geosegbar.common.utils.InstrumentTabulatePatternMapper;
 import com.geosegbar.entities.DamEntity;
 import com.geosegbar.entities.InstrumentEntity;
@@ -18,14 +28,18 @@ import com.geosegbar.entities.InstrumentTabulateOutputAssociationEntity;
 import com.geosegbar.entities.InstrumentTabulatePatternEntity;
 import com.geosegbar.entities.InstrumentTabulatePatternFolder;
 import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.DuplicateResourceException;
 import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.exceptions.UnauthorizedException;
 import com.geosegbar.infra.dam.services.DamService;
 import com.geosegbar.infra.instrument.services.InstrumentService;
 import com.geosegbar.infra.instrument_tabulate_pattern.dtos.CreateTabulatePatternRequestDTO;
 import com.geosegbar.infra.instrument_tabulate_pattern.dtos.TabulatePatternResponseDTO;
+import com.geosegbar.infra.instrument_tabulate_pattern.dtos.TabulateRenderResponseDTO;
 import com.geosegbar.infra.instrument_tabulate_pattern.dtos.UpdateTabulatePatternRequestDTO;
+import com.geosegbar.infra.instrument_tabulate_pattern.persistence.jdbc.TabulateRenderJdbcRepository;
 import com.geosegbar.infra.instrument_tabulate_pattern.persistence.jpa.InstrumentTabulatePatternRepository;
 import com.geosegbar.infra.instrument_tabulate_pattern_folder.services.InstrumentTabulatePatternFolderService;
 import com.geosegbar.infra.output.services.OutputService;
@@ -38,12 +52,16 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class InstrumentTabulatePatternService {
 
+    private static final int DEFAULT_RENDER_PAGE_SIZE = 200;
+    private static final int MAX_RENDER_PAGE_SIZE = 1000;
+
     private final InstrumentTabulatePatternRepository patternRepository;
     private final DamService damService;
     private final InstrumentService instrumentService;
     private final OutputService outputService;
     private final InstrumentTabulatePatternFolderService folderService;
     private final InstrumentTabulatePatternMapper mapper;
+    private final TabulateRenderJdbcRepository tabulateRenderJdbcRepository;
 
     @Transactional
     public TabulatePatternResponseDTO create(CreateTabulatePatternRequestDTO request) {
@@ -174,6 +192,97 @@ public class InstrumentTabulatePatternService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Renderiza uma página do padrão de tabela: uma linha por data/hora com
+     * leitura de algum instrumento associado, da mais recente para a mais
+     * antiga, e as células na ordem dos índices do padrão. A página é montada
+     * por uma única consulta ({@link TabulateRenderJdbcRepository}) e só as
+     * linhas da página ficam em memória.
+     */
+    @Transactional(readOnly = true)
+    public TabulateRenderResponseDTO render(Long patternId, LocalDate startDate, LocalDate endDate,
+            LocalDate cursorDate, LocalTime cursorHour, Integer size) {
+        validateViewPermission();
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new InvalidInputException("Data inicial não pode ser posterior à data final!");
+        }
+        if ((cursorDate == null) != (cursorHour == null)) {
+            throw new InvalidInputException("O cursor deve informar data e hora!");
+        }
+        int pageSize = size != null ? size : DEFAULT_RENDER_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_RENDER_PAGE_SIZE) {
+            throw new InvalidInputException("O tamanho da página deve estar entre 1 e " + MAX_RENDER_PAGE_SIZE + "!");
+        }
+
+        InstrumentTabulatePatternEntity pattern = findEntityByIdWithAllDetails(patternId);
+        List<TabulateRenderResponseDTO.ColumnDTO> columns = buildRenderColumns(pattern);
+
+        Set<Long> instrumentIds = pattern.getAssociations().stream()
+                .map(association -> association.getInstrument().getId())
+                .collect(Collectors.toSet());
+
+        TabulatePivot pivot = new TabulatePivot(columns, pageSize);
+        if (!instrumentIds.isEmpty()) {
+            tabulateRenderJdbcRepository.streamPage(instrumentIds, startDate, endDate, cursorDate, cursorHour,
+                    pageSize + 1, pivot::processRow);
+        }
+        pivot.finish();
+
+        List<TabulateRenderResponseDTO.RowDTO> rows = pivot.rows;
+        TabulateRenderResponseDTO.RowDTO last = pivot.hasMore ? rows.get(rows.size() - 1) : null;
+
+        return new TabulateRenderResponseDTO(
+                pattern.getId(),
+                pattern.getName(),
+                columns,
+                rows,
+                pivot.hasMore,
+                last != null ? last.getDate() : null,
+                last != null ? last.getHour() : null);
+    }
+
+    private List<TabulateRenderResponseDTO.ColumnDTO> buildRenderColumns(InstrumentTabulatePatternEntity pattern) {
+        List<TabulateRenderResponseDTO.ColumnDTO> columns = new ArrayList<>();
+
+        for (InstrumentTabulateAssociationEntity association : pattern.getAssociations()) {
+            InstrumentEntity instrument = association.getInstrument();
+
+            if (Boolean.TRUE.equals(association.getIsDateEnable()) && association.getDateIndex() != null) {
+                columns.add(new TabulateRenderResponseDTO.ColumnDTO(association.getDateIndex(),
+                        TabulateColumnTypeEnum.DATE, instrument.getId(), instrument.getName(), null, null, null));
+            }
+            if (Boolean.TRUE.equals(association.getIsHourEnable()) && association.getHourIndex() != null) {
+                columns.add(new TabulateRenderResponseDTO.ColumnDTO(association.getHourIndex(),
+                        TabulateColumnTypeEnum.HOUR, instrument.getId(), instrument.getName(), null, null, null));
+            }
+            if (Boolean.TRUE.equals(association.getIsUserEnable()) && association.getUserIndex() != null) {
+                columns.add(new TabulateRenderResponseDTO.ColumnDTO(association.getUserIndex(),
+                        TabulateColumnTypeEnum.USER, instrument.getId(), instrument.getName(), null, null, null));
+            }
+            for (InstrumentTabulateOutputAssociationEntity outputAssociation : association.getOutputAssociations()) {
+                OutputEntity output = outputAssociation.getOutput();
+                columns.add(new TabulateRenderResponseDTO.ColumnDTO(outputAssociation.getOutputIndex(),
+                        TabulateColumnTypeEnum.OUTPUT, instrument.getId(), instrument.getName(), output.getId(),
+                        output.getAcronym(),
+                        output.getMeasurementUnit() != null ? output.getMeasurementUnit().getAcronym() : null));
+            }
+        }
+
+        columns.sort(Comparator.comparing(TabulateRenderResponseDTO.ColumnDTO::getIndex)
+                .thenComparing(TabulateRenderResponseDTO.ColumnDTO::getInstrumentId));
+        return columns;
+    }
+
+    private void validateViewPermission() {
+        if (!AuthenticatedUserUtil.isAdmin()) {
+            UserEntity user = AuthenticatedUserUtil.getCurrentUser();
+            if (user == null || user.getInstrumentationPermission() == null || !user.getInstrumentationPermission().getViewRead()) {
+                throw new UnauthorizedException("Usuário não tem permissão para visualizar leituras!");
+            }
+        }
+    }
+
     private static boolean isPatternVisible(InstrumentTabulatePatternEntity pattern) {
         if (pattern.getName() == null || !pattern.getName().startsWith("Padrão Automático - ")) {
             return true;
@@ -502,4 +611,64 @@ public class InstrumentTabulatePatternService {
             }
         }
     }
+
+    /**
+     * Pivô das leituras (ordenadas por data/hora) em linhas da tabela. Acumula
+     * só a data/hora corrente; a consulta traz uma chave a mais que a página
+     * para indicar se há próxima página.
+     */
+    private static final class TabulatePivot {
+
+        private final List<TabulateRenderResponseDTO.ColumnDTO> columns;
+        private final int pageSize;
+        private final List<TabulateRenderResponseDTO.RowDTO> rows = new ArrayList<>();
+        private final Map<Long, String> usersByInstrument = new HashMap<>();
+        private final Map<Long, BigDecimal> valuesByOutput = new HashMap<>();
+        private LocalDate currentDate;
+        private LocalTime currentHour;
+        private boolean hasMore;
+
+        TabulatePivot(List<TabulateRenderResponseDTO.ColumnDTO> columns, int pageSize) {
+            this.columns = columns;
+            this.pageSize = pageSize;
+        }
+
+        void processRow(ResultSet rs) throws SQLException {
+            LocalDate date = rs.getDate("date").toLocalDate();
+            LocalTime hour = rs.getTime("hour").toLocalTime();
+            if (!date.equals(currentDate) || !hour.equals(currentHour)) {
+                finish();
+                currentDate = date;
+                currentHour = hour;
+            }
+            long instrumentId = rs.getLong("instrument_id");
+            usersByInstrument.putIfAbsent(instrumentId, rs.getString("user_name"));
+            valuesByOutput.put(rs.getLong("output_id"), rs.getBigDecimal("calculated_value"));
+        }
+
+        void finish() {
+            if (currentDate == null) {
+                return;
+            }
+            if (rows.size() == pageSize) {
+                hasMore = true;
+            } else {
+                List<Object> cells = new ArrayList<>(columns.size());
+                for (TabulateRenderResponseDTO.ColumnDTO column : columns) {
+                    boolean present = usersByInstrument.containsKey(column.getInstrumentId());
+                    cells.add(switch (column.getType()) {
+                        case DATE -> present ? currentDate : null;
+                        case HOUR -> present ? currentHour : null;
+                        case USER -> present ? usersByInstrument.get(column.getInstrumentId()) : null;
+                        case OUTPUT -> valuesByOutput.get(column.getOutputId());
+                    });
+                }
+                rows.add(new TabulateRenderResponseDTO.RowDTO(currentDate, currentHour, cells));
+            }
+            usersByInstrument.clear();
+            valuesByOutput.clear();
+            currentDate = null;
+            currentHour = null;
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.geosegbar.infra.instrument_tabulate_pattern.web;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.geosegbar.common.response.WebResponseEntity;
 import com.geosegbar.infra.instrument_tabulate_pattern.dtos.CreateTabulatePatternRequestDTO;
 import com.geosegbar.infra.instrument_tabulate_pattern.dtos.TabulatePatternResponseDTO;
+import com.geosegbar.infra.instrument_tabulate_pattern.dtos.TabulateRenderResponseDTO;
 import com.geosegbar.infra.instrument_tabulate_pattern.dtos.UpdateTabulatePatternRequestDTO;
 import com.geosegbar.infra.instrument_tabulate_pattern.services.InstrumentTabulatePatternService;
 
@@ -61,6 +66,19 @@ public class InstrumentTabulatePatternController {
                 WebResponseEntity.success(dto, "Padrão de tabela obtido com sucesso!"));
     }
 
+    @GetMapping("/{id}/render")
+    public ResponseEntity<WebResponseEntity<TabulateRenderResponseDTO>> renderPattern(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursorDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime cursorHour,
+            @RequestParam(required = false) Integer size) {
+        TabulateRenderResponseDTO dto = patternService.render(id, startDate, endDate, cursorDate, cursorHour, size);
+        return ResponseEntity.ok(
+                WebResponseEntity.success(dto, "Tabela renderizada com sucesso!"));
+    }
+
     @GetMapping("/dam/{damId}")
     public ResponseEntity<WebResponseEntity<List<TabulatePatternResponseDTO>>> getPatternsByDam(@PathVariable Long damId) {
         List<TabulatePatternResponseDTO> dto = patternService.findByDamId(damId);
@@ -0,0 +1,51 @@
+package com.geosegbar.infra.limit_reclassification.dtos;
+
+import java.time.LocalDateTime;
+
+import com.geosegbar.common.enums.LimitReclassificationStatus;
+
+/**
+ * Andamento da reclassificação das leituras de um output.
+ *
+ * @param scannedReadings leituras já avaliadas
+ * @param updatedReadings leituras cujo {@code limit_status} mudou
+ */
+public record LimitReclassificationProgressDTO(
+        Long outputId,
+        LimitReclassificationStatus status,
+        long scannedReadings,
+        long updatedReadings,
+        LocalDateTime queuedAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {
+
+    public static LimitReclassificationProgressDTO queued(Long outputId) {
+        return new LimitReclassificationProgressDTO(outputId, LimitReclassificationStatus.QUEUED, 0, 0,
+                LocalDateTime.now(), null, null, null);
+    }
+
+    public LimitReclassificationProgressDTO running() {
+        return new LimitReclassificationProgressDTO(outputId, LimitReclassificationStatus.RUNNING, 0, 0,
+                queuedAt, LocalDateTime.now(), null, null);
+    }
+
+    public LimitReclassificationProgressDTO advanced(long scanned, long updated) {
+        return new LimitReclassificationProgressDTO(outputId, status, scannedReadings + scanned,
+                updatedReadings + updated, queuedAt, startedAt, null, null);
+    }
+
+    public LimitReclassificationProgressDTO completed() {
+        return new LimitReclassificationProgressDTO(outputId, LimitReclassificationStatus.COMPLETED, scannedReadings,
+                updatedReadings, queuedAt, startedAt, LocalDateTime.now(), null);
+    }
+
+    public LimitReclassificationProgressDTO failed(String message) {
+        return new LimitReclassificationProgressDTO(outputId, LimitReclassificationStatus.FAILED, scannedReadings,
+                updatedReadings, queuedAt, startedAt, LocalDateTime.now(), message);
+    }
+
+    public boolean isActive() {
+        return status == LimitReclassificationStatus.QUEUED || status == LimitReclassificationStatus.RUNNING;
+    }
+}
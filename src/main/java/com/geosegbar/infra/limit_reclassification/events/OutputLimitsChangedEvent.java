@@ -0,0 +1,26 @@
+package com.geosegbar.infra.limit_reclassification.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * Publicado quando os limites que classificam as leituras de outputs mudam
+ * (limite estatístico/determinístico criado, editado ou removido, ou
+ * instrumento marcado/desmarcado como "Sem Limites"). Após o commit, as
+ * leituras desses outputs são reclassificadas em segundo plano.
+ */
+@Getter
+public class OutputLimitsChangedEvent {
+
+    private final Set<Long> outputIds;
+
+    public OutputLimitsChangedEvent(Long outputId) {
+        this.outputIds = Set.of(outputId);
+    }
+
+    public OutputLimitsChangedEvent(Collection<Long> outputIds) {
+        this.outputIds = Set.copyOf(outputIds);
+    }
+}
@@ -0,0 +1,26 @@
+package com.geosegbar.infra.limit_reclassification.listeners;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.geosegbar.infra.limit_reclassification.events.OutputLimitsChangedEvent;
+import com.geosegbar.infra.limit_reclassification.services.LimitReclassificationService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class OutputLimitsChangedListener {
+
+    private final LimitReclassificationService reclassificationService;
+
+    /**
+     * Só após o commit: a reclassificação lê os limites novos em outra
+     * transação.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOutputLimitsChanged(OutputLimitsChangedEvent event) {
+        reclassificationService.submit(event.getOutputIds());
+    }
+}
@@ -0,0 +1,104 @@
+package com.geosegbar.infra.limit_reclassification.persistence.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.infra.reading.services.LimitThresholds;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reclassificação set-based de {@code reading.limit_status}: cada chamada
+ * avalia um lote de leituras de um output, em ordem de id (keyset em
+ * {@code idx_reading_output_id}), e grava só as que mudaram de status.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReadingReclassificationJdbcRepository {
+
+    private static final String FIND_THRESHOLDS_SQL = """
+            SELECT i.no_limit,
+                   sl.id AS statistical_id, sl.lower_value, sl.upper_value,
+                   dl.id AS deterministic_id, dl.attention_value, dl.alert_value, dl.emergency_value
+            FROM output o
+            INNER JOIN instrument i ON i.id = o.instrument_id
+            LEFT JOIN statistical_limit sl ON sl.output_id = o.id
+            LEFT JOIN deterministic_limit dl ON dl.output_id = o.id
+            WHERE o.id = ?
+            """;
+
+    /**
+     * A expressão de status é avaliada sobre a linha sendo atualizada (e não
+     * sobre o lote lido no CTE): se uma edição concorrente mudar o valor
+     * calculado, o UPDATE reavalia o status com o valor novo.
+     */
+    private static final String RECLASSIFY_CHUNK_SQL = """
+            WITH chunk AS (
+                SELECT id FROM reading
+                WHERE output_id = ? AND id > ?
+                ORDER BY id
+                LIMIT ?
+            ), changed AS (
+                UPDATE reading r
+                SET limit_status = %1$s
+                FROM chunk c
+                WHERE r.id = c.id
+                  AND r.limit_status IS DISTINCT FROM %1$s
+                RETURNING r.id
+            )
+            SELECT (SELECT max(id) FROM chunk) AS last_id,
+                   (SELECT count(*) FROM chunk) AS scanned,
+                   (SELECT count(*) FROM changed) AS updated
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Resultado de um lote. {@code lastId == null} indica que não havia mais
+     * leituras.
+     */
+    public record ChunkResult(Long lastId, long scanned, long updated) {
+
+    }
+
+    /**
+     * Limites atuais do output, ou vazio se o output não existe mais.
+     */
+    public Optional<LimitThresholds> findThresholds(Long outputId) {
+        return jdbcTemplate.query(FIND_THRESHOLDS_SQL, (rs, rowNum) -> {
+            if (rs.getBoolean("no_limit")) {
+                return LimitThresholds.NONE;
+            }
+            if (rs.getObject("statistical_id") != null) {
+                return LimitThresholds.statistical(rs.getBigDecimal("lower_value"), rs.getBigDecimal("upper_value"));
+            }
+            if (rs.getObject("deterministic_id") != null) {
+                return LimitThresholds.deterministic(rs.getBigDecimal("attention_value"),
+                        rs.getBigDecimal("alert_value"), rs.getBigDecimal("emergency_value"));
+            }
+            return LimitThresholds.NONE;
+        }, outputId).stream().findFirst();
+    }
+
+    public ChunkResult reclassifyChunk(Long outputId, long afterId, int chunkSize, LimitThresholds thresholds) {
+        List<Object> caseArgs = new ArrayList<>();
+        String statusExpression = thresholds.toSqlCase("r.calculated_value", caseArgs);
+
+        List<Object> args = new ArrayList<>(3 + caseArgs.size() * 2);
+        args.add(outputId);
+        args.add(afterId);
+        args.add(chunkSize);
+        args.addAll(caseArgs);
+        args.addAll(caseArgs);
+
+        String sql = RECLASSIFY_CHUNK_SQL.formatted(statusExpression);
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> new ChunkResult(
+                rs.getObject("last_id", Long.class),
+                rs.getLong("scanned"),
+                rs.getLong("updated")), args.toArray());
+    }
+}
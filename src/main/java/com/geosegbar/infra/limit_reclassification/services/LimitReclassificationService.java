@@ -0,0 +1,171 @@
+package com.geosegbar.infra.limit_reclassification.services;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.common.enums.LimitReclassificationStatus;
+import com.geosegbar.infra.limit_reclassification.dtos.LimitReclassificationProgressDTO;
+import com.geosegbar.infra.limit_reclassification.persistence.jdbc.ReadingReclassificationJdbcRepository;
+import com.geosegbar.infra.limit_reclassification.persistence.jdbc.ReadingReclassificationJdbcRepository.ChunkResult;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+import com.geosegbar.infra.reading.services.LimitThresholds;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reclassifica o {@code limit_status} das leituras de um output quando os
+ * limites dele mudam (criação, edição ou exclusão de limite, ou mudança do
+ * "Sem Limites" do instrumento).
+ * <p>
+ * Roda em segundo plano, um output por tarefa, em lotes de
+ * {@code reading.reclassification.chunk-size} leituras percorridas por id —
+ * cada lote em sua própria transação, então as linhas ficam travadas só
+ * durante um UPDATE curto. Só leituras que mudam de status são gravadas. Ao
+ * final, se algo mudou, o snapshot {@code latest_reading} (e com ele o cache
+ * do dashboard) é recalculado.
+ * <p>
+ * Novo pedido para um output já na fila é ignorado; para um output em
+ * execução, a reclassificação é refeita ao terminar, com os limites mais
+ * recentes. O andamento fica em memória neste nó.
+ */
+@Service
+@Slf4j
+public class LimitReclassificationService {
+
+    private final ReadingReclassificationJdbcRepository reclassificationRepository;
+    private final LatestReadingService latestReadingService;
+    private final TransactionTemplate chunkTx;
+    private final Executor executor;
+    private final int chunkSize;
+
+    private final Map<Long, LimitReclassificationProgressDTO> progress = new ConcurrentHashMap<>();
+    private final Set<Long> rerunRequested = ConcurrentHashMap.newKeySet();
+
+    public LimitReclassificationService(ReadingReclassificationJdbcRepository reclassificationRepository,
+            LatestReadingService latestReadingService,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("limitReclassificationExecutor") Executor executor,
+            @Value("${reading.reclassification.chunk-size:5000}") int chunkSize) {
+        this.reclassificationRepository = reclassificationRepository;
+        this.latestReadingService = latestReadingService;
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    public void submit(Collection<Long> outputIds) {
+        if (outputIds == null) {
+            return;
+        }
+        outputIds.forEach(this::submit);
+    }
+
+    public void submit(Long outputId) {
+        boolean[] enqueue = {false};
+        progress.compute(outputId, (id, current) -> {
+            if (current != null && current.isActive()) {
+                if (current.status() == LimitReclassificationStatus.RUNNING) {
+                    rerunRequested.add(id);
+                }
+                return current;
+            }
+            enqueue[0] = true;
+            return LimitReclassificationProgressDTO.queued(id);
+        });
+        if (enqueue[0]) {
+            enqueue(outputId);
+        }
+    }
+
+    public Optional<LimitReclassificationProgressDTO> getProgress(Long outputId) {
+        return Optional.ofNullable(progress.get(outputId));
+    }
+
+    public List<LimitReclassificationProgressDTO> findAll() {
+        return progress.values().stream()
+                .sorted(Comparator.comparing(LimitReclassificationProgressDTO::queuedAt).reversed())
+                .toList();
+    }
+
+    private void enqueue(Long outputId) {
+        try {
+            executor.execute(() -> run(outputId));
+        } catch (RejectedExecutionException e) {
+            log.error("Reclassificação do output {} recusada: fila cheia", outputId);
+            progress.computeIfPresent(outputId, (id, current) -> current.failed("Fila de reclassificação cheia"));
+        }
+    }
+
+    private void run(Long outputId) {
+        progress.computeIfPresent(outputId, (id, current) -> current.running());
+        String error = null;
+        try {
+            long updated = reclassify(outputId);
+            if (updated > 0) {
+                latestReadingService.refreshOutputs(List.of(outputId));
+            }
+        } catch (Exception e) {
+            log.error("Erro ao reclassificar leituras do output {}: {}", outputId, e.getMessage(), e);
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        }
+        finish(outputId, error);
+    }
+
+    /**
+     * Encerra a execução atômica em relação a {@link #submit}: um pedido que
+     * chegou durante a execução volta para a fila em vez de se perder.
+     */
+    private void finish(Long outputId, String error) {
+        boolean[] rerun = {false};
+        progress.computeIfPresent(outputId, (id, current) -> {
+            if (rerunRequested.remove(id)) {
+                rerun[0] = true;
+                return LimitReclassificationProgressDTO.queued(id);
+            }
+            return error == null ? current.completed() : current.failed(error);
+        });
+        if (rerun[0]) {
+            enqueue(outputId);
+        }
+    }
+
+    private long reclassify(Long outputId) {
+        Optional<LimitThresholds> thresholds = reclassificationRepository.findThresholds(outputId);
+        if (thresholds.isEmpty()) {
+            log.info("Output {} não existe mais; reclassificação ignorada", outputId);
+            return 0;
+        }
+
+        long afterId = 0;
+        long totalUpdated = 0;
+        while (true) {
+            long from = afterId;
+            ChunkResult chunk = chunkTx.execute(status
+                    -> reclassificationRepository.reclassifyChunk(outputId, from, chunkSize, thresholds.get()));
+            if (chunk == null || chunk.lastId() == null) {
+                break;
+            }
+            progress.computeIfPresent(outputId, (id, current) -> current.advanced(chunk.scanned(), chunk.updated()));
+            totalUpdated += chunk.updated();
+            afterId = chunk.lastId();
+            if (chunk.scanned() < chunkSize) {
+                break;
+            }
+        }
+        log.info("Output {} reclassificado: {} leituras alteradas", outputId, totalUpdated);
+        return totalUpdated;
+    }
+}
@@ -0,0 +1,52 @@
+package com.geosegbar.infra.limit_reclassification.web;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.geosegbar.common.response.WebResponseEntity;
+import com.geosegbar.common.utils.AuthenticatedUserUtil;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.limit_reclassification.dtos.LimitReclassificationProgressDTO;
+import com.geosegbar.infra.limit_reclassification.services.LimitReclassificationService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Andamento da reclassificação de leituras após mudança de limites e disparo
+ * manual (admin) para um output.
+ */
+@RestController
+@RequestMapping("/limit-reclassification")
+@RequiredArgsConstructor
+public class LimitReclassificationController {
+
+    private final LimitReclassificationService reclassificationService;
+
+    @GetMapping
+    public ResponseEntity<WebResponseEntity<List<LimitReclassificationProgressDTO>>> findAll() {
+        return ResponseEntity.ok(WebResponseEntity.success(reclassificationService.findAll(),
+                "Reclassificações obtidas com sucesso!"));
+    }
+
+    @GetMapping("/outputs/{outputId}")
+    public ResponseEntity<WebResponseEntity<LimitReclassificationProgressDTO>> getProgress(@PathVariable Long outputId) {
+        LimitReclassificationProgressDTO progress = reclassificationService.getProgress(outputId)
+                .orElseThrow(() -> new NotFoundException("Nenhuma reclassificação registrada para o output " + outputId + "!"));
+        return ResponseEntity.ok(WebResponseEntity.success(progress, "Reclassificação obtida com sucesso!"));
+    }
+
+    @PostMapping("/outputs/{outputId}")
+    public ResponseEntity<WebResponseEntity<LimitReclassificationProgressDTO>> reclassify(@PathVariable Long outputId) {
+        AuthenticatedUserUtil.checkAdminPermission();
+        reclassificationService.submit(outputId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(WebResponseEntity.success(
+                reclassificationService.getProgress(outputId).orElse(null), "Reclassificação agendada!"));
+    }
+}
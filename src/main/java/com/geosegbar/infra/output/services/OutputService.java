@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.geosegbar.entities.OutputEntity;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.output.persistence.jpa.OutputRepository;
+import com.geosegbar.infra.reading.services.LatestReadingService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OutputService {
 
     private final OutputRepository outputRepository;
+    private final LatestReadingService latestReadingService;
 
     @Transactional(readOnly = true)
     public List<OutputEntity> findByInstrumentId(Long instrumentId) {
@@ -37,6 +39,7 @@ public class OutputService {
         log.info("Deletando output {}.", id);
 
         outputRepository.delete(output);
+        latestReadingService.removeOutput(id);
 
         return output;
     }
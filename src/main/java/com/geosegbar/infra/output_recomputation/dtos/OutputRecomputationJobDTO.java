@@ -0,0 +1,54 @@
+package com.geosegbar.infra.output_recomputation.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+import com.geosegbar.entities.OutputRecomputationJobEntity;
+
+/**
+ * Estado de um job de recálculo. Em dry-run, os contadores descrevem o que
+ * seria alterado.
+ */
+public record OutputRecomputationJobDTO(
+        Long id,
+        Long instrumentId,
+        String instrumentName,
+        boolean dryRun,
+        OutputRecomputationStatus status,
+        LocalDate checkpointDate,
+        LocalTime checkpointHour,
+        long processedGroups,
+        long scannedReadings,
+        long changedReadings,
+        long statusChangedReadings,
+        long failedReadings,
+        BigDecimal maxAbsoluteDelta,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt) {
+
+    public static OutputRecomputationJobDTO from(OutputRecomputationJobEntity job) {
+        return new OutputRecomputationJobDTO(
+                job.getId(),
+                job.getInstrumentId(),
+                job.getInstrumentName(),
+                Boolean.TRUE.equals(job.getDryRun()),
+                job.getStatus(),
+                job.getCheckpointDate(),
+                job.getCheckpointHour(),
+                job.getProcessedGroups(),
+                job.getScannedReadings(),
+                job.getChangedReadings(),
+                job.getStatusChangedReadings(),
+                job.getFailedReadings(),
+                job.getMaxAbsoluteDelta(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getCompletedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.geosegbar.infra.output_recomputation.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publicado ao enfileirar (ou retomar) um job de recálculo. Após o commit, o
+ * scheduler local tenta reivindicá-lo na hora em vez de esperar o próximo
+ * ciclo de polling.
+ */
+@Getter
+@RequiredArgsConstructor
+public class OutputRecomputationJobEnqueuedEvent {
+
+    private final Long jobId;
+}
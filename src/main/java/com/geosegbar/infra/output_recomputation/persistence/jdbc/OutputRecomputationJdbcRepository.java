@@ -0,0 +1,265 @@
+package com.geosegbar.infra.output_recomputation.persistence.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+import com.geosegbar.common.utils.QueueClaimLock;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Acesso JDBC do recálculo de outputs: fila ({@code FOR UPDATE SKIP LOCKED} +
+ * lease, como a dos jobs históricos), leitura do histórico em lotes de grupos
+ * e gravação em batch.
+ * <p>
+ * Deve ser chamado dentro de uma transação já aberta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutputRecomputationJdbcRepository {
+
+    /**
+     * Reivindica o job mais antigo na fila ou com lease vencido (worker caiu),
+     * sem pegar instrumento que já tenha job em processamento por outro worker.
+     * O {@code NOT EXISTS} só é confiável com os claims serializados pelo
+     * {@link QueueClaimLock}.
+     */
+    private static final String CLAIM_SQL = """
+            UPDATE output_recomputation_job j
+            SET status = 'PROCESSING',
+                lease_owner = ?,
+                lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second',
+                started_at = COALESCE(j.started_at, LOCALTIMESTAMP)
+            WHERE j.id = (
+                SELECT c.id FROM output_recomputation_job c
+                WHERE (c.status = 'QUEUED'
+                       OR (c.status = 'PROCESSING' AND c.lease_expires_at < LOCALTIMESTAMP))
+                  AND NOT EXISTS (
+                      SELECT 1 FROM output_recomputation_job p
+                      WHERE p.instrument_id = c.instrument_id
+                        AND p.id <> c.id
+                        AND p.status = 'PROCESSING'
+                        AND p.lease_expires_at >= LOCALTIMESTAMP
+                  )
+                ORDER BY c.created_at, c.id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING j.id
+            """;
+
+    /**
+     * Grava o checkpoint e os contadores do lote e renova o lease. Não altera
+     * nada se o job foi cancelado ou reivindicado por outro worker.
+     */
+    private static final String CHECKPOINT_SQL = """
+            UPDATE output_recomputation_job
+            SET checkpoint_date = ?,
+                checkpoint_hour = ?,
+                processed_groups = processed_groups + ?,
+                scanned_readings = scanned_readings + ?,
+                changed_readings = changed_readings + ?,
+                status_changed_readings = status_changed_readings + ?,
+                failed_readings = failed_readings + ?,
+                max_absolute_delta = GREATEST(COALESCE(max_absolute_delta, 0), ?),
+                lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second'
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'PROCESSING'
+            """;
+
+    private static final String FINISH_SQL = """
+            UPDATE output_recomputation_job
+            SET status = ?,
+                error_message = ?,
+                completed_at = LOCALTIMESTAMP,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'PROCESSING'
+            """;
+
+    private static final String CANCEL_SQL = """
+            UPDATE output_recomputation_job
+            SET status = 'CANCELLED',
+                completed_at = LOCALTIMESTAMP,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+              AND status IN ('QUEUED', 'PROCESSING')
+            """;
+
+    private static final String GROUP_BATCH_SQL = """
+            WITH groups AS (
+                SELECT DISTINCT date, hour
+                FROM reading
+                WHERE instrument_id = ?
+                  %s
+                ORDER BY date, hour
+                LIMIT ?
+            )
+            SELECT r.id, r.date, r.hour, r.output_id, r.calculated_value, r.limit_status,
+                   v.input_acronym, v.value
+            FROM groups g
+            INNER JOIN reading r ON r.instrument_id = ? AND r.date = g.date AND r.hour = g.hour
+            LEFT JOIN reading_input_value v ON v.reading_id = r.id
+            ORDER BY r.date, r.hour, r.id
+            """;
+
+    private static final String AFTER_CHECKPOINT = "AND (date, hour) > (?, ?)";
+
+    /**
+     * Só grava se o valor ainda é o que foi lido: uma edição concorrente da
+     * leitura (que já calcula com a equação atual) prevalece.
+     */
+    private static final String UPDATE_READING_SQL = """
+            UPDATE reading
+            SET calculated_value = ?, limit_status = ?
+            WHERE id = ?
+              AND calculated_value IS NOT DISTINCT FROM ?
+            """;
+
+    private static final String QUEUE_NAME = "output_recomputation_job";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Leitura gravada de um grupo.
+     */
+    public record StoredReading(Long id, Long outputId, BigDecimal calculatedValue, LimitStatusEnum limitStatus) {
+
+    }
+
+    /**
+     * Grupo de leitura (mesma data/hora): uma leitura por output, todas com os
+     * mesmos valores de input.
+     */
+    public record ReadingGroup(LocalDate date, LocalTime hour, Map<String, BigDecimal> inputValues,
+            List<StoredReading> readings) {
+
+    }
+
+    /**
+     * Novo valor de uma leitura; {@code previousValue} é o valor lido, usado
+     * como guarda contra edição concorrente.
+     */
+    public record ReadingUpdate(Long id, BigDecimal previousValue, BigDecimal calculatedValue,
+            LimitStatusEnum limitStatus) {
+
+    }
+
+    /**
+     * Contadores de um lote, somados aos do job no checkpoint.
+     */
+    public record BatchCounters(long groups, long scanned, long changed, long statusChanged, long failed,
+            BigDecimal maxAbsoluteDelta) {
+
+    }
+
+    public Optional<Long> claim(String owner, Duration leaseTtl) {
+        QueueClaimLock.acquire(jdbcTemplate, QUEUE_NAME);
+        return jdbcTemplate.queryForList(CLAIM_SQL, Long.class, owner, leaseTtl.toSeconds()).stream().findFirst();
+    }
+
+    /**
+     * @return {@code false} se o job não pertence mais a {@code owner} ou não
+     * está em PROCESSING (cancelado) — o lote deve ser desfeito
+     */
+    public boolean checkpoint(Long jobId, String owner, Duration leaseTtl, LocalDate date, LocalTime hour,
+            BatchCounters counters) {
+        return jdbcTemplate.update(CHECKPOINT_SQL,
+                Date.valueOf(date), Time.valueOf(hour),
+                counters.groups(), counters.scanned(), counters.changed(), counters.statusChanged(),
+                counters.failed(), counters.maxAbsoluteDelta(),
+                leaseTtl.toSeconds(), jobId, owner) == 1;
+    }
+
+    public boolean finish(Long jobId, String owner, OutputRecomputationStatus status, String errorMessage) {
+        return jdbcTemplate.update(FINISH_SQL, status.name(), errorMessage, jobId, owner) == 1;
+    }
+
+    /**
+     * @return {@code false} se o job não existe ou já terminou
+     */
+    public boolean cancel(Long jobId) {
+        return jdbcTemplate.update(CANCEL_SQL, jobId) == 1;
+    }
+
+    /**
+     * Próximos {@code limit} grupos do instrumento após o checkpoint (ou desde
+     * o início, se nulo), em ordem de data/hora. Inclui leituras inativas.
+     */
+    public List<ReadingGroup> findGroupBatch(Long instrumentId, LocalDate afterDate, LocalTime afterHour, int limit) {
+        List<Object> args = new ArrayList<>(5);
+        args.add(instrumentId);
+        boolean resuming = afterDate != null && afterHour != null;
+        if (resuming) {
+            args.add(Date.valueOf(afterDate));
+            args.add(Time.valueOf(afterHour));
+        }
+        args.add(limit);
+        args.add(instrumentId);
+
+        Map<String, ReadingGroup> groups = new LinkedHashMap<>();
+        Set<Long> seenReadings = new HashSet<>();
+        jdbcTemplate.query(GROUP_BATCH_SQL.formatted(resuming ? AFTER_CHECKPOINT : ""), rs -> {
+            LocalDate date = rs.getDate("date").toLocalDate();
+            LocalTime hour = rs.getTime("hour").toLocalTime();
+            ReadingGroup group = groups.computeIfAbsent(date + "T" + hour,
+                    key -> new ReadingGroup(date, hour, new LinkedHashMap<>(), new ArrayList<>()));
+
+            long readingId = rs.getLong("id");
+            if (seenReadings.add(readingId)) {
+                String status = rs.getString("limit_status");
+                group.readings().add(new StoredReading(readingId, rs.getLong("output_id"),
+                        rs.getBigDecimal("calculated_value"),
+                        status != null ? LimitStatusEnum.valueOf(status) : null));
+            }
+            String acronym = rs.getString("input_acronym");
+            if (acronym != null) {
+                group.inputValues().putIfAbsent(acronym, rs.getBigDecimal("value"));
+            }
+        }, args.toArray());
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * @return quantidade de leituras efetivamente gravadas (as editadas em
+     * paralelo ficam de fora)
+     */
+    public int updateReadings(List<ReadingUpdate> updates) {
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_READING_SQL, updates, 500, (ps, update) -> {
+            ps.setBigDecimal(1, update.calculatedValue());
+            ps.setString(2, update.limitStatus().name());
+            ps.setLong(3, update.id());
+            ps.setBigDecimal(4, update.previousValue());
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,18 @@
+package com.geosegbar.infra.output_recomputation.persistence.jpa;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+import com.geosegbar.entities.OutputRecomputationJobEntity;
+
+@Repository
+public interface OutputRecomputationJobRepository extends JpaRepository<OutputRecomputationJobEntity, Long> {
+
+    boolean existsByInstrumentIdAndStatusIn(Long instrumentId, Collection<OutputRecomputationStatus> statuses);
+
+    List<OutputRecomputationJobEntity> findByInstrumentIdOrderByCreatedAtDesc(Long instrumentId);
+}
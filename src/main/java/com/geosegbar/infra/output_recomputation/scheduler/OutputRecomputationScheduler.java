@@ -0,0 +1,99 @@
+package com.geosegbar.infra.output_recomputation.scheduler;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.geosegbar.infra.output_recomputation.events.OutputRecomputationJobEnqueuedEvent;
+import com.geosegbar.infra.output_recomputation.services.OutputRecomputationJobService;
+import com.geosegbar.infra.output_recomputation.services.OutputRecomputationProcessor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drena a fila de recálculos de outputs deste worker. A cada ciclo reivindica
+ * jobs na fila ou com lease vencido (worker anterior caiu) até a capacidade
+ * local; um job recém-enfileirado é reivindicado logo após o commit.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(
+        name = "output-recomputation.scheduler.enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class OutputRecomputationScheduler {
+
+    private final OutputRecomputationJobService jobService;
+    private final OutputRecomputationProcessor processor;
+    private final Executor executor;
+    private final int maxConcurrentJobs;
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    public OutputRecomputationScheduler(OutputRecomputationJobService jobService,
+            OutputRecomputationProcessor processor,
+            @Qualifier("outputRecomputationExecutor") Executor executor,
+            @Value("${output-recomputation.max-concurrent-jobs:1}") int maxConcurrentJobs) {
+        this.jobService = jobService;
+        this.processor = processor;
+        this.executor = executor;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+    }
+
+    @Scheduled(fixedDelayString = "${output-recomputation.poll-interval-ms:30000}", initialDelay = 60000)
+    public void processQueue() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Erro no scheduler de recálculo de outputs: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobEnqueued(OutputRecomputationJobEnqueuedEvent event) {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Erro ao despachar recálculo {} recém-enfileirado: {}", event.getJobId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sincronizado para que o ciclo agendado e o disparo pós-enfileiramento
+     * não excedam a capacidade juntos.
+     */
+    private synchronized void dispatch() {
+        while (runningJobs.get() < maxConcurrentJobs) {
+            Optional<Long> claimed = jobService.claimJob();
+            if (claimed.isEmpty()) {
+                return;
+            }
+            Long jobId = claimed.get();
+            runningJobs.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        processor.process(jobId);
+                    } finally {
+                        runningJobs.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Fica em PROCESSING até o lease vencer e volta a ser reivindicado.
+                runningJobs.decrementAndGet();
+                log.warn("Recálculo {} recusado pelo executor; será retomado quando o lease vencer", jobId);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.geosegbar.infra.output_recomputation.services;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+import com.geosegbar.common.utils.AuthenticatedUserUtil;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.OutputRecomputationJobEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.BusinessRuleException;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.exceptions.UnauthorizedException;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.output_recomputation.events.OutputRecomputationJobEnqueuedEvent;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository;
+import com.geosegbar.infra.output_recomputation.persistence.jpa.OutputRecomputationJobRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ciclo de vida dos jobs de recálculo de outputs. A fila é a própria tabela
+ * {@code output_recomputation_job}: cada instância da API se identifica por
+ * {@link #getWorkerId()} e só processa os jobs cujo lease detém.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutputRecomputationJobService {
+
+    private static final List<OutputRecomputationStatus> ACTIVE_STATUSES = List.of(
+            OutputRecomputationStatus.QUEUED, OutputRecomputationStatus.PROCESSING);
+
+    private final OutputRecomputationJobRepository jobRepository;
+    private final OutputRecomputationJdbcRepository recomputationRepository;
+    private final InstrumentRepository instrumentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName()
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Value("${output-recomputation.lease-ttl:PT5M}")
+    private Duration leaseTtl;
+
+    @Transactional
+    public OutputRecomputationJobEntity enqueue(Long instrumentId, boolean dryRun) {
+        UserEntity user = validateEditPermission();
+
+        InstrumentEntity instrument = instrumentRepository.findById(instrumentId)
+                .orElseThrow(() -> new NotFoundException("Instrumento não encontrado com ID: " + instrumentId));
+
+        if (jobRepository.existsByInstrumentIdAndStatusIn(instrumentId, ACTIVE_STATUSES)) {
+            throw new BusinessRuleException("Já existe um recálculo em andamento para o instrumento " + instrument.getName() + ".");
+        }
+
+        OutputRecomputationJobEntity job = new OutputRecomputationJobEntity();
+        job.setInstrumentId(instrumentId);
+        job.setInstrumentName(instrument.getName());
+        job.setDryRun(dryRun);
+        job.setRequestedBy(user.getId());
+        job = jobRepository.save(job);
+
+        log.info("Recálculo de outputs enfileirado: job={}, instrumento={}, dryRun={}", job.getId(), instrument.getName(), dryRun);
+        eventPublisher.publishEvent(new OutputRecomputationJobEnqueuedEvent(job.getId()));
+        return job;
+    }
+
+    /**
+     * Devolve à fila um job que falhou ou foi cancelado; ele continua do
+     * checkpoint.
+     */
+    @Transactional
+    public OutputRecomputationJobEntity resume(Long jobId) {
+        validateEditPermission();
+        OutputRecomputationJobEntity job = findById(jobId);
+
+        if (job.getStatus() != OutputRecomputationStatus.FAILED && job.getStatus() != OutputRecomputationStatus.CANCELLED) {
+            throw new BusinessRuleException("Apenas recálculos com falha ou cancelados podem ser retomados.");
+        }
+        if (jobRepository.existsByInstrumentIdAndStatusIn(job.getInstrumentId(), ACTIVE_STATUSES)) {
+            throw new BusinessRuleException("Já existe um recálculo em andamento para o instrumento " + job.getInstrumentName() + ".");
+        }
+
+        job.setStatus(OutputRecomputationStatus.QUEUED);
+        job.setErrorMessage(null);
+        job.setCompletedAt(null);
+        job = jobRepository.save(job);
+
+        eventPublisher.publishEvent(new OutputRecomputationJobEnqueuedEvent(job.getId()));
+        return job;
+    }
+
+    /**
+     * Cancela o job. Em processamento, o worker para ao tentar gravar o
+     * próximo checkpoint e desfaz o lote em andamento. Feito por UPDATE
+     * direto: salvar a entidade sobrescreveria os contadores que o worker
+     * grava em paralelo.
+     */
+    @Transactional
+    public OutputRecomputationJobEntity cancel(Long jobId) {
+        validateEditPermission();
+        if (!recomputationRepository.cancel(jobId)) {
+            findById(jobId);
+            throw new BusinessRuleException("O recálculo já foi finalizado.");
+        }
+        log.info("Recálculo {} cancelado", jobId);
+        return findById(jobId);
+    }
+
+    @Transactional(readOnly = true)
+    public OutputRecomputationJobEntity findById(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Recálculo não encontrado com ID: " + jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutputRecomputationJobEntity> findByInstrumentId(Long instrumentId) {
+        return jobRepository.findByInstrumentIdOrderByCreatedAtDesc(instrumentId);
+    }
+
+    /**
+     * Reivindica um job para este worker, já em PROCESSING e com lease.
+     * Transação própria: também é chamado por listeners AFTER_COMMIT.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<Long> claimJob() {
+        Optional<Long> claimed = recomputationRepository.claim(workerId, leaseTtl);
+        claimed.ifPresent(jobId -> log.info("Worker {} reivindicou o recálculo {}", workerId, jobId));
+        return claimed;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    private UserEntity validateEditPermission() {
+        UserEntity user = AuthenticatedUserUtil.getCurrentUser();
+        if (!AuthenticatedUserUtil.isAdmin()
+                && !Boolean.TRUE.equals(user.getInstrumentationPermission().getEditInstruments())) {
+            throw new UnauthorizedException("Usuário não tem permissão para recalcular leituras de instrumentos!");
+        }
+        return user;
+    }
+}
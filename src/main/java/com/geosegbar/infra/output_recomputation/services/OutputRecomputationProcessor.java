@@ -0,0 +1,246 @@
+package com.geosegbar.infra.output_recomputation.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+import com.geosegbar.entities.ConstantEntity;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.entities.OutputRecomputationJobEntity;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.BatchCounters;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.ReadingGroup;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.ReadingUpdate;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.StoredReading;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+import com.geosegbar.infra.reading.services.LimitThresholds;
+import com.geosegbar.infra.reading.services.OutputCalculationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executa um job de recálculo de outputs já reivindicado por este worker.
+ * <p>
+ * As equações e constantes atuais do instrumento são carregadas uma vez. O
+ * histórico é lido em lotes de {@code output-recomputation.groups-per-batch}
+ * grupos (data/hora) a partir do checkpoint; cada output é avaliado sobre o
+ * lote inteiro de uma vez ({@link OutputCalculationService#calculateOutputBatch})
+ * e só as leituras cujo valor ou status mudou são gravadas, em batch JDBC. O
+ * lote, os contadores e o novo checkpoint são gravados na mesma transação.
+ */
+@Service
+@Slf4j
+public class OutputRecomputationProcessor {
+
+    private final OutputRecomputationJobService jobService;
+    private final OutputRecomputationJdbcRepository recomputationRepository;
+    private final InstrumentRepository instrumentRepository;
+    private final OutputCalculationService outputCalculationService;
+    private final LatestReadingService latestReadingService;
+    private final TransactionTemplate tx;
+    private final int groupsPerBatch;
+
+    public OutputRecomputationProcessor(OutputRecomputationJobService jobService,
+            OutputRecomputationJdbcRepository recomputationRepository,
+            InstrumentRepository instrumentRepository,
+            OutputCalculationService outputCalculationService,
+            LatestReadingService latestReadingService,
+            PlatformTransactionManager transactionManager,
+            @Value("${output-recomputation.groups-per-batch:500}") int groupsPerBatch) {
+        this.jobService = jobService;
+        this.recomputationRepository = recomputationRepository;
+        this.instrumentRepository = instrumentRepository;
+        this.outputCalculationService = outputCalculationService;
+        this.latestReadingService = latestReadingService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.groupsPerBatch = Math.max(groupsPerBatch, 1);
+    }
+
+    /**
+     * Equações em vigor de um output ativo.
+     */
+    private record OutputFormula(OutputEntity output, LimitThresholds thresholds) {
+
+    }
+
+    private record Plan(Long instrumentId, Map<String, Double> constants, Map<Long, OutputFormula> outputs) {
+
+    }
+
+    /**
+     * Último grupo gravado pelo lote; {@code null} quando não havia mais
+     * grupos.
+     */
+    private record Checkpoint(LocalDate date, LocalTime hour) {
+
+    }
+
+    /**
+     * Job cancelado ou lease perdido: desfaz o lote corrente e para.
+     */
+    private static final class JobInterruptedException extends RuntimeException {
+
+        private JobInterruptedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    public void process(Long jobId) {
+        String owner = jobService.getWorkerId();
+        try {
+            OutputRecomputationJobEntity job = jobService.findById(jobId);
+            boolean dryRun = Boolean.TRUE.equals(job.getDryRun());
+            Plan plan = tx.execute(status -> loadPlan(job.getInstrumentId()));
+
+            log.info("Recálculo {} iniciado: instrumento {}, {} output(s), dryRun={}, checkpoint={} {}",
+                    jobId, job.getInstrumentId(), plan.outputs().size(), dryRun, job.getCheckpointDate(), job.getCheckpointHour());
+
+            Checkpoint checkpoint = new Checkpoint(job.getCheckpointDate(), job.getCheckpointHour());
+            while (true) {
+                Checkpoint from = checkpoint;
+                checkpoint = tx.execute(status -> processBatch(jobId, owner, plan, from, dryRun));
+                if (checkpoint == null) {
+                    break;
+                }
+            }
+
+            if (!dryRun) {
+                latestReadingService.refreshOutputs(plan.outputs().keySet());
+            }
+            tx.executeWithoutResult(status
+                    -> recomputationRepository.finish(jobId, owner, OutputRecomputationStatus.COMPLETED, null));
+            log.info("Recálculo {} concluído", jobId);
+        } catch (JobInterruptedException e) {
+            log.info("Recálculo {} interrompido: cancelado ou reivindicado por outro worker", jobId);
+        } catch (Exception e) {
+            log.error("Erro no recálculo {}: {}", jobId, e.getMessage(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            tx.executeWithoutResult(status -> recomputationRepository.finish(jobId, owner,
+                    OutputRecomputationStatus.FAILED, message.length() > 2000 ? message.substring(0, 2000) : message));
+        }
+    }
+
+    private Plan loadPlan(Long instrumentId) {
+        InstrumentEntity instrument = instrumentRepository.findWithActiveOutputsByIdIn(List.of(instrumentId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Instrumento não encontrado com ID: " + instrumentId));
+
+        Map<String, Double> constants = new HashMap<>();
+        for (ConstantEntity constant : instrument.getConstants()) {
+            constants.put(constant.getAcronym(), constant.getValue());
+        }
+        Map<Long, OutputFormula> outputs = new LinkedHashMap<>();
+        for (OutputEntity output : instrument.getOutputs()) {
+            if (Boolean.TRUE.equals(output.getActive())) {
+                outputs.put(output.getId(), new OutputFormula(output, LimitThresholds.of(instrument, output)));
+            }
+        }
+        return new Plan(instrumentId, constants, outputs);
+    }
+
+    private Checkpoint processBatch(Long jobId, String owner, Plan plan, Checkpoint from, boolean dryRun) {
+        List<ReadingGroup> groups = recomputationRepository.findGroupBatch(
+                plan.instrumentId(), from.date(), from.hour(), groupsPerBatch);
+        if (groups.isEmpty()) {
+            return null;
+        }
+
+        int rows = groups.size();
+        Map<Long, BigDecimal[]> results = evaluate(plan, groups, rows);
+
+        List<ReadingUpdate> updates = new ArrayList<>();
+        long scanned = 0;
+        long statusChanged = 0;
+        long failed = 0;
+        BigDecimal maxDelta = BigDecimal.ZERO;
+
+        for (int row = 0; row < rows; row++) {
+            for (StoredReading reading : groups.get(row).readings()) {
+                OutputFormula formula = plan.outputs().get(reading.outputId());
+                if (formula == null) {
+                    continue;
+                }
+                scanned++;
+                BigDecimal newValue = results.get(reading.outputId())[row];
+                if (newValue == null) {
+                    failed++;
+                    continue;
+                }
+                LimitStatusEnum newStatus = formula.thresholds().classify(newValue);
+                BigDecimal oldValue = reading.calculatedValue();
+                boolean valueChanged = oldValue == null || oldValue.compareTo(newValue) != 0;
+                boolean statusDiffers = newStatus != reading.limitStatus();
+                if (!valueChanged && !statusDiffers) {
+                    continue;
+                }
+                updates.add(new ReadingUpdate(reading.id(), oldValue, newValue, newStatus));
+                if (statusDiffers) {
+                    statusChanged++;
+                }
+                if (oldValue != null) {
+                    maxDelta = maxDelta.max(newValue.subtract(oldValue).abs());
+                }
+            }
+        }
+
+        long changed = dryRun ? updates.size() : recomputationRepository.updateReadings(updates);
+
+        ReadingGroup last = groups.get(rows - 1);
+        BatchCounters counters = new BatchCounters(rows, scanned, changed, statusChanged, failed, maxDelta);
+        if (!recomputationRepository.checkpoint(jobId, owner, jobService.getLeaseTtl(), last.date(), last.hour(), counters)) {
+            throw new JobInterruptedException();
+        }
+        return new Checkpoint(last.date(), last.hour());
+    }
+
+    /**
+     * Monta uma coluna por variável (inputs do lote e constantes, com
+     * {@code NaN} onde o grupo não tem o input) e avalia cada output sobre
+     * todas as linhas.
+     */
+    private Map<Long, BigDecimal[]> evaluate(Plan plan, List<ReadingGroup> groups, int rows) {
+        Map<String, double[]> columns = new HashMap<>();
+        for (int row = 0; row < rows; row++) {
+            for (Map.Entry<String, BigDecimal> input : groups.get(row).inputValues().entrySet()) {
+                if (input.getValue() == null) {
+                    continue;
+                }
+                columns.computeIfAbsent(input.getKey(), key -> nanColumn(rows))[row] = input.getValue().doubleValue();
+            }
+        }
+        for (Map.Entry<String, Double> constant : plan.constants().entrySet()) {
+            double[] column = new double[rows];
+            Arrays.fill(column, constant.getValue() != null ? constant.getValue() : Double.NaN);
+            columns.put(constant.getKey(), column);
+        }
+
+        Map<Long, BigDecimal[]> results = new HashMap<>();
+        for (OutputFormula formula : plan.outputs().values()) {
+            results.put(formula.output().getId(),
+                    outputCalculationService.calculateOutputBatch(formula.output(), columns, rows));
+        }
+        return results;
+    }
+
+    private static double[] nanColumn(int rows) {
+        double[] column = new double[rows];
+        Arrays.fill(column, Double.NaN);
+        return column;
+    }
+}
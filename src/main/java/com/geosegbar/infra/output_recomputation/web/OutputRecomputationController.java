@@ -0,0 +1,65 @@
+package com.geosegbar.infra.output_recomputation.web;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.geosegbar.common.response.WebResponseEntity;
+import com.geosegbar.infra.output_recomputation.dtos.OutputRecomputationJobDTO;
+import com.geosegbar.infra.output_recomputation.services.OutputRecomputationJobService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Recálculo do histórico de leituras de um instrumento com as equações e
+ * constantes atuais. {@code dryRun=true} só contabiliza o que mudaria.
+ */
+@RestController
+@RequestMapping("/output-recomputation")
+@RequiredArgsConstructor
+public class OutputRecomputationController {
+
+    private final OutputRecomputationJobService jobService;
+
+    @PostMapping("/instruments/{instrumentId}")
+    public ResponseEntity<WebResponseEntity<OutputRecomputationJobDTO>> enqueue(
+            @PathVariable Long instrumentId,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        OutputRecomputationJobDTO job = OutputRecomputationJobDTO.from(jobService.enqueue(instrumentId, dryRun));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(WebResponseEntity.success(job, "Recálculo enfileirado com sucesso!"));
+    }
+
+    @GetMapping("/instruments/{instrumentId}")
+    public ResponseEntity<WebResponseEntity<List<OutputRecomputationJobDTO>>> findByInstrument(@PathVariable Long instrumentId) {
+        List<OutputRecomputationJobDTO> jobs = jobService.findByInstrumentId(instrumentId).stream()
+                .map(OutputRecomputationJobDTO::from)
+                .toList();
+        return ResponseEntity.ok(WebResponseEntity.success(jobs, "Recálculos obtidos com sucesso!"));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<WebResponseEntity<OutputRecomputationJobDTO>> findById(@PathVariable Long jobId) {
+        return ResponseEntity.ok(WebResponseEntity.success(
+                OutputRecomputationJobDTO.from(jobService.findById(jobId)), "Recálculo obtido com sucesso!"));
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<WebResponseEntity<OutputRecomputationJobDTO>> resume(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(WebResponseEntity.success(
+                OutputRecomputationJobDTO.from(jobService.resume(jobId)), "Recálculo retomado com sucesso!"));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<WebResponseEntity<OutputRecomputationJobDTO>> cancel(@PathVariable Long jobId) {
+        return ResponseEntity.ok(WebResponseEntity.success(
+                OutputRecomputationJobDTO.from(jobService.cancel(jobId)), "Recálculo cancelado com sucesso!"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.geosegbar.infra.permissions.access_index.persistence;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.common.enums.PermissionFlag;
+import com.geosegbar.common.enums.RoleEnum;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Leituras usadas para montar o índice de acesso de um usuário: role, flags
+ * das quatro permissões, clientes associados e permissões de barragem.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserAccessJdbcRepository {
+
+    /**
+     * Cada coluna de flag tem como alias o nome da {@link PermissionFlag} em
+     * minúsculas. Permissões ausentes (LEFT JOIN) são lidas como false.
+     */
+    private static final String FIND_USER_SQL = """
+            SELECT r.name AS role_name,
+                   doc.view_psb, doc.edit_psb, doc.share_psb,
+                   att.edit_user, att.edit_dam, att.edit_geral_data, att.edit_pae,
+                   ins.view_graphs, ins.edit_graphs_local, ins.edit_graphs_default,
+                   ins.view_read, ins.edit_read, ins.view_sections, ins.edit_sections,
+                   ins.view_instruments, ins.edit_instruments,
+                   rip.id IS NOT NULL AS has_routine_inspection,
+                   rip.is_fill_web AS fill_web, rip.is_fill_mobile AS fill_mobile
+            FROM users u
+            INNER JOIN roles r ON r.id = u.role_id
+            LEFT JOIN documentation_permissions doc ON doc.user_id = u.id
+            LEFT JOIN attributions_permissions att ON att.user_id = u.id
+            LEFT JOIN instrumentation_permissions ins ON ins.user_id = u.id
+            LEFT JOIN routine_inspection_permissions rip ON rip.user_id = u.id
+            WHERE u.id = ?
+            LIMIT 1
+            """;
+
+    private static final String FIND_CLIENT_IDS_SQL = """
+            SELECT client_id FROM user_client WHERE user_id = ?
+            """;
+
+    private static final String FIND_DAM_PERMISSIONS_SQL = """
+            SELECT dp.dam_id, dp.client_id, dp.has_access, d.client_id AS dam_client_id
+            FROM dam_permissions dp
+            INNER JOIN dam d ON d.id = dp.dam_id
+            WHERE dp.user_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<UserRow> findUser(Long userId) {
+        return jdbcTemplate.query(FIND_USER_SQL, (rs, rowNum) -> {
+            EnumSet<PermissionFlag> flags = EnumSet.noneOf(PermissionFlag.class);
+            for (PermissionFlag flag : PermissionFlag.values()) {
+                if (rs.getBoolean(flag.name().toLowerCase(Locale.ROOT))) {
+                    flags.add(flag);
+                }
+            }
+            return new UserRow(
+                    RoleEnum.ADMIN.name().equals(rs.getString("role_name")),
+                    flags,
+                    rs.getBoolean("has_routine_inspection"));
+        }, userId).stream().findFirst();
+    }
+
+    public List<Long> findClientIds(Long userId) {
+        return jdbcTemplate.queryForList(FIND_CLIENT_IDS_SQL, Long.class, userId);
+    }
+
+    public List<DamPermissionRow> findDamPermissions(Long userId) {
+        return jdbcTemplate.query(FIND_DAM_PERMISSIONS_SQL, (rs, rowNum) -> new DamPermissionRow(
+                rs.getLong("dam_id"),
+                rs.getLong("client_id"),
+                rs.getBoolean("has_access"),
+                rs.getObject("dam_client_id", Long.class)), userId);
+    }
+
+    public record UserRow(boolean admin, EnumSet<PermissionFlag> flags, boolean hasRoutineInspectionPermission) {
+
+    }
+
+    /**
+     * Permissão de barragem do usuário; {@code damClientId} é o cliente atual
+     * da barragem, que pode divergir do cliente gravado na permissão.
+     */
+    public record DamPermissionRow(long damId, long clientId, boolean hasAccess, Long damClientId) {
+
+    }
+}
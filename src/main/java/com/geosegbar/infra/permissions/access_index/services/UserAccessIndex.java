@@ -0,0 +1,80 @@
+package com.geosegbar.infra.permissions.access_index.services;
+
+import java.util.Optional;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.geosegbar.infra.permissions.access_index.persistence.UserAccessJdbcRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória do acesso de cada usuário ({@link UserAccessSnapshot}),
+ * usado nas verificações de permissão dos endpoints mais chamados no lugar
+ * das consultas por requisição.
+ * <p>
+ * O retrato é montado na primeira consulta do usuário e descartado após o
+ * commit de qualquer mudança de usuário, cliente ou permissão
+ * ({@link UserAccessChangedEvent}, publicado por {@code DamPermissionService},
+ * {@code UserPermissionsService}, {@code UserService} e pelos serviços de cada
+ * permissão). O TTL do cache ({@code CacheConfig}) limita a defasagem entre
+ * instâncias, já que o evento é local.
+ */
+@Component
+@Slf4j
+public class UserAccessIndex {
+
+    public static final String CACHE_NAME = "user-access-index";
+
+    private final Cache<Long, UserAccessSnapshot> cache;
+    private final UserAccessJdbcRepository userAccessJdbcRepository;
+
+    @SuppressWarnings("unchecked")
+    public UserAccessIndex(CacheManager cacheManager, UserAccessJdbcRepository userAccessJdbcRepository) {
+        this.cache = (Cache<Long, UserAccessSnapshot>) cacheManager.getCache(CACHE_NAME).getNativeCache();
+        this.userAccessJdbcRepository = userAccessJdbcRepository;
+    }
+
+    /**
+     * Retrato de acesso do usuário, montado sob demanda. Vazio se o usuário
+     * não existe (o resultado vazio não fica em cache).
+     */
+    public Optional<UserAccessSnapshot> find(Long userId) {
+        return Optional.ofNullable(cache.get(userId, this::load));
+    }
+
+    public void evictUser(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        if (event.affectsAllUsers()) {
+            evictAll();
+            log.debug("Índice de acesso descartado por completo");
+            return;
+        }
+        event.getUserIds().forEach(this::evictUser);
+        log.debug("Índice de acesso descartado para os usuários {}", event.getUserIds());
+    }
+
+    private UserAccessSnapshot load(Long userId) {
+        return userAccessJdbcRepository.findUser(userId)
+                .map(user -> UserAccessSnapshot.of(
+                        user.admin(),
+                        userAccessJdbcRepository.findClientIds(userId),
+                        user.flags(),
+                        user.hasRoutineInspectionPermission(),
+                        userAccessJdbcRepository.findDamPermissions(userId)))
+                .orElse(null);
+    }
+}
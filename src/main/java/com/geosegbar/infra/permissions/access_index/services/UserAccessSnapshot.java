@@ -0,0 +1,119 @@
+package com.geosegbar.infra.permissions.access_index.services;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.geosegbar.common.enums.PermissionFlag;
+import com.geosegbar.infra.permissions.access_index.persistence.UserAccessJdbcRepository.DamPermissionRow;
+
+/**
+ * Retrato imutável do acesso de um usuário: barragens liberadas em bitmaps
+ * indexados pelo ID da barragem, clientes associados e flags das permissões.
+ * Todas as consultas são feitas em memória.
+ */
+public final class UserAccessSnapshot {
+
+    private final boolean admin;
+    private final Set<Long> clientIds;
+    private final EnumSet<PermissionFlag> flags;
+    private final boolean routineInspectionPermission;
+
+    /**
+     * Barragens com acesso liberado, em qualquer cliente.
+     */
+    private final BitSet grantedDams = new BitSet();
+
+    /**
+     * Barragens com acesso liberado, por cliente gravado na permissão.
+     */
+    private final Map<Long, BitSet> grantedDamsByClient = new HashMap<>();
+
+    /**
+     * Barragens com permissão gravada para o cliente atual da barragem, e
+     * quais delas liberam acesso (acesso liberado e usuário associado ao
+     * cliente) — a regra de {@code checkUserHasAccessToDam}.
+     */
+    private final BitSet currentClientDams = new BitSet();
+    private final BitSet currentClientGrantedDams = new BitSet();
+
+    private UserAccessSnapshot(boolean admin, Collection<Long> clientIds, Set<PermissionFlag> flags,
+            boolean routineInspectionPermission) {
+        this.admin = admin;
+        this.clientIds = Set.copyOf(clientIds);
+        this.flags = flags.isEmpty() ? EnumSet.noneOf(PermissionFlag.class) : EnumSet.copyOf(flags);
+        this.routineInspectionPermission = routineInspectionPermission;
+    }
+
+    public static UserAccessSnapshot of(boolean admin, Collection<Long> clientIds, Set<PermissionFlag> flags,
+            boolean routineInspectionPermission, Collection<DamPermissionRow> damPermissions) {
+        UserAccessSnapshot snapshot = new UserAccessSnapshot(admin, clientIds, flags, routineInspectionPermission);
+
+        for (DamPermissionRow row : damPermissions) {
+            int bit = Math.toIntExact(row.damId());
+            if (row.hasAccess()) {
+                snapshot.grantedDams.set(bit);
+                snapshot.grantedDamsByClient.computeIfAbsent(row.clientId(), id -> new BitSet()).set(bit);
+            }
+            if (row.damClientId() != null && row.damClientId() == row.clientId()) {
+                snapshot.currentClientDams.set(bit);
+                if (row.hasAccess() && snapshot.clientIds.contains(row.damClientId())) {
+                    snapshot.currentClientGrantedDams.set(bit);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    public boolean isAssociatedWithClient(Long clientId) {
+        return clientIds.contains(clientId);
+    }
+
+    /**
+     * {@code true} se todas as barragens têm acesso liberado (em qualquer
+     * cliente).
+     */
+    public boolean hasAccessToAllDams(Collection<Long> damIds) {
+        return damIds.stream().allMatch(damId -> isSet(grantedDams, damId));
+    }
+
+    /**
+     * {@code true} se a permissão da barragem no cliente informado libera
+     * acesso.
+     */
+    public boolean hasDamAccess(Long damId, Long clientId) {
+        BitSet dams = grantedDamsByClient.get(clientId);
+        return dams != null && isSet(dams, damId);
+    }
+
+    /**
+     * Resultado da permissão gravada para a barragem no seu cliente atual, ou
+     * vazio se o usuário não tem permissão para ela nesse cliente.
+     */
+    public Optional<Boolean> findCurrentClientDamAccess(Long damId) {
+        if (!isSet(currentClientDams, damId)) {
+            return Optional.empty();
+        }
+        return Optional.of(isSet(currentClientGrantedDams, damId));
+    }
+
+    public boolean has(PermissionFlag flag) {
+        return flags.contains(flag);
+    }
+
+    public boolean hasRoutineInspectionPermission() {
+        return routineInspectionPermission;
+    }
+
+    private static boolean isSet(BitSet bits, Long damId) {
+        return damId != null && damId >= 0 && damId <= Integer.MAX_VALUE && bits.get(damId.intValue());
+    }
+}
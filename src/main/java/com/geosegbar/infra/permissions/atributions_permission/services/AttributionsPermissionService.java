@@ -2,6 +2,7 @@ package com.geosegbar.infra.permissions.atributions_permission.services;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.permissions.atributions_permission.dtos.AttributionsPermissionDTO;
 import com.geosegbar.infra.permissions.atributions_permission.persistence.AttributionsPermissionRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ public class AttributionsPermissionService {
 
     private final AttributionsPermissionRepository attrPermissionRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<AttributionsPermissionEntity> findAll() {
@@ -60,7 +63,9 @@ public class AttributionsPermissionService {
         permission.setEditDam(permissionDTO.getEditDam());
         permission.setEditGeralData(permissionDTO.getEditGeralData());
 
-        return attrPermissionRepository.save(permission);
+        AttributionsPermissionEntity saved = attrPermissionRepository.save(permission);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getId()));
+        return saved;
     }
 
     @Transactional
@@ -69,6 +74,7 @@ public class AttributionsPermissionService {
             throw new NotFoundException("Permissão de atribuições não encontrada com ID: " + id);
         }
         attrPermissionRepository.deleteById(id);
+        eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
     }
 
     @Transactional
@@ -81,6 +87,7 @@ public class AttributionsPermissionService {
         }
 
         attrPermissionRepository.deleteByUser(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
     }
 
     @Transactional
@@ -0,0 +1,33 @@
+package com.geosegbar.infra.permissions.dam_permissions.dtos;
+
+import java.time.LocalDateTime;
+
+import com.geosegbar.common.enums.DamPermissionFanOutOperation;
+import com.geosegbar.common.enums.DamPermissionFanOutStatus;
+
+/**
+ * Andamento de uma operação em massa de permissões de barragem, lido de
+ * {@code dam_permission_fan_out_job}.
+ *
+ * @param damId null em {@code RECREATE_FOR_CLIENT}
+ * @param processedUsers usuários dos lotes já gravados
+ * @param affectedRows permissões criadas ou removidas
+ */
+public record DamPermissionFanOutProgressDTO(
+        Long id,
+        DamPermissionFanOutOperation operation,
+        Long clientId,
+        Long damId,
+        DamPermissionFanOutStatus status,
+        Integer totalUsers,
+        Integer processedUsers,
+        Long affectedRows,
+        LocalDateTime queuedAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {
+
+    public boolean isActive() {
+        return status == DamPermissionFanOutStatus.QUEUED || status == DamPermissionFanOutStatus.RUNNING;
+    }
+}
@@ -0,0 +1,18 @@
+package com.geosegbar.infra.permissions.dam_permissions.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Publicado ao enfileirar uma operação em massa de permissões de barragem.
+ * Após o commit, o scheduler local tenta reivindicá-la na hora em vez de
+ * esperar o próximo ciclo de polling.
+ *
+ * @see com.geosegbar.infra.permissions.dam_permissions.services.DamPermissionFanOutService
+ */
+@Getter
+@RequiredArgsConstructor
+public class DamPermissionFanOutRequestedEvent {
+
+    private final Long jobId;
+}
@@ -0,0 +1,103 @@
+package com.geosegbar.infra.permissions.dam_permissions.persistence;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.common.enums.DamPermissionFanOutStatus;
+import com.geosegbar.common.utils.QueueClaimLock;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fila de {@code dam_permission_fan_out_job} ({@code FOR UPDATE SKIP LOCKED}
+ * + lease, como a dos recálculos de outputs).
+ * <p>
+ * Deve ser chamado dentro de uma transação já aberta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DamPermissionFanOutJobJdbcRepository {
+
+    /**
+     * Reivindica o job mais antigo na fila ou com lease vencido (worker caiu).
+     * As operações de um cliente são aplicadas na ordem em que foram pedidas:
+     * um job só é elegível quando não há job anterior do mesmo cliente
+     * pendente. O {@code NOT EXISTS} só é confiável com os claims serializados
+     * pelo {@link QueueClaimLock}.
+     */
+    private static final String CLAIM_SQL = """
+            UPDATE dam_permission_fan_out_job j
+            SET status = 'RUNNING',
+                lease_owner = ?,
+                lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second',
+                started_at = COALESCE(j.started_at, LOCALTIMESTAMP)
+            WHERE j.id = (
+                SELECT c.id FROM dam_permission_fan_out_job c
+                WHERE (c.status = 'QUEUED'
+                       OR (c.status = 'RUNNING' AND c.lease_expires_at < LOCALTIMESTAMP))
+                  AND NOT EXISTS (
+                      SELECT 1 FROM dam_permission_fan_out_job p
+                      WHERE p.client_id = c.client_id
+                        AND p.id < c.id
+                        AND p.status IN ('QUEUED', 'RUNNING')
+                  )
+                ORDER BY c.id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING j.id
+            """;
+
+    /**
+     * Grava o checkpoint do lote e renova o lease. Não altera nada se o job
+     * foi reivindicado por outro worker.
+     */
+    private static final String CHECKPOINT_SQL = """
+            UPDATE dam_permission_fan_out_job
+            SET processed_users = ?,
+                affected_rows = affected_rows + ?,
+                lease_expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 second'
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'RUNNING'
+            """;
+
+    private static final String FINISH_SQL = """
+            UPDATE dam_permission_fan_out_job
+            SET status = ?,
+                error_message = ?,
+                finished_at = LOCALTIMESTAMP,
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE id = ?
+              AND lease_owner = ?
+              AND status = 'RUNNING'
+            """;
+
+    private static final String QUEUE_NAME = "dam_permission_fan_out_job";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Long> claim(String owner, Duration leaseTtl) {
+        QueueClaimLock.acquire(jdbcTemplate, QUEUE_NAME);
+        return jdbcTemplate.queryForList(CLAIM_SQL, Long.class, owner, leaseTtl.toSeconds()).stream().findFirst();
+    }
+
+    /**
+     * @param processedUsers usuários aplicados desde o início do job, incluindo
+     * o lote corrente
+     * @return {@code false} se o job não pertence mais a {@code owner} — o
+     * lote deve ser desfeito
+     */
+    public boolean checkpoint(Long jobId, String owner, Duration leaseTtl, int processedUsers, long affectedRows) {
+        return jdbcTemplate.update(CHECKPOINT_SQL, processedUsers, affectedRows, leaseTtl.toSeconds(),
+                jobId, owner) == 1;
+    }
+
+    public boolean finish(Long jobId, String owner, DamPermissionFanOutStatus status, String errorMessage) {
+        return jdbcTemplate.update(FINISH_SQL, status.name(), errorMessage, jobId, owner) == 1;
+    }
+}
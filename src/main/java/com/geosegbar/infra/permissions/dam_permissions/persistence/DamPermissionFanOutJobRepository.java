@@ -0,0 +1,38 @@
+package com.geosegbar.infra.permissions.dam_permissions.persistence;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.entities.DamPermissionFanOutJobEntity;
+import com.geosegbar.infra.permissions.dam_permissions.dtos.DamPermissionFanOutProgressDTO;
+
+@Repository
+public interface DamPermissionFanOutJobRepository extends JpaRepository<DamPermissionFanOutJobEntity, Long> {
+
+    /**
+     * Andamento sem carregar a lista de usuários do job.
+     */
+    @Query("SELECT new com.geosegbar.infra.permissions.dam_permissions.dtos.DamPermissionFanOutProgressDTO("
+            + "j.id, j.operation, j.clientId, j.damId, j.status, j.totalUsers, j.processedUsers, j.affectedRows, "
+            + "j.queuedAt, j.startedAt, j.finishedAt, j.errorMessage) "
+            + "FROM DamPermissionFanOutJobEntity j "
+            + "WHERE j.id = :id")
+    Optional<DamPermissionFanOutProgressDTO> findProgressById(@Param("id") Long id);
+
+    /**
+     * Operações em andamento e as finalizadas a partir de {@code finishedAfter}.
+     */
+    @Query("SELECT new com.geosegbar.infra.permissions.dam_permissions.dtos.DamPermissionFanOutProgressDTO("
+            + "j.id, j.operation, j.clientId, j.damId, j.status, j.totalUsers, j.processedUsers, j.affectedRows, "
+            + "j.queuedAt, j.startedAt, j.finishedAt, j.errorMessage) "
+            + "FROM DamPermissionFanOutJobEntity j "
+            + "WHERE j.finishedAt IS NULL OR j.finishedAt >= :finishedAfter "
+            + "ORDER BY j.queuedAt DESC, j.id DESC")
+    List<DamPermissionFanOutProgressDTO> findRecentProgress(@Param("finishedAfter") LocalDateTime finishedAfter);
+}
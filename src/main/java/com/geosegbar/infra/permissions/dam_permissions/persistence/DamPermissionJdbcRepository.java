@@ -0,0 +1,104 @@
+package com.geosegbar.infra.permissions.dam_permissions.persistence;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Operações set-based sobre {@code dam_permissions} para um lote de usuários
+ * (array de IDs): um único statement por lote, no lugar de
+ * exists/save/delete por usuário.
+ * <p>
+ * Os INSERTs só criam permissões para usuários ainda associados ao cliente e
+ * para barragens que continuam nele, então podem rodar depois do commit de
+ * quem os pediu sem gravar permissões órfãs.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DamPermissionJdbcRepository {
+
+    private static final String INSERT_FOR_DAM_SQL = """
+            INSERT INTO dam_permissions (user_id, dam_id, client_id, has_access, created_at, updated_at)
+            SELECT uc.user_id, d.id, d.client_id, false, now(), now()
+            FROM unnest(?::bigint[]) AS u(id)
+            INNER JOIN user_client uc ON uc.user_id = u.id
+            INNER JOIN dam d ON d.client_id = uc.client_id
+            WHERE d.id = ? AND d.client_id = ?
+            ON CONFLICT (user_id, dam_id, client_id) DO NOTHING
+            """;
+
+    private static final String INSERT_FOR_CLIENT_DAMS_SQL = """
+            INSERT INTO dam_permissions (user_id, dam_id, client_id, has_access, created_at, updated_at)
+            SELECT uc.user_id, d.id, d.client_id, false, now(), now()
+            FROM unnest(?::bigint[]) AS u(id)
+            INNER JOIN user_client uc ON uc.user_id = u.id
+            INNER JOIN dam d ON d.client_id = uc.client_id
+            WHERE d.client_id = ?
+            ON CONFLICT (user_id, dam_id, client_id) DO NOTHING
+            """;
+
+    private static final String DELETE_FOR_DAM_SQL = """
+            DELETE FROM dam_permissions dp
+            USING unnest(?::bigint[]) AS u(id)
+            WHERE dp.user_id = u.id AND dp.dam_id = ? AND dp.client_id = ?
+            """;
+
+    private static final String DELETE_FOR_CLIENT_SQL = """
+            DELETE FROM dam_permissions dp
+            USING unnest(?::bigint[]) AS u(id)
+            WHERE dp.user_id = u.id AND dp.client_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Cria, sem acesso, a permissão da barragem para os usuários que ainda não
+     * a têm.
+     *
+     * @return permissões criadas
+     */
+    public int insertMissingForDam(Long damId, Long clientId, List<Long> userIds) {
+        return update(INSERT_FOR_DAM_SQL, userIds, damId, clientId);
+    }
+
+    /**
+     * Cria, sem acesso, as permissões de todas as barragens do cliente que os
+     * usuários ainda não têm.
+     *
+     * @return permissões criadas
+     */
+    public int insertMissingForClientDams(Long clientId, List<Long> userIds) {
+        return update(INSERT_FOR_CLIENT_DAMS_SQL, userIds, clientId);
+    }
+
+    /**
+     * @return permissões removidas
+     */
+    public int deleteForDam(Long damId, Long clientId, List<Long> userIds) {
+        return update(DELETE_FOR_DAM_SQL, userIds, damId, clientId);
+    }
+
+    /**
+     * @return permissões removidas
+     */
+    public int deleteForClient(Long clientId, List<Long> userIds) {
+        return update(DELETE_FOR_CLIENT_SQL, userIds, clientId);
+    }
+
+    private int update(String sql, List<Long> userIds, Long... params) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            Array ids = con.createArrayOf("bigint", userIds.toArray());
+            ps.setArray(1, ids);
+            for (int i = 0; i < params.length; i++) {
+                ps.setLong(i + 2, params[i]);
+            }
+            return ps;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.geosegbar.infra.permissions.dam_permissions.scheduler;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.geosegbar.infra.permissions.dam_permissions.events.DamPermissionFanOutRequestedEvent;
+import com.geosegbar.infra.permissions.dam_permissions.services.DamPermissionFanOutService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drena a fila de operações em massa de permissões de barragem deste worker,
+ * um job por vez. A cada ciclo reivindica jobs na fila ou com lease vencido
+ * (worker anterior caiu ou reiniciou); um job recém-enfileirado é reivindicado
+ * logo após o commit, e ao terminar um job o worker já procura o próximo.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(
+        name = "dam-permission.fan-out.scheduler.enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class DamPermissionFanOutScheduler {
+
+    private final DamPermissionFanOutService fanOutService;
+    private final Executor executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DamPermissionFanOutScheduler(DamPermissionFanOutService fanOutService,
+            @Qualifier("damPermissionFanOutExecutor") Executor executor) {
+        this.fanOutService = fanOutService;
+        this.executor = executor;
+    }
+
+    @Scheduled(fixedDelayString = "${dam-permission.fan-out.poll-interval-ms:30000}", initialDelay = 30000)
+    public void processQueue() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Erro no scheduler de permissões em massa: {}", e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFanOutRequested(DamPermissionFanOutRequestedEvent event) {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Erro ao despachar a operação de permissões {} recém-enfileirada: {}",
+                    event.getJobId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sincronizado para que o ciclo agendado e o disparo pós-enfileiramento
+     * não reivindiquem dois jobs ao mesmo tempo neste worker.
+     */
+    private synchronized void dispatch() {
+        if (running.get()) {
+            return;
+        }
+        Optional<Long> claimed = fanOutService.claimJob();
+        if (claimed.isEmpty()) {
+            return;
+        }
+        Long jobId = claimed.get();
+        running.set(true);
+        try {
+            executor.execute(() -> {
+                try {
+                    fanOutService.process(jobId);
+                } finally {
+                    running.set(false);
+                }
+                processQueue();
+            });
+        } catch (RejectedExecutionException e) {
+            // Fica em RUNNING até o lease vencer e volta a ser reivindicado.
+            running.set(false);
+            log.warn("Operação de permissões {} recusada pelo executor; será retomada quando o lease vencer", jobId);
+        }
+    }
+}
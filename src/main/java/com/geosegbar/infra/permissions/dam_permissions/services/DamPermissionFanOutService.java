@@ -0,0 +1,197 @@
+package com.geosegbar.infra.permissions.dam_permissions.services;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.common.enums.DamPermissionFanOutOperation;
+import com.geosegbar.common.enums.DamPermissionFanOutStatus;
+import com.geosegbar.entities.DamPermissionFanOutJobEntity;
+import com.geosegbar.infra.permissions.dam_permissions.dtos.DamPermissionFanOutProgressDTO;
+import com.geosegbar.infra.permissions.dam_permissions.events.DamPermissionFanOutRequestedEvent;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionFanOutJobJdbcRepository;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionFanOutJobRepository;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionJdbcRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cria, remove ou recria as permissões de barragem dos usuários de um cliente
+ * com statements set-based ({@link DamPermissionJdbcRepository}).
+ * <p>
+ * Até {@code dam-permission.fan-out.sync-threshold} usuários a operação roda na
+ * transação de quem chamou, em um único statement. Acima disso ela é gravada
+ * em {@code dam_permission_fan_out_job}, na mesma transação, e aplicada em
+ * segundo plano pelo {@code DamPermissionFanOutScheduler} em lotes de
+ * {@code dam-permission.fan-out.chunk-size} usuários — cada lote em sua
+ * própria transação, com o checkpoint —, para que criar uma barragem ou mudar
+ * um cliente não espere pelos milhares de linhas. A fila é a própria tabela:
+ * um job sobrevive a restarts e é retomado por qualquer instância quando o
+ * lease de quem o processava vence.
+ */
+@Service
+@Slf4j
+public class DamPermissionFanOutService {
+
+    private static final long FINISHED_RETENTION_HOURS = 24;
+
+    private final DamPermissionJdbcRepository damPermissionJdbcRepository;
+    private final DamPermissionFanOutJobRepository jobRepository;
+    private final DamPermissionFanOutJobJdbcRepository jobJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate claimTx;
+    private final int syncThreshold;
+    private final int chunkSize;
+    private final Duration leaseTtl;
+
+    private final String workerId = ManagementFactory.getRuntimeMXBean().getName()
+            + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    public DamPermissionFanOutService(DamPermissionJdbcRepository damPermissionJdbcRepository,
+            DamPermissionFanOutJobRepository jobRepository,
+            DamPermissionFanOutJobJdbcRepository jobJdbcRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${dam-permission.fan-out.sync-threshold:500}") int syncThreshold,
+            @Value("${dam-permission.fan-out.chunk-size:1000}") int chunkSize,
+            @Value("${dam-permission.fan-out.lease-ttl:PT2M}") Duration leaseTtl) {
+        this.damPermissionJdbcRepository = damPermissionJdbcRepository;
+        this.jobRepository = jobRepository;
+        this.jobJdbcRepository = jobJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.claimTx = new TransactionTemplate(transactionManager);
+        this.claimTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.syncThreshold = Math.max(syncThreshold, 0);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.leaseTtl = leaseTtl;
+    }
+
+    /**
+     * Job cujo lease foi perdido: desfaz o lote corrente e para.
+     */
+    private static final class LeaseLostException extends RuntimeException {
+
+        private LeaseLostException() {
+            super(null, null, false, false);
+        }
+    }
+
+    public void createForDam(Long damId, Long clientId, List<Long> userIds) {
+        apply(DamPermissionFanOutOperation.CREATE_FOR_DAM, clientId, damId, userIds);
+    }
+
+    public void removeForDam(Long damId, Long clientId, List<Long> userIds) {
+        apply(DamPermissionFanOutOperation.REMOVE_FOR_DAM, clientId, damId, userIds);
+    }
+
+    public void recreateForClient(Long clientId, List<Long> userIds) {
+        apply(DamPermissionFanOutOperation.RECREATE_FOR_CLIENT, clientId, null, userIds);
+    }
+
+    /**
+     * Reivindica um job para este worker, já em RUNNING e com lease.
+     * Transação própria: também é chamado por listeners AFTER_COMMIT.
+     */
+    public Optional<Long> claimJob() {
+        Optional<Long> claimed = claimTx.execute(status -> jobJdbcRepository.claim(workerId, leaseTtl));
+        claimed.ifPresent(jobId -> log.info("Worker {} reivindicou a operação de permissões {}", workerId, jobId));
+        return claimed;
+    }
+
+    /**
+     * Aplica um job já reivindicado por este worker a partir do checkpoint.
+     */
+    public void process(Long jobId) {
+        try {
+            DamPermissionFanOutJobEntity job = jobRepository.findById(jobId).orElseThrow();
+            List<Long> userIds = Arrays.asList(job.getUserIds());
+            DamPermissionFanOutOperation operation = job.getOperation();
+
+            log.info("Operação {} de permissões {} iniciada: cliente {}, {} de {} usuários já aplicados",
+                    operation, jobId, job.getClientId(), job.getProcessedUsers(), userIds.size());
+
+            for (int from = job.getProcessedUsers(); from < userIds.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, userIds.size());
+                List<Long> chunk = userIds.subList(from, to);
+                tx.executeWithoutResult(status -> {
+                    int affected = execute(operation, job.getClientId(), job.getDamId(), chunk);
+                    if (!jobJdbcRepository.checkpoint(jobId, workerId, leaseTtl, to, affected)) {
+                        throw new LeaseLostException();
+                    }
+                    eventPublisher.publishEvent(new UserAccessChangedEvent(chunk));
+                });
+            }
+
+            tx.executeWithoutResult(status
+                    -> jobJdbcRepository.finish(jobId, workerId, DamPermissionFanOutStatus.COMPLETED, null));
+            log.info("Operação {} de permissões {} concluída para {} usuários do cliente {}",
+                    operation, jobId, userIds.size(), job.getClientId());
+        } catch (LeaseLostException e) {
+            log.info("Operação de permissões {} interrompida: reivindicada por outro worker", jobId);
+        } catch (Exception e) {
+            log.error("Erro na operação de permissões {}: {}", jobId, e.getMessage(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            tx.executeWithoutResult(status -> jobJdbcRepository.finish(jobId, workerId,
+                    DamPermissionFanOutStatus.FAILED, message.length() > 2000 ? message.substring(0, 2000) : message));
+        }
+    }
+
+    public Optional<DamPermissionFanOutProgressDTO> getProgress(Long id) {
+        return jobRepository.findProgressById(id);
+    }
+
+    /**
+     * Operações em andamento e as finalizadas nas últimas 24 horas.
+     */
+    public List<DamPermissionFanOutProgressDTO> findAll() {
+        return jobRepository.findRecentProgress(LocalDateTime.now().minusHours(FINISHED_RETENTION_HOURS));
+    }
+
+    private void apply(DamPermissionFanOutOperation operation, Long clientId, Long damId, List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        if (userIds.size() > syncThreshold) {
+            DamPermissionFanOutJobEntity job = new DamPermissionFanOutJobEntity();
+            job.setOperation(operation);
+            job.setClientId(clientId);
+            job.setDamId(damId);
+            job.setUserIds(userIds.toArray(Long[]::new));
+            job = jobRepository.save(job);
+            eventPublisher.publishEvent(new DamPermissionFanOutRequestedEvent(job.getId()));
+            log.info("Operação {} de permissões enfileirada para {} usuários do cliente {}: job={}",
+                    operation, userIds.size(), clientId, job.getId());
+            return;
+        }
+        int rows = execute(operation, clientId, damId, userIds);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userIds));
+        log.info("Operação {} de permissões aplicada a {} usuários do cliente {}: {} permissões afetadas",
+                operation, userIds.size(), clientId, rows);
+    }
+
+    private int execute(DamPermissionFanOutOperation operation, Long clientId, Long damId, List<Long> userIds) {
+        return switch (operation) {
+            case CREATE_FOR_DAM ->
+                damPermissionJdbcRepository.insertMissingForDam(damId, clientId, userIds);
+            case REMOVE_FOR_DAM ->
+                damPermissionJdbcRepository.deleteForDam(damId, clientId, userIds);
+            case RECREATE_FOR_CLIENT ->
+                damPermissionJdbcRepository.deleteForClient(clientId, userIds)
+                + damPermissionJdbcRepository.insertMissingForClientDams(clientId, userIds);
+        };
+    }
+}
@@ -5,10 +5,12 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,9 +22,12 @@ import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.client.persistence.jpa.ClientRepository;
 import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessIndex;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessSnapshot;
 import com.geosegbar.infra.permissions.dam_permissions.dtos.DamPermissionDTO;
 import com.geosegbar.infra.permissions.dam_permissions.dtos.UserDamPermissionsRequestDTO;
 import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -37,6 +42,9 @@ public class DamPermissionService {
     private final UserRepository userRepository;
     private final DamRepository damRepository;
     private final ClientRepository clientRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserAccessIndex userAccessIndex;
+    private final DamPermissionFanOutService damPermissionFanOutService;
 
     /**
      * Retorna todas as permissões de barragem para os clientes do usuário. Se
@@ -92,11 +100,21 @@ public class DamPermissionService {
         return allPermissions;
     }
 
+    /**
+     * Responde pelo {@link UserAccessIndex}. Só consulta a barragem quando o
+     * usuário não tem permissão gravada para ela no cliente atual — aí o
+     * resultado depende do cliente e da role (ADMIN).
+     */
     @Transactional(readOnly = true)
     public boolean checkUserHasAccessToDam(Long userId, Long damId) {
-        UserEntity user = userRepository.findById(userId)
+        UserAccessSnapshot access = userAccessIndex.find(userId)
                 .orElseThrow(() -> new NotFoundException("Usuário não encontrado com ID: " + userId));
 
+        Optional<Boolean> permission = access.findCurrentClientDamAccess(damId);
+        if (permission.isPresent()) {
+            return permission.get();
+        }
+
         DamEntity dam = damRepository.findById(damId)
                 .orElseThrow(() -> new NotFoundException("Barragem não encontrada com ID: " + damId));
 
@@ -105,16 +123,11 @@ public class DamPermissionService {
             throw new NotFoundException("Barragem não está associada a nenhum cliente");
         }
 
-        if (!user.getClients().contains(client)) {
+        if (!access.isAssociatedWithClient(client.getId())) {
             return false;
         }
 
-        var permission = damPermissionRepository.findByUserAndDamAndClient(user, dam, client);
-        if (permission.isPresent()) {
-            return permission.get().getHasAccess();
-        }
-
-        return user.getRole() != null && "ADMIN".equals(user.getRole().getName().name());
+        return access.isAdmin();
     }
 
     /**
@@ -202,7 +215,9 @@ public class DamPermissionService {
             }
         }
 
-        return damPermissionRepository.saveAll(updatedPermissions);
+        List<DamPermissionEntity> saved = damPermissionRepository.saveAll(updatedPermissions);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
+        return saved;
     }
 
     @Transactional
@@ -211,8 +226,15 @@ public class DamPermissionService {
             throw new NotFoundException("Permissão não encontrada com ID: " + id);
         }
         damPermissionRepository.deleteById(id);
+        eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
     }
 
+    /**
+     * Cria, sem acesso, a permissão da barragem para os usuários do cliente
+     * ({@link DamPermissionFanOutService}): um INSERT set-based ou, para
+     * clientes muito grandes, um job gravado nesta transação e aplicado em
+     * segundo plano após o commit.
+     */
     @Transactional
     public void createDefaultPermissionsForDam(DamEntity dam) {
         ClientEntity client = dam.getClient();
@@ -220,35 +242,24 @@ public class DamPermissionService {
             return;
         }
 
-        List<UserEntity> users = userRepository.findByClientId(client.getId());
-        List<DamPermissionEntity> toSave = new ArrayList<>();
-
-        for (UserEntity user : users) {
-            if (!damPermissionRepository.existsByUserAndDamAndClient(user, dam, client)) {
-                DamPermissionEntity p = new DamPermissionEntity();
-                p.setUser(user);
-                p.setDam(dam);
-                p.setClient(client);
-                p.setHasAccess(false);
-                p.setCreatedAt(LocalDateTime.now());
-                p.setUpdatedAt(LocalDateTime.now());
-                toSave.add(p);
-            }
-        }
-        if (!toSave.isEmpty()) {
-            damPermissionRepository.saveAll(toSave);
-        }
+        // O INSERT lê o cliente da barragem no banco: grava antes uma troca de cliente pendente.
+        damRepository.flush();
+
+        List<Long> userIds = userRepository.findUserIdsByClientId(client.getId());
+        damPermissionFanOutService.createForDam(dam.getId(), client.getId(), userIds);
     }
 
     @Transactional
     public void removeAllPermissionsForDam(Long damId) {
         damPermissionRepository.deleteByDamId(damId);
+        eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
     }
 
     @Transactional
     public void syncPermissionsOnClientChange(DamEntity dam, Long oldClientId) {
         if (oldClientId != null) {
             damPermissionRepository.deleteByDamIdAndClientId(dam.getId(), oldClientId);
+            eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
         }
         createDefaultPermissionsForDam(dam);
     }
@@ -14,8 +14,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.geosegbar.common.response.WebResponseEntity;
+import com.geosegbar.common.utils.AuthenticatedUserUtil;
 import com.geosegbar.entities.DamPermissionEntity;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.permissions.dam_permissions.dtos.DamPermissionFanOutProgressDTO;
 import com.geosegbar.infra.permissions.dam_permissions.dtos.UserDamPermissionsRequestDTO;
+import com.geosegbar.infra.permissions.dam_permissions.services.DamPermissionFanOutService;
 import com.geosegbar.infra.permissions.dam_permissions.services.DamPermissionService;
 
 import jakarta.validation.Valid;
@@ -27,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 public class DamPermissionController {
 
     private final DamPermissionService damPermissionService;
+    private final DamPermissionFanOutService damPermissionFanOutService;
     
     @GetMapping("/user/{userId}/all-client-dams")
     public ResponseEntity<WebResponseEntity<List<DamPermissionEntity>>> getAllDamPermissionsForUserClients(@PathVariable Long userId) {
@@ -72,4 +77,19 @@ public class DamPermissionController {
             WebResponseEntity.success(null, "Permissão de barragem excluída com sucesso!");
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/fan-out")
+    public ResponseEntity<WebResponseEntity<List<DamPermissionFanOutProgressDTO>>> findAllFanOuts() {
+        AuthenticatedUserUtil.checkAdminPermission();
+        return ResponseEntity.ok(WebResponseEntity.success(damPermissionFanOutService.findAll(),
+                "Operações de permissões em massa obtidas com sucesso!"));
+    }
+
+    @GetMapping("/fan-out/{id}")
+    public ResponseEntity<WebResponseEntity<DamPermissionFanOutProgressDTO>> getFanOutProgress(@PathVariable Long id) {
+        AuthenticatedUserUtil.checkAdminPermission();
+        DamPermissionFanOutProgressDTO progress = damPermissionFanOutService.getProgress(id)
+                .orElseThrow(() -> new NotFoundException("Operação de permissões não encontrada com ID: " + id));
+        return ResponseEntity.ok(WebResponseEntity.success(progress, "Operação de permissões obtida com sucesso!"));
+    }
+}
@@ -2,6 +2,7 @@ package com.geosegbar.infra.permissions.documentation_permission.services;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.permissions.documentation_permission.dtos.DocumentationPermissionDTO;
 import com.geosegbar.infra.permissions.documentation_permission.persistence.DocumentationPermissionRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ public class DocumentationPermissionService {
 
     private final DocumentationPermissionRepository docPermissionRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<DocumentationPermissionEntity> findAll() {
@@ -59,7 +62,9 @@ public class DocumentationPermissionService {
         permission.setEditPSB(permissionDTO.getEditPSB());
         permission.setSharePSB(permissionDTO.getSharePSB());
 
-        return docPermissionRepository.save(permission);
+        DocumentationPermissionEntity saved = docPermissionRepository.save(permission);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getId()));
+        return saved;
     }
 
     @Transactional
@@ -68,6 +73,7 @@ public class DocumentationPermissionService {
             throw new NotFoundException("Permissão de documentação não encontrada com ID: " + id);
         }
         docPermissionRepository.deleteById(id);
+        eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
     }
 
     @Transactional
@@ -80,6 +86,7 @@ public class DocumentationPermissionService {
         }
 
         docPermissionRepository.deleteByUser(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
     }
 
     @Transactional
@@ -2,6 +2,7 @@ package com.geosegbar.infra.permissions.instrumentation_permission.services;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.permissions.instrumentation_permission.dtos.InstrumentationPermissionDTO;
 import com.geosegbar.infra.permissions.instrumentation_permission.persistence.InstrumentationPermissionRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ public class InstrumentationPermissionService {
 
     private final InstrumentationPermissionRepository instrPermissionRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<InstrumentationPermissionEntity> findAll() {
@@ -66,7 +69,9 @@ public class InstrumentationPermissionService {
         permission.setViewInstruments(permissionDTO.getViewInstruments());
         permission.setEditInstruments(permissionDTO.getEditInstruments());
 
-        return instrPermissionRepository.save(permission);
+        InstrumentationPermissionEntity saved = instrPermissionRepository.save(permission);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getId()));
+        return saved;
     }
 
     @Transactional
@@ -75,6 +80,7 @@ public class InstrumentationPermissionService {
             throw new NotFoundException("Permissão de instrumentação não encontrada com ID: " + id);
         }
         instrPermissionRepository.deleteById(id);
+        eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
     }
 
     @Transactional
@@ -87,6 +93,7 @@ public class InstrumentationPermissionService {
         }
 
         instrPermissionRepository.deleteByUser(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
     }
 
     @Transactional
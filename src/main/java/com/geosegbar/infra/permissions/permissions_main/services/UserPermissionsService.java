@@ -3,16 +3,15 @@ package com.geosegbar.infra.permissions.permissions_main.services;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.geosegbar.common.enums.RoleEnum;
+import com.geosegbar.common.enums.PermissionFlag;
 import com.geosegbar.entities.AttributionsPermissionEntity;
-import com.geosegbar.entities.ClientEntity;
 import com.geosegbar.entities.DamEntity;
 import com.geosegbar.entities.DamPermissionEntity;
 import com.geosegbar.entities.DocumentationPermissionEntity;
@@ -21,8 +20,9 @@ import com.geosegbar.entities.RoutineInspectionPermissionEntity;
 import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.checklist.services.ChecklistService;
-import com.geosegbar.infra.client.persistence.jpa.ClientRepository;
 import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessIndex;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessSnapshot;
 import com.geosegbar.infra.permissions.atributions_permission.persistence.AttributionsPermissionRepository;
 import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionRepository;
 import com.geosegbar.infra.permissions.documentation_permission.persistence.DocumentationPermissionRepository;
@@ -34,6 +34,7 @@ import com.geosegbar.infra.permissions.permissions_main.dtos.UserPermissionsUpda
 import com.geosegbar.infra.permissions.permissions_main.dtos.UserPermissionsUpdateDTO.InstrumentationPermissionUpdateDTO;
 import com.geosegbar.infra.permissions.permissions_main.dtos.UserPermissionsUpdateDTO.RoutineInspectionPermissionUpdateDTO;
 import com.geosegbar.infra.permissions.routine_inspection_permission.persistence.RoutineInspectionPermissionRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -51,8 +52,9 @@ public class UserPermissionsService {
     private final RoutineInspectionPermissionRepository routineInspectionPermissionRepository;
     private final DamPermissionRepository damPermissionRepository;
     private final DamRepository damRepository;
-    private final ClientRepository clientRepository;
     private final ChecklistService checklistService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserAccessIndex userAccessIndex;
 
     @Transactional(readOnly = true)
     public UserPermissionsDTO getAllPermissionsForUser(Long userId) {
@@ -104,6 +106,7 @@ public class UserPermissionsService {
             updateDamPermissions(user, updateDTO.getDamIds());
         }
 
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getId()));
         return getAllPermissionsForUser(user.getId());
     }
 
@@ -270,32 +273,29 @@ public class UserPermissionsService {
         }
     }
 
+    /**
+     * Responde pelo {@link UserAccessIndex}; o banco só é consultado para o
+     * checklist e, quando o acesso é negado, para distinguir barragem
+     * inexistente.
+     */
     @Transactional(readOnly = true)
     public String verifyChecklistPermission(Long userId, Long clientId, Long damId, Long checklistId, boolean isMobile) {
 
-        UserEntity user = userRepository.findById(userId)
+        UserAccessSnapshot access = userAccessIndex.find(userId)
                 .orElseThrow(() -> new NotFoundException("Usuário não encontrado com ID: " + userId));
 
-        if (user.getRole() != null && user.getRole().getName() == RoleEnum.ADMIN) {
+        if (access.isAdmin()) {
             return "authorized";
         }
 
-        boolean isUserAssociatedWithClient = user.getClients().stream()
-                .anyMatch(c -> c.getId().equals(clientId));
-
-        if (!isUserAssociatedWithClient) {
+        if (!access.isAssociatedWithClient(clientId)) {
             return "O usuário não está associado ao cliente especificado";
         }
 
-        ClientEntity client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new NotFoundException("Cliente não encontrado com ID: " + clientId));
-
-        DamEntity dam = damRepository.findById(damId)
-                .orElseThrow(() -> new NotFoundException("Barragem não encontrada com ID: " + damId));
-
-        Optional<DamPermissionEntity> damPermission = damPermissionRepository.findByUserAndDamAndClient(user, dam, client);
-
-        if (damPermission.isEmpty() || !damPermission.get().getHasAccess()) {
+        if (!access.hasDamAccess(damId, clientId)) {
+            if (!damRepository.existsById(damId)) {
+                throw new NotFoundException("Barragem não encontrada com ID: " + damId);
+            }
             return "O usuário não tem permissão de acesso para esta barragem";
         }
 
@@ -305,18 +305,16 @@ public class UserPermissionsService {
             return e.getMessage();
         }
 
-        Optional<RoutineInspectionPermissionEntity> routinePermission = routineInspectionPermissionRepository.findByUser(user);
-
-        if (routinePermission.isEmpty()) {
+        if (!access.hasRoutineInspectionPermission()) {
             return "O usuário não possui permissões de inspeção de rotina";
         }
 
         if (isMobile) {
-            if (!routinePermission.get().getIsFillMobile()) {
+            if (!access.has(PermissionFlag.FILL_MOBILE)) {
                 return "O usuário não tem permissão para preencher checklists no aplicativo móvel";
             }
         } else {
-            if (!routinePermission.get().getIsFillWeb()) {
+            if (!access.has(PermissionFlag.FILL_WEB)) {
                 return "O usuário não tem permissão para preencher checklists na aplicação web";
             }
         }
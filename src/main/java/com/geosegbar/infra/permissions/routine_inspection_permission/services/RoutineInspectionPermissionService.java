@@ -2,6 +2,7 @@ package com.geosegbar.infra.permissions.routine_inspection_permission.services;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.infra.permissions.routine_inspection_permission.dtos.RoutineInspectionPermissionDTO;
 import com.geosegbar.infra.permissions.routine_inspection_permission.persistence.RoutineInspectionPermissionRepository;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,7 @@ public class RoutineInspectionPermissionService {
 
     private final RoutineInspectionPermissionRepository routinePermissionRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<RoutineInspectionPermissionEntity> findAll() {
@@ -58,7 +61,9 @@ public class RoutineInspectionPermissionService {
         permission.setIsFillWeb(permissionDTO.getIsFillWeb());
         permission.setIsFillMobile(permissionDTO.getIsFillMobile());
 
-        return routinePermissionRepository.save(permission);
+        RoutineInspectionPermissionEntity saved = routinePermissionRepository.save(permission);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getId()));
+        return saved;
     }
 
     @Transactional
@@ -67,6 +72,7 @@ public class RoutineInspectionPermissionService {
             throw new NotFoundException("Permissão de inspeção de rotina não encontrada com ID: " + id);
         }
         routinePermissionRepository.deleteById(id);
+        eventPublisher.publishEvent(UserAccessChangedEvent.allUsers());
     }
 
     @Transactional
@@ -79,6 +85,7 @@ public class RoutineInspectionPermissionService {
         }
 
         routinePermissionRepository.deleteByUser(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
     }
 
     @Transactional
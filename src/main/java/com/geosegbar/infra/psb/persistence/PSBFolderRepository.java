@@ -1,5 +1,6 @@
 package com.geosegbar.infra.psb.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,12 +50,74 @@ public interface PSBFolderRepository extends JpaRepository<PSBFolderEntity, Long
 
     List<PSBFolderEntity> findByDamIdAndParentFolderIsNullAndFolderIndexGreaterThanOrderByFolderIndexAsc(Long damId, Integer folderIndex);
 
+    /**
+     * IDs de todas as pastas PSB da barragem, de qualquer nível, em uma única
+     * consulta recursiva a partir das pastas raiz.
+     */
+    @Query(value = """
+            WITH RECURSIVE tree AS (
+                SELECT f.id FROM psb_folders f
+                WHERE f.dam_id = :damId AND f.parent_folder_id IS NULL
+                UNION ALL
+                SELECT c.id FROM psb_folders c
+                INNER JOIN tree t ON c.parent_folder_id = t.id
+            )
+            SELECT id FROM tree
+            """, nativeQuery = true)
+    List<Long> findTreeFolderIdsByDamId(@Param("damId") Long damId);
+
+    /**
+     * IDs da pasta e de todas as suas descendentes, em uma única consulta
+     * recursiva.
+     */
+    @Query(value = """
+            WITH RECURSIVE tree AS (
+                SELECT f.id FROM psb_folders f WHERE f.id = :folderId
+                UNION ALL
+                SELECT c.id FROM psb_folders c
+                INNER JOIN tree t ON c.parent_folder_id = t.id
+            )
+            SELECT id FROM tree
+            """, nativeQuery = true)
+    List<Long> findSubtreeFolderIds(@Param("folderId") Long folderId);
+
+    /**
+     * URLs de download de todos os arquivos da pasta e de suas descendentes.
+     */
+    @Query(value = """
+            WITH RECURSIVE tree AS (
+                SELECT f.id FROM psb_folders f WHERE f.id = :folderId
+                UNION ALL
+                SELECT c.id FROM psb_folders c
+                INNER JOIN tree t ON c.parent_folder_id = t.id
+            )
+            SELECT fi.download_url FROM psb_files fi
+            INNER JOIN tree t ON fi.psb_folder_id = t.id
+            WHERE fi.download_url IS NOT NULL
+            """, nativeQuery = true)
+    List<String> findSubtreeFileDownloadUrls(@Param("folderId") Long folderId);
+
+    /**
+     * Carrega as pastas com as subpastas já inicializadas. Com todas as pastas
+     * de uma árvore em {@code ids}, as coleções de todos os níveis são
+     * preenchidas por esta consulta, sem lazy load nível a nível.
+     */
     @Query("SELECT DISTINCT f FROM PSBFolderEntity f "
-            + "LEFT JOIN FETCH f.files "
             + "LEFT JOIN FETCH f.subfolders "
-            + "WHERE f.dam.id = :damId AND f.parentFolder IS NULL "
-            + "ORDER BY f.folderIndex ASC")
-    List<PSBFolderEntity> findCompleteHierarchyByDamId(@Param("damId") Long damId);
+            + "LEFT JOIN FETCH f.createdBy "
+            + "WHERE f.id IN :ids")
+    List<PSBFolderEntity> findByIdInFetchSubfolders(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Complementa {@link #findByIdInFetchSubfolders}: inicializa os arquivos
+     * das mesmas pastas em uma consulta separada, para não multiplicar
+     * subpastas por arquivos no resultado.
+     */
+    @Query("SELECT DISTINCT f FROM PSBFolderEntity f "
+            + "LEFT JOIN FETCH f.files fi "
+            + "LEFT JOIN FETCH fi.uploadedBy "
+            + "WHERE f.id IN :ids")
+    List<PSBFolderEntity> findByIdInFetchFiles(@Param("ids") Collection<Long> ids);
 
     @Override
     @EntityGraph(attributePaths = {"dam", "parentFolder"})
@@ -2,6 +2,7 @@ package com.geosegbar.infra.psb.services;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -11,7 +12,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.geosegbar.common.utils.AuthenticatedUserUtil;
 import com.geosegbar.entities.DamEntity;
-import com.geosegbar.entities.PSBFileEntity;
 import com.geosegbar.entities.PSBFolderEntity;
 import com.geosegbar.entities.UserEntity;
 import com.geosegbar.exceptions.BusinessRuleException;
@@ -63,17 +63,28 @@ public class PSBFolderService {
         if (!damRepository.existsById(damId)) {
             throw new NotFoundException("Barragem não encontrada");
         }
-        List<PSBFolderEntity> rootFolders = psbFolderRepository.findCompleteHierarchyByDamId(damId);
-        rootFolders.forEach(this::initializeSubfolders);
-        return rootFolders;
+        List<Long> folderIds = psbFolderRepository.findTreeFolderIdsByDamId(damId);
+        if (folderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return loadTree(folderIds).stream()
+                .filter(folder -> folder.getParentFolder() == null)
+                .sorted(Comparator.comparing(PSBFolderEntity::getFolderIndex,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
     }
 
-    private void initializeSubfolders(PSBFolderEntity folder) {
-        folder.getFiles().size();
-        folder.getSubfolders().forEach(subfolder -> {
-            subfolder.getFiles().size();
-            initializeSubfolders(subfolder);
-        });
+    /**
+     * Carrega as pastas informadas com subpastas e arquivos inicializados em
+     * todos os níveis: duas consultas, qualquer que seja a profundidade da
+     * árvore. {@code folderIds} deve conter a árvore inteira (ver as consultas
+     * recursivas do {@link PSBFolderRepository}); pastas fora dela ficariam
+     * com as coleções lazy.
+     */
+    private List<PSBFolderEntity> loadTree(List<Long> folderIds) {
+        List<PSBFolderEntity> folders = psbFolderRepository.findByIdInFetchSubfolders(folderIds);
+        psbFolderRepository.findByIdInFetchFiles(folderIds);
+        return folders;
     }
 
     @Transactional(readOnly = true)
@@ -83,8 +94,7 @@ public class PSBFolderService {
         if (folder.getParentFolder() != null) {
             folder.getParentFolder().getName();
         }
-        folder.getFiles().size();
-        initializeSubfolders(folder);
+        loadTree(psbFolderRepository.findSubtreeFolderIds(id));
         return folder;
     }
 
@@ -170,15 +180,16 @@ public class PSBFolderService {
         log.info("[PSB-DELETE] Pasta: '{}', damId={}, index={}, parentId={}",
                 folderToDelete.getName(), damId, deletedFolderIndex, parentFolderId);
 
-        log.info("[PSB-DELETE] Iniciando limpeza S3 recursiva...");
-        deleteS3ContentRecursively(folderToDelete);
+        List<Long> folderIds = psbFolderRepository.findSubtreeFolderIds(id);
+        log.info("[PSB-DELETE] Subárvore com {} pasta(s). Iniciando limpeza S3...", folderIds.size());
+        deleteS3Content(id);
         log.info("[PSB-DELETE] S3 limpo com sucesso.");
 
         entityManager.clear();
         log.info("[PSB-DELETE] Contexto JPA limpo após S3.");
 
-        log.info("[PSB-DELETE] Iniciando exclusão recursiva no banco (JPQL bulk delete)...");
-        deleteFolderRecursivelyFromDB(id);
+        log.info("[PSB-DELETE] Iniciando exclusão da subárvore no banco (JPQL bulk delete)...");
+        deleteFoldersFromDB(folderIds);
         log.info("[PSB-DELETE] Exclusão no banco concluída.");
 
         entityManager.clear();
@@ -189,54 +200,44 @@ public class PSBFolderService {
     }
 
     /**
-     * Deleta recursivamente uma pasta e todo seu conteúdo do banco de dados
-     * usando JPQL bulk DELETE (bottom-up). Esse método NUNCA aciona o cascade
-     * do JPA, o que evita TransientObjectException em estruturas bidirecionais.
+     * Deleta as pastas de uma subárvore e todo seu conteúdo do banco de dados
+     * usando JPQL bulk DELETE sobre os IDs (obtidos pela consulta recursiva).
+     * Esse método NUNCA aciona o cascade do JPA, o que evita
+     * TransientObjectException em estruturas bidirecionais. A FK entre pasta e
+     * pasta pai é verificada ao fim do statement, então pais e filhas saem no
+     * mesmo DELETE.
      */
-    private void deleteFolderRecursivelyFromDB(Long folderId) {
-        log.debug("[PSB-DELETE-DB] Processando pasta ID: {}", folderId);
-
-        List<Long> subfolderIds = entityManager
-                .createQuery("SELECT f.id FROM PSBFolderEntity f WHERE f.parentFolder.id = :pid", Long.class)
-                .setParameter("pid", folderId)
-                .getResultList();
-
-        log.debug("[PSB-DELETE-DB] Pasta {} tem {} subpasta(s): {}", folderId, subfolderIds.size(), subfolderIds);
-
-        for (Long subId : subfolderIds) {
-            deleteFolderRecursivelyFromDB(subId);
-        }
-
+    private void deleteFoldersFromDB(List<Long> folderIds) {
         int filesDeleted = entityManager
-                .createQuery("DELETE FROM PSBFileEntity f WHERE f.psbFolder.id = :folderId")
-                .setParameter("folderId", folderId)
+                .createQuery("DELETE FROM PSBFileEntity f WHERE f.psbFolder.id IN :folderIds")
+                .setParameter("folderIds", folderIds)
                 .executeUpdate();
-        log.debug("[PSB-DELETE-DB] {} arquivo(s) deletado(s) da pasta {}", filesDeleted, folderId);
+        log.debug("[PSB-DELETE-DB] {} arquivo(s) deletado(s)", filesDeleted);
 
         int linksDeleted = entityManager
-                .createQuery("DELETE FROM ShareFolderEntity sl WHERE sl.psbFolder.id = :folderId")
-                .setParameter("folderId", folderId)
+                .createQuery("DELETE FROM ShareFolderEntity sl WHERE sl.psbFolder.id IN :folderIds")
+                .setParameter("folderIds", folderIds)
                 .executeUpdate();
-        log.debug("[PSB-DELETE-DB] {} share link(s) deletado(s) da pasta {}", linksDeleted, folderId);
+        log.debug("[PSB-DELETE-DB] {} share link(s) deletado(s)", linksDeleted);
 
         int psbLinkNulled = entityManager
-                .createQuery("UPDATE DamEntity d SET d.psbLinkFolder = null WHERE d.psbLinkFolder.id = :folderId")
-                .setParameter("folderId", folderId)
+                .createQuery("UPDATE DamEntity d SET d.psbLinkFolder = null WHERE d.psbLinkFolder.id IN :folderIds")
+                .setParameter("folderIds", folderIds)
                 .executeUpdate();
         int legLinkNulled = entityManager
-                .createQuery("UPDATE DamEntity d SET d.legislationLinkFolder = null WHERE d.legislationLinkFolder.id = :folderId")
-                .setParameter("folderId", folderId)
+                .createQuery("UPDATE DamEntity d SET d.legislationLinkFolder = null WHERE d.legislationLinkFolder.id IN :folderIds")
+                .setParameter("folderIds", folderIds)
                 .executeUpdate();
         if (psbLinkNulled > 0 || legLinkNulled > 0) {
-            log.debug("[PSB-DELETE-DB] Referências FK em dam nullificadas para pasta {}: psbLink={}, legLink={}",
-                    folderId, psbLinkNulled, legLinkNulled);
+            log.debug("[PSB-DELETE-DB] Referências FK em dam nullificadas: psbLink={}, legLink={}",
+                    psbLinkNulled, legLinkNulled);
         }
 
         int deleted = entityManager
-                .createQuery("DELETE FROM PSBFolderEntity f WHERE f.id = :id")
-                .setParameter("id", folderId)
+                .createQuery("DELETE FROM PSBFolderEntity f WHERE f.id IN :folderIds")
+                .setParameter("folderIds", folderIds)
                 .executeUpdate();
-        log.debug("[PSB-DELETE-DB] Pasta {} deletada: {}", folderId, deleted > 0);
+        log.debug("[PSB-DELETE-DB] {} pasta(s) deletada(s): {}", deleted, folderIds);
     }
 
     /**
@@ -268,8 +269,10 @@ public class PSBFolderService {
             if (!sentFolderIds.contains(existingFolder.getId())) {
                 log.info("Deletando pasta raiz não enviada: {}", existingFolder.getName());
 
-                deleteS3ContentRecursively(existingFolder);
+                deleteS3Content(existingFolder.getId());
 
+                // O cascade do delete percorre a árvore já carregada, sem lazy load por nível.
+                loadTree(psbFolderRepository.findSubtreeFolderIds(existingFolder.getId()));
                 psbFolderRepository.delete(existingFolder);
             }
         }
@@ -383,19 +386,16 @@ public class PSBFolderService {
         return createdFolders;
     }
 
-    private void deleteS3ContentRecursively(PSBFolderEntity folder) {
-        if (folder.getFiles() != null) {
-            for (PSBFileEntity file : folder.getFiles()) {
-                try {
-                    fileStorageService.deleteFile(file.getDownloadUrl());
-                } catch (Exception e) {
-                    log.error("Erro ao deletar: {}", e.getMessage());
-                }
-            }
-        }
-        if (folder.getSubfolders() != null) {
-            for (PSBFolderEntity sub : folder.getSubfolders()) {
-                deleteS3ContentRecursively(sub);
+    /**
+     * Remove do storage os arquivos da pasta e de todas as descendentes, com
+     * as URLs obtidas em uma única consulta recursiva.
+     */
+    private void deleteS3Content(Long folderId) {
+        for (String downloadUrl : psbFolderRepository.findSubtreeFileDownloadUrls(folderId)) {
+            try {
+                fileStorageService.deleteFile(downloadUrl);
+            } catch (Exception e) {
+                log.error("Erro ao deletar: {}", e.getMessage());
             }
         }
     }
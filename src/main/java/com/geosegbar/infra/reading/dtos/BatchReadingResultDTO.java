@@ -0,0 +1,35 @@
+package com.geosegbar.infra.reading.dtos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class BatchReadingResultDTO {
+
+    private int totalProcessed;
+    private int successCount;
+    private int createdReadings;
+    private List<RowError> errors = new ArrayList<>();
+
+    public int getFailureCount() {
+        return errors.size();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        /**
+         * Posição da leitura na lista enviada para
+         * {@code ReadingService.createBatch} (base 0).
+         */
+        private int index;
+        private String errorMessage;
+    }
+}
@@ -0,0 +1,28 @@
+package com.geosegbar.infra.reading.dtos;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.geosegbar.common.enums.ReadingExportDatasetEnum;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadingBulkExportRequestDTO {
+
+    @NotEmpty(message = "É necessário fornecer pelo menos um ID de instrumento")
+    @Size(max = 500, message = "Máximo de 500 instrumentos permitidos por exportação")
+    private List<Long> instrumentIds;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private ReadingExportDatasetEnum dataset = ReadingExportDatasetEnum.READINGS;
+}
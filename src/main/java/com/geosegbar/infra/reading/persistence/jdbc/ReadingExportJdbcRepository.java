@@ -0,0 +1,92 @@
+package com.geosegbar.infra.reading.persistence.jdbc;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Leitura por cursor das tabelas {@code reading} e {@code reading_input_value}
+ * para a exportação em massa (CSV).
+ * <p>
+ * As linhas são entregues ao {@link RowCallbackHandler} direto do
+ * {@link ResultSet}, sem hidratar entidades. O fetch size só faz o driver do
+ * Postgres usar cursor quando a conexão está fora de autocommit, então os
+ * métodos devem ser chamados dentro de uma transação.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReadingExportJdbcRepository {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private static final String FILTER = """
+            WHERE r.instrument_id = ANY(?)
+              AND r.active = true
+              AND (CAST(? AS date) IS NULL OR r.date >= ?)
+              AND (CAST(? AS date) IS NULL OR r.date <= ?)
+            """;
+
+    private static final String READINGS_SQL = """
+            SELECT r.id AS reading_id, r.instrument_id, i.name AS instrument_name,
+                   r.output_id, o.acronym AS output_acronym, r.date, r.hour,
+                   r.calculated_value, r.limit_status, r.comment, u.name AS created_by
+            FROM reading r
+            JOIN instrument i ON i.id = r.instrument_id
+            JOIN output o ON o.id = r.output_id
+            LEFT JOIN users u ON u.id = r.user_id
+            """ + FILTER + """
+            ORDER BY r.instrument_id, r.date, r.hour, r.id
+            """;
+
+    private static final String INPUT_VALUES_SQL = """
+            SELECT riv.reading_id, r.instrument_id, riv.input_acronym, riv.input_name, riv.value
+            FROM reading_input_value riv
+            JOIN reading r ON r.id = riv.reading_id
+            """ + FILTER + """
+            ORDER BY r.instrument_id, riv.reading_id, riv.input_acronym
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Colunas: reading_id, instrument_id, instrument_name, output_id,
+     * output_acronym, date, hour, calculated_value, limit_status, comment,
+     * created_by.
+     */
+    public void streamReadings(List<Long> instrumentIds, LocalDate startDate, LocalDate endDate,
+            RowCallbackHandler handler) {
+        stream(READINGS_SQL, instrumentIds, startDate, endDate, handler);
+    }
+
+    /**
+     * Colunas: reading_id, instrument_id, input_acronym, input_name, value.
+     */
+    public void streamInputValues(List<Long> instrumentIds, LocalDate startDate, LocalDate endDate,
+            RowCallbackHandler handler) {
+        stream(INPUT_VALUES_SQL, instrumentIds, startDate, endDate, handler);
+    }
+
+    private void stream(String sql, List<Long> instrumentIds, LocalDate startDate, LocalDate endDate,
+            RowCallbackHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            Array ids = con.createArrayOf("bigint", instrumentIds.toArray());
+            ps.setArray(1, ids);
+            ps.setObject(2, startDate, Types.DATE);
+            ps.setObject(3, startDate, Types.DATE);
+            ps.setObject(4, endDate, Types.DATE);
+            ps.setObject(5, endDate, Types.DATE);
+            return ps;
+        }, handler);
+    }
+}
@@ -0,0 +1,115 @@
+package com.geosegbar.infra.reading.persistence.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Escrita set-based de leituras via JDBC batch.
+ * <p>
+ * {@code reading.id} é IDENTITY, o que impede o Hibernate de agrupar os INSERTs
+ * (ele precisa do id de cada linha antes de gravar os filhos). Aqui os ids são
+ * reservados de uma vez na sequence da coluna e as leituras e seus
+ * {@code reading_input_value} são gravados em lotes, sem hidratar entidades.
+ * Deve ser chamado dentro de uma transação já aberta.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReadingJdbcRepository {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String RESERVE_READING_IDS_SQL
+            = "SELECT nextval(pg_get_serial_sequence('reading', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_READING_SQL = """
+            INSERT INTO reading (id, date, hour, calculated_value, limit_status, active, comment,
+                                 user_id, instrument_id, output_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_INPUT_VALUE_SQL = """
+            INSERT INTO reading_input_value (input_acronym, input_name, value, reading_id)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Grava as leituras e os valores de input de cada uma.
+     *
+     * @return ids gerados, na mesma ordem de {@code rows}
+     */
+    public List<Long> insertReadings(List<ReadingInsertRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_READING_IDS_SQL, Long.class, rows.size());
+
+        List<Object[]> readingArgs = new ArrayList<>(rows.size());
+        List<Object[]> inputValueArgs = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ReadingInsertRow row = rows.get(i);
+            Long id = ids.get(i);
+            readingArgs.add(new Object[]{
+                id, row.date(), row.hour(), row.calculatedValue(), row.limitStatus().name(), row.active(),
+                row.comment(), row.userId(), row.instrumentId(), row.outputId()
+            });
+            for (InputValueRow input : row.inputValues()) {
+                inputValueArgs.add(new Object[]{input.acronym(), input.name(), input.value(), id});
+            }
+        }
+
+        int[] readingTypes = {
+            Types.BIGINT, Types.DATE, Types.TIME, Types.NUMERIC, Types.VARCHAR, Types.BOOLEAN,
+            Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT
+        };
+        int[] inputValueTypes = {Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.BIGINT};
+
+        for (List<Object[]> chunk : chunks(readingArgs)) {
+            jdbcTemplate.batchUpdate(INSERT_READING_SQL, chunk, readingTypes);
+        }
+        for (List<Object[]> chunk : chunks(inputValueArgs)) {
+            jdbcTemplate.batchUpdate(INSERT_INPUT_VALUE_SQL, chunk, inputValueTypes);
+        }
+
+        return ids;
+    }
+
+    private static List<List<Object[]>> chunks(List<Object[]> args) {
+        List<List<Object[]>> chunks = new ArrayList<>();
+        for (int start = 0; start < args.size(); start += BATCH_SIZE) {
+            chunks.add(args.subList(start, Math.min(start + BATCH_SIZE, args.size())));
+        }
+        return chunks;
+    }
+
+    public record ReadingInsertRow(
+            LocalDate date,
+            LocalTime hour,
+            BigDecimal calculatedValue,
+            LimitStatusEnum limitStatus,
+            boolean active,
+            String comment,
+            Long userId,
+            Long instrumentId,
+            Long outputId,
+            List<InputValueRow> inputValues) {
+
+    }
+
+    public record InputValueRow(String acronym, String name, BigDecimal value) {
+
+    }
+}
@@ -0,0 +1,211 @@
+package com.geosegbar.infra.reading.persistence.jpa;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.geosegbar.entities.LatestReadingEntity;
+import com.geosegbar.infra.dashboard.projections.InstrumentStatusDistributionProjection;
+import com.geosegbar.infra.reading.projections.InstrumentLimitStatusProjection;
+
+@Repository
+public interface LatestReadingRepository extends JpaRepository<LatestReadingEntity, Long> {
+
+    /**
+     * Bloqueia as linhas de {@code output} envolvidas até o fim da transação,
+     * serializando recálculos concorrentes do mesmo output. Em READ COMMITTED o
+     * recálculo seguinte (outra instrução) já enxerga as leituras gravadas pela
+     * transação que liberou o lock. {@code FOR NO KEY UPDATE} não conflita com
+     * o {@code FOR KEY SHARE} das FKs de {@code reading}.
+     * <p>
+     * Retorna a barragem de cada output bloqueado (uma linha por output), usada
+     * para invalidar o cache do dashboard sem consulta extra.
+     */
+    @Query(value = """
+            SELECT i.dam_id FROM output o
+            INNER JOIN instrument i ON o.instrument_id = i.id
+            WHERE o.id IN :outputIds
+            ORDER BY o.id
+            FOR NO KEY UPDATE OF o
+            """, nativeQuery = true)
+    List<Long> lockOutputs(@Param("outputIds") Collection<Long> outputIds);
+
+    /**
+     * Recalcula o snapshot dos outputs a partir de {@code reading}: uma busca
+     * {@code LIMIT 1} por output no índice {@code (output_id, active, date DESC,
+     * hour DESC)}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO latest_reading (output_id, instrument_id, reading_id, date, hour, calculated_value, limit_status)
+            SELECT l.output_id, l.instrument_id, l.id, l.date, l.hour, l.calculated_value, l.limit_status
+            FROM output o
+            CROSS JOIN LATERAL (
+                SELECT r.output_id, r.instrument_id, r.id, r.date, r.hour, r.calculated_value, r.limit_status
+                FROM reading r
+                WHERE r.output_id = o.id
+                  AND r.active = true
+                ORDER BY r.date DESC, r.hour DESC, r.id DESC
+                LIMIT 1
+            ) l
+            WHERE o.id IN :outputIds
+            ON CONFLICT (output_id) DO UPDATE SET
+                instrument_id = EXCLUDED.instrument_id,
+                reading_id = EXCLUDED.reading_id,
+                date = EXCLUDED.date,
+                hour = EXCLUDED.hour,
+                calculated_value = EXCLUDED.calculated_value,
+                limit_status = EXCLUDED.limit_status
+            """, nativeQuery = true)
+    int upsertFromReadings(@Param("outputIds") Collection<Long> outputIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM latest_reading lr
+            WHERE lr.output_id IN :outputIds
+              AND NOT EXISTS (
+                  SELECT 1 FROM reading r
+                  WHERE r.output_id = lr.output_id AND r.active = true
+              )
+            """, nativeQuery = true)
+    int deleteWithoutActiveReadings(@Param("outputIds") Collection<Long> outputIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM latest_reading WHERE instrument_id = :instrumentId", nativeQuery = true)
+    int deleteByInstrumentId(@Param("instrumentId") Long instrumentId);
+
+    /**
+     * Carga inicial do snapshot (tabela recém-criada). Única varredura completa
+     * de {@code reading}; depois disso a tabela é mantida nas escritas.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO latest_reading (output_id, instrument_id, reading_id, date, hour, calculated_value, limit_status)
+            SELECT DISTINCT ON (r.output_id)
+                   r.output_id, r.instrument_id, r.id, r.date, r.hour, r.calculated_value, r.limit_status
+            FROM reading r
+            WHERE r.active = true
+            ORDER BY r.output_id, r.date DESC, r.hour DESC, r.id DESC
+            ON CONFLICT (output_id) DO NOTHING
+            """, nativeQuery = true)
+    int backfillFromReadings();
+
+    @Query(value = "SELECT lr.reading_id FROM latest_reading lr WHERE lr.output_id IN :outputIds", nativeQuery = true)
+    List<Long> findReadingIdsByOutputIds(@Param("outputIds") Collection<Long> outputIds);
+
+    /**
+     * Equivalente a {@code ReadingRepository.findLatestLimitStatusByClientId}
+     * lendo o snapshot: devolve, para cada instrumento ativo do cliente, os
+     * status dos outputs cuja última leitura está na data/hora mais recente do
+     * instrumento.
+     */
+    @Query(value = """
+            WITH latest_per_instrument AS (
+                SELECT DISTINCT ON (lr.instrument_id)
+                    lr.instrument_id, lr.date, lr.hour
+                FROM latest_reading lr
+                INNER JOIN instrument i ON lr.instrument_id = i.id
+                INNER JOIN dam d ON i.dam_id = d.id
+                WHERE d.client_id = :clientId
+                  AND i.active = true
+                ORDER BY lr.instrument_id, lr.date DESC, lr.hour DESC
+            )
+            SELECT
+                i.id as instrumentId,
+                i.name as instrumentName,
+                it.name as instrumentTypeName,
+                it.id as instrumentTypeId,
+                d.id as damId,
+                d.name as damName,
+                c.id as clientId,
+                c.name as clientName,
+                lr.date as readingDate,
+                lr.hour as readingHour,
+                lr.limit_status as limitStatus
+            FROM latest_per_instrument lpi
+            INNER JOIN latest_reading lr
+                ON lr.instrument_id = lpi.instrument_id
+                AND lr.date = lpi.date
+                AND lr.hour = lpi.hour
+            INNER JOIN instrument i ON lr.instrument_id = i.id
+            INNER JOIN instrument_type it ON i.instrument_type_id = it.id
+            INNER JOIN dam d ON i.dam_id = d.id
+            INNER JOIN client c ON d.client_id = c.id
+            ORDER BY i.id
+            """, nativeQuery = true)
+    List<InstrumentLimitStatusProjection> findLatestLimitStatusByClientId(@Param("clientId") Long clientId);
+
+    /**
+     * Data/hora mais recente de cada instrumento ativo do cliente, no formato
+     * de {@code ReadingRepository.findLatestDistinctDateHoursByClientId} com
+     * {@code limit = 1}.
+     */
+    @Query(value = """
+            SELECT DISTINCT ON (lr.instrument_id) lr.instrument_id, lr.date, lr.hour
+            FROM latest_reading lr
+            INNER JOIN instrument i ON lr.instrument_id = i.id
+            INNER JOIN dam d ON i.dam_id = d.id
+            WHERE d.client_id = :clientId
+              AND i.active = true
+            ORDER BY lr.instrument_id, lr.date DESC, lr.hour DESC
+            """, nativeQuery = true)
+    List<Object[]> findLatestDateHourByClientId(@Param("clientId") Long clientId);
+
+    /**
+     * Equivalente a {@code ReadingRepository.findInstrumentStatusDistributionByType}
+     * quando o período termina hoje ou depois: como não existem leituras
+     * futuras, a última leitura do período é a última leitura do instrumento,
+     * desde que não seja anterior a {@code startDate}.
+     */
+    @Query(value = """
+            WITH latest_per_instrument AS (
+                SELECT DISTINCT ON (lr.instrument_id)
+                    lr.instrument_id, lr.date, lr.hour
+                FROM latest_reading lr
+                INNER JOIN instrument i ON lr.instrument_id = i.id
+                WHERE i.active = true
+                  AND i.dam_id IN (:damIds)
+                ORDER BY lr.instrument_id, lr.date DESC, lr.hour DESC
+            ),
+            critical_status AS (
+                SELECT DISTINCT ON (lr.instrument_id)
+                    lr.instrument_id,
+                    lr.limit_status
+                FROM latest_reading lr
+                INNER JOIN latest_per_instrument lpi
+                    ON lr.instrument_id = lpi.instrument_id
+                    AND lr.date = lpi.date
+                    AND lr.hour = lpi.hour
+                WHERE lpi.date >= :startDate
+                ORDER BY lr.instrument_id,
+                    CASE lr.limit_status
+                        WHEN 'EMERGENCIA' THEN 1
+                        WHEN 'ALERTA' THEN 2
+                        WHEN 'ATENCAO' THEN 3
+                        WHEN 'SUPERIOR' THEN 4
+                        WHEN 'INFERIOR' THEN 4
+                        WHEN 'NORMAL' THEN 5
+                    END,
+                    lr.limit_status
+            )
+            SELECT
+                it.id as typeId,
+                it.name as typeName,
+                cs.limit_status as limitStatus,
+                CAST(COUNT(*) AS BIGINT) as total
+            FROM critical_status cs
+            INNER JOIN instrument i ON cs.instrument_id = i.id
+            INNER JOIN instrument_type it ON i.instrument_type_id = it.id
+            GROUP BY it.id, it.name, cs.limit_status
+            ORDER BY it.name
+            """, nativeQuery = true)
+    List<InstrumentStatusDistributionProjection> findInstrumentStatusDistributionSince(
+            @Param("damIds") List<Long> damIds,
+            @Param("startDate") LocalDate startDate);
+}
@@ -5,12 +5,14 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +20,10 @@ import com.geosegbar.common.enums.LimitStatusEnum;
 import com.geosegbar.entities.ReadingEntity;
 import com.geosegbar.infra.dashboard.projections.InstrumentStatusDistributionProjection;
 import com.geosegbar.infra.reading.projections.InstrumentLimitStatusProjection;
+import com.geosegbar.infra.reading.projections.ReadingExportColumnProjection;
+import com.geosegbar.infra.reading.projections.ReadingExportRowProjection;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ReadingRepository extends JpaRepository<ReadingEntity, Long> {
@@ -78,9 +84,32 @@ public interface ReadingRepository extends JpaRepository<ReadingEntity, Long> {
 
     boolean existsByInstrumentIdAndDate(Long instrumentId, LocalDate date);
 
+    @Query("""
+            SELECT DISTINCT r.date
+            FROM ReadingEntity r
+            WHERE r.instrument.id = :instrumentId
+              AND r.date BETWEEN :startDate AND :endDate
+            """)
+    List<LocalDate> findDistinctDatesByInstrumentIdBetween(
+            @Param("instrumentId") Long instrumentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     boolean existsByInstrumentIdAndDateAndHourAndActive(
             Long instrumentId, LocalDate date, LocalTime hour, Boolean active);
 
+    @Query("""
+            SELECT DISTINCT r.date, r.hour
+            FROM ReadingEntity r
+            WHERE r.instrument.id = :instrumentId
+              AND r.active = true
+              AND r.date BETWEEN :startDate AND :endDate
+            """)
+    List<Object[]> findActiveDateHoursByInstrumentIdBetween(
+            @Param("instrumentId") Long instrumentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     @Query("""
             SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END
             FROM ReadingEntity r
@@ -507,6 +536,79 @@ public interface ReadingRepository extends JpaRepository<ReadingEntity, Long> {
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Leituras da exportação em streaming, já na ordem de escrita da planilha.
+     * Deve ser consumido dentro de uma transação e fechado ao final; o fetch
+     * size faz o driver do Postgres usar cursor em vez de materializar o
+     * resultado inteiro.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query(value = """
+            SELECT r.date AS readingDate,
+                   r.hour AS readingHour,
+                   r.output_id AS outputId,
+                   r.calculated_value AS calculatedValue,
+                   r.limit_status AS limitStatus,
+                   r.comment AS comment,
+                   u.name AS createdBy,
+                   (SELECT string_agg(riv.input_acronym || chr(31) || COALESCE(CAST(riv.value AS text), ''), chr(30))
+                      FROM reading_input_value riv
+                     WHERE riv.reading_id = r.id) AS inputValues
+            FROM reading r
+            LEFT JOIN users u ON u.id = r.user_id
+            WHERE r.instrument_id = :instrumentId
+              AND r.active = true
+              AND (CAST(:startDate AS date) IS NULL OR r.date >= :startDate)
+              AND (CAST(:endDate AS date) IS NULL OR r.date <= :endDate)
+            ORDER BY r.date DESC, r.hour DESC, r.id
+            """, nativeQuery = true)
+    Stream<ReadingExportRowProjection> streamExportRowsByInstrumentId(
+            @Param("instrumentId") Long instrumentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(value = """
+            SELECT o.id AS id, o.acronym AS acronym, o.name AS name, mu.acronym AS unit
+            FROM output o
+            LEFT JOIN measurement_unit mu ON mu.id = o.measurement_unit_id
+            WHERE o.id IN (
+                SELECT DISTINCT r.output_id FROM reading r
+                WHERE r.instrument_id = :instrumentId
+                  AND r.active = true
+                  AND (CAST(:startDate AS date) IS NULL OR r.date >= :startDate)
+                  AND (CAST(:endDate AS date) IS NULL OR r.date <= :endDate)
+            )
+            ORDER BY o.name
+            """, nativeQuery = true)
+    List<ReadingExportColumnProjection> findExportOutputColumns(
+            @Param("instrumentId") Long instrumentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query(value = """
+            SELECT CAST(NULL AS bigint) AS id, c.acronym AS acronym, c.name AS name, mu.acronym AS unit
+            FROM (
+                SELECT DISTINCT ON (riv.input_acronym) riv.input_acronym AS acronym, riv.input_name AS name
+                FROM reading_input_value riv
+                JOIN reading r ON r.id = riv.reading_id
+                WHERE r.instrument_id = :instrumentId
+                  AND r.active = true
+                  AND (CAST(:startDate AS date) IS NULL OR r.date >= :startDate)
+                  AND (CAST(:endDate AS date) IS NULL OR r.date <= :endDate)
+                ORDER BY riv.input_acronym, r.date DESC, r.hour DESC
+            ) c
+            LEFT JOIN input i ON i.instrument_id = :instrumentId AND i.acronym = c.acronym
+            LEFT JOIN measurement_unit mu ON mu.id = i.measurement_unit_id
+            ORDER BY c.acronym
+            """, nativeQuery = true)
+    List<ReadingExportColumnProjection> findExportInputColumns(
+            @Param("instrumentId") Long instrumentId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
     @Query("SELECT DISTINCT o.instrument.id FROM OutputEntity o WHERE o.id IN :outputIds")
     Set<Long> findInstrumentIdsByOutputIds(@Param("outputIds") List<Long> outputIds);
 
@@ -516,6 +618,9 @@ public interface ReadingRepository extends JpaRepository<ReadingEntity, Long> {
     @Query("SELECT r.id FROM ReadingEntity r WHERE r.output.id = :outputId")
     List<Long> findIdsByOutputId(@Param("outputId") Long outputId);
 
+    @Query("SELECT r.output.id FROM ReadingEntity r WHERE r.id = :id")
+    Optional<Long> findOutputIdById(@Param("id") Long id);
+
     @Modifying
     @Query("UPDATE ReadingEntity r SET r.active = :active WHERE r.id IN :ids")
     int bulkUpdateActiveStatus(@Param("ids") List<Long> ids, @Param("active") Boolean active);
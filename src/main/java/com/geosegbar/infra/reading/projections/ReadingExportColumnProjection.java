@@ -0,0 +1,16 @@
+package com.geosegbar.infra.reading.projections;
+
+/**
+ * Metadados de coluna (input ou output) do cabeçalho da exportação em
+ * streaming. {@link #getId()} é nulo para inputs.
+ */
+public interface ReadingExportColumnProjection {
+
+    Long getId();
+
+    String getAcronym();
+
+    String getName();
+
+    String getUnit();
+}
@@ -0,0 +1,29 @@
+package com.geosegbar.infra.reading.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Linha da exportação em streaming: uma leitura (instrumento + output) com os
+ * valores de input agregados em texto. {@link #getInputValues()} vem no formato
+ * {@code ACR<US>valor<RS>ACR<US>valor}, usando os separadores ASCII 0x1F/0x1E.
+ */
+public interface ReadingExportRowProjection {
+
+    LocalDate getReadingDate();
+
+    LocalTime getReadingHour();
+
+    Long getOutputId();
+
+    BigDecimal getCalculatedValue();
+
+    String getLimitStatus();
+
+    String getComment();
+
+    String getCreatedBy();
+
+    String getInputValues();
+}
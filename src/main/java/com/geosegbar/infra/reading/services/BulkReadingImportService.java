@@ -3,24 +3,24 @@ package com.geosegbar.infra.reading.services;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.geosegbar.common.utils.StreamingExcelReader;
+import com.geosegbar.common.utils.StreamingExcelReader.RowHandler;
+import com.geosegbar.common.utils.StreamingExcelReader.SheetRow;
 import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO;
 import com.geosegbar.infra.reading.dtos.ImportReadingsResult;
 import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
 
@@ -39,6 +39,12 @@ public class BulkReadingImportService {
     private static final DateTimeFormatter TIME_FMT
             = DateTimeFormatter.ofPattern("[HH:mm:ss][HH:mm]");
 
+    /**
+     * Linhas válidas acumuladas antes de cada chamada a
+     * {@link ReadingService#createBatch}. Cada lote é uma transação própria.
+     */
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
     public ImportReadingsResult importFromExcel(Long instrumentId, MultipartFile file) {
         ImportReadingsResult result = new ImportReadingsResult();
 
@@ -55,169 +61,213 @@ public class BulkReadingImportService {
             throw new InvalidInputException("Formato de arquivo inválido. Por favor, envie um arquivo Excel (.xlsx ou .xls).");
         }
 
+        ReadingsSheetImport sheetImport = new ReadingsSheetImport(instrumentId, result);
+
         try (InputStream is = file.getInputStream()) {
-            Workbook wb;
+            StreamingExcelReader reader;
             try {
-                wb = WorkbookFactory.create(is);
+                reader = StreamingExcelReader.open(is);
             } catch (Exception e) {
                 throw new InvalidInputException("Não foi possível abrir o arquivo Excel. Verifique se o arquivo está corrompido ou se é uma planilha Excel válida.");
             }
 
-            Sheet sheet = wb.getSheet("Leituras");
-            if (sheet == null) {
-                throw new InvalidInputException("Aba 'Leituras' não encontrada. Por favor, use o modelo de planilha correto que contenha uma aba chamada 'Leituras'.");
-            }
-
-            if (sheet.getPhysicalNumberOfRows() <= 1) {
-                throw new InvalidInputException("A planilha não contém dados de leituras para importar. A aba 'Leituras' está vazia ou contém apenas o cabeçalho.");
+            try (reader) {
+                if (!reader.readSheet("Leituras", sheetImport)) {
+                    throw new InvalidInputException("Aba 'Leituras' não encontrada. Por favor, use o modelo de planilha correto que contenha uma aba chamada 'Leituras'.");
+                }
             }
 
-            Row header = sheet.getRow(0);
-            if (header == null) {
+            if (!sheetImport.headerRead) {
                 throw new InvalidInputException("Cabeçalho não encontrado na aba 'Leituras'. Verifique se a planilha está no formato correto.");
             }
 
-            Map<String, Integer> idx = new HashMap<>();
-            for (Cell c : header) {
-                if (c.getCellType() == CellType.STRING) {
-                    String h = c.getStringCellValue().trim();
-                    if (!h.isEmpty()) {
-                        idx.put(h, c.getColumnIndex());
-                    }
-                }
-            }
+            sheetImport.flush();
+            result.setTotalRows(sheetImport.total);
 
-            Integer idxDate = idx.get("Data da Leitura");
-            Integer idxHour = idx.get("Hora da Leitura");
-            if (idxDate == null || idxHour == null) {
-                throw new InvalidInputException("Colunas obrigatórias não encontradas: 'Data da Leitura' e/ou 'Hora da Leitura'. Verifique se está usando o modelo de planilha correto.");
+            if (sheetImport.total == 0) {
+                throw new InvalidInputException("Nenhuma leitura encontrada na planilha. Verifique se os dados estão formatados corretamente.");
             }
 
-            List<String> inputAcronyms = idx.keySet().stream()
-                    .filter(col -> !col.equals("Data da Leitura") && !col.equals("Hora da Leitura"))
-                    .toList();
+        } catch (InvalidInputException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new InvalidInputException("Erro ao ler o arquivo Excel: " + e.getMessage());
+        } catch (Exception e) {
 
-            if (inputAcronyms.isEmpty()) {
-                throw new InvalidInputException("Nenhuma coluna de leitura encontrada além de 'Data da Leitura' e 'Hora da Leitura'. A planilha deve conter ao menos uma coluna adicional com valores de leitura.");
+            String detailedMessage = e.getMessage();
+            String friendlyMessage = "Erro ao processar a planilha Excel. ";
+
+            if (detailedMessage != null && detailedMessage.contains("iterator()") && detailedMessage.contains("null")) {
+                friendlyMessage += "Uma ou mais abas necessárias não foram encontradas. Certifique-se de usar o modelo de planilha correto com a aba 'Leituras'.";
+            } else if (detailedMessage != null && detailedMessage.contains("Invalid header signature")) {
+                friendlyMessage += "O arquivo não é uma planilha Excel válida ou está corrompido.";
+            } else {
+                friendlyMessage += "Detalhes: " + detailedMessage;
             }
 
-            int total = 0;
-            for (int rn = 1; rn <= sheet.getLastRowNum(); rn++) {
-                Row r = sheet.getRow(rn);
-                if (r == null) {
-                    continue;
-                }
+            throw new InvalidInputException(friendlyMessage);
+        }
 
-                Cell dCell = r.getCell(idxDate);
-                Cell tCell = r.getCell(idxHour);
+        return result;
+    }
 
-                if ((dCell == null || dCell.getCellType() == CellType.BLANK)
-                        && (tCell == null || tCell.getCellType() == CellType.BLANK)) {
-                    continue;
-                }
+    /**
+     * Consome a aba 'Leituras' linha a linha: a primeira linha é o cabeçalho e
+     * as demais são convertidas em {@link ReadingRequestDTO} e enviadas ao
+     * {@link ReadingService#createBatch} a cada {@link #IMPORT_BATCH_SIZE}
+     * linhas válidas. Só o lote corrente fica em memória.
+     */
+    private class ReadingsSheetImport implements RowHandler {
+
+        private final Long instrumentId;
+        private final ImportReadingsResult result;
+        private final List<ReadingRequestDTO> pending = new ArrayList<>(IMPORT_BATCH_SIZE);
+        private final List<Integer> pendingRowNumbers = new ArrayList<>(IMPORT_BATCH_SIZE);
+
+        private boolean headerRead;
+        private Integer idxDate;
+        private Integer idxHour;
+        private final Map<String, Integer> inputColumns = new LinkedHashMap<>();
+        private int total;
+
+        ReadingsSheetImport(Long instrumentId, ImportReadingsResult result) {
+            this.instrumentId = instrumentId;
+            this.result = result;
+        }
 
-                total++;
+        @Override
+        public void handle(SheetRow r) {
+            if (!headerRead) {
+                readHeader(r);
+                return;
+            }
 
-                try {
+            int rowNumber = r.getRowNum() + 1;
 
-                    if (dCell == null) {
-                        throw new InvalidInputException("Data da Leitura não informada");
-                    }
+            if (r.isBlank(idxDate) && r.isBlank(idxHour)) {
+                return;
+            }
 
-                    LocalDate date;
-                    try {
-                        if (dCell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(dCell)) {
-                            date = dCell.getLocalDateTimeCellValue().toLocalDate();
-                        } else {
-                            String s = dCell.getStringCellValue().trim();
-                            date = LocalDate.parse(s, DATE_FMT);
-                        }
-                    } catch (DateTimeParseException | IllegalStateException e) {
-                        throw new InvalidInputException("Data da Leitura em formato inválido. Use o formato DD/MM/YYYY.");
-                    }
+            total++;
 
-                    if (tCell == null) {
-                        throw new InvalidInputException("Hora da Leitura não informada");
+            try {
+                LocalDate date = parseDate(r.get(idxDate));
+                LocalTime hour = parseHour(r.get(idxHour));
+
+                Map<String, Double> inputValues = new HashMap<>();
+                for (Map.Entry<String, Integer> column : inputColumns.entrySet()) {
+                    String acr = column.getKey();
+                    String raw = r.get(column.getValue());
+                    if (raw == null) {
+                        throw new InvalidInputException("Coluna '" + acr + "' vazia");
                     }
+                    inputValues.put(acr, parseValue(acr, raw));
+                }
 
-                    LocalTime hour;
-                    try {
-                        if (tCell.getCellType() == CellType.NUMERIC && DateUtil.isCellDateFormatted(tCell)) {
-                            double frac = tCell.getNumericCellValue();
-                            hour = LocalTime.ofSecondOfDay((long) (frac * 24 * 3600));
-                        } else {
-                            String s = tCell.getStringCellValue().trim();
-                            hour = LocalTime.parse(s, TIME_FMT);
-                        }
-                    } catch (DateTimeParseException | IllegalStateException e) {
-                        throw new InvalidInputException("Hora da Leitura em formato inválido. Use o formato HH:MM ou HH:MM:SS.");
-                    }
+                pending.add(new ReadingRequestDTO(date, hour, inputValues, null));
+                pendingRowNumbers.add(rowNumber);
+                if (pending.size() >= IMPORT_BATCH_SIZE) {
+                    flush();
+                }
 
-                    Map<String, Double> inputValues = new HashMap<>();
-                    for (String acr : inputAcronyms) {
-                        Cell c = r.getCell(idx.get(acr));
-                        if (c == null) {
-                            throw new InvalidInputException("Coluna '" + acr + "' vazia");
-                        }
-                        double v;
-                        try {
-                            if (c.getCellType() == CellType.NUMERIC) {
-                                v = c.getNumericCellValue();
-                            } else {
-                                String ss = c.getStringCellValue().trim();
-                                // Normaliza: remove espaços e substitui vírgula por ponto
-                                ss = ss.replace(",", ".").replace(" ", "");
-
-                                // Valida se contém apenas números, ponto e sinal
-                                if (!ss.matches("^-?\\d+(\\.\\d+)?$")) {
-                                    throw new NumberFormatException("Formato inválido");
-                                }
-
-                                v = Double.parseDouble(ss);
-                            }
-                        } catch (NumberFormatException | IllegalStateException ex) {
-                            throw new InvalidInputException("Valor de '" + acr + "' inválido: "
-                                    + (c.getCellType() == CellType.STRING ? c.getStringCellValue() : "não é um número"));
-                        }
-                        inputValues.put(acr, v);
-                    }
+            } catch (Exception ex) {
+                result.setFailureCount(result.getFailureCount() + 1);
+                result.getErrors().add("Linha " + rowNumber + ": " + ex.getMessage());
+                log.warn("Falha importando linha {}: {}", rowNumber, ex.getMessage());
+            }
+        }
 
-                    ReadingRequestDTO req = new ReadingRequestDTO(date, hour, inputValues, null);
-                    readingService.create(instrumentId, req, false);
-                    result.setSuccessCount(result.getSuccessCount() + 1);
+        private void readHeader(SheetRow header) {
+            if (header.getRowNum() != 0) {
+                throw new InvalidInputException("Cabeçalho não encontrado na aba 'Leituras'. Verifique se a planilha está no formato correto.");
+            }
+            headerRead = true;
 
-                } catch (Exception ex) {
-                    result.setFailureCount(result.getFailureCount() + 1);
-                    result.getErrors().add("Linha " + (rn + 1) + ": " + ex.getMessage());
-                    log.warn("Falha importando linha {}: {}", rn + 1, ex.getMessage());
+            Map<String, Integer> idx = new LinkedHashMap<>();
+            for (int col = 0; col <= header.getLastColumn(); col++) {
+                String h = header.get(col);
+                if (h != null && !h.trim().isEmpty()) {
+                    idx.put(h.trim(), col);
                 }
             }
-            result.setTotalRows(total);
 
-            if (total == 0) {
-                throw new InvalidInputException("Nenhuma leitura encontrada na planilha. Verifique se os dados estão formatados corretamente.");
+            idxDate = idx.remove("Data da Leitura");
+            idxHour = idx.remove("Hora da Leitura");
+            if (idxDate == null || idxHour == null) {
+                throw new InvalidInputException("Colunas obrigatórias não encontradas: 'Data da Leitura' e/ou 'Hora da Leitura'. Verifique se está usando o modelo de planilha correto.");
             }
 
-        } catch (InvalidInputException e) {
-            throw e;
-        } catch (IOException e) {
-            throw new InvalidInputException("Erro ao ler o arquivo Excel: " + e.getMessage());
-        } catch (Exception e) {
+            if (idx.isEmpty()) {
+                throw new InvalidInputException("Nenhuma coluna de leitura encontrada além de 'Data da Leitura' e 'Hora da Leitura'. A planilha deve conter ao menos uma coluna adicional com valores de leitura.");
+            }
+            inputColumns.putAll(idx);
+        }
 
-            String detailedMessage = e.getMessage();
-            String friendlyMessage = "Erro ao processar a planilha Excel. ";
+        /**
+         * Aceita qualquer número que o {@link Double#parseDouble} entenda,
+         * inclusive notação científica ({@code 1E-3}), depois de trocar vírgula
+         * por ponto e remover espaços.
+         */
+        private double parseValue(String acr, String raw) {
+            String ss = raw.trim().replace(",", ".").replace(" ", "");
+            try {
+                double value = Double.parseDouble(ss);
+                if (Double.isFinite(value)) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // cai na mensagem abaixo
+            }
+            throw new InvalidInputException("Valor de '" + acr + "' inválido: " + raw);
+        }
 
-            if (detailedMessage != null && detailedMessage.contains("iterator()") && detailedMessage.contains("null")) {
-                friendlyMessage += "Uma ou mais abas necessárias não foram encontradas. Certifique-se de usar o modelo de planilha correto com a aba 'Leituras'.";
-            } else if (detailedMessage != null && detailedMessage.contains("Invalid header signature")) {
-                friendlyMessage += "O arquivo não é uma planilha Excel válida ou está corrompido.";
-            } else {
-                friendlyMessage += "Detalhes: " + detailedMessage;
+        private LocalDate parseDate(String raw) {
+            if (raw == null) {
+                throw new InvalidInputException("Data da Leitura não informada");
             }
+            try {
+                String s = raw.trim();
+                return s.contains("T") ? LocalDateTime.parse(s).toLocalDate() : LocalDate.parse(s, DATE_FMT);
+            } catch (DateTimeParseException e) {
+                throw new InvalidInputException("Data da Leitura em formato inválido. Use o formato DD/MM/YYYY.");
+            }
+        }
 
-            throw new InvalidInputException(friendlyMessage);
+        private LocalTime parseHour(String raw) {
+            if (raw == null) {
+                throw new InvalidInputException("Hora da Leitura não informada");
+            }
+            try {
+                String s = raw.trim();
+                return s.contains("T") ? LocalDateTime.parse(s).toLocalTime() : LocalTime.parse(s, TIME_FMT);
+            } catch (DateTimeParseException e) {
+                throw new InvalidInputException("Hora da Leitura em formato inválido. Use o formato HH:MM ou HH:MM:SS.");
+            }
         }
 
-        return result;
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                BatchReadingResultDTO batch = readingService.createBatch(instrumentId, pending, false);
+                result.setSuccessCount(result.getSuccessCount() + batch.getSuccessCount());
+                for (BatchReadingResultDTO.RowError error : batch.getErrors()) {
+                    int rowNumber = pendingRowNumbers.get(error.getIndex());
+                    result.setFailureCount(result.getFailureCount() + 1);
+                    result.getErrors().add("Linha " + rowNumber + ": " + error.getErrorMessage());
+                    log.warn("Falha importando linha {}: {}", rowNumber, error.getErrorMessage());
+                }
+            } catch (Exception ex) {
+                for (Integer rowNumber : pendingRowNumbers) {
+                    result.setFailureCount(result.getFailureCount() + 1);
+                    result.getErrors().add("Linha " + rowNumber + ": " + ex.getMessage());
+                }
+                log.warn("Falha importando lote de {} linhas: {}", pendingRowNumbers.size(), ex.getMessage());
+            } finally {
+                pending.clear();
+                pendingRowNumbers.clear();
+            }
+        }
     }
 }
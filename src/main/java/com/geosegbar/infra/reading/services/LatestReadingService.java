@@ -0,0 +1,91 @@
+package com.geosegbar.infra.reading.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.common.enums.DashboardSectionEnum;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
+import com.geosegbar.infra.reading.persistence.jpa.LatestReadingRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Manutenção da tabela {@code latest_reading} (última leitura ativa por
+ * output).
+ * <p>
+ * Toda escrita em {@code reading} que pode mudar a última leitura de um output
+ * (criação, edição de data/hora ou valores, ativação/inativação, exclusão) chama
+ * {@link #refreshOutputs} na mesma transação. O recálculo é por output — um
+ * {@code LIMIT 1} no índice de leituras por output — então o custo depende da
+ * quantidade de outputs afetados, não do histórico. Cada recálculo também
+ * invalida o cache do dashboard de instrumentos das barragens envolvidas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LatestReadingService {
+
+    private static final int BACKFILL_TIMEOUT_SECONDS = 900;
+
+    private final LatestReadingRepository latestReadingRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void refreshOutputs(Collection<Long> outputIds) {
+        if (outputIds == null || outputIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(new TreeSet<>(outputIds));
+
+        List<Long> damIds = latestReadingRepository.lockOutputs(ids);
+        latestReadingRepository.upsertFromReadings(ids);
+        latestReadingRepository.deleteWithoutActiveReadings(ids);
+
+        if (!damIds.isEmpty()) {
+            eventPublisher.publishEvent(new DashboardDataChangedEvent(DashboardSectionEnum.INSTRUMENTS, damIds));
+        }
+    }
+
+    @Transactional
+    public void removeInstrument(Long instrumentId) {
+        latestReadingRepository.deleteByInstrumentId(instrumentId);
+    }
+
+    @Transactional
+    public void removeOutput(Long outputId) {
+        latestReadingRepository.deleteAllByIdInBatch(List.of(outputId));
+        eventPublisher.publishEvent(DashboardDataChangedEvent.allDams(DashboardSectionEnum.INSTRUMENTS));
+    }
+
+    /**
+     * Preenche o snapshot na primeira subida após a criação da tabela. Com a
+     * tabela já populada não faz nada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (latestReadingRepository.count() > 0) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.setTimeout(BACKFILL_TIMEOUT_SECONDS);
+            Integer inserted = tx.execute(status -> latestReadingRepository.backfillFromReadings());
+            log.info("Snapshot latest_reading populado: {} outputs em {}ms",
+                    inserted, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Erro ao popular snapshot latest_reading: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.geosegbar.infra.reading.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.entities.DeterministicLimitEntity;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.entities.StatisticalLimitEntity;
+
+/**
+ * Limites em vigor para um output e a regra que classifica uma leitura
+ * ({@code reading.limit_status}). O limite estatístico tem precedência sobre o
+ * determinístico; instrumento "Sem Limites" ou output sem limite classifica
+ * tudo como {@code NORMAL}.
+ * <p>
+ * A mesma regra existe em Java ({@link #classify}, usada na gravação das
+ * leituras) e em SQL ({@link #toSqlCase}, usada na reclassificação em massa
+ * quando os limites mudam).
+ */
+public record LimitThresholds(Kind kind, BigDecimal lowerValue, BigDecimal upperValue,
+        BigDecimal attentionValue, BigDecimal alertValue, BigDecimal emergencyValue) {
+
+    public enum Kind {
+        NONE, STATISTICAL, DETERMINISTIC
+    }
+
+    public static final LimitThresholds NONE = new LimitThresholds(Kind.NONE, null, null, null, null, null);
+
+    public static LimitThresholds of(InstrumentEntity instrument, OutputEntity output) {
+        if (Boolean.TRUE.equals(instrument.getNoLimit())) {
+            return NONE;
+        }
+        StatisticalLimitEntity statisticalLimit = output.getStatisticalLimit();
+        if (statisticalLimit != null) {
+            return statistical(statisticalLimit.getLowerValue(), statisticalLimit.getUpperValue());
+        }
+        DeterministicLimitEntity deterministicLimit = output.getDeterministicLimit();
+        if (deterministicLimit != null) {
+            return deterministic(deterministicLimit.getAttentionValue(), deterministicLimit.getAlertValue(),
+                    deterministicLimit.getEmergencyValue());
+        }
+        return NONE;
+    }
+
+    public static LimitThresholds statistical(BigDecimal lowerValue, BigDecimal upperValue) {
+        return new LimitThresholds(Kind.STATISTICAL, lowerValue, upperValue, null, null, null);
+    }
+
+    public static LimitThresholds deterministic(BigDecimal attentionValue, BigDecimal alertValue, BigDecimal emergencyValue) {
+        return new LimitThresholds(Kind.DETERMINISTIC, null, null, attentionValue, alertValue, emergencyValue);
+    }
+
+    public LimitStatusEnum classify(BigDecimal value) {
+        if (value == null) {
+            return LimitStatusEnum.NORMAL;
+        }
+        switch (kind) {
+            case STATISTICAL -> {
+                if (lowerValue != null && value.compareTo(lowerValue) < 0) {
+                    return LimitStatusEnum.INFERIOR;
+                }
+                if (upperValue != null && value.compareTo(upperValue) > 0) {
+                    return LimitStatusEnum.SUPERIOR;
+                }
+            }
+            case DETERMINISTIC -> {
+                if (emergencyValue != null && value.compareTo(emergencyValue) >= 0) {
+                    return LimitStatusEnum.EMERGENCIA;
+                }
+                if (alertValue != null && value.compareTo(alertValue) >= 0) {
+                    return LimitStatusEnum.ALERTA;
+                }
+                if (attentionValue != null && value.compareTo(attentionValue) >= 0) {
+                    return LimitStatusEnum.ATENCAO;
+                }
+            }
+            case NONE -> {
+            }
+        }
+        return LimitStatusEnum.NORMAL;
+    }
+
+    /**
+     * Expressão SQL equivalente a {@link #classify} sobre {@code column}. Os
+     * limites entram como parâmetros, acrescentados a {@code args} na ordem em
+     * que aparecem.
+     */
+    public String toSqlCase(String column, List<Object> args) {
+        StringBuilder sql = new StringBuilder("CASE");
+        switch (kind) {
+            case STATISTICAL -> {
+                appendWhen(sql, args, column, "<", lowerValue, LimitStatusEnum.INFERIOR);
+                appendWhen(sql, args, column, ">", upperValue, LimitStatusEnum.SUPERIOR);
+            }
+            case DETERMINISTIC -> {
+                appendWhen(sql, args, column, ">=", emergencyValue, LimitStatusEnum.EMERGENCIA);
+                appendWhen(sql, args, column, ">=", alertValue, LimitStatusEnum.ALERTA);
+                appendWhen(sql, args, column, ">=", attentionValue, LimitStatusEnum.ATENCAO);
+            }
+            case NONE -> {
+            }
+        }
+        String normal = "'" + LimitStatusEnum.NORMAL.name() + "'";
+        if (sql.length() == "CASE".length()) {
+            return normal;
+        }
+        return sql.append(" ELSE ").append(normal).append(" END").toString();
+    }
+
+    private static void appendWhen(StringBuilder sql, List<Object> args, String column, String operator,
+            BigDecimal threshold, LimitStatusEnum status) {
+        if (threshold == null) {
+            return;
+        }
+        sql.append(" WHEN ").append(column).append(' ').append(operator).append(" ?")
+                .append(" THEN '").append(status.name()).append('\'');
+        args.add(threshold);
+    }
+}
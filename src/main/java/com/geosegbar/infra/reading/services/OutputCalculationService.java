@@ -2,24 +2,42 @@ package com.geosegbar.infra.reading.services;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import com.geosegbar.common.utils.ExpressionEvaluator;
+import com.geosegbar.common.utils.ExpressionEvaluator.CompiledExpression;
 import com.geosegbar.entities.ConstantEntity;
 import com.geosegbar.entities.InstrumentEntity;
 import com.geosegbar.entities.OutputEntity;
 import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
-
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
 
 @Service
-@RequiredArgsConstructor
 public class OutputCalculationService {
 
+    public static final String CACHE_NAME = "compiled-equations";
+
+    /**
+     * Equações já compiladas, indexadas por output + texto da equação + conjunto
+     * de variáveis. Como o próprio texto faz parte da chave, editar a equação
+     * gera uma nova entrada e a antiga expira sozinha pelo limite de tamanho
+     * ({@code CacheConfig}).
+     */
+    private final Cache<EquationKey, CompiledExpression> compiledEquations;
+
+    @SuppressWarnings("unchecked")
+    public OutputCalculationService(CacheManager cacheManager) {
+        this.compiledEquations = (Cache<EquationKey, CompiledExpression>) cacheManager.getCache(CACHE_NAME).getNativeCache();
+    }
+
     public BigDecimal calculateOutput(OutputEntity output, ReadingRequestDTO reading, Map<String, BigDecimal> inputValues) {
         InstrumentEntity instrument = output.getInstrument();
 
@@ -35,17 +53,63 @@ public class OutputCalculationService {
 
         String outputLabel = output.getAcronym() != null ? output.getAcronym() : output.getName();
         try {
-            Double rawResult = ExpressionEvaluator.evaluate(output.getEquation(), variables);
+            CompiledExpression compiled = compiledEquations.get(
+                    new EquationKey(output.getId(), output.getEquation(), Set.copyOf(variables.keySet())),
+                    key -> ExpressionEvaluator.compile(key.equation(), new ArrayList<>(key.variableNames())));
+
+            List<String> names = compiled.getVariableNames();
+            double[] values = new double[names.size()];
+            for (int i = 0; i < values.length; i++) {
+                Double value = variables.get(names.get(i));
+                values[i] = value != null ? value : Double.NaN;
+            }
+
+            Double rawResult = compiled.evaluate(values);
             if (rawResult == null || rawResult.isNaN() || rawResult.isInfinite()) {
                 throw new IllegalArgumentException("Resultado numérico inválido");
             }
             return formatToSpecificPrecision(rawResult, output.getPrecision());
         } catch (RuntimeException e) {
-            throw new InvalidInputException("Não foi possível calcular o output '" + outputLabel + "'. "
-                    + ExpressionEvaluator.friendlySyntaxErrorMessage(output.getEquation()));
+            throw invalidEquation(outputLabel, output.getEquation(), e);
         }
     }
 
+    /**
+     * Calcula o output para um lote de leituras de uma vez (recálculo em
+     * massa). {@code columns} traz, por variável (inputs e constantes), o
+     * valor em cada uma das {@code rows} linhas — {@code NaN} quando ausente.
+     *
+     * @return valor por linha, já na precisão do output, ou {@code null} nas
+     * linhas sem resultado numérico válido
+     * @throws InvalidInputException se a equação não compila
+     */
+    public BigDecimal[] calculateOutputBatch(OutputEntity output, Map<String, double[]> columns, int rows) {
+        CompiledExpression compiled;
+        try {
+            compiled = compiledEquations.get(
+                    new EquationKey(output.getId(), output.getEquation(), Set.copyOf(columns.keySet())),
+                    key -> ExpressionEvaluator.compile(key.equation(), new ArrayList<>(key.variableNames())));
+        } catch (RuntimeException e) {
+            String outputLabel = output.getAcronym() != null ? output.getAcronym() : output.getName();
+            throw invalidEquation(outputLabel, output.getEquation(), e);
+        }
+
+        List<String> names = compiled.getVariableNames();
+        double[][] ordered = new double[names.size()][];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = columns.get(names.get(i));
+        }
+
+        double[] raw = compiled.evaluateBatch(ordered, rows);
+        BigDecimal[] results = new BigDecimal[rows];
+        for (int row = 0; row < rows; row++) {
+            if (!Double.isNaN(raw[row]) && !Double.isInfinite(raw[row])) {
+                results[row] = formatToSpecificPrecision(raw[row], output.getPrecision());
+            }
+        }
+        return results;
+    }
+
     public Map<String, BigDecimal> calculateAllOutputs(InstrumentEntity instrument, ReadingRequestDTO reading,
             Map<String, BigDecimal> inputValues) {
         Map<String, BigDecimal> results = new HashMap<>();
@@ -58,6 +122,17 @@ public class OutputCalculationService {
         return results;
     }
 
+    /**
+     * Mantém a mensagem de uma equação recusada pelo {@link ExpressionEvaluator}
+     * (ex.: atribuição); nos demais erros, a mensagem genérica de sintaxe.
+     */
+    private InvalidInputException invalidEquation(String outputLabel, String equation, RuntimeException cause) {
+        String detail = cause instanceof InvalidInputException
+                ? cause.getMessage()
+                : ExpressionEvaluator.friendlySyntaxErrorMessage(equation);
+        return new InvalidInputException("Não foi possível calcular o output '" + outputLabel + "'. " + detail);
+    }
+
     private BigDecimal formatToSpecificPrecision(Double value, Integer precision) {
         if (value == null) {
             return null;
@@ -71,4 +146,8 @@ public class OutputCalculationService {
 
         return bd;
     }
+
+    private record EquationKey(Long outputId, String equation, Set<String> variableNames) {
+
+    }
 }
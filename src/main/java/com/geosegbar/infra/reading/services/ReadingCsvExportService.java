@@ -0,0 +1,256 @@
+package com.geosegbar.infra.reading.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.geosegbar.common.enums.ReadingExportDatasetEnum;
+import com.geosegbar.common.utils.AuthenticatedUserUtil;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.exceptions.UnauthorizedException;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.ReadingBulkExportRequestDTO;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingExportJdbcRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportação em massa de leituras em CSV compactado com gzip, voltada para
+ * análise de dados (histórico completo de muitos instrumentos).
+ * <p>
+ * Diferente do {@link ReadingExportService}, não usa POI nem entidades: as
+ * linhas vêm de um cursor JDBC e são escritas uma a uma no
+ * {@link GZIPOutputStream} da resposta, então o consumo de memória não depende
+ * do volume exportado. O formato é "longo", espelhando as tabelas
+ * {@code reading} e {@code reading_input_value} (ver
+ * {@link ReadingExportDatasetEnum}).
+ * <p>
+ * A transação de leitura usa o mesmo {@code reading.export.timeout} da
+ * requisição assíncrona. Quando a requisição expira, o MVC interrompe a thread
+ * e o cursor é abortado na próxima linha, liberando a conexão.
+ */
+@Service
+@Slf4j
+public class ReadingCsvExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final String READINGS_HEADER
+            = "reading_id,instrument_id,instrument_name,output_id,output_acronym,date,hour,"
+            + "calculated_value,limit_status,comment,created_by";
+
+    private static final String INPUT_VALUES_HEADER
+            = "reading_id,instrument_id,input_acronym,input_name,value";
+
+    private final ReadingExportJdbcRepository readingExportJdbcRepository;
+    private final InstrumentRepository instrumentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final int txTimeoutSeconds;
+
+    public ReadingCsvExportService(ReadingExportJdbcRepository readingExportJdbcRepository,
+            InstrumentRepository instrumentRepository, PlatformTransactionManager transactionManager,
+            @Value("${reading.export.timeout:PT10M}") Duration exportTimeout) {
+        this.readingExportJdbcRepository = readingExportJdbcRepository;
+        this.instrumentRepository = instrumentRepository;
+        this.transactionManager = transactionManager;
+        this.txTimeoutSeconds = (int) exportTimeout.toSeconds();
+    }
+
+    /**
+     * Valida a requisição na thread da chamada e devolve o corpo que escreve o
+     * CSV gzip na resposta.
+     */
+    public StreamingResponseBody exportToCsv(ReadingBulkExportRequestDTO request) {
+
+        if (!AuthenticatedUserUtil.isAdmin()) {
+            UserEntity userLogged = AuthenticatedUserUtil.getCurrentUser();
+            if (userLogged.getInstrumentationPermission() == null || !userLogged.getInstrumentationPermission().getViewRead()) {
+                throw new UnauthorizedException("Usuário não tem permissão para exportar leituras!");
+            }
+        }
+
+        List<Long> instrumentIds = request.getInstrumentIds() != null
+                ? request.getInstrumentIds().stream().distinct().toList()
+                : List.of();
+
+        if (instrumentIds.isEmpty()) {
+            throw new InvalidInputException("É necessário fornecer pelo menos um ID de instrumento!");
+        }
+
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getStartDate().isAfter(request.getEndDate())) {
+            throw new InvalidInputException("Data inicial não pode ser posterior à data final!");
+        }
+
+        if (instrumentRepository.countByIdIn(instrumentIds) != instrumentIds.size()) {
+            throw new NotFoundException("Um ou mais instrumentos informados não foram encontrados!");
+        }
+
+        ReadingExportDatasetEnum dataset = request.getDataset() != null
+                ? request.getDataset()
+                : ReadingExportDatasetEnum.READINGS;
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+
+        return outputStream -> writeCsv(dataset, instrumentIds, startDate, endDate, outputStream);
+    }
+
+    private void writeCsv(ReadingExportDatasetEnum dataset, List<Long> instrumentIds, LocalDate startDate,
+            LocalDate endDate, OutputStream outputStream) throws IOException {
+
+        long start = System.currentTimeMillis();
+        log.info("Iniciando exportação CSV ({}) para {} instrumentos", dataset, instrumentIds.size());
+
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long[] rows = {0};
+        RowCallbackHandler handler = dataset == ReadingExportDatasetEnum.INPUT_VALUES
+                ? rs -> {
+                    abortIfCancelled();
+                    writeInputValueLine(writer, rs);
+                    rows[0]++;
+                }
+                : rs -> {
+                    abortIfCancelled();
+                    writeReadingLine(writer, rs);
+                    rows[0]++;
+                };
+
+        writer.write(dataset == ReadingExportDatasetEnum.INPUT_VALUES ? INPUT_VALUES_HEADER : READINGS_HEADER);
+        writer.write('\n');
+
+        TransactionTemplate readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+        readTx.setTimeout(txTimeoutSeconds);
+        try {
+            readTx.executeWithoutResult(status -> {
+                if (dataset == ReadingExportDatasetEnum.INPUT_VALUES) {
+                    readingExportJdbcRepository.streamInputValues(instrumentIds, startDate, endDate, handler);
+                } else {
+                    readingExportJdbcRepository.streamReadings(instrumentIds, startDate, endDate, handler);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("Exportação CSV interrompida após {} linhas: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        } catch (CancellationException e) {
+            log.warn("Exportação CSV cancelada após {} linhas: {}", rows[0], e.getMessage());
+            throw e;
+        }
+
+        writer.flush();
+        gzip.finish();
+        outputStream.flush();
+
+        log.info("Exportação CSV ({}) concluída: {} linhas em {}ms", dataset, rows[0],
+                System.currentTimeMillis() - start);
+    }
+
+    private static void abortIfCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("requisição de exportação expirada ou cancelada");
+        }
+    }
+
+    private void writeReadingLine(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            writer.write(Long.toString(rs.getLong("reading_id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("instrument_id")));
+            writer.write(',');
+            writeText(writer, rs.getString("instrument_name"));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("output_id")));
+            writer.write(',');
+            writeText(writer, rs.getString("output_acronym"));
+            writer.write(',');
+            Date date = rs.getDate("date");
+            writer.write(date != null ? date.toLocalDate().toString() : "");
+            writer.write(',');
+            Time hour = rs.getTime("hour");
+            writer.write(hour != null ? hour.toLocalTime().format(TIME_FORMATTER) : "");
+            writer.write(',');
+            writeNumber(writer, rs.getBigDecimal("calculated_value"));
+            writer.write(',');
+            writeText(writer, rs.getString("limit_status"));
+            writer.write(',');
+            writeText(writer, rs.getString("comment"));
+            writer.write(',');
+            writeText(writer, rs.getString("created_by"));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeInputValueLine(Writer writer, ResultSet rs) throws SQLException {
+        try {
+            writer.write(Long.toString(rs.getLong("reading_id")));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong("instrument_id")));
+            writer.write(',');
+            writeText(writer, rs.getString("input_acronym"));
+            writer.write(',');
+            writeText(writer, rs.getString("input_name"));
+            writer.write(',');
+            writeNumber(writer, rs.getBigDecimal("value"));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNumber(Writer writer, BigDecimal value) throws IOException {
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+
+    /**
+     * Escreve um campo texto no padrão RFC 4180: entre aspas (com aspas
+     * duplicadas) apenas quando contém vírgula, aspas ou quebra de linha.
+     */
+    private void writeText(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
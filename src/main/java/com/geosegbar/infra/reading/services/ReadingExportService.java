@@ -1,17 +1,24 @@
 package com.geosegbar.infra.reading.services;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
@@ -24,10 +31,15 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.VerticalAlignment;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.geosegbar.common.enums.LimitStatusEnum;
 import com.geosegbar.common.utils.AuthenticatedUserUtil;
@@ -44,38 +56,44 @@ import com.geosegbar.infra.reading.dtos.GroupedReadingData;
 import com.geosegbar.infra.reading.dtos.InputMetadata;
 import com.geosegbar.infra.reading.dtos.ReadingExportRequestDTO;
 import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
+import com.geosegbar.infra.reading.projections.ReadingExportRowProjection;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ReadingExportService {
 
     private final ReadingRepository readingRepository;
     private final InstrumentRepository instrumentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final int streamTxTimeoutSeconds;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
+    private static final int STREAM_ROW_WINDOW = 500;
+    private static final int WIDTH_SAMPLE_ROWS = 100;
+    private static final String INPUT_ENTRY_SEPARATOR = String.valueOf((char) 0x1E);
+    private static final String INPUT_VALUE_SEPARATOR = String.valueOf((char) 0x1F);
+
+    /**
+     * A transação de leitura da exportação em streaming usa o mesmo
+     * {@code reading.export.timeout} da requisição assíncrona.
+     */
+    public ReadingExportService(ReadingRepository readingRepository, InstrumentRepository instrumentRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${reading.export.timeout:PT10M}") Duration exportTimeout) {
+        this.readingRepository = readingRepository;
+        this.instrumentRepository = instrumentRepository;
+        this.transactionManager = transactionManager;
+        this.streamTxTimeoutSeconds = (int) exportTimeout.toSeconds();
+    }
+
     @Transactional(readOnly = true)
     public ByteArrayResource exportToExcel(ReadingExportRequestDTO request) {
 
-        if (!AuthenticatedUserUtil.isAdmin()) {
-            UserEntity userLogged = AuthenticatedUserUtil.getCurrentUser();
-            if (userLogged.getInstrumentationPermission() == null || !userLogged.getInstrumentationPermission().getViewRead()) {
-                throw new UnauthorizedException("Usuário não tem permissão para exportar leituras!");
-            }
-        }
-
-        if (request.getInstrumentIds() == null || request.getInstrumentIds().isEmpty()) {
-            throw new InvalidInputException("É necessário fornecer pelo menos um ID de instrumento!");
-        }
-
-        if (request.getInstrumentIds().size() > 50) {
-            throw new InvalidInputException("Máximo de 50 instrumentos permitidos por exportação!");
-        }
+        validateExportRequest(request);
 
         log.info("Iniciando exportação de leituras para {} instrumentos", request.getInstrumentIds().size());
 
@@ -101,6 +119,226 @@ public class ReadingExportService {
         }
     }
 
+    /**
+     * Exportação em streaming para grandes volumes.
+     * <p>
+     * Permissão, limites e existência dos instrumentos são validados aqui, na
+     * thread da requisição (o contexto de segurança não está disponível na
+     * thread assíncrona). O corpo retornado escreve a planilha com
+     * {@link SXSSFWorkbook}: apenas {@value #STREAM_ROW_WINDOW} linhas por aba
+     * ficam em memória, o restante vai para arquivo temporário compactado. As
+     * leituras são percorridas por cursor ({@code Stream} com fetch size), já
+     * agrupadas por data/hora pela ordenação da query, e a largura das colunas é
+     * estimada pelas primeiras {@value #WIDTH_SAMPLE_ROWS} linhas em vez de
+     * {@code autoSizeColumn}. Se a requisição expirar, o MVC interrompe a
+     * thread e a leitura é abortada na próxima linha, liberando a conexão.
+     */
+    @Transactional(readOnly = true)
+    public StreamingResponseBody exportToExcelStreaming(ReadingExportRequestDTO request) {
+
+        validateExportRequest(request);
+
+        List<ExportSheet> sheets = new ArrayList<>();
+        for (Long instrumentId : request.getInstrumentIds()) {
+            InstrumentEntity instrument = instrumentRepository.findById(instrumentId)
+                    .orElseThrow(() -> new NotFoundException("Instrumento não encontrado com ID: " + instrumentId));
+            sheets.add(new ExportSheet(instrumentId, instrument.getName(), createSheetName(instrument)));
+        }
+
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+
+        return outputStream -> writeStreamingWorkbook(sheets, startDate, endDate, outputStream);
+    }
+
+    private void writeStreamingWorkbook(List<ExportSheet> sheets, LocalDate startDate, LocalDate endDate,
+            OutputStream outputStream) throws IOException {
+
+        long start = System.currentTimeMillis();
+        log.info("Iniciando exportação em streaming de leituras para {} instrumentos", sheets.size());
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(STREAM_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            Map<String, CellStyle> styles = createStyles(workbook);
+
+            TransactionTemplate readTx = new TransactionTemplate(transactionManager);
+            readTx.setReadOnly(true);
+            readTx.setTimeout(streamTxTimeoutSeconds);
+            readTx.executeWithoutResult(status -> {
+                for (ExportSheet exportSheet : sheets) {
+                    writeStreamingSheet(workbook, exportSheet, startDate, endDate, styles);
+                }
+            });
+
+            workbook.write(outputStream);
+            outputStream.flush();
+
+            log.info("Exportação em streaming concluída em {}ms", System.currentTimeMillis() - start);
+        } catch (CancellationException e) {
+            log.warn("Exportação em streaming cancelada após {}ms: {}", System.currentTimeMillis() - start,
+                    e.getMessage());
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            log.error("Erro ao exportar leituras em streaming: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void writeStreamingSheet(SXSSFWorkbook workbook, ExportSheet exportSheet, LocalDate startDate,
+            LocalDate endDate, Map<String, CellStyle> styles) {
+
+        Long instrumentId = exportSheet.instrumentId();
+        Sheet sheet = workbook.createSheet(exportSheet.sheetName());
+
+        List<OutputColumn> outputs = readingRepository.findExportOutputColumns(instrumentId, startDate, endDate)
+                .stream()
+                .map(o -> new OutputColumn(o.getId(), o.getAcronym(), o.getUnit()))
+                .collect(Collectors.toList());
+
+        if (outputs.isEmpty()) {
+            createEmptySheet(sheet, exportSheet.instrumentName(), styles);
+            return;
+        }
+
+        List<InputMetadata> inputs = readingRepository.findExportInputColumns(instrumentId, startDate, endDate)
+                .stream()
+                .map(i -> new InputMetadata(i.getAcronym(), i.getName(), i.getUnit() != null ? i.getUnit() : ""))
+                .collect(Collectors.toList());
+
+        writeHeader(sheet, inputs, outputs, styles);
+
+        ColumnWidthSampler widths = new ColumnWidthSampler(2 + inputs.size() + (outputs.size() * 2) + 2);
+        widths.sample(sheet.getRow(0));
+
+        int rowNum = 1;
+        try (Stream<ReadingExportRowProjection> rows = readingRepository.streamExportRowsByInstrumentId(
+                instrumentId, startDate, endDate)) {
+
+            StreamingGroup group = null;
+            Iterator<ReadingExportRowProjection> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                abortIfCancelled();
+                ReadingExportRowProjection reading = iterator.next();
+                if (group == null || !group.matches(reading)) {
+                    if (group != null) {
+                        writeStreamingRow(sheet, rowNum++, group, inputs, outputs, styles, widths);
+                    }
+                    group = new StreamingGroup(reading);
+                }
+                group.add(reading);
+            }
+            if (group != null) {
+                writeStreamingRow(sheet, rowNum++, group, inputs, outputs, styles, widths);
+            }
+        }
+
+        widths.apply(sheet, 2 + inputs.size() + (outputs.size() * 2));
+
+        log.info("Aba '{}' exportada em streaming com {} linhas", exportSheet.sheetName(), rowNum - 1);
+    }
+
+    /**
+     * A thread é interrompida quando a requisição assíncrona expira; a exceção
+     * fecha o cursor e desfaz a transação, devolvendo a conexão ao pool.
+     */
+    private static void abortIfCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("requisição de exportação expirada ou cancelada");
+        }
+    }
+
+    private void writeStreamingRow(Sheet sheet, int rowNum, StreamingGroup group, List<InputMetadata> inputs,
+            List<OutputColumn> outputs, Map<String, CellStyle> styles, ColumnWidthSampler widths) {
+        Row row = sheet.createRow(rowNum);
+        int colIndex = 0;
+
+        Cell dateCell = row.createCell(colIndex++);
+        dateCell.setCellValue(group.date.format(DATE_FORMATTER));
+        dateCell.setCellStyle(styles.get("date"));
+
+        Cell timeCell = row.createCell(colIndex++);
+        timeCell.setCellValue(group.hour.format(TIME_FORMATTER));
+        timeCell.setCellStyle(styles.get("time"));
+
+        for (InputMetadata input : inputs) {
+            Cell cell = row.createCell(colIndex++);
+            Double value = group.inputValues.get(input.getAcronym());
+            if (value != null) {
+                cell.setCellValue(value);
+                cell.setCellStyle(styles.get("number"));
+            } else {
+                cell.setCellValue("-");
+                cell.setCellStyle(styles.get("empty"));
+            }
+        }
+
+        for (OutputColumn output : outputs) {
+            ReadingExportRowProjection reading = group.readingsByOutput.get(output.id());
+
+            Cell valueCell = row.createCell(colIndex++);
+            if (reading != null && reading.getCalculatedValue() != null) {
+                valueCell.setCellValue(reading.getCalculatedValue().doubleValue());
+                valueCell.setCellStyle(styles.get("number"));
+            } else {
+                valueCell.setCellValue("-");
+                valueCell.setCellStyle(styles.get("empty"));
+            }
+
+            Cell statusCell = row.createCell(colIndex++);
+            if (reading != null) {
+                statusCell.setCellValue(translateLimitStatus(parseLimitStatus(reading.getLimitStatus())));
+                statusCell.setCellStyle(styles.get("text"));
+            } else {
+                statusCell.setCellValue("-");
+                statusCell.setCellStyle(styles.get("empty"));
+            }
+        }
+
+        Cell commentCell = row.createCell(colIndex++);
+        commentCell.setCellValue(group.comment != null ? group.comment : "-");
+        commentCell.setCellStyle(styles.get("text"));
+
+        Cell createdByCell = row.createCell(colIndex++);
+        createdByCell.setCellValue(group.createdBy);
+        createdByCell.setCellStyle(styles.get("text"));
+
+        if (rowNum <= WIDTH_SAMPLE_ROWS) {
+            widths.sample(row);
+        }
+    }
+
+    private LimitStatusEnum parseLimitStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return LimitStatusEnum.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void validateExportRequest(ReadingExportRequestDTO request) {
+        if (!AuthenticatedUserUtil.isAdmin()) {
+            UserEntity userLogged = AuthenticatedUserUtil.getCurrentUser();
+            if (userLogged.getInstrumentationPermission() == null || !userLogged.getInstrumentationPermission().getViewRead()) {
+                throw new UnauthorizedException("Usuário não tem permissão para exportar leituras!");
+            }
+        }
+
+        if (request.getInstrumentIds() == null || request.getInstrumentIds().isEmpty()) {
+            throw new InvalidInputException("É necessário fornecer pelo menos um ID de instrumento!");
+        }
+
+        if (request.getInstrumentIds().size() > 50) {
+            throw new InvalidInputException("Máximo de 50 instrumentos permitidos por exportação!");
+        }
+    }
+
     private void processInstrument(Workbook workbook, Long instrumentId, LocalDate startDate,
             LocalDate endDate, Map<String, CellStyle> styles) {
 
@@ -118,17 +356,19 @@ public class ReadingExportService {
 
         List<InputMetadata> uniqueInputs = collectUniqueInputs(readings, instrument);
 
-        List<OutputEntity> uniqueOutputs = readings.stream()
+        List<OutputColumn> uniqueOutputs = readings.stream()
                 .map(ReadingEntity::getOutput)
                 .distinct()
                 .sorted(Comparator.comparing(OutputEntity::getName))
+                .map(o -> new OutputColumn(o.getId(), o.getAcronym(),
+                        o.getMeasurementUnit() != null ? o.getMeasurementUnit().getAcronym() : null))
                 .collect(Collectors.toList());
 
         String sheetName = createSheetName(instrument);
         Sheet sheet = workbook.createSheet(sheetName);
 
         if (groupedReadings.isEmpty()) {
-            createEmptySheet(sheet, instrument, styles);
+            createEmptySheet(sheet, instrument.getName(), styles);
             return;
         }
 
@@ -203,7 +443,7 @@ public class ReadingExportService {
     }
 
     private void writeHeader(Sheet sheet, List<InputMetadata> inputs,
-            List<OutputEntity> outputs, Map<String, CellStyle> styles) {
+            List<OutputColumn> outputs, Map<String, CellStyle> styles) {
         Row headerRow = sheet.createRow(0);
         int colIndex = 0;
 
@@ -218,14 +458,14 @@ public class ReadingExportService {
             createHeaderCell(headerRow, colIndex++, headerText, styles.get("header"));
         }
 
-        for (OutputEntity output : outputs) {
-            String outputHeader = output.getAcronym() + " (Output)";
+        for (OutputColumn output : outputs) {
+            String outputHeader = output.acronym() + " (Output)";
 
-            if (output.getMeasurementUnit() != null) {
-                outputHeader += "\n" + output.getMeasurementUnit().getAcronym();
+            if (output.unit() != null) {
+                outputHeader += "\n" + output.unit();
             }
             createHeaderCell(headerRow, colIndex++, outputHeader, styles.get("header"));
-            createHeaderCell(headerRow, colIndex++, "Status " + output.getAcronym(), styles.get("header"));
+            createHeaderCell(headerRow, colIndex++, "Status " + output.acronym(), styles.get("header"));
         }
 
         createHeaderCell(headerRow, colIndex++, "Comentário", styles.get("header"));
@@ -235,7 +475,7 @@ public class ReadingExportService {
     }
 
     private void writeDataRows(Sheet sheet, Map<String, GroupedReadingData> groupedReadings,
-            List<InputMetadata> inputs, List<OutputEntity> outputs,
+            List<InputMetadata> inputs, List<OutputColumn> outputs,
             Map<String, CellStyle> styles) {
         int rowNum = 1;
 
@@ -266,8 +506,8 @@ public class ReadingExportService {
             Map<Long, ReadingEntity> outputReadingMap = group.getReadings().stream()
                     .collect(Collectors.toMap(r -> r.getOutput().getId(), r -> r, (r1, r2) -> r1));
 
-            for (OutputEntity output : outputs) {
-                ReadingEntity reading = outputReadingMap.get(output.getId());
+            for (OutputColumn output : outputs) {
+                ReadingEntity reading = outputReadingMap.get(output.id());
 
                 Cell valueCell = row.createCell(colIndex++);
                 if (reading != null && reading.getCalculatedValue() != null) {
@@ -299,10 +539,10 @@ public class ReadingExportService {
         }
     }
 
-    private void createEmptySheet(Sheet sheet, InstrumentEntity instrument, Map<String, CellStyle> styles) {
+    private void createEmptySheet(Sheet sheet, String instrumentName, Map<String, CellStyle> styles) {
         Row row = sheet.createRow(0);
         Cell cell = row.createCell(0);
-        cell.setCellValue("Nenhuma leitura encontrada para o instrumento: " + instrument.getName());
+        cell.setCellValue("Nenhuma leitura encontrada para o instrumento: " + instrumentName);
         cell.setCellStyle(styles.get("header"));
         sheet.setColumnWidth(0, 15000);
     }
@@ -348,7 +588,7 @@ public class ReadingExportService {
         }
     }
 
-    private void autoSizeColumns(Sheet sheet, List<InputMetadata> inputs, List<OutputEntity> outputs) {
+    private void autoSizeColumns(Sheet sheet, List<InputMetadata> inputs, List<OutputColumn> outputs) {
         int totalColumns = 2 + inputs.size() + (outputs.size() * 2) + 2;
 
         for (int i = 0; i < totalColumns; i++) {
@@ -452,4 +692,111 @@ public class ReadingExportService {
 
         return styles;
     }
+
+    private record ExportSheet(Long instrumentId, String instrumentName, String sheetName) {
+
+    }
+
+    private record OutputColumn(Long id, String acronym, String unit) {
+
+    }
+
+    /**
+     * Leituras consecutivas do stream com a mesma data/hora, que formam uma
+     * linha da planilha. Comentário, autor e inputs vêm da primeira leitura,
+     * como no agrupamento da exportação em memória.
+     */
+    private static final class StreamingGroup {
+
+        private final LocalDate date;
+        private final LocalTime hour;
+        private final String comment;
+        private final String createdBy;
+        private final Map<String, Double> inputValues;
+        private final Map<Long, ReadingExportRowProjection> readingsByOutput = new HashMap<>();
+
+        StreamingGroup(ReadingExportRowProjection first) {
+            this.date = first.getReadingDate();
+            this.hour = first.getReadingHour();
+            this.comment = first.getComment();
+            this.createdBy = first.getCreatedBy() != null ? first.getCreatedBy() : "-";
+            this.inputValues = parseInputValues(first.getInputValues());
+        }
+
+        boolean matches(ReadingExportRowProjection reading) {
+            return date.equals(reading.getReadingDate()) && hour.equals(reading.getReadingHour());
+        }
+
+        void add(ReadingExportRowProjection reading) {
+            readingsByOutput.putIfAbsent(reading.getOutputId(), reading);
+        }
+
+        private static Map<String, Double> parseInputValues(String aggregated) {
+            Map<String, Double> values = new HashMap<>();
+            if (aggregated == null || aggregated.isEmpty()) {
+                return values;
+            }
+            for (String entry : aggregated.split(INPUT_ENTRY_SEPARATOR)) {
+                int separator = entry.indexOf(INPUT_VALUE_SEPARATOR);
+                if (separator < 0) {
+                    continue;
+                }
+                String value = entry.substring(separator + 1);
+                values.put(entry.substring(0, separator), value.isEmpty() ? 0.0 : Double.parseDouble(value));
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Estima a largura das colunas a partir do texto das células amostradas,
+     * com os mesmos limites do {@code autoSizeColumns}.
+     */
+    private static final class ColumnWidthSampler {
+
+        private static final int CHAR_WIDTH = 256;
+        private static final int PADDING = 2 * CHAR_WIDTH;
+        private static final int MIN_WIDTH = 3000;
+        private static final int MAX_WIDTH = 15000;
+
+        private final int[] maxChars;
+
+        ColumnWidthSampler(int totalColumns) {
+            this.maxChars = new int[totalColumns];
+        }
+
+        void sample(Row row) {
+            for (Cell cell : row) {
+                int col = cell.getColumnIndex();
+                if (col >= maxChars.length) {
+                    continue;
+                }
+                int length = switch (cell.getCellType()) {
+                    case STRING ->
+                        longestLine(cell.getStringCellValue());
+                    case NUMERIC ->
+                        String.valueOf(cell.getNumericCellValue()).length();
+                    default ->
+                        0;
+                };
+                maxChars[col] = Math.max(maxChars[col], length);
+            }
+        }
+
+        void apply(Sheet sheet, int commentColumnIndex) {
+            for (int i = 0; i < maxChars.length; i++) {
+                int width = maxChars[i] * CHAR_WIDTH + PADDING;
+                sheet.setColumnWidth(i, Math.max(MIN_WIDTH, Math.min(MAX_WIDTH, width)));
+            }
+            sheet.setColumnWidth(commentColumnIndex, 20000);
+        }
+
+        private static int longestLine(String text) {
+            int longest = 0;
+            for (String line : text.split("\n")) {
+                longest = Math.max(longest, line.length());
+            }
+            return longest;
+        }
+    }
 }
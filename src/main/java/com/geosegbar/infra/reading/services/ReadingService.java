@@ -28,19 +28,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.geosegbar.common.enums.LimitStatusEnum;
 import com.geosegbar.common.utils.AuthenticatedUserUtil;
-import com.geosegbar.entities.DeterministicLimitEntity;
 import com.geosegbar.entities.InputEntity;
 import com.geosegbar.entities.InstrumentEntity;
 import com.geosegbar.entities.OutputEntity;
 import com.geosegbar.entities.ReadingEntity;
 import com.geosegbar.entities.ReadingInputValueEntity;
-import com.geosegbar.entities.StatisticalLimitEntity;
 import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.BusinessRuleException;
 import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.exceptions.UnauthorizedException;
 import com.geosegbar.infra.client.persistence.jpa.ClientRepository;
 import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO;
 import com.geosegbar.infra.reading.dtos.BulkToggleActiveResponseDTO;
 import com.geosegbar.infra.reading.dtos.InstrumentGroupedReadingsDTO;
 import com.geosegbar.infra.reading.dtos.InstrumentGroupedReadingsDTO.GroupedDateHourReadingsDTO;
@@ -53,6 +53,10 @@ import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
 import com.geosegbar.infra.reading.dtos.ReadingResponseDTO;
 import com.geosegbar.infra.reading.dtos.ReadingResponseDTO.UserInfoDTO;
 import com.geosegbar.infra.reading.dtos.UpdateReadingRequestDTO;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository.InputValueRow;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository.ReadingInsertRow;
+import com.geosegbar.infra.reading.persistence.jpa.LatestReadingRepository;
 import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
 import com.geosegbar.infra.reading.projections.InstrumentLimitStatusProjection;
 import com.geosegbar.infra.reading_input_value.dtos.ReadingInputValueDTO;
@@ -67,8 +71,11 @@ import lombok.extern.slf4j.Slf4j;
 public class ReadingService {
 
     private final ReadingRepository readingRepository;
+    private final ReadingJdbcRepository readingJdbcRepository;
     private final InstrumentRepository instrumentRepository;
     private final OutputCalculationService outputCalculationService;
+    private final LatestReadingService latestReadingService;
+    private final LatestReadingRepository latestReadingRepository;
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
 
@@ -103,6 +110,15 @@ public class ReadingService {
         return readingRepository.existsByInstrumentIdAndDate(instrumentId, date);
     }
 
+    /**
+     * Datas do intervalo que já têm leitura do instrumento, em uma única
+     * consulta (equivalente a {@link #existsByInstrumentAndDate} dia a dia).
+     */
+    @Transactional(readOnly = true)
+    public Set<LocalDate> findDatesWithReadings(Long instrumentId, LocalDate startDate, LocalDate endDate) {
+        return new HashSet<>(readingRepository.findDistinctDatesByInstrumentIdBetween(instrumentId, startDate, endDate));
+    }
+
     @Transactional(readOnly = true)
     public InstrumentLimitStatusDTO getInstrumentLimitStatus(Long instrumentId, int limit) {
         InstrumentEntity instrument = instrumentRepository.findById(instrumentId)
@@ -132,13 +148,19 @@ public class ReadingService {
         return buildInstrumentLimitStatusDTO(instrument, mostCritical, latestDate + " " + latestHour);
     }
 
+    /**
+     * Status de limite atual de cada instrumento ativo do cliente, lido do
+     * snapshot {@code latest_reading}. O {@code limit} é mantido na assinatura
+     * por compatibilidade do endpoint: o snapshot já traz apenas a data/hora
+     * mais recente de cada instrumento, que é o que o cálculo usa.
+     */
     @Transactional(readOnly = true)
     public List<InstrumentLimitStatusDTO> getAllInstrumentLimitStatusesByClientId(Long clientId, int limit) {
         if (!clientRepository.existsById(clientId)) {
             throw new NotFoundException("Cliente não encontrado com ID: " + clientId);
         }
 
-        List<InstrumentLimitStatusProjection> projections = readingRepository.findLatestLimitStatusByClientId(clientId, limit);
+        List<InstrumentLimitStatusProjection> projections = latestReadingRepository.findLatestLimitStatusByClientId(clientId);
         List<InstrumentEntity> allActiveInstruments = instrumentRepository.findByFiltersOptimized(null, null, null, true, clientId);
 
         if (projections.isEmpty()) {
@@ -256,7 +278,9 @@ public class ReadingService {
 
     @Transactional(readOnly = true)
     public List<InstrumentGroupedReadingsDTO> findLatestGroupedReadingsByClientId(Long clientId, int limit) {
-        List<Object[]> latestDateHours = readingRepository.findLatestDistinctDateHoursByClientId(clientId, limit);
+        List<Object[]> latestDateHours = limit == 1
+                ? latestReadingRepository.findLatestDateHourByClientId(clientId)
+                : readingRepository.findLatestDistinctDateHoursByClientId(clientId, limit);
 
         if (latestDateHours.isEmpty()) {
             return List.of();
@@ -281,8 +305,17 @@ public class ReadingService {
                 .stream()
                 .collect(Collectors.toMap(InstrumentEntity::getId, Function.identity()));
 
-        List<ReadingEntity> allReadings = readingRepository
-                .findByInstrumentIdsAndActiveTrueWithAllRelations(new ArrayList<>(instrumentIds));
+        Set<LocalDate> dates = new HashSet<>();
+        Set<LocalTime> hours = new HashSet<>();
+        for (List<DateTimePair> pairs : instrumentDateHoursMap.values()) {
+            for (DateTimePair pair : pairs) {
+                dates.add(pair.date);
+                hours.add(pair.hour);
+            }
+        }
+
+        List<ReadingEntity> allReadings = readingRepository.findByMultipleInstrumentIdsAndDateHoursWithAllRelations(
+                new ArrayList<>(instrumentIds), new ArrayList<>(dates), new ArrayList<>(hours));
 
         Map<Long, Map<String, List<ReadingEntity>>> readingsByInstrumentAndDateTime = new HashMap<>();
         for (ReadingEntity reading : allReadings) {
@@ -413,11 +446,149 @@ public class ReadingService {
 
         List<ReadingEntity> createdReadings = readingRepository.saveAll(readingsToSave);
 
+        latestReadingService.refreshOutputs(activeOutputs.stream().map(OutputEntity::getId).toList());
+
         return createdReadings.stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Versão em lote de {@link #create}: carrega instrumento, outputs, constantes
+     * e limites uma única vez, verifica duplicidade de todo o lote com uma só
+     * consulta e grava leituras e valores de input via JDBC batch.
+     * <p>
+     * Linhas inválidas não interrompem o lote — são devolvidas em
+     * {@link BatchReadingResultDTO#getErrors()} com a posição na lista recebida,
+     * inclusive quando o erro é inesperado (logado com o stack trace). Só a
+     * gravação do lote, que é uma operação única, derruba a transação. Os DTOs
+     * recebidos não são alterados.
+     */
+    @Transactional
+    public BatchReadingResultDTO createBatch(Long instrumentId, List<ReadingRequestDTO> requests, boolean skipPermissionCheck) {
+        BatchReadingResultDTO result = new BatchReadingResultDTO();
+        result.setTotalProcessed(requests.size());
+        if (requests.isEmpty()) {
+            return result;
+        }
+
+        UserEntity currentUser = resolveCurrentUser(skipPermissionCheck);
+
+        InstrumentEntity instrument = instrumentRepository.findWithActiveOutputsById(instrumentId)
+                .orElseThrow(() -> new NotFoundException("Instrumento não encontrado com ID: " + instrumentId));
+
+        List<OutputEntity> activeOutputs = instrument.getOutputs().stream()
+                .filter(OutputEntity::getActive)
+                .collect(Collectors.toList());
+
+        if (activeOutputs.isEmpty()) {
+            throw new NotFoundException("O instrumento não possui outputs ativos para calcular leituras");
+        }
+
+        Set<DateTimePair> takenDateHours = findActiveDateHours(instrumentId, requests);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        Long userId = currentUser != null ? currentUser.getId() : null;
+
+        List<ReadingInsertRow> rowsToInsert = new ArrayList<>(requests.size() * activeOutputs.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            ReadingRequestDTO request = requests.get(i);
+            try {
+                if (request.getDate() == null || request.getHour() == null) {
+                    throw new InvalidInputException("Data e hora da leitura são obrigatórias.");
+                }
+
+                LocalTime truncatedHour = request.getHour().withNano(0);
+                if (LocalDateTime.of(request.getDate(), truncatedHour).truncatedTo(ChronoUnit.MINUTES).isAfter(now)) {
+                    throw new InvalidInputException("Não é possível criar leituras com data e hora futura.");
+                }
+
+                DateTimePair dateHour = new DateTimePair(request.getDate(), truncatedHour);
+                if (takenDateHours.contains(dateHour)) {
+                    throw new InvalidInputException("Já existe leitura registrada para este instrumento na mesma data e hora.");
+                }
+
+                validateInputValues(instrument, request.getInputValues());
+
+                Map<String, BigDecimal> formattedInputValues = new HashMap<>();
+                List<InputValueRow> inputValueRows = new ArrayList<>(instrument.getInputs().size());
+                for (InputEntity input : instrument.getInputs()) {
+                    Double inputValue = request.getInputValues().get(input.getAcronym());
+                    if (inputValue != null) {
+                        BigDecimal formatted = formatToSpecificPrecision(inputValue, input.getPrecision());
+                        formattedInputValues.put(input.getAcronym(), formatted);
+                        inputValueRows.add(new InputValueRow(input.getAcronym(), input.getName(), formatted));
+                    }
+                }
+
+                List<ReadingInsertRow> requestRows = new ArrayList<>(activeOutputs.size());
+                for (OutputEntity output : activeOutputs) {
+                    BigDecimal calculatedValue = outputCalculationService.calculateOutput(output, request, formattedInputValues);
+                    requestRows.add(new ReadingInsertRow(
+                            request.getDate(),
+                            truncatedHour,
+                            calculatedValue,
+                            determineLimitStatus(instrument, calculatedValue, output),
+                            true,
+                            request.getComment(),
+                            userId,
+                            instrumentId,
+                            output.getId(),
+                            inputValueRows));
+                }
+
+                rowsToInsert.addAll(requestRows);
+                takenDateHours.add(dateHour);
+                result.setSuccessCount(result.getSuccessCount() + 1);
+            } catch (InvalidInputException | BusinessRuleException | NotFoundException e) {
+                result.getErrors().add(new BatchReadingResultDTO.RowError(i, e.getMessage()));
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na linha {} do lote de leituras do instrumento {}: {}",
+                        i, instrumentId, e.getMessage(), e);
+                result.getErrors().add(new BatchReadingResultDTO.RowError(i,
+                        "Erro inesperado ao processar a leitura. Verifique os valores informados."));
+            }
+        }
+
+        readingJdbcRepository.insertReadings(rowsToInsert);
+        result.setCreatedReadings(rowsToInsert.size());
+
+        if (!rowsToInsert.isEmpty()) {
+            latestReadingService.refreshOutputs(activeOutputs.stream().map(OutputEntity::getId).toList());
+        }
+
+        log.info("Lote de leituras do instrumento {}: {} grupos gravados ({} leituras), {} falhas",
+                instrumentId, result.getSuccessCount(), rowsToInsert.size(), result.getFailureCount());
+
+        return result;
+    }
+
+    private Set<DateTimePair> findActiveDateHours(Long instrumentId, List<ReadingRequestDTO> requests) {
+        LocalDate minDate = null;
+        LocalDate maxDate = null;
+        for (ReadingRequestDTO request : requests) {
+            LocalDate date = request.getDate();
+            if (date == null) {
+                continue;
+            }
+            if (minDate == null || date.isBefore(minDate)) {
+                minDate = date;
+            }
+            if (maxDate == null || date.isAfter(maxDate)) {
+                maxDate = date;
+            }
+        }
+
+        Set<DateTimePair> taken = new HashSet<>();
+        if (minDate == null) {
+            return taken;
+        }
+        for (Object[] row : readingRepository.findActiveDateHoursByInstrumentIdBetween(instrumentId, minDate, maxDate)) {
+            taken.add(new DateTimePair((LocalDate) row[0], (LocalTime) row[1]));
+        }
+        return taken;
+    }
+
     @Transactional
     public ReadingResponseDTO updateReading(Long id, UpdateReadingRequestDTO request) {
         validateEditPermission();
@@ -472,6 +643,10 @@ public class ReadingService {
             readingRepository.saveAll(groupReadings);
         }
 
+        if (hasChanges || isUpdatingInputValues) {
+            latestReadingService.refreshOutputs(groupReadings.stream().map(r -> r.getOutput().getId()).toList());
+        }
+
         return mapToResponseDTO(readingRepository.findByIdWithAllRelations(id)
                 .orElseThrow(() -> new NotFoundException("Leitura não encontrada após atualização")));
     }
@@ -480,8 +655,8 @@ public class ReadingService {
     public BulkToggleActiveResponseDTO bulkToggleActive(Boolean active, List<Long> readingIds) {
         validateEditPermission();
 
-        List<Long> foundIds = readingRepository.findAllById(readingIds)
-                .stream().map(ReadingEntity::getId).toList();
+        List<ReadingEntity> foundReadings = readingRepository.findAllById(readingIds);
+        List<Long> foundIds = foundReadings.stream().map(ReadingEntity::getId).toList();
 
         List<BulkToggleActiveResponseDTO.FailedOperation> failedOperations = new ArrayList<>();
 
@@ -493,7 +668,11 @@ public class ReadingService {
         }
 
         if (!foundIds.isEmpty()) {
+            Set<Long> affectedOutputIds = foundReadings.stream()
+                    .map(r -> r.getOutput().getId())
+                    .collect(Collectors.toSet());
             readingRepository.updateActiveStatusByIds(active, foundIds);
+            latestReadingService.refreshOutputs(affectedOutputIds);
             log.info("Bulk toggle: {} readings atualizadas via Direct SQL", foundIds.size());
         }
 
@@ -503,10 +682,10 @@ public class ReadingService {
     @Transactional
     public void delete(Long id) {
         validateEditPermission();
-        if (!readingRepository.existsById(id)) {
-            throw new NotFoundException("Leitura não encontrada com ID: " + id);
-        }
+        Long outputId = readingRepository.findOutputIdById(id)
+                .orElseThrow(() -> new NotFoundException("Leitura não encontrada com ID: " + id));
         readingRepository.deleteById(id);
+        latestReadingService.refreshOutputs(List.of(outputId));
         log.info("Leitura excluída: ID {}", id);
     }
 
@@ -763,33 +942,7 @@ public class ReadingService {
     }
 
     private LimitStatusEnum determineLimitStatus(InstrumentEntity instrument, BigDecimal value, OutputEntity output) {
-        if (Boolean.TRUE.equals(instrument.getNoLimit()) || value == null) {
-            return LimitStatusEnum.NORMAL;
-        }
-        StatisticalLimitEntity statisticalLimit = output.getStatisticalLimit();
-        if (statisticalLimit != null) {
-            if (statisticalLimit.getLowerValue() != null && value.compareTo(statisticalLimit.getLowerValue()) < 0) {
-                return LimitStatusEnum.INFERIOR;
-            }
-            if (statisticalLimit.getUpperValue() != null && value.compareTo(statisticalLimit.getUpperValue()) > 0) {
-                return LimitStatusEnum.SUPERIOR;
-            }
-            return LimitStatusEnum.NORMAL;
-        }
-        DeterministicLimitEntity deterministicLimit = output.getDeterministicLimit();
-        if (deterministicLimit != null) {
-            if (deterministicLimit.getEmergencyValue() != null && value.compareTo(deterministicLimit.getEmergencyValue()) >= 0) {
-                return LimitStatusEnum.EMERGENCIA;
-            }
-            if (deterministicLimit.getAlertValue() != null && value.compareTo(deterministicLimit.getAlertValue()) >= 0) {
-                return LimitStatusEnum.ALERTA;
-            }
-            if (deterministicLimit.getAttentionValue() != null && value.compareTo(deterministicLimit.getAttentionValue()) >= 0) {
-                return LimitStatusEnum.ATENCAO;
-            }
-            return LimitStatusEnum.NORMAL;
-        }
-        return LimitStatusEnum.NORMAL;
+        return LimitThresholds.of(instrument, output).classify(value);
     }
 
     public ReadingResponseDTO mapToResponseDTO(ReadingEntity reading) {
@@ -1,9 +1,15 @@
 package com.geosegbar.infra.reading.web;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,21 +17,43 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.geosegbar.infra.reading.dtos.ReadingBulkExportRequestDTO;
 import com.geosegbar.infra.reading.dtos.ReadingExportRequestDTO;
+import com.geosegbar.infra.reading.services.ReadingCsvExportService;
 import com.geosegbar.infra.reading.services.ReadingExportService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/readings/export")
-@RequiredArgsConstructor
 @Slf4j
 public class ReadingExportController {
 
     private final ReadingExportService readingExportService;
+    private final ReadingCsvExportService readingCsvExportService;
+    private final AsyncTaskExecutor streamingExecutor;
+    private final long streamingTimeoutMs;
+
+    /**
+     * As exportações em streaming rodam no pool {@code mvcStreamingExecutor} e
+     * com timeout próprio ({@code reading.export.timeout}), via
+     * {@link WebAsyncTask}; as demais requisições assíncronas do MVC mantêm a
+     * configuração padrão.
+     */
+    public ReadingExportController(ReadingExportService readingExportService,
+            ReadingCsvExportService readingCsvExportService,
+            @Qualifier("mvcStreamingExecutor") Executor mvcStreamingExecutor,
+            @Value("${reading.export.timeout:PT10M}") Duration exportTimeout) {
+        this.readingExportService = readingExportService;
+        this.readingCsvExportService = readingCsvExportService;
+        this.streamingExecutor = new TaskExecutorAdapter(mvcStreamingExecutor);
+        this.streamingTimeoutMs = exportTimeout.toMillis();
+    }
 
     @PostMapping()
     public ResponseEntity<?> exportToExcel(
@@ -56,4 +84,62 @@ public class ReadingExportController {
                     .body(com.geosegbar.common.response.WebResponseEntity.error(msg));
         }
     }
+
+    /**
+     * Exportação em streaming: a planilha é escrita direto na resposta, sem
+     * montar o arquivo em memória. Indicada para períodos longos ou muitos
+     * instrumentos. Erros de validação são lançados antes do início do corpo e
+     * tratados pelo handler global.
+     */
+    @PostMapping("/stream")
+    public WebAsyncTask<Void> exportToExcelStreaming(
+            @Valid @RequestBody ReadingExportRequestDTO request, HttpServletResponse response) {
+
+        StreamingResponseBody body = readingExportService.exportToExcelStreaming(request);
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String filename = "leituras_export_" + timestamp + ".xlsx";
+
+        return streaming(response, body, filename, MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    /**
+     * Exportação em massa para análise de dados: CSV compactado com gzip, uma
+     * linha por leitura ou por valor de input (campo {@code dataset}), lido por
+     * cursor JDBC e escrito direto na resposta.
+     */
+    @PostMapping("/csv")
+    public WebAsyncTask<Void> exportToCsv(
+            @Valid @RequestBody ReadingBulkExportRequestDTO request, HttpServletResponse response) {
+
+        StreamingResponseBody body = readingCsvExportService.exportToCsv(request);
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String dataset = request.getDataset() != null ? request.getDataset().name().toLowerCase() : "readings";
+        String filename = "leituras_" + dataset + "_" + timestamp + ".csv.gz";
+
+        return streaming(response, body, filename, "application/gzip");
+    }
+
+    /**
+     * Escreve o corpo no pool de exportação. Os cabeçalhos são definidos antes
+     * de a requisição entrar em modo assíncrono. No timeout o MVC cancela a
+     * tarefa com interrupção e os serviços de exportação abortam o cursor.
+     */
+    private WebAsyncTask<Void> streaming(HttpServletResponse response, StreamingResponseBody body,
+            String filename, String contentType) {
+
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION);
+
+        response.setHeader("X-Web-Success", "true");
+        response.setHeader("X-Web-Message", "Exportação de leituras gerada com sucesso!");
+
+        return new WebAsyncTask<>(streamingTimeoutMs, streamingExecutor, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
 }
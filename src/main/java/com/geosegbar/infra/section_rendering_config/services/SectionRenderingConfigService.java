@@ -26,6 +26,7 @@ import com.geosegbar.exceptions.InvalidInputException;
 import com.geosegbar.exceptions.NotFoundException;
 import com.geosegbar.exceptions.UnauthorizedException;
 import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.persistence.jpa.LatestReadingRepository;
 import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
 import com.geosegbar.infra.reservoir.persistence.ReservoirRepository;
 import com.geosegbar.infra.section.persistence.jpa.SectionRepository;
@@ -55,6 +56,7 @@ public class SectionRenderingConfigService {
     private final InstrumentRepository instrumentRepository;
     private final ReservoirRepository reservoirRepository;
     private final ReadingRepository readingRepository;
+    private final LatestReadingRepository latestReadingRepository;
 
     @Transactional(readOnly = true)
     public SectionRenderingConfigResponseDTO getBySectionId(Long sectionId) {
@@ -348,7 +350,7 @@ public class SectionRenderingConfigService {
         if (outputIds.isEmpty()) {
             return Map.of();
         }
-        List<Long> ids = readingRepository.findLatestReadingIdsByOutputIds(outputIds);
+        List<Long> ids = latestReadingRepository.findReadingIdsByOutputIds(outputIds);
         if (ids.isEmpty()) {
             return Map.of();
         }
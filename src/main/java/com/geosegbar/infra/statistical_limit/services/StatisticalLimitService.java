@@ -3,6 +3,7 @@ package com.geosegbar.infra.statistical_limit.services;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@ import com.geosegbar.entities.InstrumentEntity;
 import com.geosegbar.entities.OutputEntity;
 import com.geosegbar.entities.StatisticalLimitEntity;
 import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.limit_reclassification.events.OutputLimitsChangedEvent;
 import com.geosegbar.infra.output.persistence.jpa.OutputRepository;
 import com.geosegbar.infra.statistical_limit.persistence.jpa.StatisticalLimitRepository;
 
@@ -23,6 +25,7 @@ public class StatisticalLimitService {
 
     private final StatisticalLimitRepository statisticalLimitRepository;
     private final OutputRepository outputRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Optional<StatisticalLimitEntity> findByOutputId(Long outputId) {
@@ -66,13 +69,16 @@ public class StatisticalLimitService {
             StatisticalLimitEntity existingEntity = existingLimit.get();
             existingEntity.setLowerValue(limit.getLowerValue());
             existingEntity.setUpperValue(limit.getUpperValue());
-            return statisticalLimitRepository.save(existingEntity);
+            StatisticalLimitEntity savedLimit = statisticalLimitRepository.save(existingEntity);
+            eventPublisher.publishEvent(new OutputLimitsChangedEvent(outputId));
+            return savedLimit;
         } else {
             limit.setOutput(output);
             StatisticalLimitEntity savedLimit = statisticalLimitRepository.save(limit);
 
             output.setStatisticalLimit(savedLimit);
             outputRepository.save(output);
+            eventPublisher.publishEvent(new OutputLimitsChangedEvent(outputId));
 
             return savedLimit;
         }
@@ -86,6 +92,7 @@ public class StatisticalLimitService {
         if (output != null) {
             output.setStatisticalLimit(null);
             outputRepository.save(output);
+            eventPublisher.publishEvent(new OutputLimitsChangedEvent(output.getId()));
         }
 
         statisticalLimitRepository.delete(limit);
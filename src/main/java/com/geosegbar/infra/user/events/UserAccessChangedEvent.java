@@ -0,0 +1,41 @@
+package com.geosegbar.infra.user.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+import lombok.Getter;
+
+/**
+ * Publicado quando algo que compõe o usuário autenticado muda (dados
+ * cadastrais, status, senha, clientes ou qualquer permissão). Consumido pelo
+ * {@code AuthenticatedPrincipalCache} e pelo {@code UserAccessIndex}, que
+ * descartam o que têm em cache dos usuários afetados após o commit.
+ * <p>
+ * {@code userIds == null} indica que a mudança pode afetar qualquer usuário
+ * (ex.: remoção de todas as permissões de uma barragem).
+ */
+@Getter
+public class UserAccessChangedEvent {
+
+    private final Set<Long> userIds;
+
+    public UserAccessChangedEvent(Long userId) {
+        this.userIds = Set.of(userId);
+    }
+
+    public UserAccessChangedEvent(Collection<Long> userIds) {
+        this.userIds = Set.copyOf(userIds);
+    }
+
+    private UserAccessChangedEvent() {
+        this.userIds = null;
+    }
+
+    public static UserAccessChangedEvent allUsers() {
+        return new UserAccessChangedEvent();
+    }
+
+    public boolean affectsAllUsers() {
+        return userIds == null;
+    }
+}
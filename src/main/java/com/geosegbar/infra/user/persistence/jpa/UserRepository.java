@@ -168,6 +168,9 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u.id FROM UserEntity u JOIN u.clients c WHERE c.id = :clientId")
     List<Long> findUserIdsByClientId(@Param("clientId") Long clientId);
 
+    @Query("SELECT u.id FROM UserEntity u JOIN u.clients c WHERE c.id = :clientId AND u.role.name = :roleName")
+    List<Long> findUserIdsByClientIdAndRole(@Param("clientId") Long clientId, @Param("roleName") RoleEnum roleName);
+
     @Modifying
     @Query("UPDATE UserEntity u SET u.status.id = :statusId WHERE u.id IN :userIds")
     int bulkUpdateStatusByIds(@Param("userIds") List<Long> userIds, @Param("statusId") Long statusId);
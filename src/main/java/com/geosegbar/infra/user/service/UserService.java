@@ -8,6 +8,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -41,6 +42,7 @@ import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
 import com.geosegbar.infra.permissions.atributions_permission.dtos.AttributionsPermissionDTO;
 import com.geosegbar.infra.permissions.atributions_permission.services.AttributionsPermissionService;
 import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionRepository;
+import com.geosegbar.infra.permissions.dam_permissions.services.DamPermissionFanOutService;
 import com.geosegbar.infra.permissions.documentation_permission.dtos.DocumentationPermissionDTO;
 import com.geosegbar.infra.permissions.documentation_permission.services.DocumentationPermissionService;
 import com.geosegbar.infra.permissions.instrumentation_permission.dtos.InstrumentationPermissionDTO;
@@ -61,6 +63,7 @@ import com.geosegbar.infra.user.dto.UserCreateDTO;
 import com.geosegbar.infra.user.dto.UserPasswordUpdateDTO;
 import com.geosegbar.infra.user.dto.UserStatusUpdateDTO;
 import com.geosegbar.infra.user.dto.UserUpdateDTO;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
 import com.geosegbar.infra.user.persistence.jpa.UserRepository;
 import com.geosegbar.infra.verification_code.dto.ForgotPasswordRequestDTO;
 import com.geosegbar.infra.verification_code.dto.ResetPasswordRequestDTO;
@@ -87,6 +90,7 @@ public class UserService {
     private final EmailService emailService;
     private final DamRepository damRepository;
     private final DamPermissionRepository damPermissionRepository;
+    private final DamPermissionFanOutService damPermissionFanOutService;
     private final DocumentationPermissionService documentationPermissionService;
     private final AttributionsPermissionService attributionsPermissionService;
     private final InstrumentationPermissionService instrumentationPermissionService;
@@ -97,6 +101,7 @@ public class UserService {
     private final PSBFolderRepository psbFolderRepository;
     private final PSBFileRepository psbFileRepository;
     private final ShareFolderRepository shareFolderRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${application.system-user-email}")
     private String systemUserEmail;
@@ -207,7 +212,9 @@ public class UserService {
         }
 
         user.setStatus(status);
-        return userRepository.save(user);
+        UserEntity saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
+        return saved;
     }
 
     @Transactional
@@ -276,6 +283,7 @@ public class UserService {
         routineInspectionPermissionService.deleteByUserSafely(id);
 
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(id));
     }
 
     @Transactional(readOnly = true)
@@ -497,6 +505,7 @@ public class UserService {
             handleRoleChange(savedUser, oldRole, newRole);
         }
 
+        eventPublisher.publishEvent(new UserAccessChangedEvent(id));
         return savedUser;
     }
 
@@ -524,7 +533,9 @@ public class UserService {
             existingUser.setIsFirstAccess(false);
         }
 
-        return userRepository.save(existingUser);
+        UserEntity saved = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(id));
+        return saved;
     }
 
     /**
@@ -556,6 +567,7 @@ public class UserService {
         user.setTokenExpiryDate(null);
 
         UserEntity saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(id));
 
         emailService.sendFirstAccessPassword(saved.getEmail(), generatedPassword, saved.getName());
 
@@ -602,6 +614,7 @@ public class UserService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(userId));
         return findEntityByIdWithAllDetails(user.getId());
     }
 
@@ -860,6 +873,7 @@ public class UserService {
             user.setIsFirstAccess(false);
         }
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getId()));
     }
 
     @Transactional
@@ -1051,64 +1065,46 @@ public class UserService {
 
     @Transactional
     public void recreateDamPermissionsForClientCollaborators(Long clientId) {
-        ClientEntity client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new NotFoundException("Cliente não encontrado com ID: " + clientId));
-
-        List<UserEntity> collaborators = userRepository.findByClientIdAndRole(clientId, RoleEnum.COLLABORATOR);
-
-        for (UserEntity collaborator : collaborators) {
-            deleteDamPermissionsForSpecificClients(collaborator, Set.of(client));
-            createDamPermissionsForSpecificClients(collaborator, Set.of(client));
+        if (!clientRepository.existsById(clientId)) {
+            throw new NotFoundException("Cliente não encontrado com ID: " + clientId);
         }
 
-        log.info("DamPermissions recriadas para {} colaboradores do cliente ID: {}", collaborators.size(), clientId);
+        List<Long> collaboratorIds = userRepository.findUserIdsByClientIdAndRole(clientId, RoleEnum.COLLABORATOR);
+        damPermissionFanOutService.recreateForClient(clientId, collaboratorIds);
+
+        log.info("DamPermissions recriadas para {} colaboradores do cliente ID: {}", collaboratorIds.size(), clientId);
     }
 
     @Transactional
     public void removeDamPermissionsForDam(Long damId, Long clientId) {
-        DamEntity dam = damRepository.findById(damId)
-                .orElseThrow(() -> new NotFoundException("Barragem não encontrada com ID: " + damId));
-
-        ClientEntity client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new NotFoundException("Cliente não encontrado com ID: " + clientId));
-
-        List<UserEntity> collaborators = userRepository.findByClientIdAndRole(clientId, RoleEnum.COLLABORATOR);
-
-        for (UserEntity collaborator : collaborators) {
-            damPermissionRepository.deleteByUserAndDamAndClient(collaborator, dam, client);
+        if (!damRepository.existsById(damId)) {
+            throw new NotFoundException("Barragem não encontrada com ID: " + damId);
+        }
+        if (!clientRepository.existsById(clientId)) {
+            throw new NotFoundException("Cliente não encontrado com ID: " + clientId);
         }
 
+        List<Long> collaboratorIds = userRepository.findUserIdsByClientIdAndRole(clientId, RoleEnum.COLLABORATOR);
+        damPermissionFanOutService.removeForDam(damId, clientId, collaboratorIds);
+
         log.info("DamPermissions da barragem ID {} removidas para {} colaboradores do cliente ID: {}",
-                damId, collaborators.size(), clientId);
+                damId, collaboratorIds.size(), clientId);
     }
 
     @Transactional
     public void createDamPermissionsForDam(Long damId, Long clientId) {
-        DamEntity dam = damRepository.findById(damId)
-                .orElseThrow(() -> new NotFoundException("Barragem não encontrada com ID: " + damId));
-
-        ClientEntity client = clientRepository.findById(clientId)
-                .orElseThrow(() -> new NotFoundException("Cliente não encontrado com ID: " + clientId));
-
-        List<UserEntity> collaborators = userRepository.findByClientIdAndRole(clientId, RoleEnum.COLLABORATOR);
-
-        for (UserEntity collaborator : collaborators) {
-            if (damPermissionRepository.existsByUserAndDamAndClient(collaborator, dam, client)) {
-                continue;
-            }
-
-            DamPermissionEntity permission = new DamPermissionEntity();
-            permission.setUser(collaborator);
-            permission.setDam(dam);
-            permission.setClient(client);
-            permission.setHasAccess(false);
-            permission.setCreatedAt(LocalDateTime.now());
-
-            damPermissionRepository.save(permission);
+        if (!damRepository.existsById(damId)) {
+            throw new NotFoundException("Barragem não encontrada com ID: " + damId);
         }
+        if (!clientRepository.existsById(clientId)) {
+            throw new NotFoundException("Cliente não encontrado com ID: " + clientId);
+        }
+
+        List<Long> collaboratorIds = userRepository.findUserIdsByClientIdAndRole(clientId, RoleEnum.COLLABORATOR);
+        damPermissionFanOutService.createForDam(damId, clientId, collaboratorIds);
 
         log.info("DamPermissions da barragem ID {} criadas para {} colaboradores do cliente ID: {}",
-                damId, collaborators.size(), clientId);
+                damId, collaboratorIds.size(), clientId);
     }
 
     @Async
@@ -1125,6 +1121,7 @@ public class UserService {
             }
 
             int updatedCount = userRepository.bulkUpdateStatusByIds(userIds, disabledStatusId);
+            eventPublisher.publishEvent(new UserAccessChangedEvent(userIds));
 
             log.info("✅ Desativação assíncrona concluída: {} usuário(s) do cliente {} foram desativados",
                     updatedCount, clientId);
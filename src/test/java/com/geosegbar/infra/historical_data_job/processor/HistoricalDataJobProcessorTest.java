@@ -94,7 +94,6 @@ class HistoricalDataJobProcessorTest {
         assertDoesNotThrow(() -> result.get(java.util.concurrent.TimeUnit.SECONDS.toMillis(5),
                 java.util.concurrent.TimeUnit.MILLISECONDS));
 
-        verify(jobService).markAsProcessing(1L);
         verify(jobService, atLeastOnce()).updateProgress(eq(1L), any(), anyInt(), anyInt());
         verify(jobService).markAsCompleted(1L);
         verify(anaApiService).getAuthToken();
@@ -151,7 +150,6 @@ class HistoricalDataJobProcessorTest {
         assertThrows(Exception.class,
                 () -> result.get(java.util.concurrent.TimeUnit.SECONDS.toMillis(2),
                         java.util.concurrent.TimeUnit.MILLISECONDS));
-        verify(jobService).markAsProcessing(1L);
         verify(jobService).incrementRetry(1L);
         verify(jobService).markAsPaused(eq(1L), contains("Token expirado"));
         verify(jobService, never()).markAsCompleted(anyLong());
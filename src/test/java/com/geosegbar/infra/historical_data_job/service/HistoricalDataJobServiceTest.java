@@ -4,7 +4,10 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,12 +17,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.ListOperations;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.geosegbar.common.enums.JobStatus;
 import com.geosegbar.entities.HistoricalDataJobEntity;
+import com.geosegbar.infra.historical_data_job.events.HistoricalDataJobEnqueuedEvent;
 import com.geosegbar.infra.historical_data_job.persistence.HistoricalDataJobRepository;
+import com.geosegbar.infra.historical_data_job.persistence.jdbc.HistoricalDataJobQueueJdbcRepository;
 
 /**
  * Testes unitários para HistoricalDataJobService
@@ -31,17 +36,18 @@ class HistoricalDataJobServiceTest {
     private HistoricalDataJobRepository jobRepository;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private HistoricalDataJobQueueJdbcRepository queueRepository;
 
     @Mock
-    private ListOperations<String, Object> listOperations;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private HistoricalDataJobService jobService;
 
     @BeforeEach
     void setUp() {
-        lenient().when(redisTemplate.opsForList()).thenReturn(listOperations);
+        ReflectionTestUtils.setField(jobService, "leaseTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(jobService, "retryDelay", Duration.ofMinutes(5));
     }
 
     @Test
@@ -62,7 +68,6 @@ class HistoricalDataJobServiceTest {
 
         when(jobRepository.existsActiveJobForInstrument(instrumentId)).thenReturn(false);
         when(jobRepository.save(any(HistoricalDataJobEntity.class))).thenReturn(savedJob);
-        when(listOperations.rightPush(anyString(), any())).thenReturn(1L);
 
         // When
         HistoricalDataJobEntity result = jobService.enqueueJob(instrumentId, instrumentName);
@@ -76,7 +81,8 @@ class HistoricalDataJobServiceTest {
 
         verify(jobRepository).existsActiveJobForInstrument(instrumentId);
         verify(jobRepository).save(any(HistoricalDataJobEntity.class));
-        verify(listOperations).rightPush(eq("historical:data:queue"), eq(1L));
+        verify(eventPublisher).publishEvent(argThat((Object event)
+                -> event instanceof HistoricalDataJobEnqueuedEvent enqueued && enqueued.getJobId().equals(1L)));
     }
 
     @Test
@@ -94,57 +100,71 @@ class HistoricalDataJobServiceTest {
 
         assertTrue(exception.getMessage().contains("Já existe um job ativo"));
         verify(jobRepository, never()).save(any());
-        verify(listOperations, never()).rightPush(anyString(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
-    @DisplayName("Deve remover job da fila Redis (pop)")
-    void shouldPopFromRedisQueue() {
+    @DisplayName("Deve reivindicar jobs com o id do worker e o lease configurado")
+    void shouldClaimJobsWithWorkerIdAndLease() {
         // Given
-        Long jobId = 42L;
-        when(listOperations.leftPop(anyString())).thenReturn(jobId);
+        when(queueRepository.claim(jobService.getWorkerId(), 2, 3, Duration.ofMinutes(5)))
+                .thenReturn(List.of(10L, 11L));
 
         // When
-        Optional<Long> result = jobService.popFromRedisQueue();
+        List<Long> claimed = jobService.claimJobs(2);
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(jobId, result.get());
-        verify(listOperations).leftPop("historical:data:queue");
+        assertEquals(List.of(10L, 11L), claimed);
     }
 
     @Test
-    @DisplayName("Deve retornar empty quando fila Redis está vazia")
-    void shouldReturnEmptyWhenQueueIsEmpty() {
+    @DisplayName("Deve informar lease perdido no heartbeat")
+    void shouldReportLostLeaseOnHeartbeat() {
         // Given
-        when(listOperations.leftPop(anyString())).thenReturn(null);
+        when(queueRepository.renewLease(1L, jobService.getWorkerId(), Duration.ofMinutes(5))).thenReturn(false);
 
-        // When
-        Optional<Long> result = jobService.popFromRedisQueue();
+        // When & Then
+        assertFalse(jobService.heartbeat(1L));
+    }
 
-        // Then
-        assertFalse(result.isPresent());
+    @Test
+    @DisplayName("Deve pausar com o lease deste worker e adiar a próxima tentativa")
+    void shouldPauseWithOwnLeaseAndDelayRetry() {
+        // Given
+        when(queueRepository.pause(1L, jobService.getWorkerId(), "API Error", Duration.ofMinutes(5))).thenReturn(true);
+
+        // When & Then
+        assertTrue(jobService.markAsPaused(1L, "API Error"));
     }
 
     @Test
-    @DisplayName("Deve marcar job como PROCESSING")
-    void shouldMarkJobAsProcessing() {
+    @DisplayName("Não deve alterar o status de um job cujo lease foi perdido")
+    void shouldNotChangeStatusWhenLeaseIsLost() {
         // Given
-        Long jobId = 1L;
-        HistoricalDataJobEntity job = new HistoricalDataJobEntity();
-        job.setId(jobId);
-        job.setStatus(JobStatus.QUEUED);
+        when(queueRepository.complete(1L, jobService.getWorkerId())).thenReturn(false);
+        when(queueRepository.fail(1L, jobService.getWorkerId(), "Erro")).thenReturn(false);
 
-        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
-        when(jobRepository.save(any())).thenReturn(job);
+        // When & Then
+        assertFalse(jobService.markAsCompleted(1L));
+        assertFalse(jobService.markAsFailed(1L, "Erro"));
+        verify(jobRepository, never()).findById(any());
+        verify(jobRepository, never()).save(any());
+    }
 
-        // When
-        jobService.markAsProcessing(jobId);
+    @Test
+    @DisplayName("Deve concluir o job com o lease deste worker")
+    void shouldCompleteJobWithOwnLease() {
+        // Given
+        HistoricalDataJobEntity job = new HistoricalDataJobEntity();
+        job.setId(1L);
+        job.setStartedAt(LocalDateTime.now().minusMinutes(30));
+        job.setCompletedAt(LocalDateTime.now());
+        when(queueRepository.complete(1L, jobService.getWorkerId())).thenReturn(true);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
 
-        // Then
-        assertEquals(JobStatus.PROCESSING, job.getStatus());
-        assertNotNull(job.getStartedAt());
-        verify(jobRepository).save(job);
+        // When & Then
+        assertTrue(jobService.markAsCompleted(1L));
+        verify(jobRepository, never()).save(any());
     }
 
     @Test
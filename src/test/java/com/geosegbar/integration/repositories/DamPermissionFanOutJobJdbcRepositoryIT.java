@@ -0,0 +1,103 @@
+package com.geosegbar.integration.repositories;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.common.enums.DamPermissionFanOutStatus;
+import com.geosegbar.config.BaseIntegrationTest;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionFanOutJobJdbcRepository;
+
+/**
+ * Fila de operações em massa de permissões contra um PostgreSQL real: as
+ * operações de um cliente são reivindicadas uma por vez, na ordem em que foram
+ * pedidas, e um lease vencido devolve o job à fila.
+ */
+@TestPropertySource(properties = "dam-permission.fan-out.scheduler.enabled=false")
+@DisplayName("DamPermissionFanOutJobJdbcRepository - Testes de Integração")
+class DamPermissionFanOutJobJdbcRepositoryIT extends BaseIntegrationTest {
+
+    private static final Long CLIENT_ID = 5L;
+    private static final Long OTHER_CLIENT_ID = 6L;
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    @Autowired
+    private DamPermissionFanOutJobJdbcRepository jobJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM dam_permission_fan_out_job");
+    }
+
+    @Test
+    @DisplayName("Deve reivindicar as operações de um cliente na ordem, sem bloquear os demais clientes")
+    void shouldClaimClientOperationsInOrder() {
+        // Given
+        Long first = insertQueuedJob(CLIENT_ID);
+        Long second = insertQueuedJob(CLIENT_ID);
+        Long other = insertQueuedJob(OTHER_CLIENT_ID);
+
+        // When / Then
+        assertThat(claim("worker-a")).contains(first);
+        assertThat(claim("worker-b")).contains(other);
+        assertThat(claim("worker-b")).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status
+                -> jobJdbcRepository.finish(first, "worker-a", DamPermissionFanOutStatus.COMPLETED, null));
+        assertThat(claim("worker-b")).contains(second);
+    }
+
+    @Test
+    @DisplayName("Deve devolver à fila o job cujo lease venceu, mantendo o checkpoint")
+    void shouldReclaimJobWithExpiredLease() {
+        // Given
+        Long job = insertQueuedJob(CLIENT_ID);
+        assertThat(claim("worker-a")).contains(job);
+        transactionTemplate.executeWithoutResult(status
+                -> jobJdbcRepository.checkpoint(job, "worker-a", LEASE, 2, 4));
+        jdbcTemplate.update("UPDATE dam_permission_fan_out_job SET lease_expires_at = LOCALTIMESTAMP - INTERVAL '1 second'"
+                + " WHERE id = ?", job);
+
+        // When
+        Optional<Long> reclaimed = claim("worker-b");
+
+        // Then
+        assertThat(reclaimed).contains(job);
+        assertThat(jdbcTemplate.queryForObject("SELECT processed_users FROM dam_permission_fan_out_job WHERE id = ?",
+                Integer.class, job)).isEqualTo(2);
+        Boolean stale = transactionTemplate.execute(status
+                -> jobJdbcRepository.checkpoint(job, "worker-a", LEASE, 3, 1));
+        assertThat(stale).isFalse();
+    }
+
+    private Optional<Long> claim(String owner) {
+        return transactionTemplate.execute(status -> jobJdbcRepository.claim(owner, LEASE));
+    }
+
+    private Long insertQueuedJob(Long clientId) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO dam_permission_fan_out_job
+                    (operation, client_id, user_ids, status, total_users, processed_users, affected_rows, queued_at)
+                VALUES ('RECREATE_FOR_CLIENT', ?, ARRAY[1, 2, 3]::bigint[], 'QUEUED', 3, 0, 0, LOCALTIMESTAMP)
+                RETURNING id
+                """, Long.class, clientId);
+    }
+}
@@ -0,0 +1,133 @@
+package com.geosegbar.integration.repositories;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.config.BaseIntegrationTest;
+import com.geosegbar.infra.historical_data_job.persistence.jdbc.HistoricalDataJobQueueJdbcRepository;
+
+/**
+ * Claim concorrente da fila de jobs históricos contra um PostgreSQL real: o
+ * instrumento é a chave de concorrência e nunca pode ter dois jobs em
+ * PROCESSING, mesmo com dois workers reivindicando ao mesmo tempo.
+ */
+@TestPropertySource(properties = "historical-data-job.scheduler.enabled=false")
+@DisplayName("HistoricalDataJobQueueJdbcRepository - Testes de Integração")
+class HistoricalDataJobQueueJdbcRepositoryIT extends BaseIntegrationTest {
+
+    private static final Long INSTRUMENT_ID = 77L;
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private HistoricalDataJobQueueJdbcRepository queueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM historical_data_job");
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve manter um único job em PROCESSING por instrumento com claims concorrentes")
+    void shouldNeverClaimTwoJobsOfTheSameInstrument() throws Exception {
+        // Given
+        Long first = insertQueuedJob(LocalDateTime.now().minusMinutes(2));
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<List<Long>> workerA = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Long> claimed = queueRepository.claim("worker-a", 2, 3, LEASE);
+            firstClaimed.countDown();
+            await(releaseFirst);
+            return claimed;
+        }), workers);
+        assertThat(firstClaimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Job do mesmo instrumento enfileirado enquanto o claim de A ainda não foi confirmado
+        Long second = insertQueuedJob(LocalDateTime.now().minusMinutes(1));
+
+        // When
+        CompletableFuture<List<Long>> workerB = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                status -> queueRepository.claim("worker-b", 2, 3, LEASE)), workers);
+        waitForBlockedClaim();
+        releaseFirst.countDown();
+
+        // Then
+        assertThat(workerA.get(10, TimeUnit.SECONDS)).containsExactly(first);
+        assertThat(workerB.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM historical_data_job WHERE instrument_id = ? AND status = 'PROCESSING'",
+                Long.class, INSTRUMENT_ID))
+                .containsExactly(first);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM historical_data_job WHERE id = ?",
+                String.class, second)).isEqualTo("QUEUED");
+    }
+
+    private Long insertQueuedJob(LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO historical_data_job
+                    (instrument_id, instrument_name, status, start_date, end_date, total_months,
+                     processed_months, created_readings, skipped_days, retry_count, created_at, available_at)
+                VALUES (?, 'Instrumento', 'QUEUED', ?, ?, 1, 0, 0, 0, 0, ?, ?)
+                RETURNING id
+                """, Long.class, INSTRUMENT_ID, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                createdAt, createdAt);
+    }
+
+    /**
+     * Espera o claim de B ficar bloqueado no advisory lock de A.
+     */
+    private void waitForBlockedClaim() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("O claim de B não ficou aguardando o claim de A");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
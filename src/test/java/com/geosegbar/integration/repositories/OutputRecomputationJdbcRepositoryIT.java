@@ -0,0 +1,124 @@
+package com.geosegbar.integration.repositories;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.geosegbar.config.BaseIntegrationTest;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository;
+
+/**
+ * Claim concorrente da fila de recálculo de outputs contra um PostgreSQL real:
+ * dois workers nunca processam recálculos do mesmo instrumento ao mesmo tempo.
+ */
+@TestPropertySource(properties = "output-recomputation.scheduler.enabled=false")
+@DisplayName("OutputRecomputationJdbcRepository - Testes de Integração")
+class OutputRecomputationJdbcRepositoryIT extends BaseIntegrationTest {
+
+    private static final Long INSTRUMENT_ID = 88L;
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Autowired
+    private OutputRecomputationJdbcRepository recomputationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM output_recomputation_job");
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve manter um único recálculo em PROCESSING por instrumento com claims concorrentes")
+    void shouldNeverClaimTwoJobsOfTheSameInstrument() throws Exception {
+        // Given
+        Long first = insertQueuedJob(LocalDateTime.now().minusMinutes(2));
+        Long second = insertQueuedJob(LocalDateTime.now().minusMinutes(1));
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        CompletableFuture<Optional<Long>> workerA = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Optional<Long> claimed = recomputationRepository.claim("worker-a", LEASE);
+            firstClaimed.countDown();
+            await(releaseFirst);
+            return claimed;
+        }), workers);
+        assertThat(firstClaimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Optional<Long>> workerB = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(
+                status -> recomputationRepository.claim("worker-b", LEASE)), workers);
+        waitForBlockedClaim();
+        releaseFirst.countDown();
+
+        // Then
+        assertThat(workerA.get(10, TimeUnit.SECONDS)).contains(first);
+        assertThat(workerB.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM output_recomputation_job WHERE id = ?",
+                String.class, second)).isEqualTo("QUEUED");
+    }
+
+    private Long insertQueuedJob(LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO output_recomputation_job
+                    (instrument_id, instrument_name, dry_run, status, processed_groups, scanned_readings,
+                     changed_readings, status_changed_readings, failed_readings, created_at)
+                VALUES (?, 'Instrumento', false, 'QUEUED', 0, 0, 0, 0, 0, ?)
+                RETURNING id
+                """, Long.class, INSTRUMENT_ID, createdAt);
+    }
+
+    /**
+     * Espera o claim de B ficar bloqueado no advisory lock de A.
+     */
+    private void waitForBlockedClaim() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("O claim de B não ficou aguardando o claim de A");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.geosegbar.unit.configs.filters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.configs.filters.GzipRequestDecompressingFilter;
+import com.geosegbar.configs.filters.GzipRequestDecompressingFilter.InflatedBodyTooLargeException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+@Tag("unit")
+@DisplayName("Unit tests for GzipRequestDecompressingFilter")
+class GzipRequestDecompressingFilterTest extends BaseUnitTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    @DisplayName("Should inflate the body lazily and hide compression headers")
+    void shouldInflateBodyAndHideCompressionHeaders() throws Exception {
+        String json = "{\"checklistId\":1,\"answers\":[]}";
+        MockHttpServletRequest request = gzipRequest(gzip(json.getBytes(StandardCharsets.UTF_8)));
+        AtomicReference<String> body = new AtomicReference<>();
+        AtomicReference<HttpServletRequest> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            seen.set((HttpServletRequest) req);
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        };
+
+        new GzipRequestDecompressingFilter(10 * MB, 200).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(body.get()).isEqualTo(json);
+        assertThat(seen.get().getContentLengthLong()).isEqualTo(-1);
+        assertThat(seen.get().getHeader("Content-Encoding")).isNull();
+        assertThat(seen.get().getHeader("Content-Length")).isNull();
+        assertThat(seen.get().getInputStream().isFinished()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should accept a read listener and keep reading the body blocking")
+    void shouldIgnoreReadListener() throws Exception {
+        String json = "{\"checklistId\":1}";
+        MockHttpServletRequest request = gzipRequest(gzip(json.getBytes(StandardCharsets.UTF_8)));
+        AtomicReference<String> body = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().setReadListener(mock(ReadListener.class));
+            body.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        };
+
+        new GzipRequestDecompressingFilter(MB, 200).doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(body.get()).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("Should fail once the inflated body exceeds the configured size")
+    void shouldRejectBodyAboveMaxInflatedSize() throws Exception {
+        byte[] payload = incompressible(3 * MB);
+        MockHttpServletRequest request = gzipRequest(gzip(payload));
+        FilterChain chain = (req, res) -> req.getInputStream().readAllBytes();
+
+        GzipRequestDecompressingFilter filter = new GzipRequestDecompressingFilter(2 * MB, 0);
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(InflatedBodyTooLargeException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail on a compression ratio typical of a zip bomb")
+    void shouldRejectExcessiveCompressionRatio() throws Exception {
+        MockHttpServletRequest request = gzipRequest(gzip(new byte[(int) (20 * MB)]));
+        FilterChain chain = (req, res) -> req.getInputStream().readAllBytes();
+
+        GzipRequestDecompressingFilter filter = new GzipRequestDecompressingFilter(0, 200);
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), chain))
+                .isInstanceOf(InflatedBodyTooLargeException.class)
+                .hasMessageContaining("200:1")
+                .satisfies(e -> assertThat(((InflatedBodyTooLargeException) e).getLimit()).isEqualTo(200L));
+    }
+
+    @Test
+    @DisplayName("Should pass through requests without gzip encoding")
+    void shouldPassThroughPlainRequests() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/checklist-response");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<Object> seen = new AtomicReference<>();
+
+        new GzipRequestDecompressingFilter(MB, 200).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.set(req));
+
+        assertThat(seen.get()).isSameAs(request);
+    }
+
+    private static MockHttpServletRequest gzipRequest(byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/checklist-response");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(content);
+        return request;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] incompressible(long size) {
+        byte[] bytes = new byte[(int) size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,115 @@
+package com.geosegbar.unit.configs.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.geosegbar.configs.ratelimit.LocalTokenBucketTier;
+import com.geosegbar.configs.ratelimit.LocalTokenBucketTier.Reservation;
+import com.geosegbar.configs.ratelimit.RateLimitInfo;
+import com.geosegbar.configs.ratelimit.RateLimitType;
+import com.geosegbar.config.BaseUnitTest;
+
+@Tag("unit")
+@DisplayName("Unit tests for LocalTokenBucketTier")
+class LocalTokenBucketTierTest extends BaseUnitTest {
+
+    private static final String KEY = "rate-limit:public:10.0.0.1";
+
+    @Test
+    @DisplayName("Should serve a reserved batch locally without further reservations")
+    void shouldServeReservedBatchLocally() {
+        FakeReserver reserver = new FakeReserver(100);
+        List<Runnable> deferred = new ArrayList<>();
+        LocalTokenBucketTier tier = newTier(reserver, deferred::add);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(tier.tryConsume(KEY, RateLimitType.PUBLIC, 100, 10).isAllowed()).isTrue();
+        }
+
+        assertThat(reserver.requested).containsExactly(10L);
+        assertThat(tier.getLocalHits()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should reserve the next batch in background once half of the local batch is used")
+    void shouldSyncInBackgroundAtHalfBatch() {
+        FakeReserver reserver = new FakeReserver(100);
+        LocalTokenBucketTier tier = newTier(reserver, Runnable::run);
+
+        for (int i = 0; i < 5; i++) {
+            tier.tryConsume(KEY, RateLimitType.PUBLIC, 100, 10);
+        }
+
+        assertThat(reserver.requested).containsExactly(10L, 10L);
+        RateLimitInfo info = tier.tryConsume(KEY, RateLimitType.PUBLIC, 100, 10);
+        assertThat(info.getRemainingTokens()).isEqualTo(14 + 80);
+    }
+
+    @Test
+    @DisplayName("Should block locally until refill once the global bucket is empty")
+    void shouldBlockLocallyWhenGlobalBucketIsEmpty() {
+        FakeReserver reserver = new FakeReserver(3);
+        List<Runnable> deferred = new ArrayList<>();
+        LocalTokenBucketTier tier = newTier(reserver, deferred::add);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(tier.tryConsume(KEY, RateLimitType.PUBLIC, 3, 10).isAllowed()).isTrue();
+        }
+        RateLimitInfo first = tier.tryConsume(KEY, RateLimitType.PUBLIC, 3, 10);
+        RateLimitInfo second = tier.tryConsume(KEY, RateLimitType.PUBLIC, 3, 10);
+
+        assertThat(first.isAllowed()).isFalse();
+        assertThat(second.isAllowed()).isFalse();
+        assertThat(second.getSecondsUntilRefill()).isGreaterThan(0);
+        assertThat(reserver.requested).containsExactly(10L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should keep buckets of different identifiers independent")
+    void shouldKeepIdentifiersIndependent() {
+        FakeReserver reserver = new FakeReserver(100);
+        LocalTokenBucketTier tier = newTier(reserver, task -> {
+        });
+
+        tier.tryConsume(KEY, RateLimitType.PUBLIC, 100, 10);
+        tier.tryConsume("rate-limit:public:10.0.0.2", RateLimitType.PUBLIC, 100, 10);
+
+        assertThat(reserver.requested).containsExactly(10L, 10L);
+        assertThat(tier.getBucketCount()).isEqualTo(2);
+    }
+
+    private LocalTokenBucketTier newTier(FakeReserver reserver, Executor executor) {
+        return new LocalTokenBucketTier(reserver, executor, e -> {
+            throw new AssertionError(e);
+        }, 1000, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Bucket global em memória sem refill: concede o que houver até o pedido.
+     */
+    private static final class FakeReserver implements LocalTokenBucketTier.Reserver {
+
+        private final List<Long> requested = new ArrayList<>();
+        private long available;
+
+        private FakeReserver(long available) {
+            this.available = available;
+        }
+
+        @Override
+        public Reservation reserve(String bucketKey, RateLimitType type, long tokens) {
+            requested.add(tokens);
+            long granted = Math.min(tokens, available);
+            available -= granted;
+            return new Reservation(granted, available, TimeUnit.MINUTES.toNanos(1));
+        }
+    }
+}
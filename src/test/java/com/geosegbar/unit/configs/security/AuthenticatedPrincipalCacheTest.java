@@ -0,0 +1,89 @@
+package com.geosegbar.unit.configs.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.geosegbar.configs.security.AuthenticatedPrincipalCache;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Tag("unit")
+@DisplayName("Unit tests for AuthenticatedPrincipalCache")
+class AuthenticatedPrincipalCacheTest {
+
+    private AuthenticatedPrincipalCache principalCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(AuthenticatedPrincipalCache.CACHE_NAME,
+                Caffeine.newBuilder().maximumSize(100).build());
+        principalCache = new AuthenticatedPrincipalCache(cacheManager);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should load the user once per user and token")
+    void shouldLoadOncePerUserAndToken() {
+        UserEntity first = principalCache.get(1L, "token-a", () -> load(1L));
+        UserEntity second = principalCache.get(1L, "token-a", () -> load(1L));
+        principalCache.get(1L, "token-b", () -> load(1L));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should evict only the affected user on access change")
+    void shouldEvictOnlyAffectedUser() {
+        principalCache.get(1L, "token-a", () -> load(1L));
+        principalCache.get(2L, "token-b", () -> load(2L));
+
+        principalCache.onUserAccessChanged(new UserAccessChangedEvent(1L));
+        principalCache.get(1L, "token-a", () -> load(1L));
+        principalCache.get(2L, "token-b", () -> load(2L));
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should evict every user when the change is not user specific")
+    void shouldEvictAllUsers() {
+        principalCache.get(1L, "token-a", () -> load(1L));
+        principalCache.get(2L, "token-b", () -> load(2L));
+
+        principalCache.onUserAccessChanged(UserAccessChangedEvent.allUsers());
+        principalCache.get(1L, "token-a", () -> load(1L));
+        principalCache.get(2L, "token-b", () -> load(2L));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should propagate loader exceptions without caching")
+    void shouldPropagateLoaderExceptions() {
+        assertThatThrownBy(() -> principalCache.get(1L, "token-a", () -> {
+            throw new NotFoundException("Usuário não encontrado!");
+        })).isInstanceOf(NotFoundException.class);
+
+        principalCache.get(1L, "token-a", () -> load(1L));
+        assertThat(loads).hasValue(1);
+    }
+
+    private UserEntity load(Long id) {
+        loads.incrementAndGet();
+        UserEntity user = new UserEntity();
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,139 @@
+package com.geosegbar.unit.infra.audit.filter;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geosegbar.common.enums.AuditResponseCapture;
+import com.geosegbar.common.enums.AuditStatus;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.audit.config.AuditProperties;
+import com.geosegbar.infra.audit.filter.AuditLogFilter;
+import com.geosegbar.infra.audit.services.AuditContext;
+import com.geosegbar.infra.audit.services.AuditService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Tag("unit")
+@DisplayName("Unit tests for AuditLogFilter")
+class AuditLogFilterTest extends BaseUnitTest {
+
+    private static final String LARGE_DATA = "x".repeat(500);
+
+    @Mock
+    private AuditService auditService;
+
+    private AuditProperties properties;
+    private AuditLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setMaxBodyLength(64);
+        filter = new AuditLogFilter(auditService, properties, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should stream the full response and record only the message on success")
+    void shouldStreamResponseAndSkipBodyOnSuccess() throws Exception {
+        String body = "{\"success\":true,\"message\":\"Criado!\",\"data\":\"" + LARGE_DATA + "\"}";
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post(), response, respondWith(201, body));
+
+        assertThat(response.getContentAsString()).isEqualTo(body);
+        AuditContext ctx = recorded();
+        assertThat(ctx.getStatus()).isEqualTo(AuditStatus.SUCCESS);
+        assertThat(ctx.getMessage()).isEqualTo("Criado!");
+        assertThat(ctx.getResponseBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep only the first bytes of an error response")
+    void shouldKeepBoundedPrefixOfErrorResponse() throws Exception {
+        String body = "{\"success\":false,\"message\":\"Falhou\",\"data\":\"" + LARGE_DATA + "\"}";
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post(), response, respondWith(200, body));
+
+        assertThat(response.getContentAsString()).isEqualTo(body);
+        AuditContext ctx = recorded();
+        assertThat(ctx.getStatus()).isEqualTo(AuditStatus.ERROR);
+        assertThat(ctx.getMessage()).isEqualTo("Falhou");
+        assertThat(ctx.getResponseBody())
+                .startsWith("{\"success\":false,\"message\":\"Falhou\"")
+                .endsWith("... [truncado]")
+                .hasSizeLessThan(body.length());
+    }
+
+    @Test
+    @DisplayName("Should mask sensitive fields of a truncated error response")
+    void shouldMaskSensitiveFieldsOfTruncatedResponse() throws Exception {
+        String body = "{\"success\":false,\"message\":\"Erro\",\"token\":\"abc123\",\"data\":\"" + LARGE_DATA + "\"}";
+
+        filter.doFilter(post(), new MockHttpServletResponse(), respondWith(400, body));
+
+        assertThat(recorded().getResponseBody())
+                .contains("\"token\":\"***\"")
+                .doesNotContain("abc123");
+    }
+
+    @Test
+    @DisplayName("Should flush content written through the writer")
+    void shouldFlushWriterContent() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        FilterChain chain = (req, res) -> {
+            ((HttpServletResponse) res).setStatus(401);
+            res.getWriter().write("{\"success\":false,\"message\":\"Não autenticado\"}");
+        };
+
+        filter.doFilter(post(), response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"success\":false,\"message\":\"Não autenticado\"}");
+        assertThat(recorded().getMessage()).isEqualTo("Não autenticado");
+    }
+
+    @Test
+    @DisplayName("Should buffer the whole response in BUFFERED mode")
+    void shouldBufferWholeResponseInBufferedMode() throws Exception {
+        properties.setResponseCapture(AuditResponseCapture.BUFFERED);
+        String body = "{\"success\":false,\"message\":\"Falhou\",\"data\":\"" + LARGE_DATA + "\"}";
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post(), response, respondWith(500, body));
+
+        assertThat(response.getContentAsString()).isEqualTo(body);
+        assertThat(recorded().getResponseBody()).contains(LARGE_DATA);
+    }
+
+    private MockHttpServletRequest post() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reading");
+        request.setRequestURI("/reading");
+        return request;
+    }
+
+    private FilterChain respondWith(int status, String body) {
+        return (req, res) -> {
+            ((HttpServletResponse) res).setStatus(status);
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private AuditContext recorded() {
+        ArgumentCaptor<AuditContext> captor = ArgumentCaptor.forClass(AuditContext.class);
+        verify(auditService).record(captor.capture());
+        return captor.getValue();
+    }
+}
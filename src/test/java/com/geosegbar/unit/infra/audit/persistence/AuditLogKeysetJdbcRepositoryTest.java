@@ -0,0 +1,107 @@
+package com.geosegbar.unit.infra.audit.persistence;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository.Criteria;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository.Cursor;
+
+@Tag("unit")
+@DisplayName("Unit tests for AuditLogKeysetJdbcRepository")
+class AuditLogKeysetJdbcRepositoryTest extends BaseUnitTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 9, 1, 0, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditLogKeysetJdbcRepository repository;
+
+    private final List<String> sqls = new ArrayList<>();
+    private final List<List<Object>> args = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = new AuditLogKeysetJdbcRepository(jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should build the first page only from the given filters, newest first")
+    void shouldBuildFirstPageFromGivenFilters() {
+        captureQueries();
+        Criteria criteria = new Criteria(START, null, null, null, null, "SUCCESS", null, null, null, null);
+
+        repository.findSummaries(criteria, null, false, 21);
+
+        String sql = sqls.get(0);
+        assertThat(sql).contains("a.occurred_at >= ?", "a.status = ?",
+                "ORDER BY a.occurred_at DESC, a.id DESC", "LIMIT ?");
+        assertThat(sql).doesNotContain("(a.occurred_at, a.id)", "IS NULL OR", "a.occurred_at <= ?", "a.source");
+        assertThat(args.get(0)).containsExactly(START, "SUCCESS", 21);
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor row comparing (occurred_at, id) in the sort direction")
+    void shouldContinueAfterCursorRow() {
+        captureQueries();
+        Criteria criteria = new Criteria(null, null, 5L, null, null, null, null, null, null, null);
+        LocalDateTime occurredAt = LocalDateTime.of(2026, 10, 3, 12, 0);
+
+        repository.findDetails(criteria, new Cursor(occurredAt, 55L), true, 11);
+        repository.findSummaries(criteria, new Cursor(occurredAt, 55L), false, 11);
+
+        assertThat(sqls.get(0)).contains("a.actor_user_id = ?\n  AND (a.occurred_at, a.id) > (?, ?)",
+                "ORDER BY a.occurred_at ASC, a.id ASC");
+        assertThat(args.get(0)).containsExactly(5L, occurredAt, 55L, 11);
+        assertThat(sqls.get(1)).contains("(a.occurred_at, a.id) < (?, ?)", "ORDER BY a.occurred_at DESC, a.id DESC");
+        assertThat(args.get(1)).containsExactly(5L, occurredAt, 55L, 11);
+    }
+
+    @Test
+    @DisplayName("Should read the estimated total from the query plan")
+    void shouldReadEstimatedTotalFromPlan() {
+        Criteria criteria = new Criteria(START, null, null, null, null, null, null, null, null, null);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn("[{\"Plan\": {\"Node Type\": \"Append\", \"Plan Rows\": 1234}}]");
+
+        assertThat(repository.estimateCount(criteria)).isEqualTo(1234L);
+    }
+
+    @Test
+    @DisplayName("Should return no estimate when the plan cannot be read")
+    void shouldReturnNullWhenPlanIsUnreadable() {
+        Criteria criteria = new Criteria(null, null, null, null, null, null, null, null, null, null);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn("not json");
+
+        assertThat(repository.estimateCount(criteria)).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void captureQueries() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            sqls.add(invocation.getArgument(0));
+            args.add(Arrays.asList(Arrays.copyOfRange(arguments, 2, arguments.length)));
+            return List.of();
+        });
+    }
+}
@@ -0,0 +1,162 @@
+package com.geosegbar.unit.infra.audit.services;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.geosegbar.common.enums.AuditSource;
+import com.geosegbar.common.enums.AuditStatus;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.AuditLogEntity;
+import com.geosegbar.infra.audit.config.AuditProperties;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogJdbcRepository;
+import com.geosegbar.infra.audit.services.AuditLogBatchWriter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@Tag("unit")
+@DisplayName("Unit tests for AuditLogBatchWriter")
+class AuditLogBatchWriterTest extends BaseUnitTest {
+
+    @Mock
+    private AuditLogJdbcRepository auditLogJdbcRepository;
+
+    private AuditProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setBufferCapacity(10);
+        properties.setBatchSize(2);
+        properties.setFlushIntervalMs(50);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should write buffered records in batches and drain them on stop")
+    void shouldWriteBufferedRecordsInBatchesAndDrainOnStop() {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<AuditLogEntity> batch = invocation.getArgument(0);
+            batches.add(batch.stream().map(AuditLogEntity::getAction).toList());
+            return batch.size();
+        }).when(auditLogJdbcRepository).insertBatch(anyList());
+
+        AuditLogBatchWriter writer = newWriter();
+        writer.offer(auditLog("A"));
+        writer.offer(auditLog("B"));
+        writer.offer(auditLog("C"));
+
+        writer.start();
+        writer.stop();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.stream().flatMap(List::stream)).containsExactly("A", "B", "C");
+        assertThat(registry.get("audit.sink.written").functionCounter().count()).isEqualTo(3.0);
+        assertThat(registry.get("audit.sink.buffer.size").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop and count records when the buffer is full")
+    void shouldDropAndCountRecordsWhenBufferIsFull() {
+        properties.setBufferCapacity(2);
+        AuditLogBatchWriter writer = newWriter();
+
+        assertThat(writer.offer(auditLog("A"))).isTrue();
+        assertThat(writer.offer(auditLog("B"))).isTrue();
+        assertThat(writer.offer(auditLog("C"))).isFalse();
+
+        assertThat(registry.get("audit.sink.dropped").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("audit.sink.buffer.size").gauge().value()).isEqualTo(2.0);
+        verifyNoInteractions(auditLogJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should count failed batches without stopping the writer")
+    void shouldCountFailedBatchesWithoutStoppingWriter() {
+        doThrow(new RuntimeException("banco indisponível")).when(auditLogJdbcRepository).insertBatch(anyList());
+
+        AuditLogBatchWriter writer = newWriter();
+        writer.offer(auditLog("A"));
+        writer.start();
+        writer.stop();
+
+        assertThat(registry.get("audit.sink.failed").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("audit.sink.written").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should persist the rest of the batch and count only the record the database rejects")
+    void shouldIsolateRejectedRecordAndPersistTheRest() {
+        properties.setBatchSize(5);
+        List<String> persisted = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<AuditLogEntity> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(auditLog -> "POISON".equals(auditLog.getAction()))) {
+                throw new DataIntegrityViolationException("value too long for type character varying(255)");
+            }
+            persisted.addAll(batch.stream().map(AuditLogEntity::getAction).toList());
+            return batch.size();
+        }).when(auditLogJdbcRepository).insertBatch(anyList());
+
+        AuditLogBatchWriter writer = newWriter();
+        writer.offer(auditLog("A"));
+        writer.offer(auditLog("B"));
+        writer.offer(auditLog("POISON"));
+        writer.offer(auditLog("C"));
+        writer.offer(auditLog("D"));
+        writer.start();
+        writer.stop();
+
+        assertThat(persisted).containsExactly("A", "B", "C", "D");
+        assertThat(registry.get("audit.sink.written").functionCounter().count()).isEqualTo(4.0);
+        assertThat(registry.get("audit.sink.failed").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should not retry record by record when the database is unavailable")
+    void shouldNotSplitBatchWhenDatabaseIsUnavailable() {
+        properties.setBatchSize(4);
+        doThrow(new DataAccessResourceFailureException("conexão recusada"))
+                .when(auditLogJdbcRepository).insertBatch(anyList());
+
+        AuditLogBatchWriter writer = newWriter();
+        writer.offer(auditLog("A"));
+        writer.offer(auditLog("B"));
+        writer.offer(auditLog("C"));
+        writer.start();
+        writer.stop();
+
+        assertThat(registry.get("audit.sink.failed").functionCounter().count()).isEqualTo(3.0);
+        verify(auditLogJdbcRepository, times(1)).insertBatch(anyList());
+    }
+
+    private AuditLogBatchWriter newWriter() {
+        AuditLogBatchWriter writer = new AuditLogBatchWriter(auditLogJdbcRepository, properties);
+        writer.bindTo(registry);
+        return writer;
+    }
+
+    private AuditLogEntity auditLog(String action) {
+        return AuditLogEntity.builder()
+                .action(action)
+                .source(AuditSource.HTTP)
+                .status(AuditStatus.SUCCESS)
+                .build();
+    }
+}
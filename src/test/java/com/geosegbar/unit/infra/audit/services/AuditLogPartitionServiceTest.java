@@ -0,0 +1,229 @@
+package com.geosegbar.unit.infra.audit.services;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.audit.config.AuditProperties;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogPartitionJdbcRepository;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogPartitionJdbcRepository.LegacyBoundCheck;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogPartitionJdbcRepository.Partition;
+import com.geosegbar.infra.audit.services.AuditLogPartitionService;
+
+@Tag("unit")
+@DisplayName("Unit tests for AuditLogPartitionService")
+class AuditLogPartitionServiceTest extends BaseUnitTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2026, 10);
+
+    @Mock
+    private AuditLogPartitionJdbcRepository partitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditProperties properties;
+    private AuditLogPartitionService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditProperties();
+        properties.setPartitionsAhead(2);
+        properties.setRetentionMonths(12);
+        service = new AuditLogPartitionService(partitionRepository, properties, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should convert the plain table and create only the months not covered by the legacy partition")
+    void shouldConvertPlainTableAndCreateUncoveredMonths() {
+        LocalDateTime legacyEnd = monthStart(CURRENT.plusMonths(2));
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("r");
+        when(partitionRepository.findLegacyBoundCheck()).thenReturn(new LegacyBoundCheck(legacyEnd, true));
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                new Partition("audit_logs_legacy", null, legacyEnd, false)));
+
+        service.maintainPartitions(CURRENT);
+
+        verify(partitionRepository).convertToPartitioned(legacyEnd);
+        verify(partitionRepository).createPartition("audit_logs_p202612", monthStart(YearMonth.of(2026, 12)), monthStart(YearMonth.of(2027, 1)));
+        verify(partitionRepository, never()).createPartition(eq("audit_logs_p202610"), any(), any());
+        verify(partitionRepository, never()).createPartition(eq("audit_logs_p202611"), any(), any());
+        verify(partitionRepository).createDefaultPartition();
+        verify(partitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("Should add the bound check as NOT VALID before converting and ask for validation")
+    void shouldAddBoundCheckBeforeConverting() {
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("r");
+        when(partitionRepository.findLegacyBoundCheck()).thenReturn(null);
+        when(partitionRepository.addLegacyBoundCheck(monthStart(CURRENT))).thenReturn(monthStart(CURRENT.plusMonths(2)));
+
+        assertThat(service.prepareConversion(CURRENT)).isTrue();
+
+        verify(partitionRepository).addLegacyBoundCheck(monthStart(CURRENT));
+        verify(partitionRepository, never()).convertToPartitioned(any());
+    }
+
+    @Test
+    @DisplayName("Should skip conversion steps once the table is partitioned")
+    void shouldSkipConversionStepsWhenPartitioned() {
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("p");
+
+        assertThat(service.prepareConversion(CURRENT)).isFalse();
+        service.validateConversion();
+
+        verify(partitionRepository, never()).addLegacyBoundCheck(any());
+        verify(partitionRepository, never()).validateLegacyBoundCheck();
+    }
+
+    @Test
+    @DisplayName("Should defer the conversion while the bound check is not validated")
+    void shouldDeferConversionUntilCheckIsValidated() {
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("r");
+        when(partitionRepository.findLegacyBoundCheck())
+                .thenReturn(new LegacyBoundCheck(monthStart(CURRENT.plusMonths(2)), false));
+
+        service.maintainPartitions(CURRENT);
+
+        verify(partitionRepository, never()).convertToPartitioned(any());
+        verify(partitionRepository, never()).findPartitions();
+    }
+
+    @Test
+    @DisplayName("Should move rows out of the default partition when creating a month it already holds")
+    void shouldMoveDefaultRowsWhenCreatingPartition() {
+        properties.setPartitionsAhead(1);
+        LocalDateTime next = monthStart(CURRENT.plusMonths(1));
+        LocalDateTime afterNext = monthStart(CURRENT.plusMonths(2));
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("p");
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                new Partition("audit_logs_p202610", monthStart(CURRENT), next, false),
+                new Partition("audit_logs_default", null, null, true)));
+        when(partitionRepository.defaultPartitionHasRows(next, afterNext)).thenReturn(true);
+        when(partitionRepository.createPartitionMovingDefaultRows("audit_logs_p202611", next, afterNext)).thenReturn(3);
+
+        service.maintainPartitions(CURRENT);
+
+        verify(partitionRepository).createPartitionMovingDefaultRows("audit_logs_p202611", next, afterNext);
+        verify(partitionRepository, never()).createPartition(anyString(), any(), any());
+        verify(partitionRepository, never()).createDefaultPartition();
+    }
+
+    @Test
+    @DisplayName("Should drop partitions entirely older than the retention and keep the default partition")
+    void shouldDropExpiredPartitions() {
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("p");
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                new Partition("audit_logs_legacy", null, monthStart(YearMonth.of(2025, 6)), false),
+                new Partition("audit_logs_p202509", monthStart(YearMonth.of(2025, 9)), monthStart(YearMonth.of(2025, 10)), false),
+                new Partition("audit_logs_p202510", monthStart(YearMonth.of(2025, 10)), monthStart(YearMonth.of(2025, 11)), false),
+                new Partition("audit_logs_p202610", monthStart(CURRENT), monthStart(CURRENT.plusMonths(1)), false),
+                new Partition("audit_logs_p202611", monthStart(CURRENT.plusMonths(1)), monthStart(CURRENT.plusMonths(2)), false),
+                new Partition("audit_logs_p202612", monthStart(CURRENT.plusMonths(2)), monthStart(CURRENT.plusMonths(3)), false),
+                new Partition("audit_logs_default", null, null, true)));
+
+        service.maintainPartitions(CURRENT);
+
+        verify(partitionRepository).dropPartition("audit_logs_legacy");
+        verify(partitionRepository).dropPartition("audit_logs_p202509");
+        verify(partitionRepository, never()).dropPartition("audit_logs_p202510");
+        verify(partitionRepository, never()).dropPartition("audit_logs_default");
+        verify(partitionRepository, never()).createPartition(anyString(), any(), any());
+        verify(partitionRepository, never()).createDefaultPartition();
+        verify(partitionRepository, never()).convertToPartitioned(any());
+    }
+
+    @Test
+    @DisplayName("Should keep every partition when retention is disabled")
+    void shouldKeepEverythingWhenRetentionIsDisabled() {
+        properties.setRetentionMonths(0);
+        when(partitionRepository.tryLock()).thenReturn(true);
+        when(partitionRepository.findTableKind()).thenReturn("p");
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                new Partition("audit_logs_legacy", null, monthStart(YearMonth.of(2020, 1)), false),
+                new Partition("audit_logs_default", null, null, true)));
+
+        service.maintainPartitions(CURRENT);
+
+        verify(partitionRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip maintenance while another instance holds the lock")
+    void shouldSkipWhenLockIsHeldElsewhere() {
+        when(partitionRepository.tryLock()).thenReturn(false);
+
+        service.maintainPartitions(CURRENT);
+
+        verify(partitionRepository, never()).findTableKind();
+        verify(partitionRepository, never()).findPartitions();
+    }
+
+    @Test
+    @DisplayName("Should build the keyset index concurrently only while the table is plain")
+    void shouldBuildKeysetIndexOnlyOnPlainTable() {
+        when(partitionRepository.findTableKind()).thenReturn("r", "p");
+
+        service.ensureKeysetIndex();
+        service.ensureKeysetIndex();
+
+        verify(partitionRepository).createKeysetIndexConcurrently();
+    }
+
+    @Test
+    @DisplayName("Should not propagate a failed keyset index build")
+    void shouldNotPropagateFailedKeysetIndexBuild() {
+        when(partitionRepository.findTableKind()).thenReturn("r");
+        when(partitionRepository.createKeysetIndexConcurrently()).thenThrow(new IllegalStateException("lock timeout"));
+
+        service.ensureKeysetIndex();
+
+        verify(partitionRepository, never()).tryLock();
+    }
+
+    @Test
+    @DisplayName("Should parse range and default partition bounds")
+    void shouldParsePartitionBounds() {
+        Partition legacy = AuditLogPartitionJdbcRepository.parsePartition("audit_logs_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')");
+        Partition monthly = AuditLogPartitionJdbcRepository.parsePartition("audit_logs_p202611",
+                "FOR VALUES FROM ('2026-11-01 00:00:00') TO ('2026-12-01 00:00:00')");
+        Partition fallback = AuditLogPartitionJdbcRepository.parsePartition("audit_logs_default", "DEFAULT");
+
+        assertThat(legacy.from()).isNull();
+        assertThat(legacy.to()).isEqualTo(LocalDateTime.of(2026, 11, 1, 0, 0));
+        assertThat(monthly.from()).isEqualTo(LocalDateTime.of(2026, 11, 1, 0, 0));
+        assertThat(monthly.overlaps(LocalDateTime.of(2026, 11, 1, 0, 0), LocalDateTime.of(2026, 12, 1, 0, 0))).isTrue();
+        assertThat(monthly.overlaps(LocalDateTime.of(2026, 12, 1, 0, 0), LocalDateTime.of(2027, 1, 1, 0, 0))).isFalse();
+        assertThat(fallback.isDefault()).isTrue();
+        assertThat(AuditLogPartitionJdbcRepository.parseCheckBound(
+                "CHECK (((occurred_at IS NOT NULL) AND (occurred_at < '2026-12-01 00:00:00'::timestamp without time zone))) NOT VALID"))
+                .isEqualTo(LocalDateTime.of(2026, 12, 1, 0, 0));
+    }
+
+    private static LocalDateTime monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+}
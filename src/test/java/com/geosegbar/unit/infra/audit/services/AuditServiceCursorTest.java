@@ -0,0 +1,129 @@
+package com.geosegbar.unit.infra.audit.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.geosegbar.common.enums.AuditStatus;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.infra.audit.config.AuditProperties;
+import com.geosegbar.infra.audit.dtos.AuditLogFilterDTO;
+import com.geosegbar.infra.audit.dtos.AuditLogKeysetPageDTO;
+import com.geosegbar.infra.audit.dtos.AuditLogSummaryDTO;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository.Criteria;
+import com.geosegbar.infra.audit.persistence.jdbc.AuditLogKeysetJdbcRepository.Cursor;
+import com.geosegbar.infra.audit.persistence.jpa.AuditLogRepository;
+import com.geosegbar.infra.audit.persistence.projections.AuditLogSummaryProjection;
+import com.geosegbar.infra.audit.services.AuditService;
+import com.geosegbar.infra.user.persistence.jpa.UserRepository;
+
+@Tag("unit")
+@DisplayName("Unit tests for AuditService cursor listing")
+class AuditServiceCursorTest extends BaseUnitTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 10, 5, 10, 0);
+    private static final LocalDateTime T2 = LocalDateTime.of(2026, 10, 5, 9, 0);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditLogKeysetJdbcRepository keysetRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuditService service;
+    private AuditLogFilterDTO filter;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditService(eventPublisher, new AuditProperties(), auditLogRepository, keysetRepository,
+                userRepository);
+        filter = new AuditLogFilterDTO();
+    }
+
+    @Test
+    @DisplayName("Should fetch one extra row, trim it and point the next cursor at the last returned row")
+    void shouldTrimExtraRowAndBuildNextCursor() {
+        filter.setAction("  Login ");
+        filter.setStatus(AuditStatus.SUCCESS);
+        List<AuditLogSummaryProjection> rows = List.of(row(3L, T1), row(2L, T2), row(1L, T2));
+        when(keysetRepository.findSummaries(any(), isNull(), eq(false), eq(3))).thenReturn(rows);
+        when(keysetRepository.estimateCount(any())).thenReturn(500L);
+
+        AuditLogKeysetPageDTO<AuditLogSummaryDTO> page = service.findSummariesByCursor(filter, null, null, 2, false);
+
+        assertThat(page.getItems()).extracting(AuditLogSummaryDTO::getId).containsExactly(3L, 2L);
+        assertThat(page.getHasMore()).isTrue();
+        assertThat(page.getNextCursorOccurredAt()).isEqualTo(T2);
+        assertThat(page.getNextCursorId()).isEqualTo(2L);
+        assertThat(page.getEstimatedTotal()).isEqualTo(500L);
+
+        ArgumentCaptor<Criteria> criteria = ArgumentCaptor.forClass(Criteria.class);
+        verify(keysetRepository).estimateCount(criteria.capture());
+        assertThat(criteria.getValue().actionPattern()).isEqualTo("%login%");
+        assertThat(criteria.getValue().status()).isEqualTo("SUCCESS");
+        assertThat(criteria.getValue().startDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pass the cursor through, skip the estimate and end on the last page")
+    void shouldContinueFromCursorAndEndOnLastPage() {
+        List<AuditLogSummaryProjection> rows = List.of(row(1L, T2));
+        when(keysetRepository.findSummaries(any(), eq(new Cursor(T2, 2L)), eq(true), eq(3))).thenReturn(rows);
+
+        AuditLogKeysetPageDTO<AuditLogSummaryDTO> page = service.findSummariesByCursor(filter, T2, 2L, 2, true);
+
+        assertThat(page.getItems()).extracting(AuditLogSummaryDTO::getId).containsExactly(1L);
+        assertThat(page.getHasMore()).isFalse();
+        assertThat(page.getNextCursorOccurredAt()).isNull();
+        assertThat(page.getNextCursorId()).isNull();
+        assertThat(page.getEstimatedTotal()).isNull();
+        verify(keysetRepository, never()).estimateCount(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a half-filled cursor and an out-of-range page size")
+    void shouldRejectInvalidCursorAndPageSize() {
+        assertThatThrownBy(() -> service.findSummariesByCursor(filter, T1, null, 20, false))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("cursorOccurredAt e cursorId");
+        assertThatThrownBy(() -> service.findDetailsByCursor(filter, null, null, 0, false))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("tamanho da página");
+        verify(keysetRepository, never()).findSummaries(any(), any(), anyBoolean(), anyInt());
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    private static AuditLogSummaryProjection row(Long id, LocalDateTime occurredAt) {
+        AuditLogSummaryProjection projection = mock(AuditLogSummaryProjection.class);
+        when(projection.getId()).thenReturn(id);
+        when(projection.getOccurredAt()).thenReturn(occurredAt);
+        return projection;
+    }
+}
@@ -0,0 +1,98 @@
+package com.geosegbar.unit.infra.dashboard.cache;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.geosegbar.common.enums.DashboardSectionEnum;
+import com.geosegbar.infra.dashboard.cache.DashboardCacheKeyGenerator;
+import com.geosegbar.infra.dashboard.cache.DashboardCacheTags;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
+import com.geosegbar.infra.dashboard.listeners.DashboardCacheInvalidationListener;
+import com.geosegbar.infra.dashboard.services.DashboardService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Tag("unit")
+@DisplayName("Unit tests for dashboard cache keys and dam-scoped invalidation")
+class DashboardCacheKeyGeneratorTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 31);
+
+    private DashboardCacheKeyGenerator keyGenerator;
+    private DashboardCacheInvalidationListener listener;
+    private CaffeineCacheManager cacheManager;
+    private Method dangerLevelSummary;
+    private Method checklistSummary;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DashboardCacheTags tags = new DashboardCacheTags();
+        keyGenerator = new DashboardCacheKeyGenerator(tags);
+
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache("dashboard-danger-level-summary", Caffeine.newBuilder().build());
+        listener = new DashboardCacheInvalidationListener(tags, cacheManager);
+
+        dangerLevelSummary = DashboardService.class.getMethod(
+                "getDangerLevelSummary", List.class, LocalDate.class, LocalDate.class);
+        checklistSummary = DashboardService.class.getMethod(
+                "getChecklistSummary", List.class, LocalDate.class, LocalDate.class);
+    }
+
+    @Test
+    @DisplayName("Should generate the same key for the same dams in any order")
+    void shouldNormalizeDamOrder() {
+        Object first = keyGenerator.generate(null, dangerLevelSummary, List.of(3L, 1L, 2L), START, END);
+        Object second = keyGenerator.generate(null, dangerLevelSummary, List.of(1L, 2L, 3L, 2L), START, END);
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("Should change keys only for the invalidated section and dam")
+    void shouldInvalidateOnlyAffectedSectionAndDam() {
+        Object anomalyKey = keyGenerator.generate(null, dangerLevelSummary, List.of(1L, 2L), START, END);
+        Object otherDamKey = keyGenerator.generate(null, dangerLevelSummary, List.of(3L), START, END);
+        Object checklistKey = keyGenerator.generate(null, checklistSummary, List.of(1L, 2L), START, END);
+
+        listener.handleDashboardDataChanged(new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, 2L));
+
+        assertThat(keyGenerator.generate(null, dangerLevelSummary, List.of(1L, 2L), START, END)).isNotEqualTo(anomalyKey);
+        assertThat(keyGenerator.generate(null, dangerLevelSummary, List.of(3L), START, END)).isEqualTo(otherDamKey);
+        assertThat(keyGenerator.generate(null, checklistSummary, List.of(1L, 2L), START, END)).isEqualTo(checklistKey);
+    }
+
+    @Test
+    @DisplayName("Should remove cached entries that contain the invalidated dam")
+    void shouldEvictEntriesOfInvalidatedDam() {
+        Cache cache = cacheManager.getCache("dashboard-danger-level-summary");
+        Object affected = keyGenerator.generate(null, dangerLevelSummary, List.of(1L, 2L), START, END);
+        Object unaffected = keyGenerator.generate(null, dangerLevelSummary, List.of(3L), START, END);
+        cache.put(affected, "a");
+        cache.put(unaffected, "b");
+
+        listener.handleDashboardDataChanged(new DashboardDataChangedEvent(DashboardSectionEnum.ANOMALIES, 1L));
+
+        assertThat(cache.get(affected)).isNull();
+        assertThat(cache.get(unaffected)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should invalidate every dam of the section when no dam is informed")
+    void shouldInvalidateAllDams() {
+        Object key = keyGenerator.generate(null, dangerLevelSummary, List.of(3L), START, END);
+
+        listener.handleDashboardDataChanged(DashboardDataChangedEvent.allDams(DashboardSectionEnum.ANOMALIES));
+
+        assertThat(keyGenerator.generate(null, dangerLevelSummary, List.of(3L), START, END)).isNotEqualTo(key);
+    }
+}
@@ -0,0 +1,157 @@
+package com.geosegbar.unit.infra.file_storage;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.checklist_submission.dtos.PhotoSubmissionDTO;
+import com.geosegbar.infra.file_storage.StagedFile;
+
+@Tag("unit")
+@DisplayName("Unit tests for Base64StagedFileDeserializer")
+class Base64StagedFileDeserializerTest extends BaseUnitTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should decode a data URI photo into a staged file")
+    void shouldDecodeDataUriIntoStagedFile() throws Exception {
+        byte[] image = "fake-jpeg-bytes-ÿ\u0000".getBytes(StandardCharsets.ISO_8859_1);
+        String json = "{\"base64Image\":\"data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image)
+                + "\",\"fileName\":\"foto.jpg\",\"contentType\":\"image/jpeg\"}";
+
+        PhotoSubmissionDTO dto = objectMapper.readValue(json, PhotoSubmissionDTO.class);
+
+        StagedFile photo = dto.getPhoto();
+        try {
+            assertThat(Files.readAllBytes(photo.getPath())).isEqualTo(image);
+            assertThat(photo.getSize()).isEqualTo(image.length);
+            assertThat(dto.getFileName()).isEqualTo("foto.jpg");
+        } finally {
+            photo.delete();
+        }
+        assertThat(Files.exists(photo.getPath())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should decode plain base64 with line breaks")
+    void shouldDecodePlainBase64WithLineBreaks() throws Exception {
+        byte[] image = new byte[3000];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) i;
+        }
+        String mime = Base64.getMimeEncoder().encodeToString(image).replace("\r\n", "\\r\\n");
+
+        PhotoSubmissionDTO dto = objectMapper.readValue("{\"base64Image\":\"" + mime + "\"}", PhotoSubmissionDTO.class);
+
+        try {
+            assertThat(Files.readAllBytes(dto.getPhoto().getPath())).isEqualTo(image);
+        } finally {
+            dto.getPhoto().delete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream a data URI photo from a byte body")
+    void shouldStreamDataUriFromByteBody() throws Exception {
+        byte[] image = new byte[10_000];
+        for (int i = 0; i < image.length; i++) {
+            image[i] = (byte) (i * 31);
+        }
+        byte[] body = ("{\"fileName\":\"a.png\",\"base64Image\":\"data:image/png;base64,"
+                + Base64.getEncoder().encodeToString(image) + "\",\"contentType\":\"image/png\"}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        PhotoSubmissionDTO dto = objectMapper.readValue(body, PhotoSubmissionDTO.class);
+
+        try {
+            assertThat(Files.readAllBytes(dto.getPhoto().getPath())).isEqualTo(image);
+            assertThat(dto.getContentType()).isEqualTo("image/png");
+        } finally {
+            dto.getPhoto().delete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete the staged file when the transaction rolls back")
+    void shouldDeleteStagedFileOnRollback() throws Exception {
+        PhotoSubmissionDTO dto = objectMapper.readValue(
+                "{\"base64Image\":\"" + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}) + "\"}",
+                PhotoSubmissionDTO.class);
+        StagedFile photo = dto.getPhoto();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            photo.deleteOnRollback();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            photo.delete();
+        }
+
+        assertThat(Files.exists(photo.getPath())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the staged file when the transaction commits")
+    void shouldKeepStagedFileOnCommit() throws Exception {
+        PhotoSubmissionDTO dto = objectMapper.readValue(
+                "{\"base64Image\":\"" + Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}) + "\"}",
+                PhotoSubmissionDTO.class);
+        StagedFile photo = dto.getPhoto();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            photo.deleteOnRollback();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+
+            assertThat(Files.exists(photo.getPath())).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            photo.delete();
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave the handle empty when no photo is sent")
+    void shouldLeaveHandleEmptyWithoutPhoto() throws Exception {
+        PhotoSubmissionDTO empty = objectMapper.readValue("{\"base64Image\":\"\"}", PhotoSubmissionDTO.class);
+        PhotoSubmissionDTO presigned = objectMapper.readValue("{\"objectKey\":\"answer-photos/a.jpg\"}", PhotoSubmissionDTO.class);
+
+        assertThat(empty.getPhoto()).isNull();
+        assertThat(presigned.getPhoto()).isNull();
+        assertThat(presigned.getObjectKey()).isEqualTo("answer-photos/a.jpg");
+    }
+
+    @Test
+    @DisplayName("Should reject malformed base64")
+    void shouldRejectMalformedBase64() {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"base64Image\":\"QUJD=A\"}", PhotoSubmissionDTO.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    @DisplayName("Should not serialize the staged file handle")
+    void shouldNotSerializeHandle() throws Exception {
+        PhotoSubmissionDTO dto = new PhotoSubmissionDTO();
+        dto.setFileName("foto.jpg");
+
+        assertThat(objectMapper.writeValueAsString(dto)).doesNotContain("base64Image").doesNotContain("photo");
+    }
+}
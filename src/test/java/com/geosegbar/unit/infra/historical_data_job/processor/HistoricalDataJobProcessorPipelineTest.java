@@ -0,0 +1,208 @@
+package com.geosegbar.unit.infra.historical_data_job.processor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.geosegbar.common.response.AnaTelemetryResponse.TelemetryItem;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.HistoricalDataJobEntity;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.exceptions.ExternalApiException;
+import com.geosegbar.infra.audit.services.AuditService;
+import com.geosegbar.infra.historical_data_job.processor.HistoricalDataJobProcessor;
+import com.geosegbar.infra.historical_data_job.service.HistoricalDataJobService;
+import com.geosegbar.infra.hydrotelemetric.services.AnaApiService;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO;
+import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
+import com.geosegbar.infra.reading.services.ReadingService;
+
+@Tag("unit")
+@DisplayName("Unit tests for HistoricalDataJobProcessor window pipeline")
+class HistoricalDataJobProcessorPipelineTest extends BaseUnitTest {
+
+    private static final String STATION = "12345678";
+    private static final LocalDate FIRST_WINDOW = LocalDate.of(2024, 1, 1);
+    private static final LocalDate SECOND_WINDOW = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private HistoricalDataJobService jobService;
+
+    @Mock
+    private InstrumentRepository instrumentRepository;
+
+    @Mock
+    private AnaApiService anaApiService;
+
+    @Mock
+    private ReadingService readingService;
+
+    @Mock
+    private AuditService auditService;
+
+    private HistoricalDataJobProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new HistoricalDataJobProcessor(jobService, instrumentRepository, anaApiService,
+                readingService, auditService, Runnable::run);
+        ReflectionTestUtils.setField(processor, "prefetchWindows", 2);
+
+        HistoricalDataJobEntity job = new HistoricalDataJobEntity();
+        job.setId(1L);
+        job.setInstrumentId(100L);
+        job.setStartDate(FIRST_WINDOW);
+        job.setCheckpointDate(FIRST_WINDOW);
+        job.setEndDate(LocalDate.of(2024, 2, 15));
+
+        InstrumentEntity instrument = new InstrumentEntity();
+        instrument.setId(100L);
+        instrument.setName("Régua Teste");
+        instrument.setLinimetricRulerCode(12345678L);
+
+        when(jobService.findById(1L)).thenReturn(Optional.of(job));
+        when(instrumentRepository.findById(100L)).thenReturn(Optional.of(instrument));
+    }
+
+    @Test
+    @DisplayName("Should write each window in one batch and checkpoint after it")
+    void shouldWriteEachWindowInOneBatchAndCheckpointAfterIt() {
+        when(anaApiService.getAuthToken()).thenReturn("token");
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, FIRST_WINDOW, "token")).thenReturn(List.of(
+                item("2024-01-01 08:00:00.0", "150.50"),
+                item("2024-01-01 20:00:00.0", "149.50"),
+                item("2024-01-02 08:00:00.0", "0.00"),
+                item("2024-01-03 08:00:00.0", "151.00")));
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, SECOND_WINDOW, "token")).thenReturn(List.of());
+        when(readingService.findDatesWithReadings(100L, FIRST_WINDOW, LocalDate.of(2024, 1, 3)))
+                .thenReturn(Set.of(LocalDate.of(2024, 1, 3)));
+        BatchReadingResultDTO batchResult = new BatchReadingResultDTO();
+        batchResult.setSuccessCount(1);
+        when(readingService.createBatch(eq(100L), anyList(), eq(true))).thenReturn(batchResult);
+        when(jobService.heartbeat(1L)).thenReturn(true);
+
+        processor.processJob(1L).join();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReadingRequestDTO>> captor = ArgumentCaptor.forClass(List.class);
+        InOrder order = inOrder(readingService, jobService);
+        order.verify(readingService).createBatch(eq(100L), captor.capture(), eq(true));
+        order.verify(jobService).updateProgress(1L, SECOND_WINDOW, 1, 2);
+        order.verify(jobService).updateProgress(1L, LocalDate.of(2024, 2, 16), 0, 16);
+        order.verify(jobService).markAsCompleted(1L);
+
+        assertThat(captor.getValue()).singleElement().satisfies(reading -> {
+            assertThat(reading.getDate()).isEqualTo(FIRST_WINDOW);
+            assertThat(reading.getInputValues()).containsEntry("LEI", 150.0);
+        });
+        verify(readingService, never()).existsByInstrumentAndDate(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop without completing when the lease is lost")
+    void shouldStopWithoutCompletingWhenLeaseIsLost() {
+        when(anaApiService.getAuthToken()).thenReturn("token");
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(anyString(), any(), anyString())).thenReturn(List.of());
+        when(jobService.heartbeat(1L)).thenReturn(false);
+
+        processor.processJob(1L).join();
+
+        verify(jobService).updateProgress(1L, SECOND_WINDOW, 0, 30);
+        verify(jobService, never()).markAsCompleted(anyLong());
+        verify(jobService, never()).markAsFailed(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should pause job without writing when a window fetch fails")
+    void shouldPauseJobWithoutWritingWhenWindowFetchFails() {
+        when(anaApiService.getAuthToken()).thenReturn("token");
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(anyString(), any(), anyString()))
+                .thenThrow(new ExternalApiException("Serviço indisponível"));
+        when(jobService.incrementRetry(1L)).thenReturn(true);
+
+        assertThat(processor.processJob(1L)).isCompletedExceptionally();
+
+        verify(readingService, never()).createBatch(anyLong(), anyList(), eq(true));
+        verify(jobService, never()).updateProgress(anyLong(), any(), anyInt(), anyInt());
+        verify(jobService).markAsPaused(eq(1L), anyString());
+    }
+
+    @Test
+    @DisplayName("Should ask for the current token on every window fetch")
+    void shouldAskForCurrentTokenOnEveryWindowFetch() {
+        when(anaApiService.getAuthToken()).thenReturn("token-1", "token-2");
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, FIRST_WINDOW, "token-1")).thenReturn(List.of());
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, SECOND_WINDOW, "token-2")).thenReturn(List.of());
+        when(jobService.heartbeat(1L)).thenReturn(true);
+
+        processor.processJob(1L).join();
+
+        verify(anaApiService).getTelemetryDataForHistoricalPeriod(STATION, FIRST_WINDOW, "token-1");
+        verify(anaApiService).getTelemetryDataForHistoricalPeriod(STATION, SECOND_WINDOW, "token-2");
+        verify(jobService).markAsCompleted(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail the job and hold the checkpoint when a window fails with a non-API error")
+    void shouldFailJobAndHoldCheckpointOnNonApiError() {
+        when(anaApiService.getAuthToken()).thenReturn("token");
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, FIRST_WINDOW, "token"))
+                .thenThrow(new IllegalStateException("Resposta inválida"));
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, SECOND_WINDOW, "token")).thenReturn(List.of());
+
+        assertThat(processor.processJob(1L)).isCompletedExceptionally();
+
+        verify(jobService, never()).updateProgress(anyLong(), any(), anyInt(), anyInt());
+        verify(jobService).markAsFailed(eq(1L), contains("Resposta inválida"));
+        verify(jobService, never()).markAsCompleted(anyLong());
+        verify(jobService, never()).incrementRetry(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should fail the job without advancing the checkpoint when writing a window fails")
+    void shouldFailJobWithoutCheckpointWhenWriteFails() {
+        when(anaApiService.getAuthToken()).thenReturn("token");
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, FIRST_WINDOW, "token")).thenReturn(List.of(
+                item("2024-01-01 08:00:00.0", "150.50")));
+        when(anaApiService.getTelemetryDataForHistoricalPeriod(STATION, SECOND_WINDOW, "token")).thenReturn(List.of());
+        when(readingService.findDatesWithReadings(100L, FIRST_WINDOW, FIRST_WINDOW)).thenReturn(Set.of());
+        when(readingService.createBatch(eq(100L), anyList(), eq(true)))
+                .thenThrow(new IllegalStateException("Banco indisponível"));
+
+        assertThat(processor.processJob(1L)).isCompletedExceptionally();
+
+        verify(jobService, never()).updateProgress(anyLong(), any(), anyInt(), anyInt());
+        verify(jobService).markAsFailed(eq(1L), contains("Banco indisponível"));
+        verify(jobService, never()).heartbeat(anyLong());
+    }
+
+    private TelemetryItem item(String dateTime, String level) {
+        TelemetryItem item = new TelemetryItem();
+        item.setDataHoraMedicao(dateTime);
+        item.setCotaAdotada(level);
+        return item;
+    }
+}
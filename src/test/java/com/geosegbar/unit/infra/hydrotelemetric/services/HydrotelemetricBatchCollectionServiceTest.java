@@ -0,0 +1,104 @@
+package com.geosegbar.unit.infra.hydrotelemetric.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.exceptions.ExternalApiException;
+import com.geosegbar.infra.hydrotelemetric.services.AnaApiService;
+import com.geosegbar.infra.hydrotelemetric.services.HydrotelemetricBatchCollectionService;
+import com.geosegbar.infra.hydrotelemetric.services.HydrotelemetricBatchCollectionService.CollectionSummary;
+import com.geosegbar.infra.hydrotelemetric.services.HydrotelemetricCollectionService;
+
+@Tag("unit")
+@DisplayName("Unit tests for HydrotelemetricBatchCollectionService")
+class HydrotelemetricBatchCollectionServiceTest extends BaseUnitTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private AnaApiService anaApiService;
+
+    @Mock
+    private HydrotelemetricCollectionService collectionService;
+
+    private ExecutorService executor;
+    private HydrotelemetricBatchCollectionService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        service = new HydrotelemetricBatchCollectionService(anaApiService, collectionService, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should collect every instrument and count failures without stopping")
+    void shouldCollectEveryInstrumentAndCountFailures() {
+        InstrumentEntity ok1 = instrument(1L, "RL-01");
+        InstrumentEntity failing = instrument(2L, "RL-02");
+        InstrumentEntity ok2 = instrument(3L, "RL-03");
+        when(anaApiService.getAuthToken()).thenReturn("token");
+        doAnswer(invocation -> {
+            if (invocation.getArgument(0) == failing) {
+                throw new ExternalApiException("timeout");
+            }
+            return null;
+        }).when(collectionService).collectInstrumentData(any(), any(), any(), any());
+
+        CollectionSummary summary = service.collectAll(List.of(ok1, failing, ok2), TODAY);
+
+        assertThat(summary).isEqualTo(new CollectionSummary(3, 2, 1));
+        verify(collectionService).collectInstrumentData(eq(ok1), eq("token"), eq(TODAY), isNull());
+        verify(collectionService).collectInstrumentData(eq(ok2), eq("token"), eq(TODAY), isNull());
+    }
+
+    @Test
+    @DisplayName("Should abort before fan-out when authentication fails")
+    void shouldAbortWhenAuthenticationFails() {
+        when(anaApiService.getAuthToken()).thenThrow(new ExternalApiException("credenciais inválidas"));
+
+        assertThatThrownBy(() -> service.collectAll(List.of(instrument(1L, "RL-01")), TODAY))
+                .isInstanceOf(ExternalApiException.class);
+        verify(collectionService, never()).collectInstrumentData(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate when there is nothing to collect")
+    void shouldNotAuthenticateWithoutInstruments() {
+        CollectionSummary summary = service.collectAll(List.of(), TODAY);
+
+        assertThat(summary).isEqualTo(new CollectionSummary(0, 0, 0));
+        verify(anaApiService, never()).getAuthToken();
+    }
+
+    private InstrumentEntity instrument(Long id, String name) {
+        InstrumentEntity instrument = new InstrumentEntity();
+        instrument.setId(id);
+        instrument.setName(name);
+        return instrument;
+    }
+}
@@ -0,0 +1,163 @@
+package com.geosegbar.unit.infra.instrument.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.DamEntity;
+import com.geosegbar.entities.InstrumentTypeEntity;
+import com.geosegbar.entities.MeasurementUnitEntity;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.infra.dam.services.DamService;
+import com.geosegbar.infra.instrument.dtos.CreateInstrumentRequest;
+import com.geosegbar.infra.instrument.dtos.ImportInstrumentsRequest;
+import com.geosegbar.infra.instrument.dtos.OutputDTO;
+import com.geosegbar.infra.instrument.services.BulkInstrumentImportService;
+import com.geosegbar.infra.instrument.services.InstrumentService;
+import com.geosegbar.infra.instrument_type.persistence.jpa.InstrumentTypeRepository;
+import com.geosegbar.infra.measurement_unit.persistence.jpa.MeasurementUnitRepository;
+import com.geosegbar.infra.section.persistence.jpa.SectionRepository;
+
+@Tag("unit")
+@DisplayName("Unit tests for BulkInstrumentImportService")
+class BulkInstrumentImportServiceTest extends BaseUnitTest {
+
+    private static final Long DAM_ID = 3L;
+
+    @Mock
+    private InstrumentService instrumentService;
+
+    @Mock
+    private DamService damService;
+
+    @Mock
+    private MeasurementUnitRepository muRepository;
+
+    @Mock
+    private SectionRepository sectionRepository;
+
+    @Mock
+    private InstrumentTypeRepository instrumentTypeRepository;
+
+    @InjectMocks
+    private BulkInstrumentImportService service;
+
+    private final ImportInstrumentsRequest meta = new ImportInstrumentsRequest(DAM_ID, false, true);
+
+    @BeforeEach
+    void setUp() {
+        MeasurementUnitEntity unit = new MeasurementUnitEntity();
+        unit.setId(11L);
+        unit.setAcronym("m");
+        InstrumentTypeEntity type = new InstrumentTypeEntity();
+        type.setId(21L);
+        type.setName("Piezômetro");
+        DamEntity dam = new DamEntity();
+        dam.setName("Barragem Teste");
+
+        when(muRepository.findAll()).thenReturn(List.of(unit));
+        when(instrumentTypeRepository.findAll()).thenReturn(List.of(type));
+        when(sectionRepository.findAllByDamId(DAM_ID)).thenReturn(List.of());
+        when(damService.findById(DAM_ID)).thenReturn(dam);
+    }
+
+    @Test
+    @DisplayName("Should assemble instruments from all five sheets")
+    void shouldAssembleInstrumentsFromAllSheets() throws Exception {
+        MockMultipartFile file = workbook(true);
+
+        BulkInstrumentImportService.ImportResult result = service.importFromExcel(meta, file);
+
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getSuccess()).isEqualTo(1);
+        ArgumentCaptor<CreateInstrumentRequest> captor = ArgumentCaptor.forClass(CreateInstrumentRequest.class);
+        verify(instrumentService).createComplete(captor.capture());
+
+        CreateInstrumentRequest request = captor.getValue();
+        assertThat(request.getName()).isEqualTo("Piezômetro 1");
+        assertThat(request.getInstrumentTypeId()).isEqualTo(21L);
+        assertThat(request.getLatitude()).isEqualTo(-20.5);
+        assertThat(request.getLinimetricRulerCode()).isEqualTo(123456L);
+        assertThat(request.getInputs()).singleElement()
+                .satisfies(input -> {
+                    assertThat(input.getAcronym()).isEqualTo("L");
+                    assertThat(input.getPrecision()).isEqualTo(2);
+                    assertThat(input.getMeasurementUnitId()).isEqualTo(11L);
+                });
+        assertThat(request.getConstants()).singleElement()
+                .satisfies(constant -> assertThat(constant.getValue()).isEqualTo(1.5));
+        OutputDTO output = request.getOutputs().get(0);
+        assertThat(output.getEquation()).isEqualTo("L * K");
+        assertThat(output.getDeterministicLimit().getAttentionValue()).isEqualByComparingTo(new BigDecimal("10"));
+        assertThat(output.getDeterministicLimit().getEmergencyValue()).isEqualByComparingTo(new BigDecimal("30.5"));
+    }
+
+    @Test
+    @DisplayName("Should reject a workbook missing one of the required sheets")
+    void shouldRejectMissingSheets() throws Exception {
+        MockMultipartFile file = workbook(false);
+
+        assertThatThrownBy(() -> service.importFromExcel(meta, file))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("Uma ou mais abas necessárias");
+    }
+
+    private static MockMultipartFile workbook(boolean withLimits) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet instruments = workbook.createSheet("Instruments");
+            row(instruments, 0, "ID", "Nome", "Tipo de Instrumento", "Latitude", "Código ANA");
+            row(instruments, 1, "PZ-01", "Piezômetro 1", "piezômetro", -20.5, 123456);
+
+            Sheet inputs = workbook.createSheet("Inputs");
+            row(inputs, 0, "ID", "Sigla", "Nome", "Precisão", "Unidade de Medida");
+            row(inputs, 1, "PZ-01", "L", "Leitura", 2, "Metro (m)");
+
+            Sheet constants = workbook.createSheet("Constants");
+            row(constants, 0, "ID", "Sigla", "Nome", "Precisão", "Valor", "Unidade de Medida");
+            row(constants, 1, "PZ-01", "K", "Fator", 1, 1.5, "m");
+
+            Sheet outputs = workbook.createSheet("Outputs");
+            row(outputs, 0, "ID", "Sigla", "Nome", "Equação", "Precisão", "Unidade de Medida");
+            row(outputs, 1, "PZ-01", "N", "Nível", "L * K", 2, "m");
+
+            if (withLimits) {
+                Sheet limits = workbook.createSheet("Limits");
+                row(limits, 0, "ID", "Sigla do Output", "Tipo de Limite", "Valor de Atenção", "Valor de Alerta", "Valor de Emergência");
+                row(limits, 1, "PZ-01", "N", "Deterministico", 10, "20", "30,5");
+            }
+
+            workbook.write(out);
+            return new MockMultipartFile("file", "instrumentos.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+
+    private static void row(Sheet sheet, int rowNum, Object... values) {
+        Row row = sheet.createRow(rowNum);
+        for (int col = 0; col < values.length; col++) {
+            if (values[col] instanceof Number number) {
+                row.createCell(col).setCellValue(number.doubleValue());
+            } else {
+                row.createCell(col).setCellValue((String) values[col]);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.geosegbar.unit.infra.instrument_graph_pattern.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.geosegbar.infra.instrument_graph_pattern.services.GraphSeriesDownsampler;
+
+@Tag("unit")
+@DisplayName("Unit tests for GraphSeriesDownsampler")
+class GraphSeriesDownsamplerTest {
+
+    @Test
+    @DisplayName("Should keep every point when threshold is not below series size")
+    void shouldKeepAllPointsWhenBelowThreshold() {
+        long[] x = {1, 2, 3, 4};
+        double[] y = {1, 5, 2, 4};
+
+        assertThat(GraphSeriesDownsampler.lttb(x, y, 4, 10)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("Should keep first, last and peak points")
+    void shouldKeepEndpointsAndPeaks() {
+        int size = 1000;
+        long[] x = new long[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = i * 1000L;
+            y[i] = 10.0;
+        }
+        y[500] = 99.0;
+
+        int[] indices = GraphSeriesDownsampler.lttb(x, y, size, 50);
+
+        assertThat(indices).hasSize(50);
+        assertThat(indices[0]).isZero();
+        assertThat(indices[49]).isEqualTo(size - 1);
+        assertThat(indices).contains(500);
+        for (int i = 1; i < indices.length; i++) {
+            assertThat(indices[i]).isGreaterThan(indices[i - 1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only use the filled prefix of the arrays")
+    void shouldRespectSize() {
+        long[] x = {1, 2, 3, 0, 0};
+        double[] y = {1, 2, 3, 0, 0};
+
+        assertThat(GraphSeriesDownsampler.lttb(x, y, 3, 3)).containsExactly(0, 1, 2);
+    }
+}
@@ -0,0 +1,168 @@
+package com.geosegbar.unit.infra.instrument_tabulate_pattern.services;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.geosegbar.common.enums.RoleEnum;
+import com.geosegbar.common.enums.TabulateColumnTypeEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.InstrumentTabulateAssociationEntity;
+import com.geosegbar.entities.InstrumentTabulateOutputAssociationEntity;
+import com.geosegbar.entities.InstrumentTabulatePatternEntity;
+import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.entities.RoleEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.infra.instrument_tabulate_pattern.dtos.TabulateRenderResponseDTO;
+import com.geosegbar.infra.instrument_tabulate_pattern.persistence.jdbc.TabulateRenderJdbcRepository;
+import com.geosegbar.infra.instrument_tabulate_pattern.persistence.jpa.InstrumentTabulatePatternRepository;
+import com.geosegbar.infra.instrument_tabulate_pattern.services.InstrumentTabulatePatternService;
+
+@Tag("unit")
+@DisplayName("Unit tests for InstrumentTabulatePatternService.render")
+class InstrumentTabulatePatternRenderTest extends BaseUnitTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 1);
+
+    @Mock
+    private InstrumentTabulatePatternRepository patternRepository;
+
+    @Mock
+    private TabulateRenderJdbcRepository tabulateRenderJdbcRepository;
+
+    @InjectMocks
+    private InstrumentTabulatePatternService service;
+
+    @BeforeEach
+    void setUp() {
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleEnum.ADMIN);
+        UserEntity admin = new UserEntity();
+        admin.setId(1L);
+        admin.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should pivot readings into columns ordered by index and report next cursor")
+    void shouldPivotReadingsIntoIndexedColumns() throws Exception {
+        when(patternRepository.findByIdWithAllDetails(1L)).thenReturn(Optional.of(pattern()));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(6);
+            handler.processRow(row(DAY, LocalTime.of(10, 0), 1L, 11L, "1.5", "Ana"));
+            handler.processRow(row(DAY, LocalTime.of(10, 0), 2L, 21L, "7.0", "Bruno"));
+            handler.processRow(row(DAY, LocalTime.of(9, 0), 1L, 11L, "1.2", "Ana"));
+            handler.processRow(row(DAY, LocalTime.of(8, 0), 2L, 21L, "6.0", "Bruno"));
+            return null;
+        }).when(tabulateRenderJdbcRepository).streamPage(anyCollection(), any(), any(), any(), any(), eq(3), any());
+
+        TabulateRenderResponseDTO result = service.render(1L, null, null, null, null, 2);
+
+        assertThat(result.getColumns()).extracting(TabulateRenderResponseDTO.ColumnDTO::getType)
+                .containsExactly(TabulateColumnTypeEnum.DATE, TabulateColumnTypeEnum.OUTPUT,
+                        TabulateColumnTypeEnum.USER, TabulateColumnTypeEnum.OUTPUT);
+        assertThat(result.getRows()).hasSize(2);
+        assertThat(result.getRows().get(0).getCells())
+                .containsExactly(DAY, new BigDecimal("1.5"), "Bruno", new BigDecimal("7.0"));
+        assertThat(result.getRows().get(1).getCells())
+                .containsExactly(DAY, new BigDecimal("1.2"), null, null);
+        assertThat(result.getHasMore()).isTrue();
+        assertThat(result.getNextCursorDate()).isEqualTo(DAY);
+        assertThat(result.getNextCursorHour()).isEqualTo(LocalTime.of(9, 0));
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor without hour")
+    void shouldRejectIncompleteCursor() {
+        assertThatThrownBy(() -> service.render(1L, null, null, DAY, null, 10))
+                .isInstanceOf(InvalidInputException.class);
+        verifyNoInteractions(tabulateRenderJdbcRepository);
+    }
+
+    private InstrumentTabulatePatternEntity pattern() {
+        InstrumentTabulatePatternEntity pattern = new InstrumentTabulatePatternEntity();
+        pattern.setId(1L);
+        pattern.setName("Tabela");
+
+        InstrumentTabulateAssociationEntity first = association(pattern, 1L, "PZ-01", 11L, 2);
+        first.setIsDateEnable(true);
+        first.setDateIndex(1);
+
+        InstrumentTabulateAssociationEntity second = association(pattern, 2L, "PZ-02", 21L, 4);
+        second.setIsUserEnable(true);
+        second.setUserIndex(3);
+
+        pattern.setAssociations(Set.of(first, second));
+        return pattern;
+    }
+
+    private InstrumentTabulateAssociationEntity association(InstrumentTabulatePatternEntity pattern, Long instrumentId,
+            String instrumentName, Long outputId, int outputIndex) {
+        InstrumentEntity instrument = new InstrumentEntity();
+        instrument.setId(instrumentId);
+        instrument.setName(instrumentName);
+
+        OutputEntity output = new OutputEntity();
+        output.setId(outputId);
+        output.setAcronym("OUT" + outputId);
+
+        InstrumentTabulateAssociationEntity association = new InstrumentTabulateAssociationEntity();
+        association.setId(instrumentId);
+        association.setPattern(pattern);
+        association.setInstrument(instrument);
+
+        InstrumentTabulateOutputAssociationEntity outputAssociation = new InstrumentTabulateOutputAssociationEntity();
+        outputAssociation.setId(outputId);
+        outputAssociation.setAssociation(association);
+        outputAssociation.setOutput(output);
+        outputAssociation.setOutputIndex(outputIndex);
+        association.setOutputAssociations(Set.of(outputAssociation));
+        return association;
+    }
+
+    private ResultSet row(LocalDate date, LocalTime hour, Long instrumentId, Long outputId, String value,
+            String userName) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getDate("date")).thenReturn(Date.valueOf(date));
+        when(rs.getTime("hour")).thenReturn(Time.valueOf(hour));
+        when(rs.getLong("instrument_id")).thenReturn(instrumentId);
+        when(rs.getLong("output_id")).thenReturn(outputId);
+        when(rs.getBigDecimal("calculated_value")).thenReturn(new BigDecimal(value));
+        when(rs.getString("user_name")).thenReturn(userName);
+        return rs;
+    }
+}
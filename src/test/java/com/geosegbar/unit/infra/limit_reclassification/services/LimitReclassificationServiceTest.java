@@ -0,0 +1,145 @@
+package com.geosegbar.unit.infra.limit_reclassification.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.geosegbar.common.enums.LimitReclassificationStatus;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.limit_reclassification.dtos.LimitReclassificationProgressDTO;
+import com.geosegbar.infra.limit_reclassification.persistence.jdbc.ReadingReclassificationJdbcRepository;
+import com.geosegbar.infra.limit_reclassification.persistence.jdbc.ReadingReclassificationJdbcRepository.ChunkResult;
+import com.geosegbar.infra.limit_reclassification.services.LimitReclassificationService;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+import com.geosegbar.infra.reading.services.LimitThresholds;
+
+@Tag("unit")
+@DisplayName("Unit tests for LimitReclassificationService")
+class LimitReclassificationServiceTest extends BaseUnitTest {
+
+    private static final Long OUTPUT_ID = 7L;
+    private static final LimitThresholds THRESHOLDS = LimitThresholds.statistical(BigDecimal.ONE, BigDecimal.TEN);
+
+    @Mock
+    private ReadingReclassificationJdbcRepository reclassificationRepository;
+
+    @Mock
+    private LatestReadingService latestReadingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LimitReclassificationService service;
+
+    @BeforeEach
+    void setUp() {
+        Executor sameThread = Runnable::run;
+        service = new LimitReclassificationService(reclassificationRepository, latestReadingService,
+                transactionManager, sameThread, 2);
+    }
+
+    @Test
+    @DisplayName("Should walk the output in keyset chunks and refresh the latest reading when statuses change")
+    void shouldReclassifyInChunksAndRefreshLatestReading() {
+        when(reclassificationRepository.findThresholds(OUTPUT_ID)).thenReturn(Optional.of(THRESHOLDS));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 0L, 2, THRESHOLDS))
+                .thenReturn(new ChunkResult(15L, 2, 1));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 15L, 2, THRESHOLDS))
+                .thenReturn(new ChunkResult(40L, 1, 1));
+
+        service.submit(List.of(OUTPUT_ID));
+
+        LimitReclassificationProgressDTO progress = service.getProgress(OUTPUT_ID).orElseThrow();
+        assertThat(progress.status()).isEqualTo(LimitReclassificationStatus.COMPLETED);
+        assertThat(progress.scannedReadings()).isEqualTo(3);
+        assertThat(progress.updatedReadings()).isEqualTo(2);
+        assertThat(progress.finishedAt()).isNotNull();
+        verify(reclassificationRepository, never()).reclassifyChunk(eq(OUTPUT_ID), eq(40L), anyInt(), any());
+        verify(latestReadingService).refreshOutputs(List.of(OUTPUT_ID));
+    }
+
+    @Test
+    @DisplayName("Should not refresh the latest reading when no status changed")
+    void shouldSkipRefreshWhenNothingChanged() {
+        when(reclassificationRepository.findThresholds(OUTPUT_ID)).thenReturn(Optional.of(THRESHOLDS));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 0L, 2, THRESHOLDS))
+                .thenReturn(new ChunkResult(15L, 2, 0));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 15L, 2, THRESHOLDS))
+                .thenReturn(new ChunkResult(null, 0, 0));
+
+        service.submit(OUTPUT_ID);
+
+        assertThat(service.getProgress(OUTPUT_ID).orElseThrow().status()).isEqualTo(LimitReclassificationStatus.COMPLETED);
+        verify(latestReadingService, never()).refreshOutputs(any());
+    }
+
+    @Test
+    @DisplayName("Should complete without touching readings when the output no longer exists")
+    void shouldCompleteWhenOutputIsGone() {
+        when(reclassificationRepository.findThresholds(OUTPUT_ID)).thenReturn(Optional.empty());
+
+        service.submit(OUTPUT_ID);
+
+        assertThat(service.getProgress(OUTPUT_ID).orElseThrow().status()).isEqualTo(LimitReclassificationStatus.COMPLETED);
+        verify(reclassificationRepository, never()).reclassifyChunk(anyLong(), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should record the failure and keep the readings already reclassified")
+    void shouldRecordFailure() {
+        when(reclassificationRepository.findThresholds(OUTPUT_ID)).thenReturn(Optional.of(THRESHOLDS));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 0L, 2, THRESHOLDS))
+                .thenReturn(new ChunkResult(15L, 2, 2));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 15L, 2, THRESHOLDS))
+                .thenThrow(new IllegalStateException("conexão perdida"));
+
+        service.submit(OUTPUT_ID);
+
+        LimitReclassificationProgressDTO progress = service.getProgress(OUTPUT_ID).orElseThrow();
+        assertThat(progress.status()).isEqualTo(LimitReclassificationStatus.FAILED);
+        assertThat(progress.error()).isEqualTo("conexão perdida");
+        assertThat(progress.updatedReadings()).isEqualTo(2);
+        verify(latestReadingService, never()).refreshOutputs(any());
+    }
+
+    @Test
+    @DisplayName("Should run again with the latest limits when limits change during a run")
+    void shouldRerunWhenSubmittedWhileRunning() {
+        LimitThresholds newer = LimitThresholds.deterministic(BigDecimal.ONE, BigDecimal.TWO, BigDecimal.TEN);
+        when(reclassificationRepository.findThresholds(OUTPUT_ID))
+                .thenReturn(Optional.of(THRESHOLDS))
+                .thenReturn(Optional.of(newer));
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 0L, 2, THRESHOLDS)).thenAnswer(invocation -> {
+            service.submit(OUTPUT_ID);
+            service.submit(OUTPUT_ID);
+            return new ChunkResult(3L, 1, 0);
+        });
+        when(reclassificationRepository.reclassifyChunk(OUTPUT_ID, 0L, 2, newer))
+                .thenReturn(new ChunkResult(3L, 1, 1));
+
+        service.submit(OUTPUT_ID);
+
+        verify(reclassificationRepository, times(2)).findThresholds(OUTPUT_ID);
+        LimitReclassificationProgressDTO progress = service.getProgress(OUTPUT_ID).orElseThrow();
+        assertThat(progress.status()).isEqualTo(LimitReclassificationStatus.COMPLETED);
+        assertThat(progress.updatedReadings()).isEqualTo(1);
+        verify(latestReadingService).refreshOutputs(List.of(OUTPUT_ID));
+    }
+}
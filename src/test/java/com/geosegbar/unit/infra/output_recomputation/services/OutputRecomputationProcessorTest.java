@@ -0,0 +1,235 @@
+package com.geosegbar.unit.infra.output_recomputation.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.common.enums.OutputRecomputationStatus;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.ConstantEntity;
+import com.geosegbar.entities.DeterministicLimitEntity;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.entities.OutputRecomputationJobEntity;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.BatchCounters;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.ReadingGroup;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.ReadingUpdate;
+import com.geosegbar.infra.output_recomputation.persistence.jdbc.OutputRecomputationJdbcRepository.StoredReading;
+import com.geosegbar.infra.output_recomputation.services.OutputRecomputationJobService;
+import com.geosegbar.infra.output_recomputation.services.OutputRecomputationProcessor;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+import com.geosegbar.infra.reading.services.OutputCalculationService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Tag("unit")
+@DisplayName("Unit tests for OutputRecomputationProcessor")
+class OutputRecomputationProcessorTest extends BaseUnitTest {
+
+    private static final Long JOB_ID = 1L;
+    private static final Long INSTRUMENT_ID = 10L;
+    private static final Long OUTPUT_ID = 100L;
+    private static final String WORKER = "worker-1";
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 1, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2024, 1, 2);
+    private static final LocalTime NOON = LocalTime.NOON;
+
+    @Mock
+    private OutputRecomputationJobService jobService;
+
+    @Mock
+    private OutputRecomputationJdbcRepository recomputationRepository;
+
+    @Mock
+    private InstrumentRepository instrumentRepository;
+
+    @Mock
+    private LatestReadingService latestReadingService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutputRecomputationProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new OutputRecomputationProcessor(jobService, recomputationRepository, instrumentRepository,
+                outputCalculationService(), latestReadingService, transactionManager, 500);
+        when(jobService.getWorkerId()).thenReturn(WORKER);
+        when(instrumentRepository.findWithActiveOutputsByIdIn(List.of(INSTRUMENT_ID))).thenReturn(List.of(instrument()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should recompute values and limit status with the current equation and write only what changed")
+    void shouldRecomputeAndWriteChangedReadings() {
+        givenJob(false, null, null);
+        when(jobService.getLeaseTtl()).thenReturn(LEASE);
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, null, null, 500)).thenReturn(List.of(
+                group(DAY_1, "1", new StoredReading(11L, OUTPUT_ID, new BigDecimal("1.00"), LimitStatusEnum.NORMAL)),
+                group(DAY_2, "5", new StoredReading(21L, OUTPUT_ID, new BigDecimal("10.00"), LimitStatusEnum.NORMAL)),
+                group(DAY_2.plusDays(1), "2", new StoredReading(31L, OUTPUT_ID, new BigDecimal("4.00"), LimitStatusEnum.NORMAL))));
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, DAY_2.plusDays(1), NOON, 500)).thenReturn(List.of());
+        when(recomputationRepository.updateReadings(any())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(recomputationRepository.checkpoint(eq(JOB_ID), eq(WORKER), eq(LEASE), eq(DAY_2.plusDays(1)), eq(NOON), any()))
+                .thenReturn(true);
+
+        processor.process(JOB_ID);
+
+        ArgumentCaptor<List<ReadingUpdate>> updates = ArgumentCaptor.forClass(List.class);
+        verify(recomputationRepository).updateReadings(updates.capture());
+        assertThat(updates.getValue()).containsExactly(
+                new ReadingUpdate(11L, new BigDecimal("1.00"), new BigDecimal("2.00"), LimitStatusEnum.NORMAL),
+                new ReadingUpdate(21L, new BigDecimal("10.00"), new BigDecimal("10.00"), LimitStatusEnum.ATENCAO));
+
+        BatchCounters counters = capturedCounters();
+        assertThat(counters.groups()).isEqualTo(3);
+        assertThat(counters.scanned()).isEqualTo(3);
+        assertThat(counters.changed()).isEqualTo(2);
+        assertThat(counters.statusChanged()).isEqualTo(1);
+        assertThat(counters.failed()).isZero();
+        assertThat(counters.maxAbsoluteDelta()).isEqualByComparingTo("1");
+
+        verify(latestReadingService).refreshOutputs(Set.of(OUTPUT_ID));
+        verify(recomputationRepository).finish(JOB_ID, WORKER, OutputRecomputationStatus.COMPLETED, null);
+    }
+
+    @Test
+    @DisplayName("Should only count differences in dry-run mode")
+    void shouldOnlyCountInDryRun() {
+        givenJob(true, null, null);
+        when(jobService.getLeaseTtl()).thenReturn(LEASE);
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, null, null, 500)).thenReturn(List.of(
+                group(DAY_1, "1", new StoredReading(11L, OUTPUT_ID, new BigDecimal("1.00"), LimitStatusEnum.NORMAL))));
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, DAY_1, NOON, 500)).thenReturn(List.of());
+        when(recomputationRepository.checkpoint(eq(JOB_ID), eq(WORKER), eq(LEASE), eq(DAY_1), eq(NOON), any()))
+                .thenReturn(true);
+
+        processor.process(JOB_ID);
+
+        assertThat(capturedCounters().changed()).isEqualTo(1);
+        verify(recomputationRepository, never()).updateReadings(any());
+        verify(latestReadingService, never()).refreshOutputs(any());
+        verify(recomputationRepository).finish(JOB_ID, WORKER, OutputRecomputationStatus.COMPLETED, null);
+    }
+
+    @Test
+    @DisplayName("Should resume from the checkpoint and count readings the equation cannot evaluate")
+    void shouldResumeFromCheckpointAndCountFailures() {
+        givenJob(false, DAY_1, NOON);
+        when(jobService.getLeaseTtl()).thenReturn(LEASE);
+        ReadingGroup withoutInput = new ReadingGroup(DAY_2, NOON, Map.of(),
+                List.of(new StoredReading(21L, OUTPUT_ID, new BigDecimal("3.00"), LimitStatusEnum.NORMAL)));
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, DAY_1, NOON, 500)).thenReturn(List.of(withoutInput));
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, DAY_2, NOON, 500)).thenReturn(List.of());
+        when(recomputationRepository.checkpoint(eq(JOB_ID), eq(WORKER), eq(LEASE), eq(DAY_2), eq(NOON), any()))
+                .thenReturn(true);
+
+        processor.process(JOB_ID);
+
+        verify(recomputationRepository, never()).findGroupBatch(eq(INSTRUMENT_ID), isNull(), isNull(), eq(500));
+        BatchCounters counters = capturedCounters();
+        assertThat(counters.failed()).isEqualTo(1);
+        assertThat(counters.changed()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop without finishing when the job was cancelled or its lease lost")
+    void shouldStopWhenCheckpointIsRejected() {
+        givenJob(false, null, null);
+        when(jobService.getLeaseTtl()).thenReturn(LEASE);
+        when(recomputationRepository.findGroupBatch(INSTRUMENT_ID, null, null, 500)).thenReturn(List.of(
+                group(DAY_1, "1", new StoredReading(11L, OUTPUT_ID, new BigDecimal("1.00"), LimitStatusEnum.NORMAL))));
+        when(recomputationRepository.updateReadings(any())).thenReturn(1);
+        when(recomputationRepository.checkpoint(eq(JOB_ID), eq(WORKER), eq(LEASE), eq(DAY_1), eq(NOON), any()))
+                .thenReturn(false);
+
+        processor.process(JOB_ID);
+
+        verify(transactionManager).rollback(any());
+        verify(recomputationRepository, never()).finish(any(), anyString(), any(), any());
+        verify(latestReadingService, never()).refreshOutputs(any());
+    }
+
+    private void givenJob(boolean dryRun, LocalDate checkpointDate, LocalTime checkpointHour) {
+        OutputRecomputationJobEntity job = new OutputRecomputationJobEntity();
+        job.setId(JOB_ID);
+        job.setInstrumentId(INSTRUMENT_ID);
+        job.setDryRun(dryRun);
+        job.setStatus(OutputRecomputationStatus.PROCESSING);
+        job.setCheckpointDate(checkpointDate);
+        job.setCheckpointHour(checkpointHour);
+        when(jobService.findById(JOB_ID)).thenReturn(job);
+    }
+
+    private BatchCounters capturedCounters() {
+        ArgumentCaptor<BatchCounters> captor = ArgumentCaptor.forClass(BatchCounters.class);
+        verify(recomputationRepository).checkpoint(eq(JOB_ID), eq(WORKER), eq(LEASE), any(), any(), captor.capture());
+        return captor.getValue();
+    }
+
+    private static ReadingGroup group(LocalDate date, String input, StoredReading reading) {
+        return new ReadingGroup(date, NOON, Map.of("L1", new BigDecimal(input)), List.of(reading));
+    }
+
+    /**
+     * Instrumento com um output {@code L1 * K} (K = 2, duas casas) e limite de
+     * atenção em 10.
+     */
+    private static InstrumentEntity instrument() {
+        InstrumentEntity instrument = new InstrumentEntity();
+        instrument.setId(INSTRUMENT_ID);
+        instrument.setNoLimit(false);
+
+        ConstantEntity constant = new ConstantEntity();
+        constant.setAcronym("K");
+        constant.setValue(2.0);
+        instrument.setConstants(Set.of(constant));
+
+        OutputEntity output = new OutputEntity();
+        output.setId(OUTPUT_ID);
+        output.setAcronym("OUT");
+        output.setEquation("L1 * K");
+        output.setPrecision(2);
+        output.setActive(true);
+        output.setInstrument(instrument);
+
+        DeterministicLimitEntity limit = new DeterministicLimitEntity();
+        limit.setAttentionValue(new BigDecimal("10"));
+        output.setDeterministicLimit(limit);
+        instrument.setOutputs(Set.of(output));
+        return instrument;
+    }
+
+    private static OutputCalculationService outputCalculationService() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(OutputCalculationService.CACHE_NAME,
+                Caffeine.newBuilder().maximumSize(100).build());
+        return new OutputCalculationService(cacheManager);
+    }
+}
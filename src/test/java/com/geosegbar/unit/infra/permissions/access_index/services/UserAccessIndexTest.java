@@ -0,0 +1,111 @@
+package com.geosegbar.unit.infra.permissions.access_index.services;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.geosegbar.common.enums.PermissionFlag;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.permissions.access_index.persistence.UserAccessJdbcRepository;
+import com.geosegbar.infra.permissions.access_index.persistence.UserAccessJdbcRepository.DamPermissionRow;
+import com.geosegbar.infra.permissions.access_index.persistence.UserAccessJdbcRepository.UserRow;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessIndex;
+import com.geosegbar.infra.permissions.access_index.services.UserAccessSnapshot;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Tag("unit")
+@DisplayName("Unit tests for UserAccessIndex")
+class UserAccessIndexTest extends BaseUnitTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private UserAccessJdbcRepository repository;
+
+    private UserAccessIndex index;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(UserAccessIndex.CACHE_NAME, Caffeine.newBuilder().build());
+        index = new UserAccessIndex(cacheManager, repository);
+    }
+
+    @Test
+    @DisplayName("Should build the snapshot once and answer later checks from memory")
+    void shouldBuildSnapshotLazilyOnce() {
+        stubUser(List.of(
+                new DamPermissionRow(10L, 1L, true, 1L),
+                new DamPermissionRow(11L, 1L, false, 1L)));
+
+        UserAccessSnapshot first = index.find(USER_ID).orElseThrow();
+        UserAccessSnapshot second = index.find(USER_ID).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.hasAccessToAllDams(List.of(10L))).isTrue();
+        assertThat(first.hasAccessToAllDams(List.of(10L, 11L))).isFalse();
+        assertThat(first.has(PermissionFlag.FILL_WEB)).isTrue();
+        assertThat(first.has(PermissionFlag.FILL_MOBILE)).isFalse();
+        verify(repository, times(1)).findDamPermissions(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the snapshot after an access change for the user")
+    void shouldRebuildAfterAccessChange() {
+        stubUser(List.of(new DamPermissionRow(10L, 1L, true, 1L)));
+        index.find(USER_ID);
+
+        index.onUserAccessChanged(new UserAccessChangedEvent(USER_ID));
+        index.find(USER_ID);
+
+        verify(repository, times(2)).findUser(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown users")
+    void shouldNotCacheUnknownUsers() {
+        when(repository.findUser(USER_ID)).thenReturn(Optional.empty());
+
+        assertThat(index.find(USER_ID)).isEmpty();
+        assertThat(index.find(USER_ID)).isEmpty();
+
+        verify(repository, times(2)).findUser(USER_ID);
+    }
+
+    @Test
+    @DisplayName("Should resolve dam access per client and only trust permissions of the dam's current client")
+    void shouldResolveDamAccessPerClient() {
+        UserAccessSnapshot snapshot = UserAccessSnapshot.of(false, List.of(1L), Set.of(), false, List.of(
+                new DamPermissionRow(10L, 1L, true, 1L),
+                new DamPermissionRow(20L, 2L, true, 2L),
+                new DamPermissionRow(30L, 1L, true, 3L)));
+
+        assertThat(snapshot.hasDamAccess(10L, 1L)).isTrue();
+        assertThat(snapshot.hasDamAccess(10L, 2L)).isFalse();
+        assertThat(snapshot.findCurrentClientDamAccess(10L)).contains(true);
+        assertThat(snapshot.findCurrentClientDamAccess(20L)).contains(false);
+        assertThat(snapshot.findCurrentClientDamAccess(30L)).isEmpty();
+        assertThat(snapshot.findCurrentClientDamAccess(99L)).isEmpty();
+        assertThat(snapshot.isAssociatedWithClient(2L)).isFalse();
+    }
+
+    private void stubUser(List<DamPermissionRow> damPermissions) {
+        when(repository.findUser(USER_ID)).thenReturn(Optional.of(
+                new UserRow(false, EnumSet.of(PermissionFlag.FILL_WEB), true)));
+        when(repository.findClientIds(USER_ID)).thenReturn(List.of(1L));
+        when(repository.findDamPermissions(USER_ID)).thenReturn(damPermissions);
+    }
+}
@@ -0,0 +1,183 @@
+package com.geosegbar.unit.infra.permissions.dam_permissions.services;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.geosegbar.common.enums.DamPermissionFanOutOperation;
+import com.geosegbar.common.enums.DamPermissionFanOutStatus;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.DamPermissionFanOutJobEntity;
+import com.geosegbar.infra.permissions.dam_permissions.events.DamPermissionFanOutRequestedEvent;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionFanOutJobJdbcRepository;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionFanOutJobRepository;
+import com.geosegbar.infra.permissions.dam_permissions.persistence.DamPermissionJdbcRepository;
+import com.geosegbar.infra.permissions.dam_permissions.services.DamPermissionFanOutService;
+import com.geosegbar.infra.user.events.UserAccessChangedEvent;
+
+@Tag("unit")
+@DisplayName("Unit tests for DamPermissionFanOutService")
+class DamPermissionFanOutServiceTest extends BaseUnitTest {
+
+    private static final Long CLIENT_ID = 3L;
+    private static final Long DAM_ID = 9L;
+    private static final Long JOB_ID = 21L;
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    @Mock
+    private DamPermissionJdbcRepository damPermissionJdbcRepository;
+
+    @Mock
+    private DamPermissionFanOutJobRepository jobRepository;
+
+    @Mock
+    private DamPermissionFanOutJobJdbcRepository jobJdbcRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DamPermissionFanOutService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DamPermissionFanOutService(damPermissionJdbcRepository, jobRepository, jobJdbcRepository,
+                eventPublisher, transactionManager, 3, 2, LEASE);
+    }
+
+    @Test
+    @DisplayName("Should insert the permissions of small clients in a single statement inside the caller transaction")
+    void shouldApplySmallFanOutInline() {
+        List<Long> userIds = List.of(1L, 2L, 3L);
+        when(damPermissionJdbcRepository.insertMissingForDam(DAM_ID, CLIENT_ID, userIds)).thenReturn(3);
+
+        service.createForDam(DAM_ID, CLIENT_ID, userIds);
+
+        ArgumentCaptor<UserAccessChangedEvent> captor = ArgumentCaptor.forClass(UserAccessChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getUserIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    @DisplayName("Should persist large fan-outs as a job in the caller transaction without touching the permissions")
+    void shouldEnqueueLargeFanOut() {
+        when(jobRepository.save(any(DamPermissionFanOutJobEntity.class))).thenAnswer(invocation -> {
+            DamPermissionFanOutJobEntity job = invocation.getArgument(0);
+            job.setId(JOB_ID);
+            return job;
+        });
+
+        service.removeForDam(DAM_ID, CLIENT_ID, List.of(1L, 2L, 3L, 4L));
+
+        ArgumentCaptor<DamPermissionFanOutJobEntity> saved = ArgumentCaptor.forClass(DamPermissionFanOutJobEntity.class);
+        verify(jobRepository).save(saved.capture());
+        assertThat(saved.getValue().getOperation()).isEqualTo(DamPermissionFanOutOperation.REMOVE_FOR_DAM);
+        assertThat(saved.getValue().getDamId()).isEqualTo(DAM_ID);
+        assertThat(saved.getValue().getUserIds()).containsExactly(1L, 2L, 3L, 4L);
+        ArgumentCaptor<DamPermissionFanOutRequestedEvent> event
+                = ArgumentCaptor.forClass(DamPermissionFanOutRequestedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getJobId()).isEqualTo(JOB_ID);
+        verifyNoInteractions(damPermissionJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should recreate client permissions in user chunks, checkpointing each one")
+    void shouldRecreateInChunksWithCheckpoints() {
+        givenJob(DamPermissionFanOutOperation.RECREATE_FOR_CLIENT, null, 0, 1L, 2L, 3L);
+        when(damPermissionJdbcRepository.deleteForClient(CLIENT_ID, List.of(1L, 2L))).thenReturn(4);
+        when(damPermissionJdbcRepository.insertMissingForClientDams(CLIENT_ID, List.of(1L, 2L))).thenReturn(4);
+        when(damPermissionJdbcRepository.deleteForClient(CLIENT_ID, List.of(3L))).thenReturn(2);
+        when(damPermissionJdbcRepository.insertMissingForClientDams(CLIENT_ID, List.of(3L))).thenReturn(2);
+        when(jobJdbcRepository.checkpoint(eq(JOB_ID), anyString(), eq(LEASE), anyInt(), anyLong())).thenReturn(true);
+
+        service.process(JOB_ID);
+
+        verify(jobJdbcRepository).checkpoint(eq(JOB_ID), anyString(), eq(LEASE), eq(2), eq(8L));
+        verify(jobJdbcRepository).checkpoint(eq(JOB_ID), anyString(), eq(LEASE), eq(3), eq(4L));
+        verify(jobJdbcRepository).finish(eq(JOB_ID), anyString(), eq(DamPermissionFanOutStatus.COMPLETED), isNull());
+        verify(eventPublisher, times(2)).publishEvent(any(UserAccessChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should resume an interrupted job from its checkpoint")
+    void shouldResumeFromCheckpoint() {
+        givenJob(DamPermissionFanOutOperation.CREATE_FOR_DAM, DAM_ID, 2, 1L, 2L, 3L, 4L, 5L);
+        when(damPermissionJdbcRepository.insertMissingForDam(eq(DAM_ID), eq(CLIENT_ID), any())).thenReturn(1);
+        when(jobJdbcRepository.checkpoint(eq(JOB_ID), anyString(), eq(LEASE), anyInt(), anyLong())).thenReturn(true);
+
+        service.process(JOB_ID);
+
+        verify(damPermissionJdbcRepository, never()).insertMissingForDam(DAM_ID, CLIENT_ID, List.of(1L, 2L));
+        verify(damPermissionJdbcRepository).insertMissingForDam(DAM_ID, CLIENT_ID, List.of(3L, 4L));
+        verify(damPermissionJdbcRepository).insertMissingForDam(DAM_ID, CLIENT_ID, List.of(5L));
+        verify(jobJdbcRepository).finish(eq(JOB_ID), anyString(), eq(DamPermissionFanOutStatus.COMPLETED), isNull());
+    }
+
+    @Test
+    @DisplayName("Should stop at the failing chunk and mark the job as failed")
+    void shouldFailAtBrokenChunk() {
+        givenJob(DamPermissionFanOutOperation.CREATE_FOR_DAM, DAM_ID, 0, 1L, 2L, 3L, 4L, 5L);
+        when(damPermissionJdbcRepository.insertMissingForDam(DAM_ID, CLIENT_ID, List.of(1L, 2L))).thenReturn(2);
+        when(damPermissionJdbcRepository.insertMissingForDam(DAM_ID, CLIENT_ID, List.of(3L, 4L)))
+                .thenThrow(new IllegalStateException("deadlock"));
+        when(jobJdbcRepository.checkpoint(eq(JOB_ID), anyString(), eq(LEASE), eq(2), eq(2L))).thenReturn(true);
+
+        service.process(JOB_ID);
+
+        verify(jobJdbcRepository).finish(eq(JOB_ID), anyString(), eq(DamPermissionFanOutStatus.FAILED), eq("deadlock"));
+        verify(damPermissionJdbcRepository, never()).insertMissingForDam(DAM_ID, CLIENT_ID, List.of(5L));
+    }
+
+    @Test
+    @DisplayName("Should stop without finishing when another worker took over the job")
+    void shouldStopWhenLeaseIsLost() {
+        givenJob(DamPermissionFanOutOperation.REMOVE_FOR_DAM, DAM_ID, 0, 1L, 2L, 3L);
+        when(damPermissionJdbcRepository.deleteForDam(DAM_ID, CLIENT_ID, List.of(1L, 2L))).thenReturn(2);
+        when(jobJdbcRepository.checkpoint(eq(JOB_ID), anyString(), eq(LEASE), eq(2), eq(2L))).thenReturn(false);
+
+        service.process(JOB_ID);
+
+        verify(damPermissionJdbcRepository, never()).deleteForDam(DAM_ID, CLIENT_ID, List.of(3L));
+        verify(jobJdbcRepository, never()).finish(any(), anyString(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(UserAccessChangedEvent.class));
+    }
+
+    private void givenJob(DamPermissionFanOutOperation operation, Long damId, int processedUsers, Long... userIds) {
+        DamPermissionFanOutJobEntity job = new DamPermissionFanOutJobEntity();
+        job.setId(JOB_ID);
+        job.setOperation(operation);
+        job.setClientId(CLIENT_ID);
+        job.setDamId(damId);
+        job.setUserIds(userIds);
+        job.setStatus(DamPermissionFanOutStatus.RUNNING);
+        job.setTotalUsers(userIds.length);
+        job.setProcessedUsers(processedUsers);
+        job.setAffectedRows(0L);
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+    }
+}
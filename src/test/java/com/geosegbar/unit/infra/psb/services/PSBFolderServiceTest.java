@@ -0,0 +1,186 @@
+package com.geosegbar.unit.infra.psb.services;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.geosegbar.common.enums.RoleEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.DamEntity;
+import com.geosegbar.entities.PSBFolderEntity;
+import com.geosegbar.entities.RoleEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.infra.dam.persistence.jpa.DamRepository;
+import com.geosegbar.infra.file_storage.FileStorageService;
+import com.geosegbar.infra.psb.dtos.PSBFolderUpdateDTO;
+import com.geosegbar.infra.psb.persistence.PSBFolderRepository;
+import com.geosegbar.infra.psb.services.PSBFolderService;
+import com.geosegbar.infra.user.persistence.jpa.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+@Tag("unit")
+@DisplayName("Unit tests for PSBFolderService")
+class PSBFolderServiceTest extends BaseUnitTest {
+
+    private static final Long DAM_ID = 1L;
+
+    @Mock
+    private PSBFolderRepository psbFolderRepository;
+
+    @Mock
+    private DamRepository damRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private PSBFolderService service;
+
+    private DamEntity dam;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleEnum.ADMIN);
+        UserEntity admin = new UserEntity();
+        admin.setId(1L);
+        admin.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, List.of()));
+
+        dam = new DamEntity();
+        dam.setId(DAM_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should return only the root folders of the loaded tree ordered by folder index")
+    void shouldReturnRootsOrderedByIndex() {
+        PSBFolderEntity second = folder(2L, 2, null);
+        PSBFolderEntity first = folder(1L, 1, null);
+        PSBFolderEntity child = folder(3L, 1, second);
+        PSBFolderEntity grandchild = folder(4L, 1, child);
+        List<Long> treeIds = List.of(1L, 2L, 3L, 4L);
+        when(damRepository.existsById(DAM_ID)).thenReturn(true);
+        when(psbFolderRepository.findTreeFolderIdsByDamId(DAM_ID)).thenReturn(treeIds);
+        when(psbFolderRepository.findByIdInFetchSubfolders(treeIds))
+                .thenReturn(List.of(child, second, grandchild, first));
+
+        List<PSBFolderEntity> roots = service.findCompleteHierarchyByDamId(DAM_ID);
+
+        assertThat(roots).containsExactly(first, second);
+        verify(psbFolderRepository).findByIdInFetchFiles(treeIds);
+    }
+
+    @Test
+    @DisplayName("Should return an empty hierarchy without loading folders when the dam has none")
+    void shouldReturnEmptyHierarchy() {
+        when(damRepository.existsById(DAM_ID)).thenReturn(true);
+        when(psbFolderRepository.findTreeFolderIdsByDamId(DAM_ID)).thenReturn(List.of());
+
+        assertThat(service.findCompleteHierarchyByDamId(DAM_ID)).isEmpty();
+        verify(psbFolderRepository, never()).findByIdInFetchSubfolders(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should delete the whole subtree in bulk and remove every stored file")
+    void shouldDeleteSubtreeInBulkAndRemoveStoredFiles() {
+        PSBFolderEntity target = folder(10L, 3, null);
+        List<Long> subtreeIds = List.of(10L, 11L, 12L);
+        Query query = mock(Query.class);
+        when(psbFolderRepository.findById(10L)).thenReturn(Optional.of(target));
+        when(psbFolderRepository.findSubtreeFolderIds(10L)).thenReturn(subtreeIds);
+        when(psbFolderRepository.findSubtreeFileDownloadUrls(10L))
+                .thenReturn(List.of("https://bucket/a.pdf", "https://bucket/b.pdf", "https://bucket/c.pdf"));
+        doThrow(new IllegalStateException("storage indisponível"))
+                .when(fileStorageService).deleteFile("https://bucket/b.pdf");
+        when(entityManager.createQuery(anyString())).thenReturn(query);
+        when(query.setParameter("folderIds", subtreeIds)).thenReturn(query);
+
+        service.delete(10L);
+
+        verify(fileStorageService).deleteFile("https://bucket/a.pdf");
+        verify(fileStorageService).deleteFile("https://bucket/b.pdf");
+        verify(fileStorageService).deleteFile("https://bucket/c.pdf");
+
+        ArgumentCaptor<String> statements = ArgumentCaptor.forClass(String.class);
+        verify(entityManager, times(5)).createQuery(statements.capture());
+        assertThat(statements.getAllValues()).allSatisfy(jpql -> assertThat(jpql).contains("IN :folderIds"));
+        assertThat(statements.getAllValues().get(4)).startsWith("DELETE FROM PSBFolderEntity");
+        verify(query, times(5)).setParameter("folderIds", subtreeIds);
+        verify(query, times(5)).executeUpdate();
+        verify(psbFolderRepository)
+                .findByDamIdAndParentFolderIsNullAndFolderIndexGreaterThanOrderByFolderIndexAsc(DAM_ID, 3);
+    }
+
+    @Test
+    @DisplayName("Should clean stored files of root folders removed by the sync")
+    void shouldCleanStorageForRemovedRoots() {
+        UserEntity updater = new UserEntity();
+        updater.setId(5L);
+        PSBFolderEntity kept = folder(20L, 1, null);
+        PSBFolderEntity removed = folder(30L, 2, null);
+        when(userRepository.findById(5L)).thenReturn(Optional.of(updater));
+        when(psbFolderRepository.findByDamIdAndParentFolderIsNullOrderByFolderIndexAsc(DAM_ID))
+                .thenReturn(List.of(kept, removed));
+        when(psbFolderRepository.findSubtreeFileDownloadUrls(30L))
+                .thenReturn(List.of("https://bucket/r1.pdf", "https://bucket/r2.pdf"));
+        when(psbFolderRepository.findSubtreeFolderIds(30L)).thenReturn(List.of(30L, 31L));
+        when(psbFolderRepository.findById(20L)).thenReturn(Optional.of(kept));
+
+        service.syncRootFolders(dam, List.of(new PSBFolderUpdateDTO(20L, kept.getName(), 1, null, null)), 5L);
+
+        verify(fileStorageService).deleteFile("https://bucket/r1.pdf");
+        verify(fileStorageService).deleteFile("https://bucket/r2.pdf");
+        verify(psbFolderRepository).findByIdInFetchSubfolders(List.of(30L, 31L));
+        verify(psbFolderRepository).delete(removed);
+        verify(psbFolderRepository, never()).delete(kept);
+        verify(psbFolderRepository, never()).findSubtreeFileDownloadUrls(20L);
+        verify(psbFolderRepository).save(kept);
+    }
+
+    private PSBFolderEntity folder(Long id, Integer index, PSBFolderEntity parent) {
+        PSBFolderEntity folder = new PSBFolderEntity();
+        folder.setId(id);
+        folder.setName("Pasta " + id);
+        folder.setFolderIndex(index);
+        folder.setDam(dam);
+        folder.setParentFolder(parent);
+        folder.setServerPath("dam-" + DAM_ID + "/" + String.format("%03d", index) + "-pasta_" + id);
+        return folder;
+    }
+}
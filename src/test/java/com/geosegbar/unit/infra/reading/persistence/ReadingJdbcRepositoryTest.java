@@ -0,0 +1,131 @@
+package com.geosegbar.unit.infra.reading.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository.InputValueRow;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository.ReadingInsertRow;
+
+@Tag("unit")
+@DisplayName("Unit tests for ReadingJdbcRepository")
+class ReadingJdbcRepositoryTest extends BaseUnitTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReadingJdbcRepository repository;
+
+    private final List<List<Object[]>> readingBatches = new ArrayList<>();
+    private final List<List<Object[]>> inputValueBatches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = new ReadingJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should split readings and input values into batches of 1000")
+    void shouldSplitIntoBatchesOfOneThousand() {
+        List<ReadingInsertRow> rows = rows(1001);
+        reserveIds(1001, 5_000L);
+        captureBatches();
+
+        repository.insertReadings(rows);
+
+        assertThat(readingBatches).extracting(List::size).containsExactly(1000, 1);
+        assertThat(inputValueBatches).extracting(List::size).containsExactly(1000, 1000, 2);
+    }
+
+    @Test
+    @DisplayName("Should map the reserved ids back to each reading and its input values in order")
+    void shouldMapReservedIdsBackToReadings() {
+        List<ReadingInsertRow> rows = rows(3);
+        reserveIds(3, 700L);
+        captureBatches();
+
+        List<Long> ids = repository.insertReadings(rows);
+
+        assertThat(ids).containsExactly(700L, 701L, 702L);
+        List<Object[]> readings = readingBatches.get(0);
+        assertThat(readings).extracting(args -> args[0]).containsExactly(700L, 701L, 702L);
+        assertThat(readings.get(1)).containsExactly(701L, DATE, LocalTime.of(0, 1), new BigDecimal("1.00"),
+                "NORMAL", true, "lote", 9L, 4L, 40L);
+        assertThat(inputValueBatches.get(0)).extracting(args -> args[3])
+                .containsExactly(700L, 700L, 701L, 701L, 702L, 702L);
+        assertThat(inputValueBatches.get(0).get(2)).containsExactly("A", "Leitura A", new BigDecimal("1.00"), 701L);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database for an empty batch")
+    void shouldSkipEmptyBatch() {
+        assertThat(repository.insertReadings(List.of())).isEmpty();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed reading batch without writing input values")
+    void shouldPropagateFailedReadingBatch() {
+        reserveIds(2, 1L);
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO reading ("), anyList(), any(int[].class)))
+                .thenThrow(new DataIntegrityViolationException("uk_reading"));
+
+        assertThatThrownBy(() -> repository.insertReadings(rows(2)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(jdbcTemplate, never()).batchUpdate(contains("reading_input_value"), anyList(), any(int[].class));
+    }
+
+    private void reserveIds(int count, long first) {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(count)))
+                .thenReturn(LongStream.range(first, first + count).boxed().toList());
+    }
+
+    private void captureBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            List<Object[]> batch = new ArrayList<>(invocation.<List<Object[]>>getArgument(1));
+            (sql.contains("reading_input_value") ? inputValueBatches : readingBatches).add(batch);
+            return new int[batch.size()];
+        });
+    }
+
+    private static List<ReadingInsertRow> rows(int count) {
+        List<ReadingInsertRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal value = new BigDecimal(i).setScale(2);
+            rows.add(new ReadingInsertRow(DATE, LocalTime.of(0, 0).plusMinutes(i), value, LimitStatusEnum.NORMAL,
+                    true, "lote", 9L, 4L, 40L, List.of(
+                            new InputValueRow("A", "Leitura A", value),
+                            new InputValueRow("B", "Leitura B", value))));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,164 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO;
+import com.geosegbar.infra.reading.dtos.ImportReadingsResult;
+import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
+import com.geosegbar.infra.reading.services.BulkReadingImportService;
+import com.geosegbar.infra.reading.services.ReadingService;
+
+@Tag("unit")
+@DisplayName("Unit tests for BulkReadingImportService")
+class BulkReadingImportServiceTest extends BaseUnitTest {
+
+    private static final Long INSTRUMENT_ID = 7L;
+
+    @Mock
+    private ReadingService readingService;
+
+    @InjectMocks
+    private BulkReadingImportService service;
+
+    @Test
+    @DisplayName("Should parse numeric cells, decimal commas and scientific notation")
+    void shouldParseNumericText() throws Exception {
+        List<ReadingRequestDTO> sent = new ArrayList<>();
+        when(readingService.createBatch(eq(INSTRUMENT_ID), anyList(), eq(false))).thenAnswer(invocation -> {
+            List<ReadingRequestDTO> batch = invocation.getArgument(1);
+            sent.addAll(batch);
+            return success(batch.size());
+        });
+
+        MockMultipartFile file = workbook(sheet -> {
+            row(sheet, 1, "15/03/2024", "08:30", 12.5);
+            row(sheet, 2, "2024-03-16", "09:00:15", "2,75");
+            row(sheet, 3, "16-03-2024", "10:00", "1E-3");
+        });
+
+        ImportReadingsResult result = service.importFromExcel(INSTRUMENT_ID, file);
+
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getSuccessCount()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(sent).extracting(ReadingRequestDTO::getDate)
+                .containsExactly(LocalDate.of(2024, 3, 15), LocalDate.of(2024, 3, 16), LocalDate.of(2024, 3, 16));
+        assertThat(sent.get(1).getHour()).isEqualTo(LocalTime.of(9, 0, 15));
+        assertThat(sent).extracting(reading -> reading.getInputValues().get("PZ"))
+                .containsExactly(12.5, 2.75, 0.001);
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows and map batch errors back to spreadsheet rows")
+    void shouldReportRowErrors() throws Exception {
+        BatchReadingResultDTO batch = success(1);
+        batch.getErrors().add(new BatchReadingResultDTO.RowError(1, "Leitura duplicada"));
+        when(readingService.createBatch(eq(INSTRUMENT_ID), anyList(), eq(false))).thenReturn(batch);
+
+        MockMultipartFile file = workbook(sheet -> {
+            row(sheet, 1, "15/03/2024", "08:30", "abc");
+            row(sheet, 2, "15/03/2024", "09:30", "1");
+            row(sheet, 3, "15/03/2024", "10:30", "NaN");
+            row(sheet, 4, "15/03/2024", "11:30", "2");
+        });
+
+        ImportReadingsResult result = service.importFromExcel(INSTRUMENT_ID, file);
+
+        assertThat(result.getTotalRows()).isEqualTo(4);
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getFailureCount()).isEqualTo(3);
+        assertThat(result.getErrors()).containsExactlyInAnyOrder(
+                "Linha 2: Valor de 'PZ' inválido: abc",
+                "Linha 4: Valor de 'PZ' inválido: NaN",
+                "Linha 5: Leitura duplicada");
+    }
+
+    @Test
+    @DisplayName("Should fail every row of a batch that throws")
+    void shouldFailWholeBatchOnException() throws Exception {
+        when(readingService.createBatch(eq(INSTRUMENT_ID), anyList(), eq(false)))
+                .thenThrow(new IllegalStateException("banco indisponível"));
+
+        MockMultipartFile file = workbook(sheet -> {
+            row(sheet, 1, "15/03/2024", "08:30", "1");
+            row(sheet, 2, "15/03/2024", "09:30", "2");
+        });
+
+        ImportReadingsResult result = service.importFromExcel(INSTRUMENT_ID, file);
+
+        assertThat(result.getSuccessCount()).isZero();
+        assertThat(result.getErrors()).containsExactly(
+                "Linha 2: banco indisponível",
+                "Linha 3: banco indisponível");
+    }
+
+    @Test
+    @DisplayName("Should reject a sheet without readings")
+    void shouldRejectEmptySheet() throws Exception {
+        MockMultipartFile file = workbook(sheet -> {
+        });
+
+        assertThatThrownBy(() -> service.importFromExcel(INSTRUMENT_ID, file))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("Nenhuma leitura encontrada");
+        verify(readingService, never()).createBatch(eq(INSTRUMENT_ID), anyList(), eq(false));
+    }
+
+    private interface SheetWriter {
+
+        void write(Sheet sheet);
+    }
+
+    private static MockMultipartFile workbook(SheetWriter writer) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Leituras");
+            row(sheet, 0, "Data da Leitura", "Hora da Leitura", "PZ");
+            writer.write(sheet);
+            workbook.write(out);
+            return new MockMultipartFile("file", "leituras.xlsx",
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", out.toByteArray());
+        }
+    }
+
+    private static void row(Sheet sheet, int rowNum, Object... values) {
+        Row row = sheet.createRow(rowNum);
+        for (int col = 0; col < values.length; col++) {
+            if (values[col] instanceof Number number) {
+                row.createCell(col).setCellValue(number.doubleValue());
+            } else {
+                row.createCell(col).setCellValue((String) values[col]);
+            }
+        }
+    }
+
+    private static BatchReadingResultDTO success(int count) {
+        BatchReadingResultDTO result = new BatchReadingResultDTO();
+        result.setTotalProcessed(count);
+        result.setSuccessCount(count);
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.geosegbar.common.enums.DashboardSectionEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.infra.dashboard.events.DashboardDataChangedEvent;
+import com.geosegbar.infra.reading.persistence.jpa.LatestReadingRepository;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+
+@Tag("unit")
+@DisplayName("Unit tests for LatestReadingService")
+class LatestReadingServiceTest extends BaseUnitTest {
+
+    @Mock
+    private LatestReadingRepository latestReadingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LatestReadingService service;
+
+    @Test
+    @DisplayName("Should lock, upsert and prune affected outputs in ascending id order")
+    void shouldRefreshAffectedOutputsInOrder() {
+        service.refreshOutputs(List.of(30L, 10L, 30L, 20L));
+
+        List<Long> expected = List.of(10L, 20L, 30L);
+        InOrder order = inOrder(latestReadingRepository);
+        order.verify(latestReadingRepository).lockOutputs(expected);
+        order.verify(latestReadingRepository).upsertFromReadings(expected);
+        order.verify(latestReadingRepository).deleteWithoutActiveReadings(expected);
+    }
+
+    @Test
+    @DisplayName("Should invalidate instrument dashboard for the dams of the locked outputs")
+    void shouldPublishDashboardInvalidationForLockedDams() {
+        when(latestReadingRepository.lockOutputs(List.of(10L, 20L))).thenReturn(List.of(7L, 7L));
+
+        service.refreshOutputs(List.of(20L, 10L));
+
+        ArgumentCaptor<DashboardDataChangedEvent> captor = ArgumentCaptor.forClass(DashboardDataChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getSection()).isEqualTo(DashboardSectionEnum.INSTRUMENTS);
+        assertThat(captor.getValue().getDamIds()).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no outputs were affected")
+    void shouldSkipRefreshWithoutOutputs() {
+        service.refreshOutputs(Set.of());
+
+        verifyNoInteractions(latestReadingRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should not backfill when snapshot is already populated")
+    void shouldNotBackfillWhenPopulated() {
+        when(latestReadingRepository.count()).thenReturn(5L);
+
+        assertThatCode(() -> service.backfillIfEmpty()).doesNotThrowAnyException();
+
+        verify(latestReadingRepository, never()).backfillFromReadings();
+    }
+}
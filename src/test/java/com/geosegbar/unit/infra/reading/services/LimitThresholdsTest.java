@@ -0,0 +1,63 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.infra.reading.services.LimitThresholds;
+
+@Tag("unit")
+@DisplayName("Unit tests for LimitThresholds")
+class LimitThresholdsTest {
+
+    @Test
+    @DisplayName("Should classify against statistical bounds")
+    void shouldClassifyStatistical() {
+        LimitThresholds thresholds = LimitThresholds.statistical(new BigDecimal("1"), new BigDecimal("10"));
+
+        assertThat(thresholds.classify(new BigDecimal("0.5"))).isEqualTo(LimitStatusEnum.INFERIOR);
+        assertThat(thresholds.classify(new BigDecimal("10"))).isEqualTo(LimitStatusEnum.NORMAL);
+        assertThat(thresholds.classify(new BigDecimal("10.1"))).isEqualTo(LimitStatusEnum.SUPERIOR);
+        assertThat(thresholds.classify(null)).isEqualTo(LimitStatusEnum.NORMAL);
+    }
+
+    @Test
+    @DisplayName("Should classify against the highest deterministic level reached")
+    void shouldClassifyDeterministic() {
+        LimitThresholds thresholds = LimitThresholds.deterministic(new BigDecimal("5"), null, new BigDecimal("20"));
+
+        assertThat(thresholds.classify(new BigDecimal("4"))).isEqualTo(LimitStatusEnum.NORMAL);
+        assertThat(thresholds.classify(new BigDecimal("5"))).isEqualTo(LimitStatusEnum.ATENCAO);
+        assertThat(thresholds.classify(new BigDecimal("19"))).isEqualTo(LimitStatusEnum.ATENCAO);
+        assertThat(thresholds.classify(new BigDecimal("20"))).isEqualTo(LimitStatusEnum.EMERGENCIA);
+    }
+
+    @Test
+    @DisplayName("Should build the equivalent SQL CASE with thresholds as bind parameters")
+    void shouldBuildSqlCase() {
+        List<Object> args = new ArrayList<>();
+
+        String sql = LimitThresholds.deterministic(new BigDecimal("5"), null, new BigDecimal("20"))
+                .toSqlCase("r.calculated_value", args);
+
+        assertThat(sql).isEqualTo("CASE WHEN r.calculated_value >= ? THEN 'EMERGENCIA'"
+                + " WHEN r.calculated_value >= ? THEN 'ATENCAO' ELSE 'NORMAL' END");
+        assertThat(args).containsExactly(new BigDecimal("20"), new BigDecimal("5"));
+    }
+
+    @Test
+    @DisplayName("Should classify everything as NORMAL without limits")
+    void shouldUseNormalLiteralWithoutLimits() {
+        List<Object> args = new ArrayList<>();
+
+        assertThat(LimitThresholds.NONE.toSqlCase("r.calculated_value", args)).isEqualTo("'NORMAL'");
+        assertThat(args).isEmpty();
+        assertThat(LimitThresholds.NONE.classify(new BigDecimal("1000"))).isEqualTo(LimitStatusEnum.NORMAL);
+    }
+}
@@ -0,0 +1,145 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import com.geosegbar.common.utils.ExpressionEvaluator;
+import com.geosegbar.entities.ConstantEntity;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.exceptions.InvalidInputException;
+import com.geosegbar.infra.reading.services.OutputCalculationService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Tag("unit")
+@DisplayName("Unit tests for OutputCalculationService")
+class OutputCalculationServiceTest {
+
+    private OutputCalculationService service;
+    private InstrumentEntity instrument;
+    private OutputEntity output;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(OutputCalculationService.CACHE_NAME,
+                Caffeine.newBuilder().maximumSize(100).build());
+        service = new OutputCalculationService(cacheManager);
+
+        ConstantEntity constant = new ConstantEntity();
+        constant.setAcronym("K");
+        constant.setValue(2.0);
+
+        instrument = new InstrumentEntity();
+        instrument.setId(1L);
+        Set<ConstantEntity> constants = new HashSet<>();
+        constants.add(constant);
+        instrument.setConstants(constants);
+
+        output = new OutputEntity();
+        output.setId(10L);
+        output.setAcronym("OUT");
+        output.setName("Saída");
+        output.setPrecision(2);
+        output.setInstrument(instrument);
+    }
+
+    @Test
+    @DisplayName("Should calculate output with inputs, constants and math functions")
+    void shouldCalculateOutputWithInputsConstantsAndMathFunctions() {
+        output.setEquation("sqrt(BASE) * K + Math.pow(TOPO, 2)");
+
+        BigDecimal result = service.calculateOutput(output, null,
+                Map.of("BASE", new BigDecimal("16"), "TOPO", new BigDecimal("3")));
+
+        assertThat(result).isEqualByComparingTo("17.00");
+    }
+
+    @Test
+    @DisplayName("Should reuse compiled equation across readings with different values")
+    void shouldReuseCompiledEquationAcrossReadings() {
+        output.setEquation("BASE * K");
+
+        for (int i = 1; i <= 200; i++) {
+            BigDecimal result = service.calculateOutput(output, null, Map.of("BASE", BigDecimal.valueOf(i)));
+            assertThat(result).isEqualByComparingTo(BigDecimal.valueOf(i * 2L));
+        }
+    }
+
+    @Test
+    @DisplayName("Should use the new equation after it is edited")
+    void shouldUseNewEquationAfterEdit() {
+        output.setEquation("BASE + K");
+        assertThat(service.calculateOutput(output, null, Map.of("BASE", BigDecimal.ONE)))
+                .isEqualByComparingTo("3.00");
+
+        output.setEquation("BASE - K");
+        assertThat(service.calculateOutput(output, null, Map.of("BASE", BigDecimal.ONE)))
+                .isEqualByComparingTo("-1.00");
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidInputException for unsupported function")
+    void shouldThrowForUnsupportedFunction() {
+        output.setEquation("foo(BASE)");
+
+        assertThatThrownBy(() -> service.calculateOutput(output, null, Map.of("BASE", BigDecimal.ONE)))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("OUT");
+    }
+
+    @Test
+    @DisplayName("Should evaluate a batch with math functions and leave invalid rows empty")
+    void shouldEvaluateBatchWithMathFunctions() {
+        output.setEquation("sqrt(BASE) * K");
+
+        BigDecimal[] results = service.calculateOutputBatch(output,
+                Map.of("BASE", new double[]{16, Double.NaN, -1}, "K", new double[]{2, 2, 2}), 3);
+
+        assertThat(results[0]).isEqualByComparingTo("8.00");
+        assertThat(results[1]).isNull();
+        assertThat(results[2]).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject type references in equations")
+    void shouldRejectTypeReferences() {
+        output.setEquation("T(java.lang.System).currentTimeMillis() + BASE");
+
+        assertThatThrownBy(() -> service.calculateOutput(output, null, Map.of("BASE", BigDecimal.ONE)))
+                .isInstanceOf(InvalidInputException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject assignments when validating and when compiling the equation")
+    void shouldRejectAssignmentsBeforeEvaluating() {
+        assertThatThrownBy(() -> ExpressionEvaluator.validateSyntax("BASE=K*2", Set.of("BASE", "K")))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("atribuições");
+
+        output.setEquation("(BASE = 3) + K");
+
+        assertThatThrownBy(() -> service.calculateOutput(output, null, Map.of("BASE", BigDecimal.ONE)))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("'OUT'")
+                .hasMessageContaining("atribuições");
+    }
+
+    @Test
+    @DisplayName("Should validate equations in the same restricted context used to calculate them")
+    void shouldValidateInTheSameContextAsCalculation() {
+        assertThatThrownBy(() -> ExpressionEvaluator.validateSyntax("T(java.lang.Math).random() + BASE", Set.of("BASE")))
+                .isNotInstanceOf(InvalidInputException.class);
+        assertThat(ExpressionEvaluator.evaluate("sqrt(BASE) * K", Map.of("BASE", 16.0, "K", 2.0))).isEqualTo(8.0);
+    }
+}
@@ -0,0 +1,189 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.geosegbar.common.enums.ReadingExportDatasetEnum;
+import com.geosegbar.common.enums.RoleEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.RoleEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.ReadingBulkExportRequestDTO;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingExportJdbcRepository;
+import com.geosegbar.infra.reading.services.ReadingCsvExportService;
+
+@Tag("unit")
+@DisplayName("Unit tests for ReadingCsvExportService")
+class ReadingCsvExportServiceTest extends BaseUnitTest {
+
+    @Mock
+    private ReadingExportJdbcRepository readingExportJdbcRepository;
+
+    @Mock
+    private InstrumentRepository instrumentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReadingCsvExportService service;
+
+    private ReadingBulkExportRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReadingCsvExportService(readingExportJdbcRepository, instrumentRepository,
+                transactionManager, Duration.ofMinutes(10));
+
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleEnum.ADMIN);
+        UserEntity admin = new UserEntity();
+        admin.setId(1L);
+        admin.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, List.of()));
+
+        request = new ReadingBulkExportRequestDTO();
+        request.setInstrumentIds(List.of(1L, 2L, 2L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should stream readings as gzip CSV with RFC 4180 quoting")
+    void shouldStreamReadingsAsGzipCsv() throws Exception {
+        when(instrumentRepository.countByIdIn(List.of(1L, 2L))).thenReturn(2L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(3);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("reading_id")).thenReturn(100L);
+            when(rs.getLong("instrument_id")).thenReturn(1L);
+            when(rs.getString("instrument_name")).thenReturn("PZ-01");
+            when(rs.getLong("output_id")).thenReturn(10L);
+            when(rs.getString("output_acronym")).thenReturn("COTA");
+            when(rs.getDate("date")).thenReturn(Date.valueOf(LocalDate.of(2024, 5, 1)));
+            when(rs.getTime("hour")).thenReturn(Time.valueOf(LocalTime.of(9, 15)));
+            when(rs.getBigDecimal("calculated_value")).thenReturn(new BigDecimal("12.5000"));
+            when(rs.getString("limit_status")).thenReturn("NORMAL");
+            when(rs.getString("comment")).thenReturn("vazão \"alta\", revisar");
+            when(rs.getString("created_by")).thenReturn("Operador");
+            handler.processRow(rs);
+            return null;
+        }).when(readingExportJdbcRepository).streamReadings(anyList(), any(), any(), any());
+
+        List<String> lines = export();
+
+        assertThat(lines).containsExactly(
+                "reading_id,instrument_id,instrument_name,output_id,output_acronym,date,hour,"
+                + "calculated_value,limit_status,comment,created_by",
+                "100,1,PZ-01,10,COTA,2024-05-01,09:15:00,12.5000,NORMAL,\"vazão \"\"alta\"\", revisar\",Operador");
+    }
+
+    @Test
+    @DisplayName("Should stream input values dataset")
+    void shouldStreamInputValuesDataset() throws Exception {
+        request.setDataset(ReadingExportDatasetEnum.INPUT_VALUES);
+        when(instrumentRepository.countByIdIn(List.of(1L, 2L))).thenReturn(2L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(3);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong("reading_id")).thenReturn(100L);
+            when(rs.getLong("instrument_id")).thenReturn(1L);
+            when(rs.getString("input_acronym")).thenReturn("LEIT");
+            when(rs.getString("input_name")).thenReturn("Leitura");
+            when(rs.getBigDecimal("value")).thenReturn(null);
+            handler.processRow(rs);
+            return null;
+        }).when(readingExportJdbcRepository).streamInputValues(anyList(), any(), any(), any());
+
+        List<String> lines = export();
+
+        assertThat(lines).containsExactly(
+                "reading_id,instrument_id,input_acronym,input_name,value",
+                "100,1,LEIT,Leitura,");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown instruments before streaming")
+    void shouldRejectUnknownInstrumentsBeforeStreaming() {
+        when(instrumentRepository.countByIdIn(List.of(1L, 2L))).thenReturn(1L);
+
+        assertThatThrownBy(() -> service.exportToCsv(request))
+                .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(readingExportJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop reading rows and roll back when the request thread is interrupted")
+    void shouldStopReadingWhenInterrupted() throws Exception {
+        when(instrumentRepository.countByIdIn(List.of(1L, 2L))).thenReturn(2L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(3);
+            handler.processRow(mock(ResultSet.class));
+            return null;
+        }).when(readingExportJdbcRepository).streamReadings(anyList(), any(), any(), any());
+
+        StreamingResponseBody body = service.exportToCsv(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> body.writeTo(out)).isInstanceOf(CancellationException.class);
+        } finally {
+            Thread.interrupted();
+        }
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getTimeout()).isEqualTo(600);
+        verify(transactionManager).rollback(any());
+    }
+
+    private List<String> export() throws Exception {
+        StreamingResponseBody body = service.exportToCsv(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+}
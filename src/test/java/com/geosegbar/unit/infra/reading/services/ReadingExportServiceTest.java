@@ -0,0 +1,270 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.geosegbar.common.enums.RoleEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.InstrumentTypeEntity;
+import com.geosegbar.entities.RoleEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.exceptions.NotFoundException;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.ReadingExportRequestDTO;
+import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
+import com.geosegbar.infra.reading.projections.ReadingExportColumnProjection;
+import com.geosegbar.infra.reading.projections.ReadingExportRowProjection;
+import com.geosegbar.infra.reading.services.ReadingExportService;
+
+@Tag("unit")
+@DisplayName("Unit tests for ReadingExportService streaming export")
+class ReadingExportServiceTest extends BaseUnitTest {
+
+    private static final String US = String.valueOf((char) 0x1F);
+    private static final String RS = String.valueOf((char) 0x1E);
+
+    @Mock
+    private ReadingRepository readingRepository;
+
+    @Mock
+    private InstrumentRepository instrumentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReadingExportService service;
+
+    private ReadingExportRequestDTO request;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReadingExportService(readingRepository, instrumentRepository, transactionManager,
+                Duration.ofMinutes(10));
+
+        RoleEntity role = new RoleEntity();
+        role.setName(RoleEnum.ADMIN);
+        UserEntity admin = new UserEntity();
+        admin.setId(1L);
+        admin.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, List.of()));
+
+        InstrumentTypeEntity type = new InstrumentTypeEntity();
+        type.setName("Piezômetro");
+        InstrumentEntity instrument = new InstrumentEntity();
+        instrument.setId(1L);
+        instrument.setName("PZ-01");
+        instrument.setInstrumentType(type);
+        when(instrumentRepository.findById(1L)).thenReturn(Optional.of(instrument));
+
+        request = new ReadingExportRequestDTO();
+        request.setInstrumentIds(List.of(1L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should group consecutive streamed readings by date and hour into one row")
+    void shouldGroupStreamedReadingsByDateAndHour() throws Exception {
+        when(readingRepository.findExportOutputColumns(eq(1L), any(), any())).thenReturn(List.of(
+                column(10L, "COTA", "m"), column(20L, "VAZ", null)));
+        when(readingRepository.findExportInputColumns(eq(1L), any(), any())).thenReturn(List.of(
+                column(null, "LEIT", "cm")));
+
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        when(readingRepository.streamExportRowsByInstrumentId(eq(1L), any(), any())).thenReturn(Stream.of(
+                row(day, LocalTime.of(10, 0), 10L, "12.5", "NORMAL", "LEIT" + US + "3.2"),
+                row(day, LocalTime.of(10, 0), 20L, "0.8", "ALERTA", "LEIT" + US + "3.2"),
+                row(day, LocalTime.of(8, 30), 10L, "11.0", "ATENCAO", "LEIT" + US + RS + "OUTRO" + US + "1")));
+
+        Sheet sheet = export();
+
+        assertThat(sheet.getSheetName()).isEqualTo("PZ-01 - Piezômetro");
+        assertThat(sheet.getLastRowNum()).isEqualTo(2);
+        assertThat(sheet.getRow(0).getCell(2).getStringCellValue()).isEqualTo("LEIT (Input)\ncm");
+        assertThat(sheet.getRow(0).getCell(3).getStringCellValue()).isEqualTo("COTA (Output)\nm");
+        assertThat(sheet.getRow(0).getCell(5).getStringCellValue()).isEqualTo("VAZ (Output)");
+
+        Row first = sheet.getRow(1);
+        assertThat(first.getCell(0).getStringCellValue()).isEqualTo("10/03/2025");
+        assertThat(first.getCell(1).getStringCellValue()).isEqualTo("10:00:00");
+        assertThat(first.getCell(2).getNumericCellValue()).isEqualTo(3.2);
+        assertThat(first.getCell(3).getNumericCellValue()).isEqualTo(12.5);
+        assertThat(first.getCell(4).getStringCellValue()).isEqualTo("Normal");
+        assertThat(first.getCell(5).getNumericCellValue()).isEqualTo(0.8);
+        assertThat(first.getCell(6).getStringCellValue()).isEqualTo("Alerta");
+        assertThat(first.getCell(8).getStringCellValue()).isEqualTo("Operador");
+
+        Row second = sheet.getRow(2);
+        assertThat(second.getCell(1).getStringCellValue()).isEqualTo("08:30:00");
+        assertThat(second.getCell(2).getNumericCellValue()).isEqualTo(0.0);
+        assertThat(second.getCell(4).getStringCellValue()).isEqualTo("Atenção");
+        assertThat(second.getCell(5).getStringCellValue()).isEqualTo("-");
+        assertThat(sheet.getColumnWidth(7)).isEqualTo(20000);
+    }
+
+    @Test
+    @DisplayName("Should write placeholder sheet when instrument has no readings")
+    void shouldWritePlaceholderSheetWhenNoReadings() throws Exception {
+        when(readingRepository.findExportOutputColumns(eq(1L), any(), any())).thenReturn(List.of());
+
+        Sheet sheet = export();
+
+        assertThat(sheet.getRow(0).getCell(0).getStringCellValue())
+                .isEqualTo("Nenhuma leitura encontrada para o instrumento: PZ-01");
+    }
+
+    @Test
+    @DisplayName("Should validate instruments before starting the response body")
+    void shouldValidateInstrumentsBeforeStreaming() {
+        request.setInstrumentIds(List.of(1L, 2L));
+        when(instrumentRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.exportToExcelStreaming(request))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("2");
+    }
+
+    @Test
+    @DisplayName("Should abort the cursor and roll back when the request thread is interrupted")
+    void shouldAbortCursorWhenInterrupted() throws Exception {
+        when(readingRepository.findExportOutputColumns(eq(1L), any(), any())).thenReturn(List.of(
+                column(10L, "COTA", "m")));
+        when(readingRepository.findExportInputColumns(eq(1L), any(), any())).thenReturn(List.of());
+        AtomicBoolean closed = new AtomicBoolean();
+        when(readingRepository.streamExportRowsByInstrumentId(eq(1L), any(), any())).thenReturn(Stream.of(
+                row(LocalDate.of(2025, 3, 10), LocalTime.of(10, 0), 10L, "12.5", "NORMAL", null))
+                .onClose(() -> closed.set(true)));
+
+        StreamingResponseBody body = service.exportToExcelStreaming(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> body.writeTo(out)).isInstanceOf(CancellationException.class);
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertThat(closed).isTrue();
+        assertThat(out.size()).isZero();
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getTimeout()).isEqualTo(600);
+        verify(transactionManager).rollback(any());
+    }
+
+    private Sheet export() throws Exception {
+        StreamingResponseBody body = service.exportToExcelStreaming(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(workbook.getNumberOfSheets()).isEqualTo(1);
+        return workbook.getSheetAt(0);
+    }
+
+    private static ReadingExportColumnProjection column(Long id, String acronym, String unit) {
+        return new ReadingExportColumnProjection() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getAcronym() {
+                return acronym;
+            }
+
+            @Override
+            public String getName() {
+                return acronym;
+            }
+
+            @Override
+            public String getUnit() {
+                return unit;
+            }
+        };
+    }
+
+    private static ReadingExportRowProjection row(LocalDate date, LocalTime hour, Long outputId,
+            String value, String status, String inputValues) {
+        return new ReadingExportRowProjection() {
+            @Override
+            public LocalDate getReadingDate() {
+                return date;
+            }
+
+            @Override
+            public LocalTime getReadingHour() {
+                return hour;
+            }
+
+            @Override
+            public Long getOutputId() {
+                return outputId;
+            }
+
+            @Override
+            public BigDecimal getCalculatedValue() {
+                return new BigDecimal(value);
+            }
+
+            @Override
+            public String getLimitStatus() {
+                return status;
+            }
+
+            @Override
+            public String getComment() {
+                return null;
+            }
+
+            @Override
+            public String getCreatedBy() {
+                return "Operador";
+            }
+
+            @Override
+            public String getInputValues() {
+                return inputValues;
+            }
+        };
+    }
+}
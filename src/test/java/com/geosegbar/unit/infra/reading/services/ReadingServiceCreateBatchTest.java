@@ -0,0 +1,239 @@
+package com.geosegbar.unit.infra.reading.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.geosegbar.common.enums.LimitStatusEnum;
+import com.geosegbar.config.BaseUnitTest;
+import com.geosegbar.entities.DeterministicLimitEntity;
+import com.geosegbar.entities.InputEntity;
+import com.geosegbar.entities.InstrumentEntity;
+import com.geosegbar.entities.OutputEntity;
+import com.geosegbar.entities.UserEntity;
+import com.geosegbar.infra.instrument.persistence.jpa.InstrumentRepository;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO;
+import com.geosegbar.infra.reading.dtos.BatchReadingResultDTO.RowError;
+import com.geosegbar.infra.reading.dtos.ReadingRequestDTO;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository.InputValueRow;
+import com.geosegbar.infra.reading.persistence.jdbc.ReadingJdbcRepository.ReadingInsertRow;
+import com.geosegbar.infra.reading.persistence.jpa.ReadingRepository;
+import com.geosegbar.infra.reading.services.LatestReadingService;
+import com.geosegbar.infra.reading.services.OutputCalculationService;
+import com.geosegbar.infra.reading.services.ReadingService;
+import com.geosegbar.infra.user.persistence.jpa.UserRepository;
+
+@Tag("unit")
+@DisplayName("Unit tests for ReadingService.createBatch")
+class ReadingServiceCreateBatchTest extends BaseUnitTest {
+
+    private static final Long INSTRUMENT_ID = 4L;
+    private static final String SYSTEM_EMAIL = "sistema@geosegbar.com";
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private ReadingRepository readingRepository;
+
+    @Mock
+    private ReadingJdbcRepository readingJdbcRepository;
+
+    @Mock
+    private InstrumentRepository instrumentRepository;
+
+    @Mock
+    private OutputCalculationService outputCalculationService;
+
+    @Mock
+    private LatestReadingService latestReadingService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ReadingService service;
+
+    private OutputEntity level;
+    private OutputEntity flow;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "systemUserEmail", SYSTEM_EMAIL);
+        UserEntity system = new UserEntity();
+        system.setId(9L);
+        when(userRepository.findByEmail(SYSTEM_EMAIL)).thenReturn(Optional.of(system));
+
+        InputEntity input = new InputEntity();
+        input.setAcronym("L");
+        input.setName("Leitura");
+        input.setPrecision(2);
+
+        DeterministicLimitEntity limit = new DeterministicLimitEntity();
+        limit.setAttentionValue(new BigDecimal("4"));
+        level = output(40L, true);
+        level.setDeterministicLimit(limit);
+        flow = output(41L, true);
+
+        InstrumentEntity instrument = new InstrumentEntity();
+        instrument.setId(INSTRUMENT_ID);
+        instrument.setInputs(new HashSet<>(Set.of(input)));
+        instrument.setOutputs(new HashSet<>(Set.of(level, flow, output(42L, false))));
+        when(instrumentRepository.findWithActiveOutputsById(INSTRUMENT_ID)).thenReturn(Optional.of(instrument));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should write one row per active output for valid readings and report the invalid ones by index")
+    void shouldWriteValidReadingsAndReportInvalidOnes() {
+        LocalDate nextDay = DAY.plusDays(1);
+        when(readingRepository.findActiveDateHoursByInstrumentIdBetween(INSTRUMENT_ID, DAY, nextDay))
+                .thenReturn(List.<Object[]>of(new Object[]{DAY, LocalTime.of(8, 0)}));
+        givenDoubledOutputs();
+
+        List<ReadingRequestDTO> requests = List.of(
+                reading(DAY, LocalTime.of(8, 0), Map.of("L", 1.0)),
+                reading(DAY, LocalTime.of(9, 0, 30, 500), Map.of("L", 1.234)),
+                reading(DAY, LocalTime.of(9, 0, 30), Map.of("L", 3.0)),
+                reading(nextDay, LocalTime.of(10, 0), Map.of("X", 1.0)),
+                reading(nextDay, LocalTime.of(11, 0), Map.of("L", 2.5)));
+
+        BatchReadingResultDTO result = service.createBatch(INSTRUMENT_ID, requests, true);
+
+        assertThat(result.getTotalProcessed()).isEqualTo(5);
+        assertThat(result.getSuccessCount()).isEqualTo(2);
+        assertThat(result.getCreatedReadings()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(RowError::getIndex).containsExactly(0, 2, 3);
+        assertThat(result.getErrors().get(0).getErrorMessage()).contains("mesma data e hora");
+        assertThat(result.getErrors().get(2).getErrorMessage()).contains("'L'");
+
+        ArgumentCaptor<List<ReadingInsertRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(readingJdbcRepository).insertReadings(captor.capture());
+        List<ReadingInsertRow> rows = captor.getValue();
+        assertThat(rows).hasSize(4);
+        assertThat(rows).extracting(ReadingInsertRow::outputId).containsOnly(40L, 41L);
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.userId()).isEqualTo(9L);
+            assertThat(row.instrumentId()).isEqualTo(INSTRUMENT_ID);
+        });
+        ReadingInsertRow first = rows.stream()
+                .filter(row -> row.date().equals(DAY) && row.outputId().equals(40L)).findFirst().orElseThrow();
+        assertThat(first.hour()).isEqualTo(LocalTime.of(9, 0, 30));
+        assertThat(first.calculatedValue()).isEqualByComparingTo("2.46");
+        assertThat(first.limitStatus()).isEqualTo(LimitStatusEnum.NORMAL);
+        assertThat(first.inputValues()).containsExactly(new InputValueRow("L", "Leitura", new BigDecimal("1.23")));
+        ReadingInsertRow above = rows.stream()
+                .filter(row -> row.date().equals(nextDay) && row.outputId().equals(40L)).findFirst().orElseThrow();
+        assertThat(above.limitStatus()).isEqualTo(LimitStatusEnum.ATENCAO);
+
+        ArgumentCaptor<List<Long>> refreshed = ArgumentCaptor.forClass(List.class);
+        verify(latestReadingService).refreshOutputs(refreshed.capture());
+        assertThat(refreshed.getValue()).containsExactlyInAnyOrder(40L, 41L);
+        assertThat(requests.get(1).getHour()).isEqualTo(LocalTime.of(9, 0, 30, 500));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should report an unexpected failure as a row error and keep the rest of the batch")
+    void shouldReportUnexpectedFailureAsRowError() {
+        when(readingRepository.findActiveDateHoursByInstrumentIdBetween(INSTRUMENT_ID, DAY, DAY))
+                .thenReturn(List.of());
+        when(outputCalculationService.calculateOutput(any(OutputEntity.class), any(ReadingRequestDTO.class), any()))
+                .thenAnswer(invocation -> {
+                    Map<String, BigDecimal> inputs = invocation.getArgument(2);
+                    if (inputs.get("L").signum() < 0) {
+                        throw new ArithmeticException("divisão por zero");
+                    }
+                    return inputs.get("L");
+                });
+
+        BatchReadingResultDTO result = service.createBatch(INSTRUMENT_ID, List.of(
+                reading(DAY, LocalTime.of(8, 0), Map.of("L", -1.0)),
+                reading(DAY, LocalTime.of(9, 0), Map.of("L", 1.0))), true);
+
+        assertThat(result.getSuccessCount()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getIndex()).isZero();
+            assertThat(error.getErrorMessage()).contains("Erro inesperado");
+        });
+        ArgumentCaptor<List<ReadingInsertRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(readingJdbcRepository).insertReadings(captor.capture());
+        assertThat(captor.getValue()).hasSize(2)
+                .allSatisfy(row -> assertThat(row.hour()).isEqualTo(LocalTime.of(9, 0)));
+    }
+
+    @Test
+    @DisplayName("Should reject future readings and skip the latest-reading refresh when nothing is valid")
+    void shouldSkipRefreshWhenNothingIsValid() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        when(readingRepository.findActiveDateHoursByInstrumentIdBetween(INSTRUMENT_ID, tomorrow, tomorrow))
+                .thenReturn(List.of());
+
+        BatchReadingResultDTO result = service.createBatch(INSTRUMENT_ID,
+                List.of(reading(tomorrow, LocalTime.NOON, Map.of("L", 1.0))), true);
+
+        assertThat(result.getSuccessCount()).isZero();
+        assertThat(result.getCreatedReadings()).isZero();
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getErrorMessage()).contains("futura"));
+        verify(readingJdbcRepository).insertReadings(List.of());
+        verify(latestReadingService, never()).refreshOutputs(anyList());
+    }
+
+    @Test
+    @DisplayName("Should propagate a failed insert so the batch transaction rolls back")
+    void shouldPropagateFailedInsert() {
+        when(readingRepository.findActiveDateHoursByInstrumentIdBetween(INSTRUMENT_ID, DAY, DAY))
+                .thenReturn(List.of());
+        givenDoubledOutputs();
+        when(readingJdbcRepository.insertReadings(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_reading"));
+
+        assertThatThrownBy(() -> service.createBatch(INSTRUMENT_ID,
+                List.of(reading(DAY, LocalTime.NOON, Map.of("L", 1.0))), true))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verify(latestReadingService, never()).refreshOutputs(anyList());
+    }
+
+    private void givenDoubledOutputs() {
+        when(outputCalculationService.calculateOutput(any(OutputEntity.class), any(ReadingRequestDTO.class), any()))
+                .thenAnswer(invocation -> {
+                    Map<String, BigDecimal> inputs = invocation.getArgument(2);
+                    return inputs.get("L").multiply(BigDecimal.valueOf(2));
+                });
+    }
+
+    private static OutputEntity output(Long id, boolean active) {
+        OutputEntity output = new OutputEntity();
+        output.setId(id);
+        output.setAcronym("OUT" + id);
+        output.setPrecision(2);
+        output.setActive(active);
+        return output;
+    }
+
+    private static ReadingRequestDTO reading(LocalDate date, LocalTime hour, Map<String, Double> inputValues) {
+        return new ReadingRequestDTO(date, hour, inputValues, null);
+    }
+}
@@ -0,0 +1,191 @@
+package com.geosegbar.unit.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.geosegbar.common.utils.StreamingExcelReader;
+import com.geosegbar.common.utils.StreamingExcelReader.SheetRow;
+import com.geosegbar.config.BaseUnitTest;
+
+@Tag("unit")
+@DisplayName("Unit tests for StreamingExcelReader")
+class StreamingExcelReaderTest extends BaseUnitTest {
+
+    @Test
+    @DisplayName("Should read shared strings, numbers and booleans from an xlsx sheet")
+    void shouldReadSharedStringsNumbersAndBooleans() throws Exception {
+        byte[] file = write(new XSSFWorkbook(), wb -> {
+            Sheet sheet = wb.createSheet("Leituras");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Nome");
+            header.createCell(1).setCellValue("Valor");
+            header.createCell(2).setCellValue("Ativo");
+            Row data = sheet.createRow(1);
+            data.createCell(0).setCellValue("PZ-01");
+            data.createCell(1).setCellValue(12.5);
+            data.createCell(2).setCellValue(true);
+            Row small = sheet.createRow(2);
+            small.createCell(1).setCellValue(0.001);
+            small.createCell(2).setCellValue(3.0);
+        });
+
+        List<SheetRow> rows = readAll(file, "Leituras");
+
+        assertThat(rows).hasSize(3);
+        assertThat(values(rows.get(0))).containsExactly("Nome", "Valor", "Ativo");
+        assertThat(values(rows.get(1))).containsExactly("PZ-01", "12.5", "TRUE");
+        assertThat(rows.get(2).get(1)).isEqualTo("0.001");
+        assertThat(rows.get(2).get(2)).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("Should read inline strings written by a streaming workbook")
+    void shouldReadInlineStrings() throws Exception {
+        byte[] file = write(new SXSSFWorkbook(), wb -> {
+            Sheet sheet = wb.createSheet("Leituras");
+            Row row = sheet.createRow(0);
+            row.createCell(0).setCellValue("inline");
+            row.createCell(1).setCellValue("Valor, com vírgula");
+        });
+
+        List<SheetRow> rows = readAll(file, "Leituras");
+
+        assertThat(rows).hasSize(1);
+        assertThat(values(rows.get(0))).containsExactly("inline", "Valor, com vírgula");
+    }
+
+    @Test
+    @DisplayName("Should normalize date, date-time and time cells to ISO text")
+    void shouldNormalizeDateCells() throws Exception {
+        byte[] file = write(new XSSFWorkbook(), wb -> {
+            CellStyle dateStyle = style(wb, "dd/mm/yyyy");
+            CellStyle dateTimeStyle = style(wb, "dd/mm/yyyy hh:mm");
+            CellStyle timeStyle = style(wb, "hh:mm");
+            Row row = wb.createSheet("Leituras").createRow(0);
+            row.createCell(0).setCellValue(LocalDate.of(2024, 3, 15));
+            row.getCell(0).setCellStyle(dateStyle);
+            row.createCell(1).setCellValue(LocalDateTime.of(2024, 3, 15, 8, 30));
+            row.getCell(1).setCellStyle(dateTimeStyle);
+            row.createCell(2).setCellValue(0.5);
+            row.getCell(2).setCellStyle(timeStyle);
+        });
+
+        List<SheetRow> rows = readAll(file, "Leituras");
+
+        assertThat(values(rows.get(0))).containsExactly("2024-03-15", "2024-03-15T08:30:00", "12:00:00");
+    }
+
+    @Test
+    @DisplayName("Should keep column positions across missing cells and skip empty rows")
+    void shouldHandleMissingCellsAndEmptyRows() throws Exception {
+        byte[] file = write(new XSSFWorkbook(), wb -> {
+            Sheet sheet = wb.createSheet("Leituras");
+            Row first = sheet.createRow(0);
+            first.createCell(0).setCellValue("A");
+            first.createCell(3).setCellValue("D");
+            sheet.createRow(1);
+            sheet.createRow(4).createCell(2).setCellValue(7);
+        });
+
+        List<SheetRow> rows = readAll(file, "Leituras");
+
+        assertThat(rows).hasSize(2);
+        SheetRow first = rows.get(0);
+        assertThat(first.getRowNum()).isZero();
+        assertThat(first.getLastColumn()).isEqualTo(3);
+        assertThat(first.get(1)).isNull();
+        assertThat(first.isBlank(2)).isTrue();
+        assertThat(first.get(3)).isEqualTo("D");
+        assertThat(first.get(10)).isNull();
+        assertThat(first.get(null)).isNull();
+
+        SheetRow last = rows.get(1);
+        assertThat(last.getRowNum()).isEqualTo(4);
+        assertThat(last.get(0)).isNull();
+        assertThat(last.get(2)).isEqualTo("7");
+    }
+
+    @Test
+    @DisplayName("Should list sheets and report a missing sheet")
+    void shouldReportMissingSheet() throws Exception {
+        byte[] file = write(new XSSFWorkbook(), wb -> {
+            wb.createSheet("Instruments").createRow(0).createCell(0).setCellValue("ID");
+            wb.createSheet("Inputs");
+        });
+
+        try (StreamingExcelReader reader = StreamingExcelReader.open(new ByteArrayInputStream(file))) {
+            assertThat(reader.getSheetNames()).containsExactly("Instruments", "Inputs");
+            assertThat(reader.readSheet("Leituras", row -> {
+            })).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply the same normalization to legacy xls files")
+    void shouldNormalizeLegacyXls() throws Exception {
+        byte[] file = write(new HSSFWorkbook(), wb -> {
+            CellStyle dateStyle = style(wb, "dd/mm/yyyy");
+            Row row = wb.createSheet("Leituras").createRow(0);
+            row.createCell(0).setCellValue("PZ-01");
+            row.createCell(2).setCellValue(1.25);
+            row.createCell(3).setCellValue(LocalDate.of(2024, 3, 15));
+            row.getCell(3).setCellStyle(dateStyle);
+        });
+
+        List<SheetRow> rows = readAll(file, "Leituras");
+
+        assertThat(values(rows.get(0))).containsExactly("PZ-01", null, "1.25", "2024-03-15");
+    }
+
+    private interface WorkbookWriter {
+
+        void write(Workbook workbook);
+    }
+
+    private static byte[] write(Workbook workbook, WorkbookWriter writer) throws IOException {
+        try (workbook; ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            writer.write(workbook);
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static CellStyle style(Workbook workbook, String format) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(format));
+        return style;
+    }
+
+    private static List<SheetRow> readAll(byte[] file, String sheetName) throws IOException {
+        List<SheetRow> rows = new ArrayList<>();
+        try (StreamingExcelReader reader = StreamingExcelReader.open(new ByteArrayInputStream(file))) {
+            assertThat(reader.readSheet(sheetName, rows::add)).isTrue();
+        }
+        return rows;
+    }
+
+    private static List<String> values(SheetRow row) {
+        List<String> values = new ArrayList<>();
+        for (int col = 0; col <= row.getLastColumn(); col++) {
+            values.add(row.get(col));
+        }
+        return values;
+    }
+}